@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.jaxrs;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+@Path("/bookstore")
+public class BookStore {
+
+    @GET
+    @Path("/books/{id}")
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+    public Book getBook(@PathParam("id") long id) {
+        return new Book(id, "CXF in Action");
+    }
+
+    @POST
+    @Path("/books")
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+    @Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+    public Book addBook(Book book) {
+        return book;
+    }
+
+    @PUT
+    @Path("/books/{id}")
+    @Consumes({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML })
+    public void updateBook(@PathParam("id") long id, Book book) {
+        // complete
+    }
+
+    @DELETE
+    @Path("/books/{id}")
+    public void deleteBook(@PathParam("id") long id) {
+        // complete
+    }
+
+    @GET
+    @Path("/books/{id}/chapters/{chapter}")
+    @Produces(MediaType.TEXT_PLAIN)
+    public String getChapter(@PathParam("id") long id, @PathParam("chapter") int chapter) {
+        return id + ":" + chapter;
+    }
+
+    @Path("/catalog")
+    public Catalog getCatalog() {
+        return new Catalog();
+    }
+}
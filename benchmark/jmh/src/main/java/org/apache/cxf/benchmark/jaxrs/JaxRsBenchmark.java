@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.jaxrs;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.jakarta.rs.json.JacksonJsonProvider;
+
+import jakarta.ws.rs.core.MediaType;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.cxf.transport.local.LocalConduit;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JAX-RS GET/POST with JSON (Jackson) and XML (JAXB) entities over the local transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JaxRsBenchmark {
+    private static final String ADDRESS = "local://jmh/jaxrs";
+
+    private Bus bus;
+    private Server server;
+    private WebClient client;
+    private Book book;
+
+    @Setup
+    public void setUp() {
+        bus = BusFactory.newInstance().createBus();
+        List<?> providers = Collections.singletonList(new JacksonJsonProvider());
+
+        JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setBus(bus);
+        sf.setResourceClasses(BookStore.class);
+        sf.setResourceProvider(BookStore.class, new SingletonResourceProvider(new BookStore(), true));
+        sf.setProviders(providers);
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress(ADDRESS);
+        server = sf.create();
+
+        JAXRSClientFactoryBean cf = new JAXRSClientFactoryBean();
+        cf.setBus(bus);
+        cf.setAddress(ADDRESS);
+        cf.setProviders(providers);
+        cf.setThreadSafe(true);
+        client = cf.createWebClient();
+        WebClient.getConfig(client).getRequestContext().put(LocalConduit.DIRECT_DISPATCH, Boolean.TRUE);
+        book = new Book(123L, "CXF in Action");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.destroy();
+        bus.shutdown(true);
+    }
+
+    @Benchmark
+    public Book getJson() {
+        return get(MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public Book getXml() {
+        return get(MediaType.APPLICATION_XML);
+    }
+
+    @Benchmark
+    public Book postJson() {
+        return post(MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public Book postXml() {
+        return post(MediaType.APPLICATION_XML);
+    }
+
+    private Book get(String mediaType) {
+        return client.reset()
+            .path("bookstore/books/123")
+            .accept(mediaType)
+            .get(Book.class);
+    }
+
+    private Book post(String mediaType) {
+        return client.reset()
+            .path("bookstore/books")
+            .type(mediaType)
+            .accept(mediaType)
+            .post(book, Book.class);
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.jaxws;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import jakarta.activation.DataHandler;
+import jakarta.jws.WebService;
+
+@WebService(targetNamespace = EchoService.NAMESPACE,
+            serviceName = "EchoService",
+            portName = "EchoPort",
+            endpointInterface = "org.apache.cxf.benchmark.jaxws.EchoService")
+public class EchoServiceImpl implements EchoService {
+
+    public String echo(String text) {
+        return text;
+    }
+
+    public long upload(DataHandler data) {
+        byte[] buffer = new byte[8192];
+        long count = 0;
+        try (InputStream in = data.getInputStream()) {
+            for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+                count += n;
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.jaxws;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.endpoint.Client;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.frontend.ClientProxy;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.jaxws.JaxWsServerFactoryBean;
+import org.apache.cxf.transport.local.LocalConduit;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+
+/**
+ * Publishes {@link EchoServiceImpl} on the local transport and creates a
+ * matching client proxy which dispatches directly on the calling thread,
+ * so that the measured time is the CXF message pipeline only.
+ */
+final class JaxWsEnvironment {
+    private final Bus bus;
+    private final Server server;
+    private final EchoService client;
+
+    JaxWsEnvironment(String address, Map<String, Object> properties) {
+        bus = BusFactory.newInstance().createBus();
+
+        JaxWsServerFactoryBean sf = new JaxWsServerFactoryBean();
+        sf.setBus(bus);
+        sf.setServiceClass(EchoServiceImpl.class);
+        sf.setServiceBean(new EchoServiceImpl());
+        sf.setAddress(address);
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.getProperties(true).putAll(properties);
+        server = sf.create();
+
+        JaxWsProxyFactoryBean cf = new JaxWsProxyFactoryBean();
+        cf.setBus(bus);
+        cf.setServiceClass(EchoService.class);
+        cf.setAddress(address);
+        cf.setProperties(new HashMap<>(properties));
+        client = cf.create(EchoService.class);
+
+        getClient().getRequestContext().put(LocalConduit.DIRECT_DISPATCH, Boolean.TRUE);
+    }
+
+    Bus getBus() {
+        return bus;
+    }
+
+    Server getServer() {
+        return server;
+    }
+
+    EchoService getEchoService() {
+        return client;
+    }
+
+    Client getClient() {
+        return ClientProxy.getClient(client);
+    }
+
+    void shutdown() {
+        server.destroy();
+        bus.shutdown(true);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.jaxws;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.activation.DataHandler;
+import org.apache.cxf.attachment.ByteDataSource;
+import org.apache.cxf.message.Message;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MTOM upload of a binary attachment over the local transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MtomUploadBenchmark {
+
+    @Param({"65536", "1048576"})
+    int attachmentSize;
+
+    private JaxWsEnvironment env;
+    private EchoService echo;
+    private byte[] attachment;
+
+    @Setup
+    public void setUp() {
+        env = new JaxWsEnvironment("local://jmh/jaxws/mtom",
+                                   Collections.singletonMap(Message.MTOM_ENABLED, Boolean.TRUE));
+        echo = env.getEchoService();
+        attachment = new byte[attachmentSize];
+        for (int i = 0; i < attachment.length; i++) {
+            attachment[i] = (byte)i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        env.shutdown();
+    }
+
+    @Benchmark
+    public long upload() {
+        return echo.upload(new DataHandler(new ByteDataSource(attachment, "application/octet-stream")));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.jaxws;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.security.auth.callback.Callback;
+import javax.security.auth.callback.CallbackHandler;
+
+import org.apache.cxf.ws.security.wss4j.WSS4JInInterceptor;
+import org.apache.cxf.ws.security.wss4j.WSS4JOutInterceptor;
+import org.apache.wss4j.common.ConfigurationConstants;
+import org.apache.wss4j.common.ext.WSPasswordCallback;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JAX-WS echo where the client signs the SOAP body (WSS4J DOM, X.509 signature)
+ * and the server verifies it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WSSecuritySignatureBenchmark {
+    private static final String CRYPTO_PROPERTIES = "signature.properties";
+    private static final String ALIAS = "myalias";
+    private static final String ALIAS_PASSWORD = "myAliasPassword";
+
+    private JaxWsEnvironment env;
+    private EchoService echo;
+
+    @Setup
+    public void setUp() {
+        env = new JaxWsEnvironment("local://jmh/jaxws/wssec", Collections.emptyMap());
+
+        Map<String, Object> inProperties = new HashMap<>();
+        inProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.SIGNATURE);
+        inProperties.put(ConfigurationConstants.SIG_VER_PROP_FILE, CRYPTO_PROPERTIES);
+        env.getServer().getEndpoint().getInInterceptors().add(new WSS4JInInterceptor(inProperties));
+
+        Map<String, Object> outProperties = new HashMap<>();
+        outProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.SIGNATURE);
+        outProperties.put(ConfigurationConstants.SIG_PROP_FILE, CRYPTO_PROPERTIES);
+        outProperties.put(ConfigurationConstants.USER, ALIAS);
+        outProperties.put(ConfigurationConstants.PW_CALLBACK_REF, new PasswordCallbackHandler());
+        env.getClient().getOutInterceptors().add(new WSS4JOutInterceptor(outProperties));
+
+        echo = env.getEchoService();
+    }
+
+    @TearDown
+    public void tearDown() {
+        env.shutdown();
+    }
+
+    @Benchmark
+    public String signedEcho() {
+        return echo.echo("signed");
+    }
+
+    static class PasswordCallbackHandler implements CallbackHandler {
+        public void handle(Callback[] callbacks) {
+            for (Callback callback : callbacks) {
+                if (callback instanceof WSPasswordCallback) {
+                    ((WSPasswordCallback)callback).setPassword(ALIAS_PASSWORD);
+                }
+            }
+        }
+    }
+}
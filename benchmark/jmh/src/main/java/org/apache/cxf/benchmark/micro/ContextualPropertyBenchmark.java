@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.micro;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.frontend.ServerFactoryBean;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of {@link Message#getContextualProperty(String)} lookups on a fresh message,
+ * as done by the interceptors of every request, for growing bus/endpoint property maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextualPropertyBenchmark {
+    private static final String[] KEYS = {
+        "bus.property.0", "endpoint.property.0", "exchange.property", "message.property", "missing.property"
+    };
+
+    @Param({"10", "200"})
+    int propertyCount;
+
+    private Bus bus;
+    private Server server;
+    private Endpoint endpoint;
+
+    @Setup
+    public void setUp() {
+        bus = BusFactory.newInstance().createBus();
+        ServerFactoryBean sf = new ServerFactoryBean();
+        sf.setBus(bus);
+        sf.setServiceBean(new Object() {
+            @SuppressWarnings("unused")
+            public String echo(String s) {
+                return s;
+            }
+        });
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress("local://jmh/contextual");
+        server = sf.create();
+        endpoint = server.getEndpoint();
+        for (int i = 0; i < propertyCount; i++) {
+            bus.setProperty("bus.property." + i, Integer.toString(i));
+            endpoint.put("endpoint.property." + i, Integer.toString(i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.destroy();
+        bus.shutdown(true);
+    }
+
+    @Benchmark
+    public void getContextualProperty(Blackhole bh) {
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Bus.class, bus);
+        exchange.put(Endpoint.class, endpoint);
+        exchange.put(Service.class, endpoint.getService());
+        exchange.put("exchange.property", Boolean.TRUE);
+        Message message = new MessageImpl();
+        message.setExchange(exchange);
+        exchange.setInMessage(message);
+        message.put("message.property", Boolean.TRUE);
+        for (String key : KEYS) {
+            bh.consume(message.getContextualProperty(key));
+        }
+    }
+}
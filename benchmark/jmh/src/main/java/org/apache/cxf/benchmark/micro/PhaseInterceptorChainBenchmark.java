@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.micro;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseChainCache;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-message cost of obtaining an interceptor chain from the {@link PhaseChainCache}
+ * and running {@link PhaseInterceptorChain#doIntercept(Message)} over no-op interceptors
+ * spread across the default inbound phases.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseInterceptorChainBenchmark {
+
+    @Param({"10", "35"})
+    int interceptorCount;
+
+    private SortedSet<Phase> phases;
+    private List<Interceptor<? extends Message>> interceptors;
+    private PhaseChainCache cache;
+
+    @Setup
+    public void setUp() {
+        phases = new PhaseManagerImpl().getInPhases();
+        List<Phase> phaseList = new ArrayList<>(phases);
+        interceptors = new ArrayList<>(interceptorCount);
+        for (int i = 0; i < interceptorCount; i++) {
+            Phase phase = phaseList.get(i % phaseList.size());
+            interceptors.add(new NoOpInterceptor("noop-" + i, phase.getName()));
+        }
+        cache = new PhaseChainCache();
+    }
+
+    @Benchmark
+    public boolean getChainAndIntercept() {
+        PhaseInterceptorChain chain = cache.get(phases, interceptors);
+        Message message = new MessageImpl();
+        message.setInterceptorChain(chain);
+        return chain.doIntercept(message);
+    }
+
+    static final class NoOpInterceptor extends AbstractPhaseInterceptor<Message> {
+        NoOpInterceptor(String id, String phase) {
+            super(id, phase);
+        }
+
+        public void handleMessage(Message message) {
+            // no-op
+        }
+    }
+}
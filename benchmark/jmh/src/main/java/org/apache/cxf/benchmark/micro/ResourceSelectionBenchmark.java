@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.benchmark.micro;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.benchmark.jaxrs.BookStore;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.JAXRSServiceImpl;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.jaxrs.model.ClassResourceInfo;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Root resource selection ({@link JAXRSUtils#selectResourceClass}) and resource method
+ * selection ({@link JAXRSUtils#findTargetMethod}) against a set of root resources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceSelectionBenchmark {
+    private static final String PATH = "/bookstore/books/123";
+    private static final List<MediaType> ACCEPT = Collections.singletonList(MediaType.APPLICATION_JSON_TYPE);
+
+    private Bus bus;
+    private Server server;
+    private Endpoint endpoint;
+    private List<ClassResourceInfo> resources;
+
+    @Setup
+    public void setUp() {
+        bus = BusFactory.newInstance().createBus();
+        JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setBus(bus);
+        // a few more roots so that selection cannot short-cut on a single resource
+        sf.setResourceClasses(BookStore.class, Library.class, Orders.class, Customers.class);
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress("local://jmh/selection");
+        server = sf.create();
+        endpoint = server.getEndpoint();
+        resources = ((JAXRSServiceImpl)endpoint.getService()).getClassResourceInfos();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.destroy();
+        bus.shutdown(true);
+    }
+
+    @Benchmark
+    public Map<ClassResourceInfo, MultivaluedMap<String, String>> selectResourceClass() {
+        return JAXRSUtils.selectResourceClass(resources, PATH, newMessage());
+    }
+
+    @Benchmark
+    public OperationResourceInfo selectResourceClassAndMethod() {
+        Message message = newMessage();
+        Map<ClassResourceInfo, MultivaluedMap<String, String>> matched =
+            JAXRSUtils.selectResourceClass(resources, PATH, message);
+        return JAXRSUtils.findTargetMethod(matched, message, HttpMethod.GET, new MetadataMap<>(),
+                                           MediaType.WILDCARD, ACCEPT, true, false);
+    }
+
+    private Message newMessage() {
+        Message message = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Bus.class, bus);
+        exchange.put(Endpoint.class, endpoint);
+        exchange.put(Service.class, endpoint.getService());
+        message.setExchange(exchange);
+        exchange.setInMessage(message);
+        return message;
+    }
+
+    @Path("/library/{section}")
+    public static class Library {
+        @GET
+        public String get() {
+            return "library";
+        }
+    }
+
+    @Path("/orders")
+    public static class Orders {
+        @GET
+        @Path("/{id}")
+        public String get() {
+            return "order";
+        }
+    }
+
+    @Path("/{tenant}/customers")
+    public static class Customers {
+        @GET
+        public String get() {
+            return "customers";
+        }
+    }
+}
@@ -33,10 +33,13 @@ import org.apache.cxf.buslifecycle.BusLifeCycleListener;
 import org.apache.cxf.buslifecycle.BusLifeCycleManager;
 import org.apache.cxf.common.injection.NoJSR250Annotations;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.configuration.ConfiguredBeanLocator;
 import org.apache.cxf.management.InstrumentationManager;
 import org.apache.cxf.workqueue.AutomaticWorkQueue;
 import org.apache.cxf.workqueue.AutomaticWorkQueueImpl;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueue;
 import org.apache.cxf.workqueue.WorkQueueManager;
 
 @NoJSR250Annotations(unlessNull = "bus")
@@ -197,12 +200,47 @@ public class WorkQueueManagerImpl implements WorkQueueManager {
     }
 
     private AutomaticWorkQueue createAutomaticWorkQueue() {
-        AutomaticWorkQueue q = new AutomaticWorkQueueImpl(DEFAULT_QUEUE_NAME);
+        AutomaticWorkQueue q = null;
+        if (PropertyUtils.isTrue(getProperty(VirtualThreadWorkQueue.ENABLED_PROPERTY))) {
+            if (VirtualThreadWorkQueue.isSupported()) {
+                q = new VirtualThreadWorkQueue(DEFAULT_QUEUE_NAME, getMaxConcurrency());
+            } else {
+                LOG.warning("VIRTUAL_THREADS_NOT_SUPPORTED");
+            }
+        }
+        if (q == null) {
+            q = new AutomaticWorkQueueImpl(DEFAULT_QUEUE_NAME);
+        }
         addNamedWorkQueue(DEFAULT_QUEUE_NAME, q);
         return q;
     }
 
 
+    private int getMaxConcurrency() {
+        Object max = getProperty(VirtualThreadWorkQueue.MAX_CONCURRENCY_PROPERTY);
+        if (max != null) {
+            try {
+                int value = Integer.parseInt(max.toString().trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException ex) {
+                // fall through to the default
+            }
+            LOG.log(Level.WARNING, "INVALID_VIRTUAL_THREADS_MAX_CONCURRENCY",
+                    new Object[] {max, VirtualThreadWorkQueue.DEFAULT_MAX_CONCURRENCY});
+        }
+        return VirtualThreadWorkQueue.DEFAULT_MAX_CONCURRENCY;
+    }
+
+    private Object getProperty(String name) {
+        Object value = bus == null ? null : bus.getProperty(name);
+        if (value == null) {
+            value = SystemPropertyAction.getPropertyOrNull(name);
+        }
+        return value;
+    }
+
     class WQLifecycleListener implements BusLifeCycleListener {
         public void initComplete() {
 
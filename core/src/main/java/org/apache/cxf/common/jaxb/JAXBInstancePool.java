@@ -0,0 +1,78 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.common.jaxb;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of configured JAXB Marshaller or Unmarshaller instances created from
+ * the same JAXBContext. Marshallers and unmarshallers are not thread safe, so an instance
+ * is owned by a single caller between {@link #acquire()} and {@link #release(Object)}.
+ * The pool only keeps idle instances around, it never blocks: an empty pool means the
+ * caller creates a new instance and a full pool simply drops the released one.
+ *
+ * The pool does not reset the instances, callers are expected to reset any per call
+ * state (schema, event handler, attachment marshallers) when an instance is acquired.
+ */
+public class JAXBInstancePool<T> {
+    private final Queue<T> instances = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final int maxIdle;
+
+    public JAXBInstancePool(int maxIdle) {
+        this.maxIdle = Math.max(0, maxIdle);
+    }
+
+    /**
+     * @return the number of idle instances currently kept for reuse
+     */
+    public int getIdleCount() {
+        return idle.get();
+    }
+
+    /**
+     * Takes an idle instance from the pool.
+     * @return the instance or null if the pool is empty
+     */
+    public T acquire() {
+        T instance = instances.poll();
+        if (instance != null) {
+            idle.decrementAndGet();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns an instance to the pool. The instance is dropped if the pool is full.
+     */
+    public void release(T instance) {
+        if (instance == null) {
+            return;
+        }
+        if (idle.incrementAndGet() > maxIdle) {
+            idle.decrementAndGet();
+            return;
+        }
+        instances.offer(instance);
+    }
+}
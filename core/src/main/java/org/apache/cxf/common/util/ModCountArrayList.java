@@ -0,0 +1,51 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * An ArrayList which exposes its modification count, so that data derived from the list
+ * can be checked for staleness without comparing the elements. Unlike ArrayList, set()
+ * also counts as a modification.
+ */
+public class ModCountArrayList<T> extends ArrayList<T> {
+    private static final long serialVersionUID = -2563497384325174283L;
+
+    public ModCountArrayList() {
+        super();
+    }
+
+    public ModCountArrayList(Collection<? extends T> c) {
+        super(c);
+    }
+
+    public int getModCount() {
+        return modCount;
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T t = super.set(index, element);
+        modCount++;
+        return t;
+    }
+}
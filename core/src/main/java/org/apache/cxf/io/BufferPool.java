@@ -0,0 +1,129 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.common.util.SystemPropertyAction;
+
+/**
+ * A bounded pool of fixed size {@link ByteBuffer} segments used by {@link CachedOutputStream}
+ * to hold the in-memory part of the cache. Segments are either heap or direct buffers.
+ * Segments that are not returned to the pool are simply garbage collected, the pool only
+ * limits how many idle segments are kept around for reuse.
+ */
+public class BufferPool {
+    public static final int SEGMENT_SIZE = 8 * 1024;
+
+    private static final long DEFAULT_POOL_SIZE = 16L * 1024 * 1024;
+    private static final String DIRECT = "direct";
+    private static final String HEAP = "heap";
+
+    private final Queue<ByteBuffer> segments = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idle = new AtomicInteger();
+    private final boolean direct;
+    private final int maxIdle;
+
+    public BufferPool(boolean direct, long maxPoolSize) {
+        this.direct = direct;
+        this.maxIdle = (int)Math.min(Integer.MAX_VALUE, Math.max(0, maxPoolSize / SEGMENT_SIZE));
+    }
+
+    /**
+     * Returns the pool configured for the bus through {@link CachedConstants#BUFFER_POOL_BUS_PROP},
+     * or null if the bus does not use pooled buffers.
+     */
+    public static BufferPool getBufferPool(Bus bus) {
+        String type = (String)bus.getProperty(CachedConstants.BUFFER_POOL_BUS_PROP);
+        if (!DIRECT.equals(type) && !HEAP.equals(type)) {
+            return null;
+        }
+        BufferPool pool = bus.getExtension(BufferPool.class);
+        if (pool == null) {
+            synchronized (bus) {
+                pool = bus.getExtension(BufferPool.class);
+                if (pool == null) {
+                    Object size = bus.getProperty(CachedConstants.BUFFER_POOL_SIZE_BUS_PROP);
+                    pool = new BufferPool(DIRECT.equals(type),
+                                          size == null ? DEFAULT_POOL_SIZE : Long.parseLong(size.toString()));
+                    bus.setExtension(pool, BufferPool.class);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Creates the pool configured through {@link CachedConstants#BUFFER_POOL_SYS_PROP},
+     * or returns null if the system property is not set.
+     */
+    static BufferPool createFromSystemProperties() {
+        String type = SystemPropertyAction.getPropertyOrNull(CachedConstants.BUFFER_POOL_SYS_PROP);
+        if (!DIRECT.equals(type) && !HEAP.equals(type)) {
+            return null;
+        }
+        String size = SystemPropertyAction.getProperty(CachedConstants.BUFFER_POOL_SIZE_SYS_PROP,
+                                                       Long.toString(DEFAULT_POOL_SIZE));
+        return new BufferPool(DIRECT.equals(type), Long.parseLong(size));
+    }
+
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * @return the number of idle segments currently kept for reuse
+     */
+    public int getIdleCount() {
+        return idle.get();
+    }
+
+    /**
+     * Takes a cleared segment from the pool, allocating a new one if the pool is empty.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = segments.poll();
+        if (buffer == null) {
+            return direct ? ByteBuffer.allocateDirect(SEGMENT_SIZE) : ByteBuffer.allocate(SEGMENT_SIZE);
+        }
+        idle.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a segment to the pool. The segment is dropped if the pool is full.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != SEGMENT_SIZE || buffer.isDirect() != direct) {
+            return;
+        }
+        if (idle.incrementAndGet() > maxIdle) {
+            idle.decrementAndGet();
+            return;
+        }
+        segments.offer(buffer);
+    }
+}
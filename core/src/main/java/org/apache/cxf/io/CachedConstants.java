@@ -71,6 +71,21 @@ public final class CachedConstants {
     public static final String CIPHER_TRANSFORMATION_BUS_PROP =
         "bus.io.CachedOutputStream.CipherTransformation";
 
+    /**
+     * Keeps the in-memory part of the cache in segments taken from a shared buffer pool instead of a
+     * growing byte array. The BufferPool value is either "heap" or "direct" (off-heap segments); pooling
+     * is off when it is not set. BufferPoolSize is the maximum number of bytes the pool keeps for reuse,
+     * 16M by default.
+     */
+    public static final String BUFFER_POOL_SYS_PROP =
+        "org.apache.cxf.io.CachedOutputStream.BufferPool";
+    public static final String BUFFER_POOL_BUS_PROP =
+        "bus.io.CachedOutputStream.BufferPool";
+    public static final String BUFFER_POOL_SIZE_SYS_PROP =
+        "org.apache.cxf.io.CachedOutputStream.BufferPoolSize";
+    public static final String BUFFER_POOL_SIZE_BUS_PROP =
+        "bus.io.CachedOutputStream.BufferPoolSize";
+
     private CachedConstants() {
         // complete
     }
@@ -25,17 +25,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.crypto.CipherInputStream;
 import javax.crypto.CipherOutputStream;
@@ -53,6 +59,7 @@ public class CachedOutputStream extends OutputStream {
     private static int defaultThreshold;
     private static long defaultMaxSize;
     private static String defaultCipherTransformation;
+    private static BufferPool defaultBufferPool;
     private static boolean thresholdSysPropSet;
 
     static {
@@ -71,6 +78,7 @@ public class CachedOutputStream extends OutputStream {
         setDefaultThreshold(-1);
         setDefaultMaxSize(-1);
         setDefaultCipherTransformation(null);
+        setDefaultBufferPool(null);
     }
 
     protected boolean outputLocked;
@@ -80,6 +88,7 @@ public class CachedOutputStream extends OutputStream {
     private long maxSize = defaultMaxSize;
     private File outputDir = DEFAULT_TEMP_DIR;
     private String cipherTransformation = defaultCipherTransformation;
+    private BufferPool bufferPool = defaultBufferPool;
 
     private long totalLength;
 
@@ -100,9 +109,14 @@ public class CachedOutputStream extends OutputStream {
 
     public CachedOutputStream(long threshold) {
         this.threshold = threshold;
-        currentStream = new LoadingByteArrayOutputStream(2048);
-        inmem = true;
         readBusProperties();
+        inmem = true;
+        if (bufferPool != null) {
+            currentStream = new PooledByteBufferOutputStream(bufferPool);
+            streamList.add(currentStream);
+        } else {
+            currentStream = new LoadingByteArrayOutputStream(2048);
+        }
     }
 
     private void readBusProperties() {
@@ -127,6 +141,9 @@ public class CachedOutputStream extends OutputStream {
                     outputDir = f;
                 }
             }
+            if (b.getProperty(CachedConstants.BUFFER_POOL_BUS_PROP) != null) {
+                bufferPool = BufferPool.getBufferPool(b);
+            }
         }
     }
 
@@ -266,6 +283,12 @@ public class CachedOutputStream extends OutputStream {
                     if (copyOldContent && byteOut.size() > 0) {
                         byteOut.writeTo(out);
                     }
+                } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                    PooledByteBufferOutputStream pooledOut = (PooledByteBufferOutputStream) currentStream;
+                    if (copyOldContent && pooledOut.size() > 0) {
+                        pooledOut.writeTo(out);
+                    }
+                    releaseSegments(pooledOut);
                 } else {
                     throw new IOException("Unknown format of currentStream");
                 }
@@ -301,6 +324,8 @@ public class CachedOutputStream extends OutputStream {
         if (inmem) {
             if (currentStream instanceof ByteArrayOutputStream) {
                 return ((ByteArrayOutputStream)currentStream).toByteArray();
+            } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                return ((PooledByteBufferOutputStream)currentStream).toByteArray();
             }
             throw new IOException("Unknown format of currentStream");
         }
@@ -315,6 +340,8 @@ public class CachedOutputStream extends OutputStream {
         if (inmem) {
             if (currentStream instanceof ByteArrayOutputStream) {
                 ((ByteArrayOutputStream)currentStream).writeTo(out);
+            } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                ((PooledByteBufferOutputStream)currentStream).writeTo(out);
             } else {
                 throw new IOException("Unknown format of currentStream");
             }
@@ -345,6 +372,9 @@ public class CachedOutputStream extends OutputStream {
             } else if (currentStream instanceof ByteArrayOutputStream) {
                 byte[] bytes = ((ByteArrayOutputStream)currentStream).toByteArray();
                 out.append(IOUtils.newStringFromBytes(bytes, charsetName, 0, (int)limit));
+            } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                byte[] bytes = ((PooledByteBufferOutputStream)currentStream).toByteArray();
+                out.append(IOUtils.newStringFromBytes(bytes, charsetName, 0, (int)limit));
             } else {
                 throw new IOException("Unknown format of currentStream");
             }
@@ -384,6 +414,9 @@ public class CachedOutputStream extends OutputStream {
             } else if (currentStream instanceof ByteArrayOutputStream) {
                 byte[] bytes = ((ByteArrayOutputStream)currentStream).toByteArray();
                 out.append(IOUtils.newStringFromBytes(bytes, charsetName));
+            } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                byte[] bytes = ((PooledByteBufferOutputStream)currentStream).toByteArray();
+                out.append(IOUtils.newStringFromBytes(bytes, charsetName));
             } else {
                 throw new IOException("Unknown format of currentStream");
             }
@@ -433,7 +466,9 @@ public class CachedOutputStream extends OutputStream {
         if (maxSize > 0 && totalLength > maxSize) {
             throw new CacheSizeExceededException();
         }
-        if (inmem && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
+        if (inmem && totalLength > threshold
+            && (currentStream instanceof ByteArrayOutputStream
+                || currentStream instanceof PooledByteBufferOutputStream)) {
             createFileOutputStream();
         }
     }
@@ -469,7 +504,7 @@ public class CachedOutputStream extends OutputStream {
         if (tempFileFailed) {
             return;
         }
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream bout = currentStream;
         try {
             if (outputDir == null) {
                 tempFile = FileUtils.createTempFile("cos", "tmp");
@@ -477,8 +512,22 @@ public class CachedOutputStream extends OutputStream {
                 tempFile = FileUtils.createTempFile("cos", "tmp", outputDir, false);
             }
 
-            currentStream = createOutputStream(tempFile);
-            bout.writeTo(currentStream);
+            if (bout instanceof PooledByteBufferOutputStream) {
+                PooledByteBufferOutputStream pooledOut = (PooledByteBufferOutputStream)bout;
+                if (cipherTransformation == null) {
+                    // hand the segments straight to the file channel, no intermediate byte[]
+                    FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE);
+                    currentStream = new BufferedOutputStream(Channels.newOutputStream(channel));
+                    pooledOut.writeTo(channel);
+                } else {
+                    currentStream = createOutputStream(tempFile);
+                    pooledOut.writeTo(currentStream);
+                }
+                releaseSegments(pooledOut);
+            } else {
+                currentStream = createOutputStream(tempFile);
+                ((ByteArrayOutputStream)bout).writeTo(currentStream);
+            }
             inmem = false;
             streamList.add(currentStream);
         } catch (Exception ex) {
@@ -505,6 +554,11 @@ public class CachedOutputStream extends OutputStream {
                 return ((LoadingByteArrayOutputStream) currentStream).createInputStream();
             } else if (currentStream instanceof ByteArrayOutputStream) {
                 return new ByteArrayInputStream(((ByteArrayOutputStream) currentStream).toByteArray());
+            } else if (currentStream instanceof PooledByteBufferOutputStream) {
+                PooledByteBufferOutputStream pooledOut = (PooledByteBufferOutputStream) currentStream;
+                InputStream pooledIn = new PooledInputStream(pooledOut);
+                streamList.add(pooledIn);
+                return pooledIn;
             } else {
                 return null;
             }
@@ -553,10 +607,38 @@ public class CachedOutputStream extends OutputStream {
             deleteTempFile();
             currentStream = new LoadingByteArrayOutputStream(1024);
             inmem = true;
+        } else if (inmem && currentStream instanceof PooledByteBufferOutputStream
+            && streamList.isEmpty() && allowDeleteOfFile) {
+            // pooled segments share the temp file lifecycle
+            ((PooledByteBufferOutputStream)currentStream).release();
         }
         return postClosedInvoked;
     }
 
+    /**
+     * Drops the given segments from this stream. Input streams obtained from them earlier may still
+     * be reading, so in that case the last of them to be closed hands the segments back to the pool.
+     */
+    private void releaseSegments(PooledByteBufferOutputStream pooledOut) {
+        streamList.remove(pooledOut);
+        List<PooledInputStream> readers = new ArrayList<>();
+        for (Iterator<Object> it = streamList.iterator(); it.hasNext();) {
+            Object o = it.next();
+            if (o instanceof PooledInputStream && ((PooledInputStream)o).source == pooledOut) {
+                readers.add((PooledInputStream)o);
+                it.remove();
+            }
+        }
+        if (readers.isEmpty()) {
+            pooledOut.release();
+        } else {
+            AtomicInteger openReaders = new AtomicInteger(readers.size());
+            for (PooledInputStream reader : readers) {
+                reader.openReaders = openReaders;
+            }
+        }
+    }
+
     public void setOutputDir(File outputDir) throws IOException {
         this.outputDir = outputDir;
     }
@@ -576,6 +658,28 @@ public class CachedOutputStream extends OutputStream {
         this.cipherTransformation = cipherTransformation;
     }
 
+    /**
+     * Keeps the in-memory content in segments taken from the given pool instead of a byte array.
+     * The segments are handed back to the pool when the cache is released the same way a temp file
+     * would be deleted, i.e. when this stream and all the input streams obtained from it are closed
+     * and the temp file is not held. Must be called before anything is written.
+     */
+    public void setBufferPool(BufferPool pool) {
+        if (totalLength > 0 || !inmem) {
+            throw new IllegalStateException("Buffer pool must be set before writing to the stream");
+        }
+        if (currentStream instanceof PooledByteBufferOutputStream) {
+            streamList.remove(currentStream);
+        }
+        bufferPool = pool;
+        if (pool == null) {
+            currentStream = new LoadingByteArrayOutputStream(2048);
+        } else {
+            currentStream = new PooledByteBufferOutputStream(pool);
+            streamList.add(currentStream);
+        }
+    }
+
     public static void setDefaultMaxSize(long l) {
         if (l == -1) {
             String s = SystemPropertyAction.getProperty(CachedConstants.MAX_SIZE_SYS_PROP, "-1");
@@ -613,6 +717,17 @@ public class CachedOutputStream extends OutputStream {
         defaultCipherTransformation = n;
     }
 
+    /**
+     * Sets the pool used by all new streams; null reads CachedConstants.BUFFER_POOL_SYS_PROP,
+     * which disables pooling when not set.
+     */
+    public static void setDefaultBufferPool(BufferPool pool) {
+        if (pool == null) {
+            pool = BufferPool.createFromSystemProperties();
+        }
+        defaultBufferPool = pool;
+    }
+
     private OutputStream createOutputStream(File file) throws IOException {
         OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()));
         if (cipherTransformation != null) {
@@ -652,6 +767,31 @@ public class CachedOutputStream extends OutputStream {
         return in;
     }
 
+    private class PooledInputStream extends FilterInputStream {
+        private final PooledByteBufferOutputStream source;
+        // set once the segments are no longer owned by the CachedOutputStream
+        private volatile AtomicInteger openReaders;
+        private boolean closed;
+
+        PooledInputStream(PooledByteBufferOutputStream source) {
+            super(source.createInputStream());
+            this.source = source;
+        }
+
+        public void close() throws IOException {
+            if (!closed) {
+                super.close();
+                closed = true;
+                AtomicInteger readers = openReaders;
+                if (readers == null) {
+                    maybeDeleteTempFile(this);
+                } else if (readers.decrementAndGet() == 0) {
+                    source.release();
+                }
+            }
+        }
+    }
+
     private class TransferableFileInputStream extends FileInputStream implements Transferable {
         private boolean closed;
         private File sourceFile;
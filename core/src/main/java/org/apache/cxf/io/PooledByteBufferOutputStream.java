@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An OutputStream that keeps its content in a list of {@link ByteBuffer} segments taken
+ * from a {@link BufferPool}. Unlike a ByteArrayOutputStream the content is never copied
+ * to grow the buffer, and it can be written out segment by segment without creating
+ * an intermediate byte[].
+ *
+ * The segments stay in use until {@link #release()} is called, which hands them back
+ * to the pool and empties the stream. Input streams created before that must not be
+ * used afterwards.
+ */
+public class PooledByteBufferOutputStream extends OutputStream {
+    private final BufferPool pool;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private ByteBuffer current;
+    private int size;
+
+    public PooledByteBufferOutputStream(BufferPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void write(int b) {
+        if (current == null || !current.hasRemaining()) {
+            nextSegment();
+        }
+        current.put((byte)b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (current == null || !current.hasRemaining()) {
+                nextSegment();
+            }
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    private void nextSegment() {
+        current = pool.acquire();
+        segments.add(current);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes the content to the given stream. Heap segments are written directly from
+     * their backing arrays.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        byte[] scratch = null;
+        for (ByteBuffer segment : segments) {
+            ByteBuffer data = segment.duplicate();
+            data.flip();
+            if (data.hasArray()) {
+                out.write(data.array(), data.arrayOffset(), data.remaining());
+            } else {
+                if (scratch == null) {
+                    scratch = new byte[Math.min(size, BufferPool.SEGMENT_SIZE)];
+                }
+                while (data.hasRemaining()) {
+                    int n = Math.min(data.remaining(), scratch.length);
+                    data.get(scratch, 0, n);
+                    out.write(scratch, 0, n);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the content to the given channel, segment by segment.
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        for (ByteBuffer segment : segments) {
+            ByteBuffer data = segment.duplicate();
+            data.flip();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[size];
+        int pos = 0;
+        for (ByteBuffer segment : segments) {
+            ByteBuffer data = segment.duplicate();
+            data.flip();
+            int n = data.remaining();
+            data.get(bytes, pos, n);
+            pos += n;
+        }
+        return bytes;
+    }
+
+    /**
+     * Creates an InputStream over the content written so far, without copying it.
+     */
+    public InputStream createInputStream() {
+        List<ByteBuffer> views = new ArrayList<>(segments.size());
+        for (ByteBuffer segment : segments) {
+            ByteBuffer data = segment.duplicate();
+            data.flip();
+            views.add(data);
+        }
+        return new SegmentInputStream(views);
+    }
+
+    /**
+     * Returns all segments to the pool and empties the stream.
+     */
+    public void release() {
+        for (ByteBuffer segment : segments) {
+            pool.release(segment);
+        }
+        segments.clear();
+        current = null;
+        size = 0;
+    }
+
+    private static class SegmentInputStream extends InputStream {
+        private final List<ByteBuffer> views;
+        private int index;
+
+        SegmentInputStream(List<ByteBuffer> views) {
+            this.views = views;
+        }
+
+        private ByteBuffer currentView() {
+            while (index < views.size()) {
+                ByteBuffer view = views.get(index);
+                if (view.hasRemaining()) {
+                    return view;
+                }
+                index++;
+            }
+            return null;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer view = currentView();
+            return view == null ? -1 : view.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            ByteBuffer view = currentView();
+            if (view == null) {
+                return -1;
+            }
+            int count = 0;
+            while (view != null && count < len) {
+                int n = Math.min(len - count, view.remaining());
+                view.get(b, off + count, n);
+                count += n;
+                view = currentView();
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = 0;
+            ByteBuffer view = currentView();
+            while (view != null && skipped < n) {
+                int step = (int)Math.min(n - skipped, view.remaining());
+                view.position(view.position() + step);
+                skipped += step;
+                view = currentView();
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            long available = 0;
+            for (int i = index; i < views.size(); i++) {
+                available += views.get(i).remaining();
+            }
+            return (int)Math.min(Integer.MAX_VALUE, available);
+        }
+    }
+}
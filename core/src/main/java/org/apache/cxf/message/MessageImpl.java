@@ -20,7 +20,6 @@
 package org.apache.cxf.message;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +29,7 @@ import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.InterceptorChain;
 import org.apache.cxf.service.Service;
+import org.apache.cxf.service.model.BindingInfo;
 import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.transport.Destination;
 
@@ -45,8 +45,6 @@ public class MessageImpl extends StringMapImpl implements Message {
     private Object[] contents = new Object[20];
     private int index;
 
-    private Map<String, Object> contextCache;
-
 
     public MessageImpl() {
         //nothing
@@ -65,7 +63,6 @@ public class MessageImpl extends StringMapImpl implements Message {
             interceptorChain = impl.interceptorChain;
             contents = impl.contents;
             index = impl.index;
-            contextCache = impl.contextCache;
         } else {
             throw new RuntimeException("Not a MessageImpl! " + m.getClass());
         }
@@ -168,54 +165,94 @@ public class MessageImpl extends StringMapImpl implements Message {
     public void setInterceptorChain(InterceptorChain ic) {
         this.interceptorChain = ic;
     }
-    public Object put(String key, Object value) {
-        if (contextCache != null) {
-            contextCache.put(key, value);
-        }
+    // kept so that code compiled against the former override still links
+    public Object put(String key, Object value) { //NOPMD
         return super.put(key, value);
     }
+    /**
+     * Looks the key up in the message, the exchange, the endpoint, the endpoint info,
+     * the binding info, the service and the bus properties, in that order. The layers
+     * are read in place (the shared ones are all concurrent maps) so nothing is copied
+     * per message and changes to any layer are visible immediately.
+     */
     public Object getContextualProperty(String key) {
-        if (contextCache == null) {
-            calcContextCache();
+        Object o = get(key);
+        if (o != null || containsKey(key)) {
+            return o;
         }
-        return contextCache.get(key);
-    }
-    public Set<String> getContextualPropertyKeys() {
-        return contextCache.keySet();
+        Exchange ex = getExchange();
+        if (ex == null) {
+            return null;
+        }
+        o = ex.get(key);
+        if (o != null) {
+            return o;
+        }
+        Endpoint ep = ex.getEndpoint();
+        if (ep != null) {
+            o = ep.get(key);
+            if (o != null) {
+                return o;
+            }
+            EndpointInfo ei = ep.getEndpointInfo();
+            if (ei != null) {
+                o = ei.getProperty(key);
+                if (o != null) {
+                    return o;
+                }
+                BindingInfo bi = ei.getBinding();
+                if (bi != null) {
+                    o = bi.getProperty(key);
+                    if (o != null) {
+                        return o;
+                    }
+                }
+            }
+        }
+        Service sv = ex.getService();
+        if (sv != null) {
+            o = sv.get(key);
+            if (o != null) {
+                return o;
+            }
+        }
+        Bus b = ex.getBus();
+        return b != null ? b.getProperty(key) : null;
     }
 
-    private void calcContextCache() {
-        Map<String, Object> o = new HashMap<>();
+    public Set<String> getContextualPropertyKeys() {
+        Set<String> keys = new HashSet<>();
         Exchange ex = getExchange();
         if (ex != null) {
             Bus b = ex.getBus();
             if (b != null && b.getProperties() != null) {
-                o.putAll(b.getProperties());
+                keys.addAll(b.getProperties().keySet());
             }
             Service sv = ex.getService();
             if (sv != null) {
-                o.putAll(sv);
+                keys.addAll(sv.keySet());
             }
             Endpoint ep = ex.getEndpoint();
             if (ep != null) {
                 EndpointInfo ei = ep.getEndpointInfo();
                 if (ei != null) {
-                    Map<String, Object> p = ep.getEndpointInfo().getBinding().getProperties();
-                    if (p != null) {
-                        o.putAll(p);
-                    }
-                    p = ep.getEndpointInfo().getProperties();
-                    if (p != null) {
-                        o.putAll(p);
-                    }
+                    addKeys(keys, ei.getBinding() != null ? ei.getBinding().getProperties() : null);
+                    addKeys(keys, ei.getProperties());
                 }
-                o.putAll(ep);
+                keys.addAll(ep.keySet());
             }
-            o.putAll(ex);
+            keys.addAll(ex.keySet());
         }
-        o.putAll(this);
-        contextCache = o;
+        keys.addAll(keySet());
+        return keys;
     }
+
+    private static void addKeys(Set<String> keys, Map<String, Object> p) {
+        if (p != null) {
+            keys.addAll(p.keySet());
+        }
+    }
+
     public static void copyContent(Message m1, Message m2) {
         for (Class<?> c : m1.getContentFormats()) {
             m2.setContent(c, m1.getContent(c));
@@ -223,14 +260,6 @@ public class MessageImpl extends StringMapImpl implements Message {
     }
 
     public void resetContextCache() {
-        if (contextCache != null) {
-            contextCache = null;
-        }
-    }
-
-    void setContextualProperty(String key, Object v) {
-        if (contextCache != null && !containsKey(key)) {
-            contextCache.put(key, v);
-        }
+        // contextual properties are not cached, see getContextualProperty
     }
 }
@@ -92,7 +92,7 @@ public final class PhaseChainCache {
         }
 
 
-        return last.chain.cloneChain();
+        return last.chain.shareChain();
     }
 
     private static class ChainHolder {
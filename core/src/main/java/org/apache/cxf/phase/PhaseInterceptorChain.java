@@ -84,6 +84,9 @@ public class PhaseInterceptorChain implements InterceptorChain {
     // Note no hasBefores[] is needed because implementation adds subsequent
     // interceptors to the end of the list by default.
     private boolean[] hasAfters;
+    // shared indicates that heads, tails, hasAfters and the holders they refer to
+    // belong to a cached template chain and have to be copied before modification
+    private boolean shared;
 
 
     private State state;
@@ -99,7 +102,7 @@ public class PhaseInterceptorChain implements InterceptorChain {
     private boolean chainReleased;
 
 
-    private PhaseInterceptorChain(PhaseInterceptorChain src) {
+    private PhaseInterceptorChain(PhaseInterceptorChain src, boolean share) {
         isFineLogging = LOG.isLoggable(Level.FINE);
 
         //only used for clone
@@ -109,30 +112,16 @@ public class PhaseInterceptorChain implements InterceptorChain {
         nameMap = src.nameMap;
         phases = src.phases;
 
-        int length = phases.length;
-        hasAfters = new boolean[length];
-        System.arraycopy(src.hasAfters, 0, hasAfters, 0, length);
-
-        heads = new InterceptorHolder[length];
-        tails = new InterceptorHolder[length];
-
-        InterceptorHolder last = null;
-        for (int x = 0; x < length; x++) {
-            InterceptorHolder ih = src.heads[x];
-            while (ih != null
-                && ih.phaseIdx == x) {
-                InterceptorHolder ih2 = new InterceptorHolder(ih);
-                ih2.prev = last;
-                if (last != null) {
-                    last.next = ih2;
-                }
-                if (heads[x] == null) {
-                    heads[x] = ih2;
-                }
-                tails[x] = ih2;
-                last = ih2;
-                ih = ih.next;
-            }
+        if (share) {
+            // the holders of the source are never modified once shared, the
+            // first add/remove on this chain copies them (see ensureWritable)
+            heads = src.heads;
+            tails = src.tails;
+            hasAfters = src.hasAfters;
+            shared = true;
+        } else {
+            hasAfters = src.hasAfters.clone();
+            copyHolders(src.heads);
         }
     }
 
@@ -199,7 +188,62 @@ public class PhaseInterceptorChain implements InterceptorChain {
     }
 
     public PhaseInterceptorChain cloneChain() {
-        return new PhaseInterceptorChain(this);
+        return new PhaseInterceptorChain(this, false);
+    }
+
+    /**
+     * Creates a chain which executes the interceptors of this chain without copying
+     * them. This chain must not be modified afterwards; the returned chain copies
+     * the interceptors only if it is modified itself, which is rarely the case for
+     * the chains handed out by the {@link PhaseChainCache}.
+     */
+    PhaseInterceptorChain shareChain() {
+        return new PhaseInterceptorChain(this, true);
+    }
+
+    private void copyHolders(InterceptorHolder[] srcHeads) {
+        int length = phases.length;
+        heads = new InterceptorHolder[length];
+        tails = new InterceptorHolder[length];
+
+        InterceptorHolder last = null;
+        for (int x = 0; x < length; x++) {
+            InterceptorHolder ih = srcHeads[x];
+            while (ih != null
+                && ih.phaseIdx == x) {
+                InterceptorHolder ih2 = new InterceptorHolder(ih);
+                ih2.prev = last;
+                if (last != null) {
+                    last.next = ih2;
+                }
+                if (heads[x] == null) {
+                    heads[x] = ih2;
+                }
+                tails[x] = ih2;
+                last = ih2;
+                if (iterator != null) {
+                    // keep the position of a chain which is already executing
+                    if (iterator.prev == ih) {
+                        iterator.prev = ih2;
+                    }
+                    if (iterator.first == ih) {
+                        iterator.first = ih2;
+                    }
+                }
+                ih = ih.next;
+            }
+        }
+        if (iterator != null) {
+            iterator.heads = heads;
+        }
+    }
+
+    private void ensureWritable() {
+        if (shared) {
+            shared = false;
+            hasAfters = hasAfters.clone();
+            copyHolders(heads);
+        }
     }
 
     private void updateIterator() {
@@ -507,6 +551,7 @@ public class PhaseInterceptorChain implements InterceptorChain {
     }
 
     public void remove(Interceptor<? extends Message> i) {
+        ensureWritable();
         PhaseInterceptorIterator it = new PhaseInterceptorIterator(heads);
         while (it.hasNext()) {
             InterceptorHolder holder = it.nextInterceptorHolder();
@@ -557,6 +602,7 @@ public class PhaseInterceptorChain implements InterceptorChain {
     }
 
     private void insertInterceptor(int phase, PhaseInterceptor<? extends Message> interc, boolean force) {
+        ensureWritable();
         InterceptorHolder ih = new InterceptorHolder(interc, phase);
         if (heads[phase] == null) {
             // no interceptors yet in this phase
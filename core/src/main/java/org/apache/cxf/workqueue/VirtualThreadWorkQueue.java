@@ -0,0 +1,245 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.workqueue;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.classloader.ClassLoaderUtils;
+import org.apache.cxf.common.classloader.ClassLoaderUtils.ClassLoaderHolder;
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * An {@link AutomaticWorkQueue} which runs every work item on a new virtual thread (Java 21+).
+ * Instead of a pool size, a semaphore limits how many work items run at the same time; the
+ * others wait on their own virtual thread, up to the maximum queue size.
+ */
+public class VirtualThreadWorkQueue implements AutomaticWorkQueue {
+    /**
+     * Bus or system property which makes the default work queue of the bus use virtual threads
+     */
+    public static final String ENABLED_PROPERTY = "org.apache.cxf.workqueue.virtualThreads.enabled";
+    /**
+     * Bus or system property with the maximum number of concurrent work items of the default
+     * work queue, if it uses virtual threads
+     */
+    public static final String MAX_CONCURRENCY_PROPERTY = "org.apache.cxf.workqueue.virtualThreads.maxConcurrency";
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 1024;
+
+    private static final Logger LOG = LogUtils.getL7dLogger(VirtualThreadWorkQueue.class);
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = Class.forName("java.lang.Thread$Builder").getMethod("name", String.class, long.class);
+            factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+        } catch (Throwable t) {
+            // virtual threads are not available before Java 21
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private final String name;
+    private final ThreadFactory threadFactory;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private volatile boolean shutdown;
+    private volatile boolean discardWaiting;
+
+    public VirtualThreadWorkQueue(String name) {
+        this(name, DEFAULT_MAX_CONCURRENCY, AutomaticWorkQueueImpl.DEFAULT_MAX_QUEUE_SIZE);
+    }
+
+    /**
+     * @param name the name of the work queue, also used for the thread names
+     * @param maxConcurrency the maximum number of work items running at the same time
+     */
+    public VirtualThreadWorkQueue(String name, int maxConcurrency) {
+        this(name, maxConcurrency, AutomaticWorkQueueImpl.DEFAULT_MAX_QUEUE_SIZE);
+    }
+
+    /**
+     * @param name the name of the work queue, also used for the thread names
+     * @param maxConcurrency the maximum number of work items running at the same time
+     * @param maxQueueSize the maximum number of work items waiting to run, -1 for no limit
+     */
+    public VirtualThreadWorkQueue(String name, int maxConcurrency, int maxQueueSize) {
+        this.name = name;
+        this.threadFactory = createThreadFactory(name + "-virtual-");
+        if (threadFactory == null) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueueSize = maxQueueSize < 0 ? Integer.MAX_VALUE : maxQueueSize;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * @return true if the JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a factory of virtual threads named with the given prefix followed by a counter.
+     * @return the factory, or null if the JVM does not support virtual threads
+     */
+    public static ThreadFactory createThreadFactory(String prefix) {
+        if (!isSupported()) {
+            return null;
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory)FACTORY.invoke(builder);
+        } catch (Exception ex) {
+            LOG.log(Level.FINE, "Could not create a virtual thread factory", ex);
+            return null;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void execute(Runnable work) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Work queue " + name + " is shut down");
+        }
+        if (permits.tryAcquire()) {
+            start(work, false);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueueSize) {
+            waiting.decrementAndGet();
+            throw new RejectedExecutionException("Work queue " + name + " is full");
+        }
+        start(work, true);
+    }
+
+    public void execute(Runnable work, long timeout) {
+        try {
+            execute(work);
+        } catch (RejectedExecutionException ree) {
+            try {
+                if (shutdown || !permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                    throw ree;
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw ree;
+            }
+            start(work, false);
+        }
+    }
+
+    public void schedule(final Runnable work, final long delay) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Work queue " + name + " is shut down");
+        }
+        threadFactory.newThread(() -> {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                return;
+            }
+            execute(work);
+        }).start();
+    }
+
+    private void start(Runnable work, boolean acquire) {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Thread thread = threadFactory.newThread(() -> {
+            if (acquire) {
+                permits.acquireUninterruptibly();
+                waiting.decrementAndGet();
+                if (discardWaiting) {
+                    permits.release();
+                    return;
+                }
+            }
+            active.incrementAndGet();
+            ClassLoaderHolder orig = ClassLoaderUtils.setThreadContextClassloader(loader);
+            try {
+                work.run();
+            } finally {
+                if (orig != null) {
+                    orig.reset();
+                }
+                active.decrementAndGet();
+                permits.release();
+            }
+        });
+        thread.start();
+    }
+
+    public void shutdown(boolean processRemainingWorkItems) {
+        discardWaiting = !processRemainingWorkItems;
+        shutdown = true;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return the number of work items currently running
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return the number of work items waiting for one of the running ones to complete
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder(getClass().getSimpleName())
+            .append(" [name: ").append(name)
+            .append(", max concurrency: ").append(maxConcurrency)
+            .append(", max queue size: ").append(maxQueueSize)
+            .append(']').toString();
+    }
+}
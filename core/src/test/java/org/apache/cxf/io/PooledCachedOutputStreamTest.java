@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the CachedOutputStream tests with the in-memory content kept in pooled segments.
+ */
+public class PooledCachedOutputStreamTest extends CachedOutputStreamTest {
+    private final BufferPool pool = new BufferPool(true, 1024 * 1024);
+
+    @Override
+    protected Object createCache() {
+        CachedOutputStream cos = new CachedOutputStream();
+        cos.setBufferPool(pool);
+        return cos;
+    }
+
+    @Override
+    protected Object createCache(long threshold, String transformation) {
+        CachedOutputStream cos = (CachedOutputStream)createCache();
+        cos.setThreshold(threshold);
+        cos.setCipherTransformation(transformation);
+        return cos;
+    }
+
+    @Test
+    public void testSegmentsReleasedOnClose() throws IOException {
+        CachedOutputStream cos = (CachedOutputStream)createCache();
+        byte[] data = initTestData(20).getBytes(StandardCharsets.UTF_8);
+        cos.write(data);
+        assertTrue(cos.getOut() instanceof PooledByteBufferOutputStream);
+        assertArrayEquals(data, cos.getBytes());
+
+        int idle = pool.getIdleCount();
+        cos.close();
+        assertEquals(idle + 3, pool.getIdleCount());
+        assertEquals(0, cos.getBytes().length);
+    }
+
+    @Test
+    public void testSegmentsHeldByInputStream() throws IOException {
+        CachedOutputStream cos = (CachedOutputStream)createCache();
+        String text = initTestData(10);
+        cos.write(text.getBytes(StandardCharsets.UTF_8));
+        InputStream in = cos.getInputStream();
+
+        int idle = pool.getIdleCount();
+        cos.close();
+        assertEquals(idle, pool.getIdleCount());
+        assertEquals(text, IOUtils.toString(in));
+        in.close();
+        assertEquals(idle + 2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testWriteCacheTo() throws IOException {
+        CachedOutputStream cos = (CachedOutputStream)createCache();
+        String text = initTestData(17);
+        cos.write(text.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cos.writeCacheTo(out);
+        assertEquals(text, out.toString(StandardCharsets.UTF_8.name()));
+
+        StringBuilder sb = new StringBuilder();
+        cos.writeCacheTo(sb, 10);
+        assertEquals(text.substring(0, 10), sb.toString());
+        cos.close();
+    }
+
+    @Test
+    public void testSpillToFile() throws IOException {
+        CachedOutputStream cos = (CachedOutputStream)createCache(16 * 1024);
+        byte[] data = initTestData(40).getBytes(StandardCharsets.UTF_8);
+        cos.write(data, 0, 12 * 1024);
+        assertTrue(cos.getOut() instanceof PooledByteBufferOutputStream);
+        int idle = pool.getIdleCount();
+        cos.write(data, 12 * 1024, data.length - 12 * 1024);
+        File tmpFile = cos.getTempFile();
+        assertNotNull(tmpFile);
+        // the segments written before the spill are back in the pool
+        assertEquals(idle + 2, pool.getIdleCount());
+        try (InputStream in = cos.getInputStream()) {
+            assertArrayEquals(data, IOUtils.readBytesFromStream(in));
+        }
+        cos.close();
+        assertFalse(tmpFile.exists());
+    }
+
+    @Test
+    public void testSpillToFileWhileInputStreamOpen() throws IOException {
+        CachedOutputStream cos = (CachedOutputStream)createCache(16 * 1024);
+        byte[] data = initTestData(40).getBytes(StandardCharsets.UTF_8);
+        cos.write(data, 0, 12 * 1024);
+        InputStream in = cos.getInputStream();
+        int idle = pool.getIdleCount();
+        cos.write(data, 12 * 1024, data.length - 12 * 1024);
+        assertNotNull(cos.getTempFile());
+        // the open input stream still reads the segments, so they must not be reused yet
+        assertEquals(idle, pool.getIdleCount());
+
+        CachedOutputStream other = (CachedOutputStream)createCache();
+        byte[] otherData = new byte[12 * 1024];
+        other.write(otherData);
+        idle = pool.getIdleCount();
+
+        byte[] expected = new byte[12 * 1024];
+        System.arraycopy(data, 0, expected, 0, expected.length);
+        assertArrayEquals(expected, IOUtils.readBytesFromStream(in));
+        in.close();
+        assertEquals(idle + 2, pool.getIdleCount());
+
+        try (InputStream fileIn = cos.getInputStream()) {
+            assertArrayEquals(data, IOUtils.readBytesFromStream(fileIn));
+        }
+        cos.close();
+        other.close();
+    }
+
+    @Test
+    public void testResetOutWhileInputStreamOpen() throws IOException {
+        CachedOutputStream cos = (CachedOutputStream)createCache();
+        String text = initTestData(10);
+        cos.write(text.getBytes(StandardCharsets.UTF_8));
+        InputStream in1 = cos.getInputStream();
+        InputStream in2 = cos.getInputStream();
+        int idle = pool.getIdleCount();
+        cos.resetOut(new ByteArrayOutputStream(), true);
+        assertEquals(idle, pool.getIdleCount());
+
+        assertEquals(text, IOUtils.toString(in1));
+        in1.close();
+        assertEquals(idle, pool.getIdleCount());
+        assertEquals(text, IOUtils.toString(in2));
+        in2.close();
+        assertEquals(idle + 2, pool.getIdleCount());
+    }
+
+    @Test
+    public void testUseBusBufferPool() throws Exception {
+        Bus oldbus = BusFactory.getThreadDefaultBus(false);
+        try {
+            Bus b = BusFactory.newInstance().createBus();
+            b.setProperty(CachedConstants.BUFFER_POOL_BUS_PROP, "heap");
+            BusFactory.setThreadDefaultBus(b);
+
+            CachedOutputStream cos = new CachedOutputStream();
+            assertTrue(cos.getOut() instanceof PooledByteBufferOutputStream);
+            cos.write("Hello World!".getBytes(StandardCharsets.UTF_8));
+            cos.close();
+
+            BufferPool busPool = b.getExtension(BufferPool.class);
+            assertNotNull(busPool);
+            assertSame(busPool, BufferPool.getBufferPool(b));
+            assertFalse(busPool.isDirect());
+            assertEquals(1, busPool.getIdleCount());
+            b.shutdown(true);
+        } finally {
+            BusFactory.setThreadDefaultBus(oldbus);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.message;
+
+import java.util.Set;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.bus.extension.ExtensionManagerBus;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.ServiceImpl;
+import org.apache.cxf.service.model.BindingInfo;
+import org.apache.cxf.service.model.EndpointInfo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MessageImplTest {
+
+    private Bus bus;
+    private Service service;
+    private EndpointInfo endpointInfo;
+    private BindingInfo bindingInfo;
+    private Endpoint endpoint;
+    private Exchange exchange;
+    private Message message;
+
+    @Before
+    public void setUp() {
+        bus = new ExtensionManagerBus();
+        service = new ServiceImpl();
+        bindingInfo = new BindingInfo(null, "binding");
+        endpointInfo = new EndpointInfo();
+        endpointInfo.setBinding(bindingInfo);
+        endpoint = mock(Endpoint.class);
+        when(endpoint.getEndpointInfo()).thenReturn(endpointInfo);
+
+        exchange = new ExchangeImpl();
+        exchange.put(Bus.class, bus);
+        exchange.put(Service.class, service);
+        exchange.put(Endpoint.class, endpoint);
+        message = new MessageImpl();
+        message.setExchange(exchange);
+        exchange.setInMessage(message);
+    }
+
+    @Test
+    public void testContextualPropertyPrecedence() {
+        bus.setProperty("key", "bus");
+        assertEquals("bus", message.getContextualProperty("key"));
+        service.put("key", "service");
+        assertEquals("service", message.getContextualProperty("key"));
+        bindingInfo.setProperty("key", "binding");
+        assertEquals("binding", message.getContextualProperty("key"));
+        endpointInfo.setProperty("key", "endpointInfo");
+        assertEquals("endpointInfo", message.getContextualProperty("key"));
+        when(endpoint.get("key")).thenReturn("endpoint");
+        assertEquals("endpoint", message.getContextualProperty("key"));
+        exchange.put("key", "exchange");
+        assertEquals("exchange", message.getContextualProperty("key"));
+        message.put("key", "message");
+        assertEquals("message", message.getContextualProperty("key"));
+
+        message.remove("key");
+        assertEquals("exchange", message.getContextualProperty("key"));
+        exchange.remove("key");
+        assertEquals("endpoint", message.getContextualProperty("key"));
+    }
+
+    @Test
+    public void testNullMessageValueHidesOtherLayers() {
+        bus.setProperty("key", "bus");
+        message.put("key", null);
+        assertNull(message.getContextualProperty("key"));
+    }
+
+    @Test
+    public void testContextualPropertyWithoutExchange() {
+        Message m = new MessageImpl();
+        m.put("key", "message");
+        assertEquals("message", m.getContextualProperty("key"));
+        assertNull(m.getContextualProperty("other"));
+        assertEquals(1, m.getContextualPropertyKeys().size());
+    }
+
+    @Test
+    public void testContextualPropertyKeys() {
+        bus.setProperty("bus", Boolean.TRUE);
+        service.put("service", Boolean.TRUE);
+        bindingInfo.setProperty("binding", Boolean.TRUE);
+        endpointInfo.setProperty("endpointInfo", Boolean.TRUE);
+        exchange.put("exchange", Boolean.TRUE);
+        message.put("message", Boolean.TRUE);
+
+        Set<String> keys = message.getContextualPropertyKeys();
+        assertTrue(keys.contains("bus"));
+        assertTrue(keys.contains("service"));
+        assertTrue(keys.contains("binding"));
+        assertTrue(keys.contains("endpointInfo"));
+        assertTrue(keys.contains("exchange"));
+        assertTrue(keys.contains("message"));
+    }
+}
@@ -385,6 +385,55 @@ public class PhaseInterceptorChainTest {
         verify(message, never()).getInterceptorChain();
     }
 
+    @Test
+    public void testSharedChainCopiedOnInsertion() throws Exception {
+        CountingPhaseInterceptor p1 = new CountingPhaseInterceptor("phase1", "p1");
+        CountingPhaseInterceptor p2 = new CountingPhaseInterceptor("phase2", "p2");
+        CountingPhaseInterceptor p3 = new CountingPhaseInterceptor("phase3", "p3");
+        InsertingPhaseInterceptor p4 = new InsertingPhaseInterceptor(null, p2, "phase1", "p4");
+        chain.add(p1);
+        chain.add(p4);
+        chain.add(p3);
+
+        PhaseInterceptorChain shared = chain.shareChain();
+        when(message.getInterceptorChain()).thenReturn(shared);
+        shared.doIntercept(message);
+        assertEquals(1, p1.invoked);
+        assertEquals(1, p4.invoked);
+        assertEquals(1, p2.invoked);
+        assertEquals(1, p3.invoked);
+        assertEquals(4, count(shared.iterator()));
+
+        // the interceptors of the template chain must not have been modified
+        assertEquals(3, count(chain.iterator()));
+        PhaseInterceptorChain other = chain.shareChain();
+        assertEquals(3, count(other.iterator()));
+    }
+
+    @Test
+    public void testSharedChainRemoval() throws Exception {
+        CountingPhaseInterceptor p1 = new CountingPhaseInterceptor("phase1", "p1");
+        CountingPhaseInterceptor p2 = new CountingPhaseInterceptor("phase2", "p2");
+        chain.add(p1);
+        chain.add(p2);
+
+        PhaseInterceptorChain shared = chain.shareChain();
+        shared.remove(p1);
+        shared.doIntercept(message);
+        assertEquals(0, p1.invoked);
+        assertEquals(1, p2.invoked);
+        assertEquals(2, count(chain.iterator()));
+    }
+
+    private static int count(Iterator<Interceptor<? extends Message>> it) {
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
     AbstractPhaseInterceptor<Message> setUpPhaseInterceptor(String phase, String id) throws Exception {
         return setUpPhaseInterceptor(phase, id, null, null);
     }
@@ -481,7 +530,8 @@ public class PhaseInterceptorChainTest {
         }
 
         public void handleMessage(Message m) {
-            insertionChain.add(insertionInterceptor);
+            InterceptorChain c = insertionChain == null ? m.getInterceptorChain() : insertionChain;
+            c.add(insertionInterceptor);
             invoked++;
         }
 
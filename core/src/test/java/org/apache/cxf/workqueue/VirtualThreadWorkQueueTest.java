@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.workqueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadWorkQueueTest {
+
+    @Test
+    public void testNotSupported() {
+        assumeFalse(VirtualThreadWorkQueue.isSupported());
+        assertNull(VirtualThreadWorkQueue.createThreadFactory("test"));
+        try {
+            new VirtualThreadWorkQueue("test");
+            fail("Virtual threads should not be available");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        assumeTrue(VirtualThreadWorkQueue.isSupported());
+        VirtualThreadWorkQueue workqueue = new VirtualThreadWorkQueue("test", 2, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        Runnable work = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        };
+        for (int i = 0; i < 4; i++) {
+            workqueue.execute(work);
+        }
+        try {
+            workqueue.execute(work);
+            fail("Work queue should be full");
+        } catch (RejectedExecutionException ex) {
+            // expected
+        }
+        assertEquals(2, workqueue.getWaitingCount());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        workqueue.shutdown(true);
+        assertTrue(workqueue.isShutdown());
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        assumeTrue(VirtualThreadWorkQueue.isSupported());
+        VirtualThreadWorkQueue workqueue = new VirtualThreadWorkQueue("test");
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        workqueue.schedule(done::countDown, 100);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        workqueue.shutdown(true);
+    }
+}
@@ -72,6 +72,7 @@ import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.Phase;
 import org.apache.cxf.phase.PhaseInterceptor;
 import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.staxutils.W3CDOMStreamReader;
 import org.apache.cxf.staxutils.W3CDOMStreamWriter;
 
 /**
@@ -188,6 +189,10 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
             }
             final SOAPPart part = soapMessage.getSOAPPart();
             Document node = (Document) message.getContent(Node.class);
+            // The body may already have been read into the Document, e.g. by the WS-Security
+            // interceptor, in which case the XMLStreamReader is reading from that Document
+            final boolean bodyInNode = node != null && xmlReader instanceof W3CDOMStreamReader
+                && ((W3CDOMStreamReader)xmlReader).getDocument() == node;
             if (node != part && node != null) {
                 StaxUtils.copy(node, new SAAJStreamWriter(part));
             } else {
@@ -240,12 +245,14 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
             //If we have an xmlReader that already is counting the attributes and such
             //then we don't want to rely on the system level defaults in StaxUtils.copy
             //CXF-6173
-            boolean secureReader = StaxUtils.isSecureReader(xmlReader, message);
-            StaxUtils.copy(xmlReader,
-                           new SAAJStreamWriter(soapMessage.getSOAPPart(),
-                                                soapMessage.getSOAPPart().getEnvelope().getBody()),
-                           true,
-                           !secureReader);
+            if (!bodyInNode) {
+                boolean secureReader = StaxUtils.isSecureReader(xmlReader, message);
+                StaxUtils.copy(xmlReader,
+                               new SAAJStreamWriter(soapMessage.getSOAPPart(),
+                                                    soapMessage.getSOAPPart().getEnvelope().getBody()),
+                               true,
+                               !secureReader);
+            }
             DOMSource bodySource = new DOMSource(soapMessage.getSOAPPart().getEnvelope().getBody());
             xmlReader = StaxUtils.createXMLStreamReader(bodySource);
             xmlReader.nextTag();
@@ -282,6 +289,16 @@ public class SAAJInInterceptor extends AbstractSoapInterceptor {
 
     public static void replaceHeaders(SOAPMessage soapMessage, SoapMessage message) throws SOAPException {
         SOAPHeader header = SAAJUtils.getHeader(soapMessage);
+        if (header == null) {
+            return;
+        }
+        replaceHeaders(header, message);
+    }
+
+    /**
+     * Replace the headers of the message with the child elements of the given SOAP Header element.
+     */
+    public static void replaceHeaders(Element header, SoapMessage message) {
         if (header == null) {
             return;
         }
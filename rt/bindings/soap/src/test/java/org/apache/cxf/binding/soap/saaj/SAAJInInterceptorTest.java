@@ -27,6 +27,7 @@ import java.util.List;
 
 import javax.xml.stream.XMLStreamReader;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
@@ -43,7 +44,10 @@ import org.apache.cxf.binding.soap.interceptor.CheckFaultInterceptor;
 import org.apache.cxf.binding.soap.interceptor.ReadHeadersInterceptor;
 import org.apache.cxf.binding.soap.interceptor.StartBodyInterceptor;
 import org.apache.cxf.headers.Header;
+import org.apache.cxf.helpers.DOMUtils;
 import org.apache.cxf.interceptor.StaxInInterceptor;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.staxutils.W3CDOMStreamReader;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -107,6 +111,42 @@ public class SAAJInInterceptorTest extends TestBase {
         assertEquals(2, headerChilds.size());
     }
 
+    @Test
+    public void testBodyAlreadyReadIntoDocument() throws Exception {
+        try {
+            prepareSoapMessage("../test-soap-header.xml");
+        } catch (IOException ioe) {
+            fail("Failed in creating soap message");
+        }
+
+        staxIntc.handleMessage(soapMessage);
+        rhi.handleMessage(soapMessage);
+        sbi.handleMessage(soapMessage);
+
+        // read the rest of the body into the headers Document and continue from there,
+        // as the WS-Security interceptor does when SAAJ is disabled
+        Document doc = (Document)soapMessage.getContent(Node.class);
+        Element body = DOMUtils.getFirstChildWithName(doc.getDocumentElement(),
+                                                      soapMessage.getVersion().getBody());
+        StaxUtils.readDocElements(doc, body, soapMessage.getContent(XMLStreamReader.class),
+                                  new StaxUtils.StreamToDOMContext(true, false, false));
+        XMLStreamReader domReader = new W3CDOMStreamReader(body);
+        domReader.nextTag();
+        soapMessage.setContent(XMLStreamReader.class, domReader);
+
+        saajIntc.handleMessage(soapMessage);
+
+        SOAPMessage parsedMessage = soapMessage.getContent(SOAPMessage.class);
+        // the body content must not have been copied a second time
+        assertEquals(1, DOMUtils.getChildrenWithName(parsedMessage.getSOAPBody(),
+            "http://travelcompany.example.org/reservation/travel", "itinerary").size());
+        assertEquals(1, DOMUtils.getChildrenWithName(parsedMessage.getSOAPBody(),
+            "http://travelcompany.example.org/reservation/hotels", "lodging").size());
+
+        XMLStreamReader xmlReader = soapMessage.getContent(XMLStreamReader.class);
+        assertEquals("check the first entry of body", "itinerary", xmlReader.getLocalName());
+    }
+
     @Test
     public void testFaultDetail() throws Exception {
         try {
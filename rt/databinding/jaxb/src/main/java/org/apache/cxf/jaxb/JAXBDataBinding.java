@@ -69,6 +69,7 @@ import org.apache.cxf.common.jaxb.JAXBBeanInfo;
 import org.apache.cxf.common.jaxb.JAXBContextCache;
 import org.apache.cxf.common.jaxb.JAXBContextCache.CachedContextAndSchemas;
 import org.apache.cxf.common.jaxb.JAXBContextProxy;
+import org.apache.cxf.common.jaxb.JAXBInstancePool;
 import org.apache.cxf.common.jaxb.JAXBUtils;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.PackageUtils;
@@ -112,6 +113,8 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
 
     public static final String JAXB_SCAN_PACKAGES = "jaxb.scanPackages";
 
+    public static final int DEFAULT_POOL_SIZE = 0;
+
     private static final Logger LOG = LogUtils.getLogger(JAXBDataBinding.class);
 
     private static final Class<?>[] SUPPORTED_READER_FORMATS = new Class<?>[] {Node.class,
@@ -216,6 +219,12 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     private boolean scanPackages = true;
     private boolean qualifiedSchemas;
 
+    private int marshallerPoolSize = DEFAULT_POOL_SIZE;
+    private int unmarshallerPoolSize = DEFAULT_POOL_SIZE;
+    private volatile JAXBInstancePool<Marshaller> marshallerPool;
+    private volatile JAXBInstancePool<Marshaller> noEscapeMarshallerPool;
+    private volatile JAXBInstancePool<Unmarshaller> unmarshallerPool;
+
     public JAXBDataBinding() {
     }
 
@@ -262,6 +271,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
         //create default MininumEscapeHandler
         escapeHandler = JAXBUtils.createMininumEscapeHandler(ctx.getClass());
         noEscapeHandler = JAXBUtils.createNoEscapeHandler(ctx.getClass());
+        resetPools();
     }
 
     public Object getEscapeHandler() {
@@ -270,6 +280,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     
     public void setEscapeHandler(Object handler) {
         escapeHandler = handler;
+        resetPools();
     }
     
     public void applyEscapeHandler(boolean escape, Consumer<Object> consumer) {
@@ -549,6 +560,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
 
     public void setConfiguredXmlAdapters(List<XmlAdapter<?, ?>> adpters) {
         this.adapters = adpters;
+        resetPools();
     }
 
     /**
@@ -571,6 +583,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
      */
     public void setMarshallerProperties(Map<String, Object> marshallerProperties) {
         this.marshallerProperties = marshallerProperties;
+        resetPools();
     }
 
 
@@ -594,6 +607,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
      */
     public void setUnmarshallerProperties(Map<String, Object> unmarshallerProperties) {
         this.unmarshallerProperties = unmarshallerProperties;
+        resetPools();
     }
 
     /**
@@ -610,6 +624,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
      */
     public void setUnmarshallerListener(Unmarshaller.Listener unmarshallerListener) {
         this.unmarshallerListener = unmarshallerListener;
+        resetPools();
     }
     /**
      * Returns the Marshaller.Listener that will be registered on the Marshallers
@@ -625,8 +640,97 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
      */
     public void setMarshallerListener(Marshaller.Listener marshallerListener) {
         this.marshallerListener = marshallerListener;
+        resetPools();
+    }
+
+
+    @Override
+    public void setNamespaceMap(Map<String, String> namespaceMap) {
+        super.setNamespaceMap(namespaceMap);
+        resetPools();
+    }
+
+    @Override
+    public void setContextualNamespaceMap(Map<String, String> contextualNamespaceMap) {
+        super.setContextualNamespaceMap(contextualNamespaceMap);
+        resetPools();
+    }
+
+    public int getMarshallerPoolSize() {
+        return marshallerPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle configured Marshallers kept for reuse by the
+     * writers of this databinding, 0 (the default) disables the pooling. Marshallers are pooled
+     * with the marshaller properties, listener, namespace mappings and adapters applied
+     * and any setter changing these drops the pooled instances; modifying the
+     * property maps in place after the first message has been written is not picked up.
+     * @param marshallerPoolSize
+     */
+    public void setMarshallerPoolSize(int marshallerPoolSize) {
+        this.marshallerPoolSize = marshallerPoolSize;
+        resetPools();
+    }
+
+    public int getUnmarshallerPoolSize() {
+        return unmarshallerPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle configured Unmarshallers kept for reuse by the
+     * readers of this databinding, 0 (the default) disables the pooling.
+     * @param unmarshallerPoolSize
+     */
+    public void setUnmarshallerPoolSize(int unmarshallerPoolSize) {
+        this.unmarshallerPoolSize = unmarshallerPoolSize;
+        resetPools();
+    }
+
+    /**
+     * Returns the pool of configured Marshallers for the current configuration
+     * or null if pooling is disabled.
+     * @param noEscape whether the marshallers use the no-escape handler
+     */
+    public JAXBInstancePool<Marshaller> getMarshallerPool(boolean noEscape) {
+        if (marshallerPoolSize <= 0) {
+            return null;
+        }
+        JAXBInstancePool<Marshaller> pool = noEscape ? noEscapeMarshallerPool : marshallerPool;
+        if (pool == null) {
+            pool = new JAXBInstancePool<>(marshallerPoolSize);
+            if (noEscape) {
+                noEscapeMarshallerPool = pool;
+            } else {
+                marshallerPool = pool;
+            }
+        }
+        return pool;
     }
 
+    /**
+     * Returns the pool of configured Unmarshallers for the current configuration
+     * or null if pooling is disabled.
+     */
+    public JAXBInstancePool<Unmarshaller> getUnmarshallerPool() {
+        if (unmarshallerPoolSize <= 0) {
+            return null;
+        }
+        JAXBInstancePool<Unmarshaller> pool = unmarshallerPool;
+        if (pool == null) {
+            pool = new JAXBInstancePool<>(unmarshallerPoolSize);
+            unmarshallerPool = pool;
+        }
+        return pool;
+    }
+
+    private void resetPools() {
+        // instances still in use are released to the pools they were taken from
+        // and dropped with them
+        marshallerPool = null;
+        noEscapeMarshallerPool = null;
+        unmarshallerPool = null;
+    }
 
     public ValidationEventHandler getValidationEventHandler() {
         return validationEventHandler;
@@ -34,6 +34,7 @@ import jakarta.xml.bind.ValidationEvent;
 import jakarta.xml.bind.ValidationEventHandler;
 import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 import org.apache.cxf.common.i18n.Message;
+import org.apache.cxf.common.jaxb.JAXBInstancePool;
 import org.apache.cxf.common.jaxb.JAXBUtils;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.databinding.DataReader;
@@ -107,31 +108,24 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
         }
     }
 
-    private Unmarshaller createUnmarshaller() {
+    private PooledUnmarshaller createUnmarshaller() {
         try {
-            Unmarshaller um = context.createUnmarshaller();
-            if (databinding.getUnmarshallerListener() != null) {
-                um.setListener(databinding.getUnmarshallerListener());
+            Unmarshaller um = null;
+            JAXBInstancePool<Unmarshaller> pool = databinding.getUnmarshallerPool();
+            if (pool != null) {
+                um = pool.acquire();
             }
+            if (um == null) {
+                um = createConfiguredUnmarshaller();
+            }
+            // pooled unmarshallers are returned with their default handler restored
+            PooledUnmarshaller pum = new PooledUnmarshaller(um, pool, um.getEventHandler());
             if (setEventHandler) {
                 um.setEventHandler(new WSUIDValidationHandler(veventHandler));
             }
-            if (databinding.getUnmarshallerProperties() != null) {
-                for (Map.Entry<String, Object> propEntry
-                    : databinding.getUnmarshallerProperties().entrySet()) {
-                    try {
-                        um.setProperty(propEntry.getKey(), propEntry.getValue());
-                    } catch (PropertyException pe) {
-                        LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
-                    }
-                }
-            }
             um.setSchema(schema);
             um.setAttachmentUnmarshaller(getAttachmentUnmarshaller());
-            for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
-                um.setAdapter(adapter);
-            }
-            return um;
+            return pum;
         } catch (jakarta.xml.bind.UnmarshalException ex) {
             throw new Fault(new Message("UNMARSHAL_ERROR", LOG, ex.getLinkedException()
                 .getMessage()), ex);
@@ -140,6 +134,42 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
         }
     }
 
+    private Unmarshaller createConfiguredUnmarshaller() throws JAXBException {
+        Unmarshaller um = context.createUnmarshaller();
+        if (databinding.getUnmarshallerListener() != null) {
+            um.setListener(databinding.getUnmarshallerListener());
+        }
+        if (databinding.getUnmarshallerProperties() != null) {
+            for (Map.Entry<String, Object> propEntry
+                : databinding.getUnmarshallerProperties().entrySet()) {
+                try {
+                    um.setProperty(propEntry.getKey(), propEntry.getValue());
+                } catch (PropertyException pe) {
+                    LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
+                }
+            }
+        }
+        for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
+            um.setAdapter(adapter);
+        }
+        return um;
+    }
+
+    private static void releaseUnmarshaller(PooledUnmarshaller pum) {
+        Unmarshaller um = pum.unmarshaller;
+        JAXBUtils.closeUnmarshaller(um);
+        if (pum.pool != null) {
+            // do not keep the attachments or the handler of this message alive
+            um.setAttachmentUnmarshaller(null);
+            try {
+                um.setEventHandler(pum.defaultEventHandler);
+            } catch (JAXBException ex) {
+                return;
+            }
+            pum.pool.release(um);
+        }
+    }
+
     public Object read(MessagePartInfo part, T reader) {
         boolean honorJaxbAnnotation = honorJAXBAnnotations(part);
         if (honorJaxbAnnotation) {
@@ -163,30 +193,30 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
             }
         }
 
-        Unmarshaller um = createUnmarshaller();
+        PooledUnmarshaller um = createUnmarshaller();
         try {
-            Object obj = JAXBEncoderDecoder.unmarshall(um, reader, part,
+            Object obj = JAXBEncoderDecoder.unmarshall(um.unmarshaller, reader, part,
                                                  unwrapJAXBElement);
             onCompleteUnmarshalling();
 
             return obj;
         } finally {
-            JAXBUtils.closeUnmarshaller(um);
+            releaseUnmarshaller(um);
         }
     }
 
     public Object read(QName name, T input, Class<?> type) {
-        Unmarshaller um = createUnmarshaller();
+        PooledUnmarshaller um = createUnmarshaller();
 
         try {
-            Object obj = JAXBEncoderDecoder.unmarshall(um, input,
+            Object obj = JAXBEncoderDecoder.unmarshall(um.unmarshaller, input,
                                              name, type,
                                              unwrapJAXBElement);
             onCompleteUnmarshalling();
 
             return obj;
         } finally {
-            JAXBUtils.closeUnmarshaller(um);
+            releaseUnmarshaller(um);
         }
 
     }
@@ -204,4 +234,21 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
             }
         }
     }
+
+    /**
+     * An unmarshaller used for one read, with the pool it goes back to and the
+     * event handler it is reset to before that.
+     */
+    private static final class PooledUnmarshaller {
+        final Unmarshaller unmarshaller;
+        final JAXBInstancePool<Unmarshaller> pool;
+        final ValidationEventHandler defaultEventHandler;
+
+        PooledUnmarshaller(Unmarshaller unmarshaller, JAXBInstancePool<Unmarshaller> pool,
+                           ValidationEventHandler defaultEventHandler) {
+            this.unmarshaller = unmarshaller;
+            this.pool = pool;
+            this.defaultEventHandler = defaultEventHandler;
+        }
+    }
 }
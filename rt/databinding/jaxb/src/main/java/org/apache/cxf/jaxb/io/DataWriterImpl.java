@@ -39,6 +39,7 @@ import jakarta.xml.bind.annotation.adapters.XmlAdapter;
 import jakarta.xml.bind.attachment.AttachmentMarshaller;
 import org.apache.cxf.Bus;
 import org.apache.cxf.common.i18n.Message;
+import org.apache.cxf.common.jaxb.JAXBInstancePool;
 import org.apache.cxf.common.jaxb.JAXBUtils;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.ReflectionUtil;
@@ -128,16 +129,21 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
         //    Collection<?> col = (Collection<?>)elValue;
         //    elValue = col.toArray((Object[])Array.newInstance(cls.getComponentType(), col.size()));
         //}
-        Marshaller marshaller;
-        try {
+        return createMarshaller(null).marshaller;
+    }
 
-            marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
-            marshaller.setListener(databinding.getMarshallerListener());
-            databinding.applyEscapeHandler(!noEscape, eh -> JAXBUtils.setEscapeHandler(marshaller, eh));
+    private PooledMarshaller createMarshaller(JAXBInstancePool<Marshaller> pool) {
+        Marshaller marshaller = null;
+        if (pool != null) {
+            marshaller = pool.acquire();
+        }
+        try {
+            if (marshaller == null) {
+                marshaller = createConfiguredMarshaller();
+            }
 
+            // pooled marshallers are returned with their default handler restored
+            PooledMarshaller pm = new PooledMarshaller(marshaller, pool, marshaller.getEventHandler());
             if (setEventHandler) {
                 ValidationEventHandler h = veventHandler;
                 if (veventHandler == null) {
@@ -151,26 +157,6 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 marshaller.setEventHandler(h);
             }
 
-            final Map<String, String> nspref = databinding.getDeclaredNamespaceMappings();
-            final Map<String, String> nsctxt = databinding.getContextualNamespaceMap();
-            // set the prefix mapper if either of the prefix map is configured
-            if (nspref != null || nsctxt != null) {
-                Object mapper = JAXBUtils.setNamespaceMapper(bus, nspref != null ? nspref : nsctxt, marshaller);
-                if (nsctxt != null) {
-                    setContextualNamespaceDecls(mapper, nsctxt);
-                }
-            }
-            if (databinding.getMarshallerProperties() != null) {
-                for (Map.Entry<String, Object> propEntry
-                    : databinding.getMarshallerProperties().entrySet()) {
-                    try {
-                        marshaller.setProperty(propEntry.getKey(), propEntry.getValue());
-                    } catch (PropertyException pe) {
-                        LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
-                    }
-                }
-            }
-
             marshaller.setSchema(schema);
             AttachmentMarshaller atmarsh = getAttachmentMarshaller();
             marshaller.setAttachmentMarshaller(atmarsh);
@@ -181,6 +167,7 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 marshaller.setEventHandler(new MtomValidationHandler(marshaller.getEventHandler(),
                                                             (JAXBAttachmentMarshaller)atmarsh));
             }
+            return pm;
         } catch (jakarta.xml.bind.MarshalException ex) {
             Message faultMessage = new Message("MARSHAL_ERROR", LOG, ex.getLinkedException()
                 .getMessage());
@@ -188,12 +175,58 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
         } catch (JAXBException ex) {
             throw new Fault(new Message("MARSHAL_ERROR", LOG, ex.getMessage()), ex);
         }
+    }
+
+    private Marshaller createConfiguredMarshaller() throws JAXBException {
+        final Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+        marshaller.setListener(databinding.getMarshallerListener());
+        databinding.applyEscapeHandler(!noEscape, eh -> JAXBUtils.setEscapeHandler(marshaller, eh));
+
+        final Map<String, String> nspref = databinding.getDeclaredNamespaceMappings();
+        final Map<String, String> nsctxt = databinding.getContextualNamespaceMap();
+        // set the prefix mapper if either of the prefix map is configured
+        if (nspref != null || nsctxt != null) {
+            Object mapper = JAXBUtils.setNamespaceMapper(bus, nspref != null ? nspref : nsctxt, marshaller);
+            if (nsctxt != null) {
+                setContextualNamespaceDecls(mapper, nsctxt);
+            }
+        }
+        if (databinding.getMarshallerProperties() != null) {
+            for (Map.Entry<String, Object> propEntry
+                : databinding.getMarshallerProperties().entrySet()) {
+                try {
+                    marshaller.setProperty(propEntry.getKey(), propEntry.getValue());
+                } catch (PropertyException pe) {
+                    LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
+                }
+            }
+        }
         for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
             marshaller.setAdapter(adapter);
         }
         return marshaller;
     }
 
+    private PooledMarshaller acquireMarshaller() {
+        return createMarshaller(databinding.getMarshallerPool(noEscape));
+    }
+
+    private static void releaseMarshaller(PooledMarshaller pm) {
+        if (pm.pool != null) {
+            // do not keep the attachments or the handler of this message alive
+            try {
+                pm.marshaller.setAttachmentMarshaller(null);
+                pm.marshaller.setEventHandler(pm.defaultEventHandler);
+            } catch (JAXBException ex) {
+                return;
+            }
+            pm.pool.release(pm.marshaller);
+        }
+    }
+
     //REVISIT should this go into JAXBUtils?
     private static void setContextualNamespaceDecls(Object mapper, Map<String, String> nsctxt) {
         try {
@@ -227,15 +260,25 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 && part != null
                 && Boolean.TRUE.equals(part.getProperty(JAXBDataBinding.class.getName()
                                                         + ".CUSTOM_EXCEPTION"))) {
-                JAXBEncoderDecoder.marshallException(createMarshaller(obj, part),
-                                                     (Exception)obj,
-                                                     part,
-                                                     output);
+                PooledMarshaller marshaller = acquireMarshaller();
+                try {
+                    JAXBEncoderDecoder.marshallException(marshaller.marshaller,
+                                                         (Exception)obj,
+                                                         part,
+                                                         output);
+                } finally {
+                    releaseMarshaller(marshaller);
+                }
                 onCompleteMarshalling();
             } else {
                 Annotation[] anns = getJAXBAnnotation(part);
                 if (!honorJaxbAnnotation || anns.length == 0) {
-                    JAXBEncoderDecoder.marshall(createMarshaller(obj, part), obj, part, output);
+                    PooledMarshaller marshaller = acquireMarshaller();
+                    try {
+                        JAXBEncoderDecoder.marshall(marshaller.marshaller, obj, part, output);
+                    } finally {
+                        releaseMarshaller(marshaller);
+                    }
                     onCompleteMarshalling();
                 } else if (honorJaxbAnnotation && anns.length > 0) {
                     //RpcLit will use the JAXB Bridge to marshall part message when it is
@@ -252,8 +295,12 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 }
             }
         } else if (needToRender(part)) {
-            JAXBEncoderDecoder.marshallNullElement(createMarshaller(null, part),
-                                                   output, part);
+            PooledMarshaller marshaller = acquireMarshaller();
+            try {
+                JAXBEncoderDecoder.marshallNullElement(marshaller.marshaller, output, part);
+            } finally {
+                releaseMarshaller(marshaller);
+            }
 
             onCompleteMarshalling();
         }
@@ -317,4 +364,21 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
             }
         }
     }
+
+    /**
+     * A marshaller used for one write, with the pool it goes back to and the
+     * event handler it is reset to before that.
+     */
+    private static final class PooledMarshaller {
+        final Marshaller marshaller;
+        final JAXBInstancePool<Marshaller> pool;
+        final ValidationEventHandler defaultEventHandler;
+
+        PooledMarshaller(Marshaller marshaller, JAXBInstancePool<Marshaller> pool,
+                         ValidationEventHandler defaultEventHandler) {
+            this.marshaller = marshaller;
+            this.pool = pool;
+            this.defaultEventHandler = defaultEventHandler;
+        }
+    }
 }
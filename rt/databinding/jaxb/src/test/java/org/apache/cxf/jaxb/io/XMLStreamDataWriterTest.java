@@ -32,7 +32,9 @@ import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 
 import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.ValidationEventHandler;
+import org.apache.cxf.common.jaxb.JAXBInstancePool;
 import org.apache.cxf.databinding.DataWriter;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxb.JAXBDataBinding;
@@ -51,6 +53,9 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -124,8 +129,59 @@ public class XMLStreamDataWriterTest {
     }
 
 
-    private DataWriterImpl<XMLStreamWriter> newDataWriter(ValidationEventHandler handler) throws Exception {
+    @Test
+    public void testPooledMarshallerIsResetBetweenMessages() throws Exception {
+        MyCustomHandler handler = new MyCustomHandler();
         JAXBDataBinding db = getTestWriterFactory();
+        assertNull(db.getMarshallerPool(true));
+        db.setMarshallerPoolSize(4);
+
+        DataWriterImpl<XMLStreamWriter> dw = newDataWriter(db, handler);
+        TradePriceData val = new TradePriceData();
+        val.setTickerSymbol("This is a symbol");
+        val.setTickerPrice(1.0f);
+
+        QName elName = new QName("http://apache.org/hello_world_doc_lit_bare/types", "inout");
+        MessagePartInfo part = new MessagePartInfo(elName, null);
+        part.setElement(true);
+        part.setElementQName(elName);
+        dw.write(val, part, streamWriter);
+        assertTrue(handler.getUsed());
+
+        JAXBInstancePool<Marshaller> pool = db.getMarshallerPool(true);
+        assertEquals(1, pool.getIdleCount());
+
+        // a marshaller created outside of write() is never taken from the pool
+        Marshaller created = dw.createMarshaller(val, part);
+        assertEquals(1, pool.getIdleCount());
+        assertSame(handler, created.getEventHandler());
+        Marshaller pooled = pool.acquire();
+        assertNotSame(created, pooled);
+        assertNotSame(handler, pooled.getEventHandler());
+        pool.release(pooled);
+
+        // the pooled marshaller must not keep the custom handler of the previous message
+        DataWriter<XMLStreamWriter> dw2 = db.createWriter(XMLStreamWriter.class);
+        try {
+            dw2.write(val, part, streamWriter);
+            fail("Expected exception");
+        } catch (Fault f) {
+            // expected
+        }
+        assertEquals(1, pool.getIdleCount());
+
+        db.setMarshallerProperties(new HashMap<>());
+        assertNotSame(pool, db.getMarshallerPool(true));
+
+        db.setMarshallerPoolSize(0);
+        assertNull(db.getMarshallerPool(true));
+    }
+
+    private DataWriterImpl<XMLStreamWriter> newDataWriter(ValidationEventHandler handler) throws Exception {
+        return newDataWriter(getTestWriterFactory(), handler);
+    }
+
+    private DataWriterImpl<XMLStreamWriter> newDataWriter(JAXBDataBinding db, ValidationEventHandler handler) {
 
         DataWriterImpl<XMLStreamWriter> dw = (DataWriterImpl<XMLStreamWriter>)db.createWriter(XMLStreamWriter.class);
         assertNotNull(dw);
@@ -23,7 +23,11 @@ import java.util.Set;
 import org.apache.cxf.Bus;
 import org.apache.cxf.annotations.Provider;
 import org.apache.cxf.annotations.Provider.Type;
+import org.apache.cxf.buslifecycle.BusLifeCycleListener;
+import org.apache.cxf.buslifecycle.BusLifeCycleManager;
 import org.apache.cxf.common.injection.NoJSR250Annotations;
+import org.apache.cxf.ext.logging.event.AsyncLogEventSender;
+import org.apache.cxf.ext.logging.event.AsyncLogEventSender.OverflowPolicy;
 import org.apache.cxf.ext.logging.event.LogEventSender;
 import org.apache.cxf.ext.logging.event.PrettyLoggingFilter;
 import org.apache.cxf.ext.logging.slf4j.Slf4jEventSender;
@@ -90,6 +94,39 @@ public class LoggingFeature extends DelegatingFeature<LoggingFeature.Portable> {
         delegate.setVerbose(verbose);
     }
 
+    /**
+     * Format and send the log events from a background thread, so pretty printing and a slow
+     * log appender do not delay the requests. The events are queued in a bounded queue, see
+     * {@link #setAsyncQueueSize(int)} and {@link #setAsyncOverflowPolicy(OverflowPolicy)}.
+     * @param async defaults to false
+     */
+    public void setAsync(boolean async) {
+        delegate.setAsync(async);
+    }
+
+    /**
+     * @param asyncQueueSize number of log events which can be queued per direction,
+     *        defaults to {@value AsyncLogEventSender#DEFAULT_QUEUE_SIZE}
+     */
+    public void setAsyncQueueSize(int asyncQueueSize) {
+        delegate.setAsyncQueueSize(asyncQueueSize);
+    }
+
+    /**
+     * @param asyncOverflowPolicy what to do with log events when the queue is full,
+     *        defaults to {@link OverflowPolicy#DROP_NEWEST}
+     */
+    public void setAsyncOverflowPolicy(OverflowPolicy asyncOverflowPolicy) {
+        delegate.setAsyncOverflowPolicy(asyncOverflowPolicy);
+    }
+
+    /**
+     * @return the number of log events dropped because the asynchronous queue was full
+     */
+    public long getAsyncDroppedCount() {
+        return delegate.getAsyncDroppedCount();
+    }
+
     /**
      * Add additional binary media types to the default values in the LoggingInInterceptor.
      * Content for these types will not be logged.
@@ -213,6 +250,11 @@ public class LoggingFeature extends DelegatingFeature<LoggingFeature.Portable> {
         private LoggingOutInterceptor out;
         private PrettyLoggingFilter inPrettyFilter;
         private PrettyLoggingFilter outPrettyFilter;
+        private boolean async;
+        private int asyncQueueSize = AsyncLogEventSender.DEFAULT_QUEUE_SIZE;
+        private OverflowPolicy asyncOverflowPolicy = OverflowPolicy.DROP_NEWEST;
+        private AsyncLogEventSender inAsyncSender;
+        private AsyncLogEventSender outAsyncSender;
 
         public Portable() {
             LogEventSender sender = new Slf4jVerboseEventSender();
@@ -224,6 +266,9 @@ public class LoggingFeature extends DelegatingFeature<LoggingFeature.Portable> {
 
         @Override
         public void doInitializeProvider(InterceptorProvider provider, Bus bus) {
+            if (async) {
+                initAsyncSenders(bus);
+            }
 
             provider.getInInterceptors().add(in);
             provider.getInFaultInterceptors().add(in);
@@ -242,9 +287,44 @@ public class LoggingFeature extends DelegatingFeature<LoggingFeature.Portable> {
             out.setInMemThreshold(inMemThreshold);
         }
 
+        private synchronized void initAsyncSenders(Bus bus) {
+            if (inAsyncSender != null) {
+                return;
+            }
+            // queue in front of the pretty filters, so that formatting runs on the background threads
+            inAsyncSender = new AsyncLogEventSender(inPrettyFilter, asyncQueueSize, asyncOverflowPolicy);
+            outAsyncSender = new AsyncLogEventSender(outPrettyFilter, asyncQueueSize, asyncOverflowPolicy);
+            in.sender = inAsyncSender;
+            out.sender = outAsyncSender;
+
+            BusLifeCycleManager manager = bus == null ? null : bus.getExtension(BusLifeCycleManager.class);
+            if (manager != null) {
+                manager.registerLifeCycleListener(new BusLifeCycleListener() {
+                    public void initComplete() {
+                    }
+                    public void preShutdown() {
+                    }
+                    public void postShutdown() {
+                        closeAsyncSenders();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Sends the queued log events and stops the background threads. Later log events are
+         * sent synchronously.
+         */
+        public synchronized void closeAsyncSenders() {
+            if (inAsyncSender != null) {
+                inAsyncSender.close();
+                outAsyncSender.close();
+            }
+        }
+
         public void setSender(LogEventSender sender) {
-            this.inPrettyFilter.setNext(sender);
-            this.outPrettyFilter.setNext(sender);
+            setInSender(sender);
+            setOutSender(sender);
         }
         public void setInSender(LogEventSender s) {
             this.inPrettyFilter.setNext(s);
@@ -253,6 +333,29 @@ public class LoggingFeature extends DelegatingFeature<LoggingFeature.Portable> {
             this.outPrettyFilter.setNext(s);
         }
 
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public void setAsyncQueueSize(int asyncQueueSize) {
+            this.asyncQueueSize = asyncQueueSize;
+        }
+
+        public void setAsyncOverflowPolicy(OverflowPolicy asyncOverflowPolicy) {
+            this.asyncOverflowPolicy = asyncOverflowPolicy;
+        }
+
+        public long getAsyncDroppedCount() {
+            long dropped = 0;
+            if (inAsyncSender != null) {
+                dropped += inAsyncSender.getDroppedCount();
+            }
+            if (outAsyncSender != null) {
+                dropped += outAsyncSender.getDroppedCount();
+            }
+            return dropped;
+        }
+
         public void setPrettyLogging(boolean prettyLogging) {
             this.inPrettyFilter.setPrettyLogging(prettyLogging);
             this.outPrettyFilter.setPrettyLogging(prettyLogging);
@@ -25,6 +25,13 @@ import java.util.regex.Pattern;
 
 import org.apache.cxf.message.Message;
 
+/**
+ * Masks the content of sensitive XML elements and JSON string values.
+ *
+ * Plain element names are looked up while scanning the payload once, so the cost does not grow
+ * with the number of names. Names using regular expression syntax are still applied as patterns
+ * one after the other.
+ */
 public class MaskSensitiveHelper {
     private static final String ELEMENT_NAME_TEMPLATE = "-ELEMENT_NAME-";
     // see https://www.w3.org/TR/REC-xml-names/#NT-NCName for allowed chars in namespace prefix
@@ -37,6 +44,8 @@ public class MaskSensitiveHelper {
     private static final String MATCH_PATTERN_JSON_TEMPLATE = "\"-ELEMENT_NAME-\"[ \\t]*:[ \\t]*\"(.*?)\"";
     private static final String REPLACEMENT_JSON_TEMPLATE = "\"-ELEMENT_NAME-\": \"XXX\"";
     private static final String MASKED_HEADER_VALUE = "XXX";
+    private static final String MASKED_CONTENT = "XXX";
+    private static final Pattern PLAIN_NAME = Pattern.compile("[\\w.\\-]+");
 
     private static final String XML_CONTENT = "xml";
     private static final String HTML_CONTENT = "html";
@@ -52,10 +61,12 @@ public class MaskSensitiveHelper {
         }
     }
 
+    private final Set<String> sensitiveNames = new HashSet<>();
     private final Set<ReplacementPair> replacementsXML = new HashSet<>();
     private final Set<ReplacementPair> replacementsJSON = new HashSet<>();
 
     public void setSensitiveElementNames(final Set<String> inSensitiveElementNames) {
+        sensitiveNames.clear();
         replacementsXML.clear();
         replacementsJSON.clear();
         addSensitiveElementNames(inSensitiveElementNames);
@@ -63,8 +74,14 @@ public class MaskSensitiveHelper {
 
     public void addSensitiveElementNames(final Set<String> inSensitiveElementNames) {
         for (final String sensitiveName : inSensitiveElementNames) {
-            addReplacementPair(MATCH_PATTERN_XML_TEMPLATE, REPLACEMENT_XML_TEMPLATE, sensitiveName, replacementsXML);
-            addReplacementPair(MATCH_PATTERN_JSON_TEMPLATE, REPLACEMENT_JSON_TEMPLATE, sensitiveName, replacementsJSON);
+            if (PLAIN_NAME.matcher(sensitiveName).matches()) {
+                sensitiveNames.add(sensitiveName);
+            } else {
+                addReplacementPair(MATCH_PATTERN_XML_TEMPLATE, REPLACEMENT_XML_TEMPLATE, sensitiveName,
+                                   replacementsXML);
+                addReplacementPair(MATCH_PATTERN_JSON_TEMPLATE, REPLACEMENT_JSON_TEMPLATE, sensitiveName,
+                                   replacementsJSON);
+            }
         }
     }
 
@@ -80,7 +97,7 @@ public class MaskSensitiveHelper {
     public String maskSensitiveElements(
             final Message message,
             final String originalLogString) {
-        if (replacementsXML.isEmpty() && replacementsJSON.isEmpty()
+        if (sensitiveNames.isEmpty() && replacementsXML.isEmpty() && replacementsJSON.isEmpty()
                 || originalLogString == null || message == null) {
             return originalLogString;
         }
@@ -91,9 +108,9 @@ public class MaskSensitiveHelper {
         final String lowerCaseContentType = contentType.toLowerCase();
         if (lowerCaseContentType.contains(XML_CONTENT)
                 || lowerCaseContentType.contains(HTML_CONTENT)) {
-            return applyMasks(originalLogString, replacementsXML);
+            return applyMasks(maskXml(originalLogString), replacementsXML);
         } else if (lowerCaseContentType.contains(JSON_CONTENT)) {
-            return applyMasks(originalLogString, replacementsJSON);
+            return applyMasks(maskJson(originalLogString), replacementsJSON);
         }
         return originalLogString;
     }
@@ -114,4 +131,145 @@ public class MaskSensitiveHelper {
         }
         return resultString;
     }
+
+    /**
+     * Replaces the content of sensitive elements, whatever their namespace prefix, up to the next
+     * closing tag of the same name. The result is only copied if something was masked.
+     */
+    private String maskXml(String content) {
+        if (sensitiveNames.isEmpty()) {
+            return content;
+        }
+        StringBuilder result = null;
+        int copied = 0;
+        int pos = content.indexOf('<');
+        while (pos >= 0 && pos < content.length() - 1) {
+            int nameStart = pos + 1;
+            char first = content.charAt(nameStart);
+            if (first == '/' || first == '!' || first == '?') {
+                pos = content.indexOf('<', nameStart);
+                continue;
+            }
+            int nameEnd = nameStart;
+            while (nameEnd < content.length() && isNameChar(content.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            String qName = content.substring(nameStart, nameEnd);
+            int tagEnd = content.indexOf('>', nameEnd);
+            if (tagEnd < 0) {
+                break;
+            }
+            String localName = qName.substring(qName.indexOf(':') + 1);
+            if (content.charAt(tagEnd - 1) == '/' || !sensitiveNames.contains(localName)) {
+                pos = content.indexOf('<', nameEnd);
+                continue;
+            }
+            int closeStart = findClosingTag(content, localName, tagEnd + 1);
+            if (closeStart < 0) {
+                pos = content.indexOf('<', nameEnd);
+                continue;
+            }
+            if (result == null) {
+                result = new StringBuilder(content.length());
+            }
+            result.append(content, copied, tagEnd + 1).append(MASKED_CONTENT);
+            copied = closeStart;
+            pos = content.indexOf('<', closeStart + 1);
+        }
+        if (result == null) {
+            return content;
+        }
+        return result.append(content, copied, content.length()).toString();
+    }
+
+    private static int findClosingTag(String content, String localName, int from) {
+        int pos = content.indexOf("</", from);
+        while (pos >= 0) {
+            int nameStart = pos + 2;
+            int nameEnd = nameStart;
+            while (nameEnd < content.length() && isNameChar(content.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd < content.length() && content.charAt(nameEnd) == '>') {
+                int colon = content.lastIndexOf(':', nameEnd);
+                int localStart = colon >= nameStart ? colon + 1 : nameStart;
+                if (nameEnd - localStart == localName.length()
+                    && content.startsWith(localName, localStart)) {
+                    return pos;
+                }
+            }
+            pos = content.indexOf("</", nameStart);
+        }
+        return -1;
+    }
+
+    private static boolean isNameChar(char c) {
+        return c != '>' && c != '/' && c != '<' && c != '=' && !Character.isWhitespace(c);
+    }
+
+    /**
+     * Replaces string values of sensitive keys by "name": "XXX". The result is only copied if
+     * something was masked.
+     */
+    private String maskJson(String content) {
+        if (sensitiveNames.isEmpty()) {
+            return content;
+        }
+        StringBuilder result = null;
+        int copied = 0;
+        int pos = content.indexOf('"');
+        while (pos >= 0) {
+            int keyEnd = endOfString(content, pos);
+            if (keyEnd < 0) {
+                break;
+            }
+            int valueStart = skipBlanks(content, keyEnd + 1);
+            if (valueStart >= content.length() || content.charAt(valueStart) != ':') {
+                // a string value, or a key that is not followed by a colon
+                pos = content.indexOf('"', keyEnd + 1);
+                continue;
+            }
+            valueStart = skipBlanks(content, valueStart + 1);
+            String key = content.substring(pos + 1, keyEnd);
+            if (valueStart >= content.length() || content.charAt(valueStart) != '"'
+                || !sensitiveNames.contains(key)) {
+                pos = content.indexOf('"', valueStart);
+                continue;
+            }
+            int valueEnd = endOfString(content, valueStart);
+            if (valueEnd < 0) {
+                break;
+            }
+            if (result == null) {
+                result = new StringBuilder(content.length());
+            }
+            result.append(content, copied, pos).append('"').append(key).append("\": \"")
+                .append(MASKED_CONTENT).append('"');
+            copied = valueEnd + 1;
+            pos = content.indexOf('"', copied);
+        }
+        if (result == null) {
+            return content;
+        }
+        return result.append(content, copied, content.length()).toString();
+    }
+
+    private static int endOfString(String content, int quote) {
+        for (int i = quote + 1; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipBlanks(String content, int pos) {
+        while (pos < content.length() && (content.charAt(pos) == ' ' || content.charAt(pos) == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
 }
@@ -0,0 +1,276 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ext.logging.event;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands log events over to a background thread which passes them on to the next sender, so
+ * formatting and writing the log do not happen on the request thread.
+ *
+ * Events are queued in a bounded ring buffer. When the buffer is full the {@link OverflowPolicy}
+ * decides whether the caller waits, the event is dropped or only its payload is dropped.
+ * Once closed, events are passed on synchronously.
+ */
+public class AsyncLogEventSender implements LogEventSender, Closeable {
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncLogEventSender.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    public enum OverflowPolicy {
+        /** Wait until the writer has made room for the event */
+        BLOCK,
+        /** Drop the event which does not fit anymore */
+        DROP_NEWEST,
+        /**
+         * Drop the payload but keep the metadata once the queue is three quarters full,
+         * drop the event when it is full
+         */
+        DROP_PAYLOAD
+    }
+
+    private final AtomicReferenceArray<LogEvent> ring;
+    private final int capacity;
+    private final int mask;
+    private final int payloadThreshold;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final Thread writer;
+    private volatile LogEventSender next;
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong droppedPayloadCount = new AtomicLong();
+
+    public AsyncLogEventSender(LogEventSender next) {
+        this(next, DEFAULT_QUEUE_SIZE, OverflowPolicy.DROP_NEWEST);
+    }
+
+    public AsyncLogEventSender(LogEventSender next, int queueSize, OverflowPolicy overflowPolicy) {
+        this(next, queueSize, DEFAULT_BATCH_SIZE, overflowPolicy);
+    }
+
+    public AsyncLogEventSender(LogEventSender next, int queueSize, int batchSize, OverflowPolicy overflowPolicy) {
+        if (queueSize <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Queue and batch size must be positive");
+        }
+        this.next = next;
+        int size = 1;
+        while (size < queueSize && size < 1 << 30) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = capacity - 1;
+        this.payloadThreshold = capacity - capacity / 4;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_NEWEST : overflowPolicy;
+        this.writer = new Thread(this::runWriter, "cxf-async-logging-" + THREAD_COUNT.incrementAndGet());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void send(LogEvent event) {
+        if (closed) {
+            dispatch(event);
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_PAYLOAD && event.getPayload() != null) {
+            long size = tail.get() - head;
+            if (size >= payloadThreshold && size < capacity) {
+                event.setPayload(null);
+                droppedPayloadCount.incrementAndGet();
+            }
+        }
+        while (!offer(event)) {
+            if (overflowPolicy != OverflowPolicy.BLOCK) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            if (closed) {
+                dispatch(event);
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        if (closed) {
+            // the writer may have stopped before it saw the event
+            drainClosed();
+        } else if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean offer(LogEvent event) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        ring.set((int)t & mask, event);
+        return true;
+    }
+
+    /**
+     * Only called by the writer thread. Returns null if the queue is empty or the next slot
+     * has been claimed but not yet filled by its producer.
+     */
+    private LogEvent poll() {
+        long h = head;
+        int index = (int)h & mask;
+        LogEvent event = ring.get(index);
+        if (event != null) {
+            ring.lazySet(index, null);
+            head = h + 1;
+        }
+        return event;
+    }
+
+    private void runWriter() {
+        LogEvent[] batch = new LogEvent[batchSize];
+        while (true) {
+            int size = 0;
+            LogEvent event;
+            while (size < batchSize && (event = poll()) != null) {
+                batch[size++] = event;
+            }
+            if (size == 0) {
+                // read closed before tail, so that an event offered before close is seen here
+                if (closed && tail.get() == head) {
+                    return;
+                }
+                if (tail.get() == head) {
+                    writerParked = true;
+                    // producers unpark the writer if they see writerParked after their offer
+                    if (tail.get() == head && !closed) {
+                        LockSupport.park(this);
+                    }
+                    writerParked = false;
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            for (int i = 0; i < size; i++) {
+                dispatch(batch[i]);
+                batch[i] = null;
+            }
+        }
+    }
+
+    private void dispatch(LogEvent event) {
+        try {
+            next.send(event);
+        } catch (RuntimeException ex) {
+            LOG.warn("Error sending log event", ex);
+        }
+    }
+
+    /**
+     * Waits for the writer to stop and sends the events queued after it stopped.
+     */
+    private void drainClosed() {
+        if (Thread.currentThread() != writer) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                // the writer is still running and sends the queued events
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        synchronized (ring) {
+            while (tail.get() != head) {
+                LogEvent event = poll();
+                if (event == null) {
+                    // claimed by a producer which has not stored it yet
+                    Thread.onSpinWait();
+                } else {
+                    dispatch(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting events asynchronously and waits until the queued events have been sent.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        drainClosed();
+    }
+
+    public void setNext(LogEventSender next) {
+        this.next = next;
+    }
+
+    public LogEventSender getNext() {
+        return next;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getQueueSize() {
+        return (int)(tail.get() - head);
+    }
+
+    /**
+     * @return the number of events which were dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return the number of events which were sent without their payload because the queue was
+     *         almost full
+     */
+    public long getDroppedPayloadCount() {
+        return droppedPayloadCount.get();
+    }
+
+}
@@ -144,6 +144,10 @@ public class PrettyLoggingFilter implements LogEventSender {
     public void setNext(LogEventSender next) {
         this.next = next;
     }
+
+    public LogEventSender getNext() {
+        return next;
+    }
     
     public void setPrettyLogging(boolean prettyLogging) {
         this.prettyLogging = prettyLogging;
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ext.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.ext.logging.event.AsyncLogEventSender;
+import org.apache.cxf.ext.logging.event.AsyncLogEventSender.OverflowPolicy;
+import org.apache.cxf.ext.logging.event.LogEvent;
+import org.apache.cxf.ext.logging.event.LogEventSender;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncLogEventSenderTest {
+
+    @Test
+    public void testEventsAreSentInOrder() {
+        List<LogEvent> received = new CopyOnWriteArrayList<>();
+        AsyncLogEventSender sender = new AsyncLogEventSender(received::add, 8, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            sender.send(createEvent(i));
+        }
+        sender.close();
+
+        assertEquals(100, received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(String.valueOf(i), received.get(i).getMessageId());
+        }
+        assertEquals(0, sender.getDroppedCount());
+        assertEquals(0, sender.getQueueSize());
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        BlockingSender next = new BlockingSender();
+        AsyncLogEventSender sender = new AsyncLogEventSender(next, 4, OverflowPolicy.DROP_NEWEST);
+        sender.send(createEvent(0));
+        assertTrue(next.started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            sender.send(createEvent(i));
+        }
+        assertEquals(4, sender.getQueueSize());
+        assertEquals(5, sender.getDroppedCount());
+
+        next.release.countDown();
+        sender.close();
+        assertEquals(5, next.received.size());
+    }
+
+    @Test
+    public void testDropPayload() throws Exception {
+        BlockingSender next = new BlockingSender();
+        AsyncLogEventSender sender = new AsyncLogEventSender(next, 4, OverflowPolicy.DROP_PAYLOAD);
+        sender.send(createEvent(0));
+        assertTrue(next.started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 6; i++) {
+            sender.send(createEvent(i));
+        }
+        next.release.countDown();
+        sender.close();
+
+        // three events fit with their payload, the fourth only with its metadata
+        assertEquals(5, next.received.size());
+        assertEquals("payload", next.received.get(3).getPayload());
+        assertNull(next.received.get(4).getPayload());
+        assertEquals("4", next.received.get(4).getMessageId());
+        assertEquals(1, sender.getDroppedPayloadCount());
+        assertEquals(1, sender.getDroppedCount());
+    }
+
+    @Test
+    public void testSendAfterClose() {
+        List<LogEvent> received = new CopyOnWriteArrayList<>();
+        AsyncLogEventSender sender = new AsyncLogEventSender(received::add);
+        sender.close();
+        LogEvent event = createEvent(0);
+        sender.send(event);
+        assertEquals(1, received.size());
+        assertNotEquals(0, sender.getCapacity());
+    }
+
+    @Test
+    public void testNoEventLostWhenClosedWhileSending() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            List<LogEvent> received = new CopyOnWriteArrayList<>();
+            AsyncLogEventSender sender = new AsyncLogEventSender(received::add, 16, OverflowPolicy.BLOCK);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread producer = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 200; i++) {
+                        sender.send(createEvent(i));
+                    }
+                });
+                producer.start();
+                producers.add(producer);
+            }
+            start.countDown();
+            sender.close();
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            assertEquals(800, received.size());
+            assertEquals(0, sender.getQueueSize());
+        }
+    }
+
+    @Test
+    public void testIdleWriterIsWokenUp() throws Exception {
+        BlockingSender next = new BlockingSender();
+        next.release.countDown();
+        AsyncLogEventSender sender = new AsyncLogEventSender(next);
+        // let the writer park
+        Thread.sleep(50);
+        sender.send(createEvent(0));
+        assertTrue(next.started.await(5, TimeUnit.SECONDS));
+        sender.close();
+    }
+
+    private static LogEvent createEvent(int i) {
+        LogEvent event = new LogEvent();
+        event.setMessageId(String.valueOf(i));
+        event.setPayload("payload");
+        return event;
+    }
+
+    private static final class BlockingSender implements LogEventSender {
+        final List<LogEvent> received = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(LogEvent event) {
+            received.add(event);
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
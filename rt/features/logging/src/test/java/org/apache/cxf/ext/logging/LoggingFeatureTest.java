@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.ext.logging;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.cxf.ext.logging.event.AsyncLogEventSender;
+import org.apache.cxf.ext.logging.event.LogEvent;
+import org.apache.cxf.ext.logging.event.PrettyLoggingFilter;
+import org.apache.cxf.interceptor.AbstractBasicInterceptorProvider;
+import org.apache.cxf.interceptor.InterceptorProvider;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class LoggingFeatureTest {
+
+    @Test
+    public void testAsyncSenderInFrontOfPrettyFilter() {
+        LoggingFeature.Portable feature = new LoggingFeature.Portable();
+        feature.setAsync(true);
+        feature.setPrettyLogging(true);
+        LogEventSenderMock sender = new LogEventSenderMock();
+        AtomicReference<Thread> sendingThread = new AtomicReference<>();
+        feature.setSender(event -> {
+            sendingThread.set(Thread.currentThread());
+            sender.send(event);
+        });
+
+        InterceptorProvider provider = new AbstractBasicInterceptorProvider() {
+        };
+        feature.doInitializeProvider(provider, null);
+        AbstractLoggingInterceptor in = (AbstractLoggingInterceptor)provider.getInInterceptors().get(0);
+        assertTrue(in.sender instanceof AsyncLogEventSender);
+        assertTrue(((AsyncLogEventSender)in.sender).getNext() instanceof PrettyLoggingFilter);
+
+        LogEvent event = new LogEvent();
+        event.setPayload("<parent><child>text</child></parent>");
+        event.setContentType("text/xml");
+        in.sender.send(event);
+        feature.closeAsyncSenders();
+
+        assertEquals(1, sender.getLogEvents().size());
+        assertEquals("<parent>\n  <child>text</child>\n</parent>\n", sender.getLogEvent().getPayload());
+        assertNotSame(Thread.currentThread(), sendingThread.get());
+    }
+
+    @Test
+    public void testSenderReplacedAfterAsyncInit() {
+        LoggingFeature.Portable feature = new LoggingFeature.Portable();
+        feature.setAsync(true);
+        InterceptorProvider provider = new AbstractBasicInterceptorProvider() {
+        };
+        feature.doInitializeProvider(provider, null);
+
+        LogEventSenderMock sender = new LogEventSenderMock();
+        feature.setSender(sender);
+        AbstractLoggingInterceptor out = (AbstractLoggingInterceptor)provider.getOutInterceptors().get(0);
+        out.sender.send(new LogEvent());
+        feature.closeAsyncSenders();
+
+        assertEquals(1, sender.getLogEvents().size());
+    }
+}
@@ -74,6 +74,17 @@ public class MaskSensitiveHelperTest {
     private static final String MASKED_LOGGING_CONTENT_XML_WITH_NAMESPACE =
             "<ns:user>testUser</ns:user><ns:password>XXX</ns:password>";
 
+    private static final String SENSITIVE_LOGGING_CONTENT_XML_WITH_NESTED_PREFIXES =
+            "<ns:login><password/><ns2:password a=\"1\">my <b>secret</b></ns2:password></ns:login>";
+
+    private static final String MASKED_LOGGING_CONTENT_XML_WITH_NESTED_PREFIXES =
+            "<ns:login><password/><ns2:password a=\"1\">XXX</ns2:password></ns:login>";
+
+    private static final String SENSITIVE_LOGGING_CONTENT_JSON_WITH_ESCAPES =
+            "{\"passwordHint\":\"a \\\"password\\\": \\\"hint\\\"\",\"password\"\t:\t\"my \\\"secret\\\"\"}";
+    private static final String MASKED_LOGGING_CONTENT_JSON_WITH_ESCAPES =
+            "{\"passwordHint\":\"a \\\"password\\\": \\\"hint\\\"\",\"password\": \"XXX\"}";
+
     private static final Set<String> SENSITIVE_ELEMENTS = new HashSet<>(Arrays.asList("password"));
     private static final String APPLICATION_XML = "application/xml";
     private static final String APPLICATION_JSON = "application/json";
@@ -95,7 +106,10 @@ public class MaskSensitiveHelperTest {
             {SENSITIVE_LOGGING_CONTENT_XML_WITH_ATTRIBUTE, MASKED_LOGGING_CONTENT_XML_WITH_ATTRIBUTE, APPLICATION_XML},
             {SENSITIVE_LOGGING_MULTIPLE_ELEMENT_XML, MASKED_LOGGING_MULTIPLE_ELEMENT_XML, APPLICATION_XML},
             {SENSITIVE_LOGGING_CONTENT_XML_WITH_NAMESPACE, MASKED_LOGGING_CONTENT_XML_WITH_NAMESPACE, APPLICATION_XML},
-            {SENSITIVE_LOGGING_CONTENT_JSON, MASKED_LOGGING_CONTENT_JSON, APPLICATION_JSON}
+            {SENSITIVE_LOGGING_CONTENT_XML_WITH_NESTED_PREFIXES, MASKED_LOGGING_CONTENT_XML_WITH_NESTED_PREFIXES,
+                APPLICATION_XML},
+            {SENSITIVE_LOGGING_CONTENT_JSON, MASKED_LOGGING_CONTENT_JSON, APPLICATION_JSON},
+            {SENSITIVE_LOGGING_CONTENT_JSON_WITH_ESCAPES, MASKED_LOGGING_CONTENT_JSON_WITH_ESCAPES, APPLICATION_JSON}
         });
     }
 
@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.throttling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Concurrency limit that adapts to the observed latency. The limit grows while the latency of
+ * a request stays close to the long term average and shrinks when it gets worse, so the number
+ * of requests in flight follows what the backend can currently handle.
+ */
+public class AdaptiveLimit {
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejections = new AtomicLong();
+    // doubles stored as their long bits, so that they can be updated without a lock
+    private final AtomicLong limit = new AtomicLong();
+    private final AtomicLong longRtt = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, 1.5, 0.2);
+    }
+
+    /**
+     * @param tolerance how much the latency may grow before the limit is reduced
+     * @param smoothing weight of a new estimate, between 0 and 1
+     */
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit.set(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    /**
+     * @return true if the request may proceed, release must be called once it is done
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejections.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        update(rttNanos, current);
+    }
+
+    void update(long rttNanos, int inFlightAtRelease) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        long window = Math.min(samples.incrementAndGet(), LONG_WINDOW);
+        double avgRtt = updateAndGet(longRtt, avg -> {
+            double next = avg + (rttNanos - avg) / window;
+            // latency went down a lot, let the long term average catch up faster
+            return next / rttNanos > 2 ? next * 0.95 : next;
+        });
+        if (inFlightAtRelease < getLimitValue() / 2) {
+            // the limit is not what bounds the load at the moment, so the sample says nothing about it
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * avgRtt / rttNanos));
+        updateAndGet(limit, current -> {
+            double estimate = current * gradient + Math.sqrt(current);
+            estimate = current * (1 - smoothing) + estimate * smoothing;
+            return Math.max(minLimit, Math.min(maxLimit, estimate));
+        });
+    }
+
+    private static double updateAndGet(AtomicLong bits, DoubleUnaryOperator op) {
+        while (true) {
+            long current = bits.get();
+            double next = op.applyAsDouble(Double.longBitsToDouble(current));
+            if (bits.compareAndSet(current, Double.doubleToLongBits(next))) {
+                return next;
+            }
+        }
+    }
+
+    private double getLimitValue() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    public int getLimit() {
+        return (int)getLimitValue();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectionCount() {
+        return rejections.get();
+    }
+}
@@ -0,0 +1,334 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.throttling;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.interceptor.InterceptorChain;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.security.SecurityContext;
+import org.apache.cxf.service.model.BindingOperationInfo;
+
+/**
+ * Rejects requests once the adaptive concurrency limit of the endpoint is reached (503) and, if a
+ * client rate is set, requests of clients that used up their token bucket (429).
+ *
+ * Limits are kept per endpoint. If the decision phase is after the operation has been selected
+ * (e.g. {@link Phase#PRE_LOGICAL}) they are kept per endpoint and operation. Clients are identified
+ * by the user principal unless another client key function is set; requests without a client key
+ * are not rate limited.
+ */
+public class AdaptiveThrottlingManager implements ThrottlingManager {
+    private static final String THROTTLED_KEY = AdaptiveThrottlingManager.class.getName() + ".throttled";
+    private static final int STRIPES = 16;
+
+    private List<String> decisionPhases = Collections.singletonList(Phase.PRE_STREAM);
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double clientRate;
+    private int clientBurst = 1;
+    private int maxClients = 10000;
+    private Function<Message, String> clientKeyFunction = AdaptiveThrottlingManager::getPrincipalName;
+
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private volatile ClientBuckets clientBuckets;
+
+    @Override
+    public List<String> getDecisionPhases() {
+        return decisionPhases;
+    }
+
+    @Override
+    public ThrottleResponse getThrottleResponse(String phase, Message m) {
+        if (m.containsKey(THROTTLED_KEY)) {
+            return null;
+        }
+        m.put(THROTTLED_KEY, true);
+        if (clientRate > 0) {
+            String clientKey = clientKeyFunction.apply(m);
+            if (clientKey != null && !getClientBuckets().tryConsume(clientKey)) {
+                rateLimited.incrementAndGet();
+                return new ThrottleResponse().setResponseCode(429, "Too Many Requests");
+            }
+        }
+        AdaptiveLimit limit = limits.computeIfAbsent(getLimitKey(m),
+            k -> new AdaptiveLimit(initialLimit, minLimit, maxLimit));
+        if (!limit.tryAcquire()) {
+            return new ThrottleResponse().setResponseCode(503, "Service Unavailable");
+        }
+        // released by the ThrottlingResponseInterceptor
+        m.getExchange().put(ThrottlingCounter.class, new InFlightRequest(limit));
+        InterceptorChain chain = m.getInterceptorChain();
+        if (chain != null) {
+            // one-way exchanges have no response, so release them once the in chain is done
+            chain.add(new OneWayReleaseInterceptor(phase, false));
+            chain.add(new OneWayReleaseInterceptor(Phase.POST_INVOKE, true));
+        }
+        return null;
+    }
+
+    protected String getLimitKey(Message m) {
+        Exchange exchange = m.getExchange();
+        Endpoint endpoint = exchange.getEndpoint();
+        String key = endpoint == null || endpoint.getEndpointInfo() == null
+            ? "" : endpoint.getEndpointInfo().getName().toString();
+        BindingOperationInfo boi = exchange.getBindingOperationInfo();
+        return boi == null ? key : key + '#' + boi.getName().getLocalPart();
+    }
+
+    private static String getPrincipalName(Message m) {
+        SecurityContext sc = m.get(SecurityContext.class);
+        Principal principal = sc == null ? null : sc.getUserPrincipal();
+        return principal == null ? null : principal.getName();
+    }
+
+    private ClientBuckets getClientBuckets() {
+        ClientBuckets result = clientBuckets;
+        if (result == null) {
+            synchronized (this) {
+                result = clientBuckets;
+                if (result == null) {
+                    result = new ClientBuckets(clientRate, clientBurst, maxClients);
+                    clientBuckets = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the limits by endpoint (and operation) with their current limit, in flight
+     *         requests and rejections
+     */
+    public Map<String, AdaptiveLimit> getLimits() {
+        return Collections.unmodifiableMap(limits);
+    }
+
+    /**
+     * @return the number of requests rejected by the client rate limit
+     */
+    public long getRateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    public void setDecisionPhases(List<String> decisionPhases) {
+        this.decisionPhases = decisionPhases;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getClientRate() {
+        return clientRate;
+    }
+
+    /**
+     * @param clientRate requests per second per client, 0 disables the rate limit
+     */
+    public synchronized void setClientRate(double clientRate) {
+        this.clientRate = clientRate;
+        clientBuckets = null;
+    }
+
+    public int getClientBurst() {
+        return clientBurst;
+    }
+
+    /**
+     * @param clientBurst requests a client may send at once after being idle
+     */
+    public synchronized void setClientBurst(int clientBurst) {
+        this.clientBurst = clientBurst;
+        clientBuckets = null;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    /**
+     * @param maxClients number of clients to remember, the least recently seen ones are dropped
+     */
+    public synchronized void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+        clientBuckets = null;
+    }
+
+    public void setClientKeyFunction(Function<Message, String> clientKeyFunction) {
+        this.clientKeyFunction = clientKeyFunction;
+    }
+
+    static final class InFlightRequest extends ThrottlingCounter {
+        private final AdaptiveLimit limit;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        InFlightRequest(AdaptiveLimit limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int incrementAndGet() {
+            return limit.getInFlight();
+        }
+
+        @Override
+        public int decrementAndGet() {
+            // the response interceptor runs again if the out chain fails
+            if (released.compareAndSet(false, true)) {
+                limit.release(System.nanoTime() - start);
+            }
+            return limit.getInFlight();
+        }
+    }
+
+    /**
+     * Releases the in flight request of a one-way exchange after the invocation, or when the in
+     * chain fails after the decision phase.
+     */
+    static final class OneWayReleaseInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final boolean releaseOnMessage;
+
+        OneWayReleaseInterceptor(String phase, boolean releaseOnMessage) {
+            super(OneWayReleaseInterceptor.class.getName() + "-" + phase, phase);
+            this.releaseOnMessage = releaseOnMessage;
+        }
+
+        @Override
+        public void handleMessage(Message message) throws Fault {
+            if (releaseOnMessage) {
+                release(message);
+            }
+        }
+
+        @Override
+        public void handleFault(Message message) {
+            release(message);
+        }
+
+        private static void release(Message message) {
+            Exchange exchange = message.getExchange();
+            if (exchange != null && exchange.isOneWay()) {
+                ThrottlingCounter counter = exchange.get(ThrottlingCounter.class);
+                if (counter != null) {
+                    counter.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(double ratePerSecond, int capacity) {
+            this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+        }
+
+        synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    /**
+     * Token buckets by client, split into stripes that each keep their most recently used clients
+     */
+    static final class ClientBuckets {
+        private final Map<String, TokenBucket>[] stripes;
+        private final double rate;
+        private final int burst;
+
+        @SuppressWarnings("unchecked")
+        ClientBuckets(double rate, int burst, int maxClients) {
+            this.rate = rate;
+            this.burst = burst;
+            final int maxPerStripe = Math.max(1, maxClients / STRIPES);
+            stripes = new Map[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new LinkedHashMap<String, TokenBucket>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                        return size() > maxPerStripe;
+                    }
+                };
+            }
+        }
+
+        boolean tryConsume(String client) {
+            Map<String, TokenBucket> stripe = stripes[(client.hashCode() & Integer.MAX_VALUE) % STRIPES];
+            TokenBucket bucket;
+            synchronized (stripe) {
+                bucket = stripe.computeIfAbsent(client, k -> new TokenBucket(rate, burst));
+            }
+            return bucket.tryConsume();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.throttling;
+
+import java.security.Principal;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.security.SecurityContext;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveThrottlingManagerTest {
+
+    @Test
+    public void testRejectWhenLimitReached() {
+        AdaptiveThrottlingManager manager = new AdaptiveThrottlingManager();
+        manager.setInitialLimit(2);
+        manager.setMinLimit(1);
+
+        Message first = createMessage(null);
+        assertNull(manager.getThrottleResponse("pre-stream", first));
+        assertNull(manager.getThrottleResponse("pre-stream", createMessage(null)));
+        ThrottleResponse rsp = manager.getThrottleResponse("pre-stream", createMessage(null));
+        assertNotNull(rsp);
+        assertEquals(503, rsp.getResponseCode());
+
+        AdaptiveLimit limit = manager.getLimits().get("");
+        assertEquals(2, limit.getInFlight());
+        assertEquals(1, limit.getRejectionCount());
+
+        // released by the response interceptor, twice if the out chain fails
+        first.getExchange().get(ThrottlingCounter.class).decrementAndGet();
+        first.getExchange().get(ThrottlingCounter.class).decrementAndGet();
+        assertEquals(1, limit.getInFlight());
+        assertNull(manager.getThrottleResponse("pre-stream", createMessage(null)));
+    }
+
+    @Test
+    public void testOneWayReleasedAfterInvoke() {
+        AdaptiveThrottlingManager manager = new AdaptiveThrottlingManager();
+        Message m = createMessage(null);
+        PhaseInterceptorChain chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+        m.setInterceptorChain(chain);
+
+        assertNull(manager.getThrottleResponse(Phase.PRE_STREAM, m));
+        AdaptiveLimit limit = manager.getLimits().get("");
+        assertEquals(1, limit.getInFlight());
+
+        m.getExchange().setOneWay(true);
+        assertTrue(chain.doIntercept(m));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testOneWayReleasedOnFault() {
+        AdaptiveThrottlingManager manager = new AdaptiveThrottlingManager();
+        Message m = createMessage(null);
+        PhaseInterceptorChain chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+        m.setInterceptorChain(chain);
+        chain.add(new AbstractPhaseInterceptor<Message>(Phase.UNMARSHAL) {
+            public void handleMessage(Message message) throws Fault {
+                throw new Fault(new IllegalStateException("unmarshal failed"));
+            }
+        });
+
+        assertNull(manager.getThrottleResponse(Phase.PRE_STREAM, m));
+        AdaptiveLimit limit = manager.getLimits().get("");
+        m.getExchange().setOneWay(true);
+        assertFalse(chain.doIntercept(m));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void testRequestResponseNotReleasedByInChain() {
+        AdaptiveThrottlingManager manager = new AdaptiveThrottlingManager();
+        Message m = createMessage(null);
+        PhaseInterceptorChain chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+        m.setInterceptorChain(chain);
+
+        assertNull(manager.getThrottleResponse(Phase.PRE_STREAM, m));
+        assertTrue(chain.doIntercept(m));
+        // the response interceptor releases it once the response is sent
+        assertEquals(1, manager.getLimits().get("").getInFlight());
+    }
+
+    @Test
+    public void testLimitFollowsLatency() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 100);
+        for (int i = 0; i < 50; i++) {
+            limit.update(1_000_000L, limit.getLimit());
+        }
+        int grown = limit.getLimit();
+        assertTrue("Limit should grow with stable latency: " + grown, grown > 10);
+
+        for (int i = 0; i < 50; i++) {
+            limit.update(10_000_000L, limit.getLimit());
+        }
+        assertTrue("Limit should shrink with growing latency: " + limit.getLimit(), limit.getLimit() < grown);
+    }
+
+    @Test
+    public void testClientRateLimit() {
+        AdaptiveThrottlingManager manager = new AdaptiveThrottlingManager();
+        manager.setClientRate(0.001);
+        manager.setClientBurst(2);
+
+        assertNull(manager.getThrottleResponse("pre-stream", createMessage("alice")));
+        assertNull(manager.getThrottleResponse("pre-stream", createMessage("alice")));
+        ThrottleResponse rsp = manager.getThrottleResponse("pre-stream", createMessage("alice"));
+        assertNotNull(rsp);
+        assertEquals(429, rsp.getResponseCode());
+        assertEquals(1, manager.getRateLimitedCount());
+
+        assertNull(manager.getThrottleResponse("pre-stream", createMessage("bob")));
+        // requests without a client key are not rate limited
+        assertNull(manager.getThrottleResponse("pre-stream", createMessage(null)));
+    }
+
+    private static Message createMessage(String user) {
+        Message m = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        m.setExchange(exchange);
+        exchange.setInMessage(m);
+        if (user != null) {
+            m.put(SecurityContext.class, new SecurityContext() {
+                public Principal getUserPrincipal() {
+                    return () -> user;
+                }
+
+                public boolean isUserInRole(String role) {
+                    return false;
+                }
+            });
+        }
+        return m;
+    }
+}
@@ -19,7 +19,6 @@
 
 package org.apache.cxf.jaxrs;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -34,6 +33,7 @@ import jakarta.ws.rs.Path;
 import org.apache.cxf.Bus;
 import org.apache.cxf.BusFactory;
 import org.apache.cxf.common.util.ClassHelper;
+import org.apache.cxf.common.util.ModCountArrayList;
 import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.UserResource;
@@ -52,7 +52,7 @@ import org.apache.cxf.service.invoker.Invoker;
 public class JAXRSServiceFactoryBean extends AbstractServiceFactoryBean {
 
     protected List<ClassResourceInfo> classResourceInfos =
-        new ArrayList<>();
+        new ModCountArrayList<>();
 
     private Invoker invoker;
     private Executor executor;
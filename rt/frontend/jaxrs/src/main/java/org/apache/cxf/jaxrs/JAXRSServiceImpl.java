@@ -38,8 +38,10 @@ import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.interceptor.AbstractAttributedInterceptorProvider;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.OperationSelectionCache;
 import org.apache.cxf.jaxrs.model.Parameter;
 import org.apache.cxf.jaxrs.model.ParameterType;
+import org.apache.cxf.jaxrs.model.URITemplateIndex;
 import org.apache.cxf.jaxrs.utils.InjectionUtils;
 import org.apache.cxf.jaxrs.utils.JAXRSUtils;
 import org.apache.cxf.service.Service;
@@ -58,6 +60,8 @@ import org.apache.cxf.service.model.ServiceInfo;
 public class JAXRSServiceImpl extends AbstractAttributedInterceptorProvider implements Service, Configurable {
     private static final long serialVersionUID = 6765400202555126993L;
     private List<ClassResourceInfo> classResourceInfos;
+    private transient volatile URITemplateIndex<ClassResourceInfo> classResourceInfoIndex;
+    private transient volatile OperationSelectionCache operationSelectionCache;
     private DataBinding dataBinding;
     private Executor executor;
     private Invoker invoker;
@@ -109,6 +113,46 @@ public class JAXRSServiceImpl extends AbstractAttributedInterceptorProvider impl
         return classResourceInfos;
     }
 
+    /**
+     * @return the routing index of the root resources, rebuilt if the resources have changed
+     */
+    public URITemplateIndex<ClassResourceInfo> getClassResourceInfoIndex() {
+        URITemplateIndex<ClassResourceInfo> index = classResourceInfoIndex;
+        if (index == null || !index.isIndexOf(classResourceInfos)) {
+            index = new URITemplateIndex<>(classResourceInfos, ClassResourceInfo::getURITemplate);
+            classResourceInfoIndex = index;
+            OperationSelectionCache cache = operationSelectionCache;
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return the operation selection cache, or null if it has not been enabled
+     */
+    public OperationSelectionCache getOperationSelectionCache() {
+        return operationSelectionCache;
+    }
+
+    /**
+     * @return the operation selection cache, created with the given size if needed
+     */
+    public OperationSelectionCache getOperationSelectionCache(int maxSize) {
+        OperationSelectionCache cache = operationSelectionCache;
+        if (cache == null || cache.getMaxSize() != maxSize) {
+            synchronized (this) {
+                cache = operationSelectionCache;
+                if (cache == null || cache.getMaxSize() != maxSize) {
+                    cache = new OperationSelectionCache(maxSize);
+                    operationSelectionCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
     public List<ServiceInfo> getServiceInfos() {
         if (!createServiceModel) {
             return Collections.emptyList();
@@ -31,6 +31,7 @@ public class MethodDispatcher {
     private Map<Method, OperationResourceInfo> methodToOri =
         new LinkedHashMap<>();
     private ConcurrentHashMap<Method, Method> proxyMethodMap = new ConcurrentHashMap<>();
+    private volatile URITemplateIndex<OperationResourceInfo> oriIndex;
 
     public MethodDispatcher() {
 
@@ -52,6 +53,7 @@ public class MethodDispatcher {
         }
 
         oriToMethod.put(o, primary);
+        oriIndex = null;
     }
 
     public OperationResourceInfo getOperationResourceInfo(Method method) {
@@ -62,6 +64,18 @@ public class MethodDispatcher {
         return oriToMethod.keySet();
     }
 
+    /**
+     * @return the routing index of the resource methods, dropped whenever a method is bound
+     */
+    public URITemplateIndex<OperationResourceInfo> getOperationResourceInfoIndex() {
+        URITemplateIndex<OperationResourceInfo> index = oriIndex;
+        if (index == null) {
+            index = new URITemplateIndex<>(oriToMethod.keySet(), OperationResourceInfo::getURITemplate);
+            oriIndex = index;
+        }
+        return index;
+    }
+
     public Method getMethod(OperationResourceInfo op) {
         return oriToMethod.get(op);
     }
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.jaxrs.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * Remembers which resource method was selected for a given set of path matching
+ * resource methods, HTTP method, request content type and accepted types, so that
+ * the media type checks and sorting done by JAXRSUtils.findTargetMethod can be skipped
+ * when the same kind of request comes again. The key refers to the matching resource
+ * methods themselves, so resources added later never hit a stale entry.
+ * The cache is cleared once it holds the maximum number of entries.
+ */
+public class OperationSelectionCache {
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Map<Key, Selection> selections = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public OperationSelectionCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Selection get(Key key) {
+        Selection selection = selections.get(key);
+        if (selection == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return selection;
+    }
+
+    public void put(Key key, Selection selection) {
+        if (selections.size() >= maxSize) {
+            selections.clear();
+        }
+        selections.put(key, selection);
+    }
+
+    public void clear() {
+        selections.clear();
+    }
+
+    public int size() {
+        return selections.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public static final class Key {
+        private final OperationResourceInfo[] matched;
+        private final boolean[] finalPath;
+        private final String httpMethod;
+        private final MediaType requestType;
+        private final List<MediaType> acceptTypes;
+        private final boolean keepSubresources;
+        private final int hashCode;
+
+        /**
+         * @param matched resource methods whose templates matched the path, in the order they were checked
+         * @param finalPath whether the matching template consumed the whole path, per resource method
+         */
+        public Key(OperationResourceInfo[] matched, boolean[] finalPath, String httpMethod,
+                   MediaType requestType, List<MediaType> acceptTypes, boolean keepSubresources) {
+            this.matched = matched;
+            this.finalPath = finalPath;
+            this.httpMethod = httpMethod;
+            this.requestType = requestType;
+            this.acceptTypes = acceptTypes;
+            this.keepSubresources = keepSubresources;
+            int h = Objects.hash(Arrays.hashCode(finalPath), httpMethod, requestType, acceptTypes,
+                                 keepSubresources);
+            for (OperationResourceInfo ori : matched) {
+                h = 31 * h + System.identityHashCode(ori);
+            }
+            this.hashCode = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)o;
+            if (hashCode != other.hashCode || matched.length != other.matched.length
+                || keepSubresources != other.keepSubresources) {
+                return false;
+            }
+            for (int i = 0; i < matched.length; i++) {
+                if (matched[i] != other.matched[i]) {
+                    return false;
+                }
+            }
+            return Arrays.equals(finalPath, other.finalPath)
+                && Objects.equals(httpMethod, other.httpMethod)
+                && Objects.equals(requestType, other.requestType)
+                && Objects.equals(acceptTypes, other.acceptTypes);
+        }
+    }
+
+    public static final class Selection {
+        private final OperationResourceInfo operation;
+        private final String responseContentType;
+
+        public Selection(OperationResourceInfo operation, String responseContentType) {
+            this.operation = operation;
+            this.responseContentType = responseContentType;
+        }
+
+        public OperationResourceInfo getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return the response content type or null for subresource locators
+         */
+        public String getResponseContentType() {
+            return responseContentType;
+        }
+    }
+}
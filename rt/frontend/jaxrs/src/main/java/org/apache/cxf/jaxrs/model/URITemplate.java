@@ -46,6 +46,7 @@ public final class URITemplate {
     private static final String CHARACTERS_TO_ESCAPE = ".*+$()";
     private static final String SLASH = "/";
     private static final String SLASH_QUOTE = "/;";
+    private static final String UNESCAPED_REGEX_CHARACTERS = "?[]{}|^\\";
     private static final int MAX_URI_TEMPLATE_CACHE_SIZE = 
         SystemPropertyAction.getInteger("org.apache.cxf.jaxrs.max_uri_template_cache_size", 2000);
     private static final Map<String, URITemplate> URI_TEMPLATE_CACHE = new ConcurrentHashMap<>();
@@ -55,11 +56,13 @@ public final class URITemplate {
     private final List<String> customVariables = new ArrayList<>();
     private final Pattern templateRegexPattern;
     private final String literals;
+    private final String literalPrefix;
     private final List<UriChunk> uriChunks;
 
     public URITemplate(String theTemplate) {
         template = theTemplate;
         StringBuilder literalChars = new StringBuilder();
+        StringBuilder prefixChars = new StringBuilder();
         StringBuilder patternBuilder = new StringBuilder();
         CurlyBraceTokenizer tok = new CurlyBraceTokenizer(template);
         uriChunks = new ArrayList<>();
@@ -70,6 +73,9 @@ public final class URITemplate {
             if (chunk instanceof Literal) {
                 String encodedValue = HttpUtils.encodePartiallyEncoded(chunk.getValue(), false);
                 String substr = escapeCharacters(encodedValue);
+                if (variables.isEmpty()) {
+                    prefixChars.append(encodedValue);
+                }
                 literalChars.append(substr);
                 patternBuilder.append(substr);
             } else if (chunk instanceof Variable) {
@@ -102,6 +108,7 @@ public final class URITemplate {
             patternBuilder.deleteCharAt(endPos);
         }
         patternBuilder.append(LIMITED_REGEX_SUFFIX);
+        literalPrefix = getLiteralPrefix(prefixChars, endsWithSlash && variables.isEmpty());
 
         templateRegexPattern = Pattern.compile(patternBuilder.toString());
     }
@@ -110,6 +117,29 @@ public final class URITemplate {
         return literals;
     }
 
+    /**
+     * Encoded literal characters preceding the first template variable, which every URI
+     * matched by this template starts with. URIs with matrix parameters are the exception,
+     * they may only match after the parameters have been removed.
+     * @return literal prefix, possibly empty
+     */
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+
+    private static String getLiteralPrefix(StringBuilder prefixChars, boolean dropTrailingSlash) {
+        if (dropTrailingSlash) {
+            prefixChars.setLength(prefixChars.length() - 1);
+        }
+        // stop at the first literal character the template pattern treats as a regex construct
+        for (int i = 0; i < prefixChars.length(); i++) {
+            if (UNESCAPED_REGEX_CHARACTERS.indexOf(prefixChars.charAt(i)) != -1) {
+                return prefixChars.substring(0, i);
+            }
+        }
+        return prefixChars.toString();
+    }
+
     public String getValue() {
         return template;
     }
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.jaxrs.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.cxf.common.util.ModCountArrayList;
+
+/**
+ * Routing index over the URI templates of root resources or resource methods.
+ * The literal prefix of every template (see {@link URITemplate#getLiteralPrefix()}) is stored
+ * in a trie of path segments, so the templates which can possibly match a given path are
+ * found without evaluating the template regular expressions. The candidates are returned in
+ * their original order, the caller still matches and sorts them as before, so the selected
+ * resource is exactly the one a full scan would select.
+ *
+ * @param <T> ClassResourceInfo or OperationResourceInfo
+ */
+public final class URITemplateIndex<T> {
+    private static final String MATRIX_PARAM_SEP = ";";
+
+    private final List<T> values;
+    private final ModCountArrayList<?> source;
+    private final int modCount;
+    private final Node root = new Node();
+
+    public URITemplateIndex(Collection<T> values, Function<T, URITemplate> templates) {
+        if (values instanceof ModCountArrayList) {
+            // read before copying, a concurrent change then makes the index stale rather than wrong
+            source = (ModCountArrayList<?>)values;
+            modCount = source.getModCount();
+        } else {
+            source = null;
+            modCount = -1;
+        }
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        int position = 0;
+        for (T value : this.values) {
+            URITemplate template = templates.apply(value);
+            if (template != null) {
+                add(template.getLiteralPrefix(), value, position);
+            }
+            position++;
+        }
+    }
+
+    private void add(String prefix, T value, int position) {
+        Node node = root;
+        int start = 0;
+        int sep = prefix.indexOf('/');
+        while (sep != -1) {
+            node = node.child(prefix.substring(start, sep));
+            start = sep + 1;
+            sep = prefix.indexOf('/', start);
+        }
+        node.add(new Entry<>(prefix.substring(start), value, position));
+    }
+
+    /**
+     * @return true if the index was built from the given values, in the same order. This is a
+     * modification count check for a {@link ModCountArrayList}, other collections are compared
+     * element by element.
+     */
+    public boolean isIndexOf(Collection<T> other) {
+        if (other == source) {
+            return modCount == source.getModCount();
+        }
+        if (other.size() != values.size()) {
+            return false;
+        }
+        int i = 0;
+        for (T value : other) {
+            if (value != values.get(i++)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the values whose templates may match the given path, in their original order.
+     * All values are returned if the path has matrix parameters.
+     */
+    public List<T> getCandidates(String path) {
+        if (path == null || path.contains(MATRIX_PARAM_SEP)) {
+            return values;
+        }
+        List<Entry<T>> found = new ArrayList<>();
+        Node node = root;
+        int start = 0;
+        while (node != null) {
+            int sep = path.indexOf('/', start);
+            String segment = sep == -1 ? path.substring(start) : path.substring(start, sep);
+            node.collect(segment, found);
+            if (sep == -1 || node.children == null) {
+                break;
+            }
+            node = node.children.get(segment);
+            start = sep + 1;
+        }
+        if (found.size() > 1) {
+            found.sort((e1, e2) -> Integer.compare(e1.position, e2.position));
+        }
+        List<T> candidates = new ArrayList<>(found.size());
+        for (Entry<T> e : found) {
+            candidates.add(e.value);
+        }
+        return candidates;
+    }
+
+    private static final class Node {
+        private Map<String, Node> children;
+        private List<Entry<?>> entries;
+
+        Node child(String segment) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        void add(Entry<?> entry) {
+            if (entries == null) {
+                entries = new ArrayList<>();
+            }
+            entries.add(entry);
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> void collect(String segment, List<Entry<T>> found) {
+            if (entries != null) {
+                for (Entry<?> e : entries) {
+                    if (segment.startsWith(e.partialSegment)) {
+                        found.add((Entry<T>)e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String partialSegment;
+        private final T value;
+        private final int position;
+
+        Entry(String partialSegment, T value, int position) {
+            this.partialSegment = partialSegment;
+            this.value = value;
+            this.position = position;
+        }
+    }
+}
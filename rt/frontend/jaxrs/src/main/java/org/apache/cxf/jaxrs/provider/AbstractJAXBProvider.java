@@ -69,6 +69,7 @@ import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlType;
 import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import org.apache.cxf.annotations.SchemaValidation;
+import org.apache.cxf.common.jaxb.JAXBInstancePool;
 import org.apache.cxf.common.jaxb.JAXBUtils;
 import org.apache.cxf.common.util.PackageUtils;
 import org.apache.cxf.jaxrs.ext.MessageContext;
@@ -143,6 +144,8 @@ public abstract class AbstractJAXBProvider<T> extends AbstractConfigurableProvid
     private Marshaller.Listener marshallerListener;
     private DocumentDepthProperties depthProperties;
     private String namespaceMapperPropertyName;
+    private int unmarshallerPoolSize;
+    private final Map<JAXBContext, JAXBInstancePool<Unmarshaller>> unmarshallerPools = new ConcurrentHashMap<>();
 
     private static JAXBContext newJAXBContextInstance(Class<?>[] classes, Map<String, Object> cProperties) 
         throws JAXBException {
@@ -189,6 +192,7 @@ public abstract class AbstractJAXBProvider<T> extends AbstractConfigurableProvid
 
     public void setValidationHandler(ValidationEventHandler handler) {
         eventHandler = handler;
+        unmarshallerPools.clear();
     }
 
     public void setSingleJaxbContext(boolean useSingleContext) {
@@ -263,6 +267,20 @@ public abstract class AbstractJAXBProvider<T> extends AbstractConfigurableProvid
 
     public void setUnmarshallerProperties(Map<String, Object> unmarshalProperties) {
         uProperties = unmarshalProperties;
+        unmarshallerPools.clear();
+    }
+
+    /**
+     * Sets the maximum number of idle Unmarshallers kept for reuse per JAXBContext,
+     * pooling is disabled by default. Pooled unmarshallers keep the configured event handler,
+     * listener and properties, the schema and the attachment unmarshaller are reset
+     * for every message. Providers which modify the unmarshaller in
+     * doUnmarshal or similar hooks should reset these changes or keep pooling disabled.
+     * @param unmarshallerPoolSize the pool size
+     */
+    public void setUnmarshallerPoolSize(int unmarshallerPoolSize) {
+        this.unmarshallerPoolSize = unmarshallerPoolSize;
+        unmarshallerPools.clear();
     }
 
     public void setUnmarshallAsJaxbElement(boolean value) {
@@ -619,25 +637,47 @@ public abstract class AbstractJAXBProvider<T> extends AbstractConfigurableProvid
         throws JAXBException {
         JAXBContext context = isCollection ? getCollectionContext(cls)
                                            : getJAXBContext(cls, genericType);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
-        if (validateInputIfPossible) {
-            Schema theSchema = getSchema(cls);
-            if (theSchema != null) {
-                unmarshaller.setSchema(theSchema);
-            }
+        Unmarshaller unmarshaller = null;
+        if (unmarshallerPoolSize > 0) {
+            unmarshaller = unmarshallerPools.computeIfAbsent(context,
+                c -> new JAXBInstancePool<>(unmarshallerPoolSize)).acquire();
         }
-        if (eventHandler != null) {
-            unmarshaller.setEventHandler(eventHandler);
+        if (unmarshaller == null) {
+            unmarshaller = context.createUnmarshaller();
+            if (eventHandler != null) {
+                unmarshaller.setEventHandler(eventHandler);
+            }
+            if (unmarshallerListener != null) {
+                unmarshaller.setListener(unmarshallerListener);
+            }
+            if (uProperties != null) {
+                for (Map.Entry<String, Object> entry : uProperties.entrySet()) {
+                    unmarshaller.setProperty(entry.getKey(), entry.getValue());
+                }
+            }
         }
-        if (unmarshallerListener != null) {
-            unmarshaller.setListener(unmarshallerListener);
+        // a pooled unmarshaller may carry the schema used for the previous message
+        unmarshaller.setSchema(validateInputIfPossible ? getSchema(cls) : null);
+        return unmarshaller;
+    }
+
+    protected void releaseUnmarshaller(Unmarshaller unmarshaller, Class<?> cls, Type genericType,
+                                       boolean isCollection) {
+        JAXBUtils.closeUnmarshaller(unmarshaller);
+        if (unmarshaller == null || unmarshallerPoolSize <= 0) {
+            return;
         }
-        if (uProperties != null) {
-            for (Map.Entry<String, Object> entry : uProperties.entrySet()) {
-                unmarshaller.setProperty(entry.getKey(), entry.getValue());
+        try {
+            JAXBContext context = isCollection ? getCollectionContext(cls)
+                                               : getJAXBContext(cls, genericType);
+            JAXBInstancePool<Unmarshaller> pool = unmarshallerPools.get(context);
+            if (pool != null) {
+                unmarshaller.setAttachmentUnmarshaller(null);
+                pool.release(unmarshaller);
             }
+        } catch (JAXBException ex) {
+            // the unmarshaller is simply not reused
         }
-        return unmarshaller;
     }
 
     protected Marshaller createMarshaller(Object obj, Class<?> cls, Type genericType, String enc)
@@ -866,6 +906,7 @@ public abstract class AbstractJAXBProvider<T> extends AbstractConfigurableProvid
 
     public void setUnmarshallerListener(Unmarshaller.Listener unmarshallerListener) {
         this.unmarshallerListener = unmarshallerListener;
+        unmarshallerPools.clear();
     }
 
     public void setMarshallerListener(Marshaller.Listener marshallerListener) {
@@ -158,11 +158,13 @@ public class JAXBElementProvider<T> extends AbstractJAXBProvider<T>  {
 
         XMLStreamReader reader = null;
         Unmarshaller unmarshaller = null;
+        boolean isCollection = false;
+        Class<?> theType = null;
         try {
 
-            boolean isCollection = InjectionUtils.isSupportedCollectionOrArray(type);
+            isCollection = InjectionUtils.isSupportedCollectionOrArray(type);
             Class<?> theGenericType = isCollection ? InjectionUtils.getActualType(genericType) : type;
-            Class<?> theType = getActualType(theGenericType, genericType, anns);
+            theType = getActualType(theGenericType, genericType, anns);
 
             unmarshaller = createUnmarshaller(theType, genericType, isCollection);
             addAttachmentUnmarshaller(unmarshaller);
@@ -216,7 +218,7 @@ public class JAXBElementProvider<T> extends AbstractJAXBProvider<T>  {
             } catch (XMLStreamException e) {
                 // Ignore
             }
-            JAXBUtils.closeUnmarshaller(unmarshaller);
+            releaseUnmarshaller(unmarshaller, theType, genericType, isCollection);
         }
         // unreachable
         return null;
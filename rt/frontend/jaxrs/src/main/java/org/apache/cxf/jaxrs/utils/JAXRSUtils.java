@@ -32,6 +32,7 @@ import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -133,10 +134,12 @@ import org.apache.cxf.jaxrs.model.MethodInvocationInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfoComparator;
 import org.apache.cxf.jaxrs.model.OperationResourceInfoStack;
+import org.apache.cxf.jaxrs.model.OperationSelectionCache;
 import org.apache.cxf.jaxrs.model.Parameter;
 import org.apache.cxf.jaxrs.model.ParameterType;
 import org.apache.cxf.jaxrs.model.ProviderInfo;
 import org.apache.cxf.jaxrs.model.URITemplate;
+import org.apache.cxf.jaxrs.model.URITemplateIndex;
 import org.apache.cxf.jaxrs.provider.AbstractConfigurableProvider;
 import org.apache.cxf.jaxrs.provider.ProviderFactory;
 import org.apache.cxf.jaxrs.provider.ServerProviderFactory;
@@ -161,6 +164,8 @@ public final class JAXRSUtils {
     public static final String DOC_LOCATION = "wadl.location";
     public static final String MEDIA_TYPE_Q_PARAM = "q";
     public static final String MEDIA_TYPE_QS_PARAM = "qs";
+    // "true" for the default size or the maximum number of cached selections
+    public static final String OPERATION_SELECTION_CACHE = "operation.selection.cache";
     private static final String MEDIA_TYPE_DISTANCE_PARAM = "d";
     private static final String DEFAULT_CONTENT_TYPE = "default.content.type";
     private static final String KEEP_SUBRESOURCE_CANDIDATES = "keep.subresource.candidates";
@@ -465,7 +470,7 @@ public final class JAXRSUtils {
             new TreeMap<ClassResourceInfo, MultivaluedMap<String, String>>(
                 new ClassResourceInfoComparator(message));
 
-        for (ClassResourceInfo cri : resources) {
+        for (ClassResourceInfo cri : getRootResourceCandidates(resources, path, message)) {
             MultivaluedMap<String, String> map = new MetadataMap<>();
             if (cri.getURITemplate().match(path, map)) {
                 candidateList.put(cri, map);
@@ -507,6 +512,109 @@ public final class JAXRSUtils {
 
         return null;
     }
+
+    /**
+     * Narrows the root resources down to those whose templates may match the path, using the
+     * routing index of the service. A full scan is done if FINE logging is on so that every
+     * resource is still reported.
+     */
+    private static List<ClassResourceInfo> getRootResourceCandidates(List<ClassResourceInfo> resources,
+                                                                     String path, Message message) {
+        Exchange exchange = message == null ? null : message.getExchange();
+        Service service = exchange == null ? null : exchange.getService();
+        if (service instanceof JAXRSServiceImpl && !LOG.isLoggable(Level.FINE)) {
+            JAXRSServiceImpl jaxrsService = (JAXRSServiceImpl)service;
+            if (jaxrsService.getClassResourceInfos() == resources) {
+                return jaxrsService.getClassResourceInfoIndex().getCandidates(path);
+            }
+        }
+        return resources;
+    }
+
+    private static Collection<OperationResourceInfo> getOperationCandidates(ClassResourceInfo resource,
+                                                                            String path) {
+        if (LOG.isLoggable(Level.FINE)) {
+            return resource.getMethodDispatcher().getOperationResourceInfos();
+        }
+        URITemplateIndex<OperationResourceInfo> index =
+            resource.getMethodDispatcher().getOperationResourceInfoIndex();
+        return index.getCandidates(path);
+    }
+
+    /**
+     * Returns the operation selection cache of the service if it is enabled with
+     * {@link #OPERATION_SELECTION_CACHE}. The cache is not used when FINE logging is on or
+     * when a custom ResourceComparator is registered, since the comparator may look at
+     * anything in the message.
+     */
+    private static OperationSelectionCache getOperationSelectionCache(Message message) {
+        Exchange exchange = message == null ? null : message.getExchange();
+        if (exchange == null || !(exchange.getService() instanceof JAXRSServiceImpl)
+            || LOG.isLoggable(Level.FINE)) {
+            return null;
+        }
+        Object value = message.getContextualProperty(OPERATION_SELECTION_CACHE);
+        if (value == null || exchange.getEndpoint() == null
+            || exchange.getEndpoint().get("org.apache.cxf.jaxrs.comparator") != null) {
+            return null;
+        }
+        final int maxSize;
+        if (value instanceof Number) {
+            maxSize = ((Number)value).intValue();
+        } else if (PropertyUtils.isTrue(value)) {
+            maxSize = OperationSelectionCache.DEFAULT_MAX_SIZE;
+        } else {
+            try {
+                maxSize = Integer.parseInt(value.toString());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return maxSize > 0
+            ? ((JAXRSServiceImpl)exchange.getService()).getOperationSelectionCache(maxSize) : null;
+    }
+
+    private static OperationSelectionCache.Key createSelectionKey(List<PathMatch> pathMatches,
+                                                                  Message message,
+                                                                  String httpMethod,
+                                                                  MediaType requestType,
+                                                                  List<MediaType> acceptContentTypes) {
+        OperationResourceInfo[] matched = new OperationResourceInfo[pathMatches.size()];
+        boolean[] finalPath = new boolean[matched.length];
+        for (int i = 0; i < matched.length; i++) {
+            matched[i] = pathMatches.get(i).ori;
+            finalPath[i] = pathMatches.get(i).finalPath;
+        }
+        return new OperationSelectionCache.Key(matched, finalPath, httpMethod, requestType, acceptContentTypes,
+            MessageUtils.getContextualBoolean(message, KEEP_SUBRESOURCE_CANDIDATES, false));
+    }
+
+    private static OperationResourceInfo selectOperation(OperationResourceInfo ori,
+                                                         MultivaluedMap<String, String> values,
+                                                         String responseContentType,
+                                                         Message message,
+                                                         String httpMethod,
+                                                         MultivaluedMap<String, String> matchedValues,
+                                                         boolean recordMatchedUri) {
+        matchedValues.clear();
+        matchedValues.putAll(values);
+        if (headMethodPossible(ori.getHttpMethod(), httpMethod)) {
+            LOG.info(new org.apache.cxf.common.i18n.Message("GET_INSTEAD_OF_HEAD",
+                     BUNDLE, ori.getClassResourceInfo().getServiceClass().getName(),
+                     ori.getMethodToInvoke().getName()).toString());
+        }
+        LOG.fine(() -> new org.apache.cxf.common.i18n.Message("OPER_SELECTED",
+                           BUNDLE, ori.getMethodToInvoke().getName(),
+                           ori.getClassResourceInfo().getServiceClass().getName()).toString());
+        if (responseContentType != null) {
+            message.getExchange().put(Message.CONTENT_TYPE, responseContentType);
+        }
+        if (recordMatchedUri) {
+            pushOntoStack(ori, matchedValues, message);
+        }
+        return ori;
+    }
+
     public static OperationResourceInfo findTargetMethod(
         Map<ClassResourceInfo, MultivaluedMap<String, String>> matchedResources,
         Message message,
@@ -537,16 +645,7 @@ public final class JAXRSUtils {
             throw ExceptionUtils.toNotSupportedException(ex, null);
         }
 
-        SortedMap<OperationResourceInfo, MultivaluedMap<String, String>> candidateList =
-            new TreeMap<OperationResourceInfo, MultivaluedMap<String, String>>(
-                new OperationResourceInfoComparator(message, httpMethod,
-                                                    getMethod, requestType, acceptContentTypes));
-
-        int pathMatched = 0;
-        int methodMatched = 0;
-        int consumeMatched = 0;
-        
-        List<OperationResourceInfo> finalPathSubresources = null;
+        List<PathMatch> pathMatches = new ArrayList<>();
         for (Map.Entry<ClassResourceInfo, MultivaluedMap<String, String>> rEntry : matchedResources.entrySet()) {
             ClassResourceInfo resource = rEntry.getKey();
             MultivaluedMap<String, String> values = rEntry.getValue();
@@ -556,47 +655,80 @@ public final class JAXRSUtils {
                                                                   BUNDLE,
                                                                   resource.getServiceClass().getName()).toString());
 
-            for (OperationResourceInfo ori : resource.getMethodDispatcher().getOperationResourceInfos()) {
-                boolean added = false;
-
+            for (OperationResourceInfo ori : getOperationCandidates(resource, path)) {
                 URITemplate uriTemplate = ori.getURITemplate();
                 MultivaluedMap<String, String> map = new MetadataMap<>(values);
                 if (uriTemplate != null && uriTemplate.match(path, map)) {
                     String finalGroup = map.getFirst(URITemplate.FINAL_MATCH_GROUP);
                     boolean finalPath = StringUtils.isEmpty(finalGroup) || PATH_SEGMENT_SEP.equals(finalGroup);
+                    pathMatches.add(new PathMatch(ori, map, path, finalPath));
+                } else {
+                    LOG.fine(matchMessageLogSupplier(ori, path, httpMethod, requestType, acceptContentTypes, false));
+                }
+            }
+        }
 
-                    if (ori.isSubResourceLocator()) {
-                        candidateList.put(ori, map);
-                        if (finalPath) {
-                            if (finalPathSubresources == null) {
-                                finalPathSubresources = new LinkedList<>();
-                            }
-                            finalPathSubresources.add(ori);
-                        }
-                        added = true;
-                    } else if (finalPath) {
-                        pathMatched++;
-                        if (matchHttpMethod(ori.getHttpMethod(), httpMethod)) {
-                            methodMatched++;
-                            //CHECKSTYLE:OFF
-                            if (getMethod || matchConsumeTypes(requestType, ori)) {
-                                consumeMatched++;
-                                for (MediaType acceptType : acceptContentTypes) {
-                                    if (matchProduceTypes(acceptType, ori)) {
-                                        candidateList.put(ori, map);
-                                        added = true;
-                                        break;
-                                    }
-                                }
+        OperationSelectionCache cache = getOperationSelectionCache(message);
+        OperationSelectionCache.Key cacheKey = null;
+        if (cache != null) {
+            cacheKey = createSelectionKey(pathMatches, message, httpMethod, requestType, acceptContentTypes);
+            OperationSelectionCache.Selection selection = cache.get(cacheKey);
+            if (selection != null) {
+                for (PathMatch pathMatch : pathMatches) {
+                    if (pathMatch.ori == selection.getOperation()) {
+                        return selectOperation(pathMatch.ori, pathMatch.values, selection.getResponseContentType(),
+                                               message, httpMethod, matchedValues, recordMatchedUri);
+                    }
+                }
+            }
+        }
+
+        SortedMap<OperationResourceInfo, MultivaluedMap<String, String>> candidateList =
+            new TreeMap<OperationResourceInfo, MultivaluedMap<String, String>>(
+                new OperationResourceInfoComparator(message, httpMethod,
+                                                    getMethod, requestType, acceptContentTypes));
+
+        int pathMatched = 0;
+        int methodMatched = 0;
+        int consumeMatched = 0;
+
+        List<OperationResourceInfo> finalPathSubresources = null;
+        for (PathMatch pathMatch : pathMatches) {
+            OperationResourceInfo ori = pathMatch.ori;
+            MultivaluedMap<String, String> map = pathMatch.values;
+            boolean added = false;
+
+            if (ori.isSubResourceLocator()) {
+                candidateList.put(ori, map);
+                if (pathMatch.finalPath) {
+                    if (finalPathSubresources == null) {
+                        finalPathSubresources = new LinkedList<>();
+                    }
+                    finalPathSubresources.add(ori);
+                }
+                added = true;
+            } else if (pathMatch.finalPath) {
+                pathMatched++;
+                if (matchHttpMethod(ori.getHttpMethod(), httpMethod)) {
+                    methodMatched++;
+                    //CHECKSTYLE:OFF
+                    if (getMethod || matchConsumeTypes(requestType, ori)) {
+                        consumeMatched++;
+                        for (MediaType acceptType : acceptContentTypes) {
+                            if (matchProduceTypes(acceptType, ori)) {
+                                candidateList.put(ori, map);
+                                added = true;
+                                break;
                             }
-                            //CHECKSTYLE:ON
                         }
                     }
+                    //CHECKSTYLE:ON
                 }
-                LOG.fine(matchMessageLogSupplier(ori, path, httpMethod, requestType, acceptContentTypes, added));
             }
+            LOG.fine(matchMessageLogSupplier(ori, pathMatch.path, httpMethod, requestType,
+                                             acceptContentTypes, added));
         }
-        
+
         // We may get several matching candidates with different HTTP methods which match subresources
         // and resources. Before excluding subresources, let us make sure we have at least one matching
         // HTTP method candidate.
@@ -610,29 +742,20 @@ public final class JAXRSUtils {
         if (!candidateList.isEmpty()) {
             Map.Entry<OperationResourceInfo, MultivaluedMap<String, String>> firstEntry =
                 candidateList.entrySet().iterator().next();
-            matchedValues.clear();
-            matchedValues.putAll(firstEntry.getValue());
             OperationResourceInfo ori = firstEntry.getKey();
-            if (headMethodPossible(ori.getHttpMethod(), httpMethod)) {
-                LOG.info(new org.apache.cxf.common.i18n.Message("GET_INSTEAD_OF_HEAD",
-                         BUNDLE, ori.getClassResourceInfo().getServiceClass().getName(),
-                         ori.getMethodToInvoke().getName()).toString());
-            }
-            LOG.fine(() -> new org.apache.cxf.common.i18n.Message("OPER_SELECTED",
-                               BUNDLE, ori.getMethodToInvoke().getName(),
-                               ori.getClassResourceInfo().getServiceClass().getName()).toString());
+            String responseContentType = null;
             if (!ori.isSubResourceLocator()) {
                 MediaType responseMediaType = intersectSortMediaTypes(acceptContentTypes,
                                                                       ori.getProduceTypes(),
                                                                       false).get(0);
-                message.getExchange().put(Message.CONTENT_TYPE, mediaTypeToString(responseMediaType,
-                                                                                  MEDIA_TYPE_Q_PARAM,
-                                                                                  MEDIA_TYPE_QS_PARAM));
+                responseContentType = mediaTypeToString(responseMediaType, MEDIA_TYPE_Q_PARAM,
+                                                        MEDIA_TYPE_QS_PARAM);
             }
-            if (recordMatchedUri) {
-                pushOntoStack(ori, matchedValues, message);
+            if (cache != null) {
+                cache.put(cacheKey, new OperationSelectionCache.Selection(ori, responseContentType));
             }
-            return ori;
+            return selectOperation(ori, firstEntry.getValue(), responseContentType,
+                                   message, httpMethod, matchedValues, recordMatchedUri);
         }
 
         if (!throwException) {
@@ -2178,4 +2301,19 @@ public final class JAXRSUtils {
         m.setContent(InputStream.class, baos.createInputStream());
         return baos.createInputStream();
     }
+
+    private static final class PathMatch {
+        private final OperationResourceInfo ori;
+        private final MultivaluedMap<String, String> values;
+        private final String path;
+        private final boolean finalPath;
+
+        PathMatch(OperationResourceInfo ori, MultivaluedMap<String, String> values, String path,
+                  boolean finalPath) {
+            this.ori = ori;
+            this.values = values;
+            this.path = path;
+            this.finalPath = finalPath;
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.jaxrs.model;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.cxf.common.util.ModCountArrayList;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class URITemplateIndexTest {
+    private static final List<String> TEMPLATES = Arrays.asList(
+        "/",
+        "/bookstore",
+        "/bookstore/",
+        "/bookstore/books/{id}",
+        "/bookstore/books/{id}/chapters/{chapter}",
+        "/bookstore/books/id={id}",
+        "/bookstore/{a:.*}",
+        "/{tenant}/customers",
+        "/orders{ext}",
+        "/orders/",
+        "/a b/{c}",
+        "/café/menu",
+        "/x.y/{z}",
+        "/q?r/{s}",
+        "/books/{id: [0-9]+}");
+
+    private static final List<String> PATHS = Arrays.asList(
+        "", "/", "/bookstore", "/bookstore/", "/bookstore/books", "/bookstore/books/",
+        "/bookstore/books/123", "/bookstore/books/123/chapters/1", "/bookstore/books/id=5",
+        "/bookstorefront", "/acme/customers", "/orders", "/orders/", "/orders.json",
+        "/orders/1", "/a%20b/c", "/caf%C3%A9/menu", "/x.y/z", "/xzy/z", "/qr/s", "/books/42",
+        "/books/abc", "/unknown/path", "/bookstore;a=b/books/1");
+
+    @Test
+    public void testLiteralPrefix() {
+        assertEquals("", new URITemplate("/").getLiteralPrefix());
+        assertEquals("/bookstore", new URITemplate("/bookstore/").getLiteralPrefix());
+        assertEquals("/bookstore/books/", new URITemplate("/bookstore/books/{id}").getLiteralPrefix());
+        assertEquals("/", new URITemplate("/{tenant}/customers").getLiteralPrefix());
+        assertEquals("/a%20b/", new URITemplate("/a b/{c}").getLiteralPrefix());
+        assertEquals("/x.y/", new URITemplate("/x.y/{z}").getLiteralPrefix());
+        assertEquals("/q%3Fr/", new URITemplate("/q?r/{s}").getLiteralPrefix());
+    }
+
+    @Test
+    public void testCandidatesIncludeAllMatches() {
+        List<URITemplate> templates = new ArrayList<>();
+        for (String t : TEMPLATES) {
+            templates.add(new URITemplate(t));
+        }
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(templates, Function.identity());
+        for (String path : PATHS) {
+            List<URITemplate> candidates = index.getCandidates(path);
+            List<URITemplate> matches = new ArrayList<>();
+            for (URITemplate t : templates) {
+                if (t.match(path, new MetadataMap<>())) {
+                    matches.add(t);
+                }
+            }
+            List<URITemplate> matchedCandidates = new ArrayList<>();
+            for (URITemplate t : candidates) {
+                if (t.match(path, new MetadataMap<>())) {
+                    matchedCandidates.add(t);
+                }
+            }
+            assertEquals("Wrong candidates for " + path, matches, matchedCandidates);
+        }
+    }
+
+    @Test
+    public void testCandidatesAreNarrowed() {
+        List<URITemplate> templates = new ArrayList<>();
+        for (String t : TEMPLATES) {
+            templates.add(new URITemplate(t));
+        }
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(templates, Function.identity());
+        List<URITemplate> candidates = index.getCandidates("/bookstore/books/123");
+        assertEquals(Arrays.asList(templates.get(0), templates.get(1), templates.get(2),
+                                   templates.get(3), templates.get(4), templates.get(6),
+                                   templates.get(7)),
+                     candidates);
+        assertEquals(Arrays.asList(templates.get(0), templates.get(7)),
+                     index.getCandidates("/unknown/path"));
+        // matrix parameters can only be matched by the templates themselves
+        assertSame(templates.size(), index.getCandidates("/bookstore;a=b/books/1").size());
+    }
+
+    @Test
+    public void testIsIndexOf() {
+        List<URITemplate> templates = new ArrayList<>();
+        templates.add(new URITemplate("/a"));
+        templates.add(new URITemplate("/b"));
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(templates, Function.identity());
+        assertTrue(index.isIndexOf(templates));
+        templates.add(new URITemplate("/c"));
+        assertFalse(index.isIndexOf(templates));
+    }
+
+    @Test
+    public void testIsIndexOfModCountList() {
+        List<URITemplate> templates = new ModCountArrayList<>();
+        templates.add(new URITemplate("/a"));
+        templates.add(new URITemplate("/b"));
+        URITemplateIndex<URITemplate> index = new URITemplateIndex<>(templates, Function.identity());
+        assertTrue(index.isIndexOf(templates));
+        assertFalse(index.isIndexOf(new ArrayList<>(templates.subList(0, 1))));
+        templates.set(1, new URITemplate("/c"));
+        assertFalse(index.isIndexOf(templates));
+    }
+
+    @Test
+    public void testMethodDispatcherIndexDroppedOnBind() throws Exception {
+        MethodDispatcher md = new MethodDispatcher();
+        URITemplateIndex<OperationResourceInfo> index = md.getOperationResourceInfoIndex();
+        assertSame(index, md.getOperationResourceInfoIndex());
+        Method m = Object.class.getMethod("toString");
+        md.bind(new OperationResourceInfo(m, new ClassResourceInfo(Object.class)), m);
+        URITemplateIndex<OperationResourceInfo> rebuilt = md.getOperationResourceInfoIndex();
+        assertNotSame(index, rebuilt);
+        assertEquals(1, rebuilt.getCandidates(null).size());
+    }
+}
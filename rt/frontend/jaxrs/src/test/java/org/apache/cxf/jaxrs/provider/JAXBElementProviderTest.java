@@ -61,6 +61,7 @@ import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.PropertyException;
+import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.ValidationEventHandler;
 import jakarta.xml.bind.annotation.XmlAttribute;
 import jakarta.xml.bind.annotation.XmlElement;
@@ -127,6 +128,30 @@ public class JAXBElementProviderTest {
         assertEquals(book.getName(), nameStringUTF16);
     }
 
+    @Test
+    public void testReadWithPooledUnmarshaller() throws Exception {
+        final List<Unmarshaller> unmarshallers = new ArrayList<>();
+        JAXBElementProvider<Book> p = new JAXBElementProvider<Book>() {
+            @Override
+            protected Unmarshaller createUnmarshaller(Class<?> cls, Type genericType, boolean isCollection)
+                throws JAXBException {
+                Unmarshaller um = super.createUnmarshaller(cls, genericType, isCollection);
+                unmarshallers.add(um);
+                return um;
+            }
+        };
+        p.setUnmarshallerPoolSize(1);
+        for (String name : new String[] {"first", "second"}) {
+            String data = "<Book><name>" + name + "</name></Book>";
+            Book book = p.readFrom(Book.class, null, new Annotation[]{},
+                                   MediaType.APPLICATION_XML_TYPE, null,
+                                   new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(name, book.getName());
+        }
+        assertEquals(2, unmarshallers.size());
+        assertSame(unmarshallers.get(0), unmarshallers.get(1));
+    }
+
     @Test
     public void testReadChineeseChars() throws Exception {
 
@@ -95,6 +95,7 @@ import org.apache.cxf.jaxrs.model.AbstractResourceInfo;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.MethodDispatcher;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.OperationSelectionCache;
 import org.apache.cxf.jaxrs.model.URITemplate;
 import org.apache.cxf.jaxrs.provider.FormEncodingProvider;
 import org.apache.cxf.jaxrs.provider.ProviderFactory;
@@ -103,6 +104,7 @@ import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.ExchangeImpl;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
 import org.apache.cxf.transport.http.AbstractHTTPDestination;
 
 import org.junit.After;
@@ -1656,6 +1658,54 @@ public class JAXRSUtilsTest {
         return Collections.singletonMap(cri, new MetadataMap<String, String>());
     }
 
+    @Test
+    public void testSelectResourceMethodWithSelectionCache() throws Exception {
+        ClassResourceInfo cri = new ClassResourceInfo(Customer.class);
+        OperationResourceInfo ori1 = new OperationResourceInfo(
+                                         Customer.class.getMethod("getItAsXML", new Class[]{}),
+                                         cri);
+        ori1.setHttpMethod("GET");
+        ori1.setURITemplate(new URITemplate("/"));
+        OperationResourceInfo ori2 = new OperationResourceInfo(
+                                         Customer.class.getMethod("getItPlain", new Class[]{}),
+                                         cri);
+        ori2.setHttpMethod("GET");
+        ori2.setURITemplate(new URITemplate("/"));
+        MethodDispatcher md = new MethodDispatcher();
+        md.bind(ori1, Customer.class.getMethod("getItAsXML", new Class[]{}));
+        md.bind(ori2, Customer.class.getMethod("getItPlain", new Class[]{}));
+        cri.setMethodDispatcher(md);
+        JAXRSServiceImpl service = new JAXRSServiceImpl(Collections.singletonList(cri));
+
+        Message m = createMessage();
+        m.getExchange().put(Service.class, service);
+        m.put(JAXRSUtils.OPERATION_SELECTION_CACHE, "true");
+        OperationResourceInfo ori = JAXRSUtils.findTargetMethod(getMap(cri), m, "GET",
+              new MetadataMap<String, String>(), "*/*", getTypes("text/plain"));
+        assertSame(ori2, ori);
+
+        m = createMessage();
+        m.getExchange().put(Service.class, service);
+        m.put(JAXRSUtils.OPERATION_SELECTION_CACHE, "true");
+        ori = JAXRSUtils.findTargetMethod(getMap(cri), m, "GET",
+              new MetadataMap<String, String>(), "*/*", getTypes("text/xml"));
+        assertSame(ori1, ori);
+
+        m = createMessage();
+        m.getExchange().put(Service.class, service);
+        m.put(JAXRSUtils.OPERATION_SELECTION_CACHE, "true");
+        ori = JAXRSUtils.findTargetMethod(getMap(cri), m, "GET",
+              new MetadataMap<String, String>(), "*/*", getTypes("text/plain"));
+        assertSame(ori2, ori);
+        assertEquals("text/plain", m.getExchange().get(Message.CONTENT_TYPE));
+
+        OperationSelectionCache cache = service.getOperationSelectionCache();
+        assertEquals(OperationSelectionCache.DEFAULT_MAX_SIZE, cache.getMaxSize());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
     @Test
     public void testSelectResourceMethod() throws Exception {
         ClassResourceInfo cri = new ClassResourceInfo(Customer.class);
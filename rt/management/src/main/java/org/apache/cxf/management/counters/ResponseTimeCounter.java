@@ -19,31 +19,42 @@
 package org.apache.cxf.management.counters;
 
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.management.ObjectName;
 
+import org.apache.cxf.management.ManagementConstants;
 import org.apache.cxf.message.FaultMode;
 
+/**
+ * Lock free response time counter. All counts are kept in striped adders so that
+ * concurrent invocations of the same endpoint do not contend, and the response times
+ * are recorded in a histogram from which the percentiles are computed on read.
+ */
 public class ResponseTimeCounter implements ResponseTimeCounterMBean, Counter {
 
     private ObjectName objectName;
-    private final AtomicInteger invocations = new AtomicInteger();
-    private final AtomicInteger checkedApplicationFaults = new AtomicInteger();
-    private final AtomicInteger unCheckedApplicationFaults = new AtomicInteger();
-    private final AtomicInteger runtimeFaults = new AtomicInteger();
-    private final AtomicInteger logicalRuntimeFaults = new AtomicInteger();
-    private final AtomicLong totalHandlingTime = new AtomicLong();
-    private final ReentrantLock write = new ReentrantLock();
-    private final AtomicLong maxHandlingTime = new AtomicLong();
-    private final AtomicLong minHandlingTime = new AtomicLong();
-    private final AtomicLong averageProcessingTime = new AtomicLong();
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder checkedApplicationFaults = new LongAdder();
+    private final LongAdder unCheckedApplicationFaults = new LongAdder();
+    private final LongAdder runtimeFaults = new LongAdder();
+    private final LongAdder logicalRuntimeFaults = new LongAdder();
+    private final LongAdder totalHandlingTime = new LongAdder();
+    private final LongAccumulator maxHandlingTime = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator minHandlingTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final ResponseTimeHistogram histogram;
+    private long[] intervalStart;
     private boolean enabled = true;
 
     public ResponseTimeCounter(ObjectName on) {
         objectName = on;
+        // there is one counter per operation, keep those to two stripes at most
+        if (on != null && on.getKeyProperty(ManagementConstants.OPERATION_NAME_PROP) != null) {
+            histogram = new ResponseTimeHistogram(Math.min(2, ResponseTimeHistogram.MAX_STRIPES));
+        } else {
+            histogram = new ResponseTimeHistogram();
+        }
     }
 
     public void  increase(MessageHandlingTimeRecorder mhtr) {
@@ -59,52 +70,48 @@ public class ResponseTimeCounter implements ResponseTimeCounterMBean, Counter {
         } else {
             handlingTime = mhtr.getHandlingTime();
         }
-        write.lock();
-        try {
-            FaultMode faultMode = mhtr.getFaultMode();
-
-            invocations.getAndIncrement();
-            if (null == faultMode) {
-                // no exception occured
-            } else {
-                switch (faultMode) {
-                case CHECKED_APPLICATION_FAULT:
-                    checkedApplicationFaults.incrementAndGet();
-                    break;
-                case LOGICAL_RUNTIME_FAULT:
-                    logicalRuntimeFaults.incrementAndGet();
-                    break;
-                case RUNTIME_FAULT:
-                    runtimeFaults.incrementAndGet();
-                    break;
-                case UNCHECKED_APPLICATION_FAULT:
-                    unCheckedApplicationFaults.incrementAndGet();
-                    break;
-                default:
-                    runtimeFaults.incrementAndGet();
-                    break;
-                }
+        FaultMode faultMode = mhtr.getFaultMode();
+
+        invocations.increment();
+        if (null == faultMode) {
+            // no exception occured
+        } else {
+            switch (faultMode) {
+            case CHECKED_APPLICATION_FAULT:
+                checkedApplicationFaults.increment();
+                break;
+            case LOGICAL_RUNTIME_FAULT:
+                logicalRuntimeFaults.increment();
+                break;
+            case RUNTIME_FAULT:
+                runtimeFaults.increment();
+                break;
+            case UNCHECKED_APPLICATION_FAULT:
+                unCheckedApplicationFaults.increment();
+                break;
+            default:
+                runtimeFaults.increment();
+                break;
             }
-            totalHandlingTime.addAndGet(handlingTime);
-            averageProcessingTime.getAndSet(totalHandlingTime.get() / invocations.get());
-        } finally {
-            write.unlock();
         }
-        updateMax(handlingTime);
-        updateMin(handlingTime);
+        totalHandlingTime.add(handlingTime);
+        maxHandlingTime.accumulate(handlingTime);
+        minHandlingTime.accumulate(handlingTime);
+        histogram.record(handlingTime);
     }
 
-    public void reset() {
-        invocations.set(0);
-        checkedApplicationFaults.set(0);
-        unCheckedApplicationFaults.set(0);
-        runtimeFaults.set(0);
-        logicalRuntimeFaults.set(0);
+    public synchronized void reset() {
+        invocations.reset();
+        checkedApplicationFaults.reset();
+        unCheckedApplicationFaults.reset();
+        runtimeFaults.reset();
+        logicalRuntimeFaults.reset();
 
-        totalHandlingTime.set(0);
-        maxHandlingTime.set(0);
-        minHandlingTime.set(0);
-        averageProcessingTime.set(0);
+        totalHandlingTime.reset();
+        maxHandlingTime.reset();
+        minHandlingTime.reset();
+        histogram.reset();
+        intervalStart = null;
     }
 
     public ObjectName getObjectName() {
@@ -112,7 +119,8 @@ public class ResponseTimeCounter implements ResponseTimeCounterMBean, Counter {
     }
 
     public Number getAvgResponseTime() {
-        return averageProcessingTime.get();
+        long count = invocations.sum();
+        return count == 0 ? 0L : totalHandlingTime.sum() / count;
     }
 
     public Number getMaxResponseTime() {
@@ -120,65 +128,75 @@ public class ResponseTimeCounter implements ResponseTimeCounterMBean, Counter {
     }
 
     public Number getMinResponseTime() {
-        return minHandlingTime.get();
+        long min = minHandlingTime.get();
+        return min == Long.MAX_VALUE ? 0L : min;
     }
 
     public Number getNumInvocations() {
-        return invocations.get();
+        return invocations.intValue();
     }
 
     public Number getNumCheckedApplicationFaults() {
-        return checkedApplicationFaults.get();
+        return checkedApplicationFaults.intValue();
     }
 
     public Number getNumLogicalRuntimeFaults() {
-        return logicalRuntimeFaults.get();
+        return logicalRuntimeFaults.intValue();
     }
 
     public Number getNumRuntimeFaults() {
-        return runtimeFaults.get();
+        return runtimeFaults.intValue();
     }
 
     public Number getNumUnCheckedApplicationFaults() {
-        return unCheckedApplicationFaults.get();
+        return unCheckedApplicationFaults.intValue();
     }
 
     public Number getTotalHandlingTime() {
-        return totalHandlingTime;
+        return totalHandlingTime.sum();
     }
 
-    @Override
-    public void enable(boolean value) {
-        enabled = value;
+    public Number getResponseTimeP50() {
+        return ResponseTimeHistogram.percentile(histogram.counts(), 50);
+    }
 
+    public Number getResponseTimeP90() {
+        return ResponseTimeHistogram.percentile(histogram.counts(), 90);
     }
 
-    @Override
-    public boolean isEnabled() {
-        return enabled;
+    public Number getResponseTimeP99() {
+        return ResponseTimeHistogram.percentile(histogram.counts(), 99);
     }
 
-    private void updateMax(long handleTime) {
-        while (true) {
-            long current = maxHandlingTime.get();
-            if (current >= handleTime) {
-                break;
-            }
-            if (maxHandlingTime.compareAndSet(current, handleTime)) {
-                break;
-            }
-        }
+    public Number getResponseTimeP999() {
+        return ResponseTimeHistogram.percentile(histogram.counts(), 99.9);
     }
 
-    private void updateMin(long handleTime) {
-        while (true) {
-            long current = minHandlingTime.get();
-            if (current < handleTime && current != 0) {
-                break;
-            }
-            if (minHandlingTime.compareAndSet(current, handleTime)) {
-                break;
+    public synchronized long[] takeIntervalPercentiles() {
+        long[] counts = histogram.counts();
+        long[] interval = counts.clone();
+        if (intervalStart != null) {
+            for (int i = 0; i < interval.length; i++) {
+                interval[i] -= intervalStart[i];
             }
         }
+        intervalStart = counts;
+        return new long[] {
+            ResponseTimeHistogram.percentile(interval, 50),
+            ResponseTimeHistogram.percentile(interval, 90),
+            ResponseTimeHistogram.percentile(interval, 99),
+            ResponseTimeHistogram.percentile(interval, 99.9)
+        };
+    }
+
+    @Override
+    public void enable(boolean value) {
+        enabled = value;
+
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
     }
 }
@@ -34,6 +34,21 @@ public interface ResponseTimeCounterMBean {
     Number getMaxResponseTime();
     Number getMinResponseTime();
     Number getTotalHandlingTime();
+
+    /**
+     * Response time percentiles of the invocations since startup or the last reset,
+     * with a relative error of about 6%
+     */
+    Number getResponseTimeP50();
+    Number getResponseTimeP90();
+    Number getResponseTimeP99();
+    Number getResponseTimeP999();
+
+    /**
+     * Get the p50, p90, p99 and p999 response times of the invocations since
+     * the previous call (or startup), and start a new interval
+     */
+    long[] takeIntervalPercentiles();
     void reset();
     void enable(boolean value);
     boolean isEnabled();
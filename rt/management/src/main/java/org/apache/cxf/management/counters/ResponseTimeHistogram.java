@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.management.counters;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of response times, in the style of HdrHistogram. Each power of two range
+ * is split into 16 linear sub-buckets, so a reported percentile is within about 6% of the
+ * recorded value. Counts start in a single array of about 5K; further stripes, selected by
+ * thread, are only added when concurrent recordings actually collide. Readers merge the stripes.
+ */
+class ResponseTimeHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // response times are in microseconds, 2^41 is well over a week
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    static final int MAX_STRIPES =
+        Integer.highestOneBit(Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors())));
+
+    private final int maxStripes;
+    private volatile AtomicLongArray[] stripes = {new AtomicLongArray(BUCKETS)};
+
+    ResponseTimeHistogram() {
+        this(MAX_STRIPES);
+    }
+
+    /**
+     * @param maxStripes the maximum number of stripes, rounded down to a power of two
+     */
+    ResponseTimeHistogram(int maxStripes) {
+        this.maxStripes = Integer.highestOneBit(Math.max(1, maxStripes));
+    }
+
+    void record(long value) {
+        int index = indexOf(value);
+        AtomicLongArray[] current = stripes;
+        AtomicLongArray stripe = current[(int)Thread.currentThread().getId() & (current.length - 1)];
+        long count = stripe.get(index);
+        if (!stripe.compareAndSet(index, count, count + 1)) {
+            stripe.incrementAndGet(index);
+            grow(current);
+        }
+    }
+
+    private void grow(AtomicLongArray[] current) {
+        if (current.length >= maxStripes) {
+            return;
+        }
+        synchronized (this) {
+            if (stripes == current) {
+                AtomicLongArray[] grown = Arrays.copyOf(current, current.length * 2);
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new AtomicLongArray(BUCKETS);
+                }
+                stripes = grown;
+            }
+        }
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * @return the merged bucket counts
+     */
+    long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                stripe.set(i, 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the value at the given percentile (0 to 100) of the given bucket counts,
+     * or 0 if nothing was recorded.
+     */
+    static long percentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(counts.length - 1);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int)value;
+        }
+        long v = Math.min(value, MAX_VALUE);
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BUCKET_BITS;
+        int sub = (int)(v >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return the middle of the value range covered by the given bucket
+     */
+    static long valueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long)(SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+}
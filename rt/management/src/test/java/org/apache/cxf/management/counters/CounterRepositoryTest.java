@@ -20,6 +20,7 @@ package org.apache.cxf.management.counters;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import javax.management.ObjectName;
 
@@ -168,6 +169,74 @@ public class CounterRepositoryTest {
         verifyBus();
     }
 
+    @Test
+    public void testResponseTimePercentiles() throws Exception {
+        cr.createCounter(operationCounter);
+        for (long time = 1; time <= 1000; time++) {
+            MessageHandlingTimeRecorder mhtr = mock(MessageHandlingTimeRecorder.class);
+            when(mhtr.isOneWay()).thenReturn(false);
+            when(mhtr.getHandlingTime()).thenReturn(time);
+            when(mhtr.getFaultMode()).thenReturn(null);
+            cr.increaseCounter(operationCounter, mhtr);
+        }
+        ResponseTimeCounter opCounter = (ResponseTimeCounter) cr.getCounter(operationCounter);
+
+        assertEquals(1000, opCounter.getNumInvocations());
+        assertWithin(500, opCounter.getResponseTimeP50().longValue());
+        assertWithin(900, opCounter.getResponseTimeP90().longValue());
+        assertWithin(990, opCounter.getResponseTimeP99().longValue());
+        assertWithin(999, opCounter.getResponseTimeP999().longValue());
+
+        long[] interval = opCounter.takeIntervalPercentiles();
+        assertWithin(500, interval[0]);
+        assertWithin(999, interval[3]);
+
+        // the next interval only sees the slow invocations
+        MessageHandlingTimeRecorder slow = mock(MessageHandlingTimeRecorder.class);
+        when(slow.isOneWay()).thenReturn(false);
+        when(slow.getHandlingTime()).thenReturn(100000L);
+        when(slow.getFaultMode()).thenReturn(null);
+        cr.increaseCounter(operationCounter, slow);
+        interval = opCounter.takeIntervalPercentiles();
+        assertWithin(100000, interval[0]);
+        assertWithin(500, opCounter.getResponseTimeP50().longValue());
+
+        assertEquals(0, opCounter.takeIntervalPercentiles()[0]);
+        opCounter.reset();
+        assertEquals(0, opCounter.getResponseTimeP99().intValue());
+    }
+
+    @Test
+    public void testHistogramStripesAddedOnContention() throws Exception {
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram(2);
+        for (int i = 0; i < 1000; i++) {
+            histogram.record(i);
+        }
+        // a single thread never collides with itself
+        assertEquals(1, histogram.getStripeCount());
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    histogram.record(5);
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(histogram.getStripeCount() <= 2);
+        assertEquals(401000, LongStream.of(histogram.counts()).sum());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("Expected about " + expected + " but was " + actual,
+                   Math.abs(expected - actual) <= expected / 16);
+    }
 
     private void verifyBus() {
         // the numbers should match the implementation of CounterRepository
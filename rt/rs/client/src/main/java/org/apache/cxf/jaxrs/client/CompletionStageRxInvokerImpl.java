@@ -18,13 +18,16 @@
  */
 package org.apache.cxf.jaxrs.client;
 
+import java.lang.reflect.Type;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import jakarta.ws.rs.HttpMethod;
 import jakarta.ws.rs.client.CompletionStageRxInvoker;
 import jakarta.ws.rs.client.Entity;
+import jakarta.ws.rs.client.InvocationCallback;
 import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.Response;
 
@@ -143,34 +146,62 @@ public class CompletionStageRxInvokerImpl implements CompletionStageRxInvoker {
 
     @Override
     public <T> CompletionStage<T> method(String name, Entity<?> entity, Class<T> responseType) {
-        if (ex == null) {
-            return CompletableFuture.supplyAsync(() -> wc.sync().method(name, entity, responseType));
-        }
-        return CompletableFuture.supplyAsync(() -> wc.sync().method(name, entity, responseType), ex);
+        return doInvokeAsync(name, entity, responseType, responseType);
     }
 
     @Override
     public <T> CompletionStage<T> method(String name, Entity<?> entity, GenericType<T> responseType) {
-        if (ex == null) {
-            return CompletableFuture.supplyAsync(() -> wc.sync().method(name, entity, responseType));
-        }
-        return CompletableFuture.supplyAsync(() -> wc.sync().method(name, entity, responseType), ex);
+        return doInvokeAsync(name, entity, responseType.getRawType(), responseType.getType());
     }
 
     @Override
     public <T> CompletionStage<T> method(String name, Class<T> responseType) {
-        if (ex == null) {
-            return CompletableFuture.supplyAsync(() -> wc.sync().method(name, responseType));
-        }
-        return CompletableFuture.supplyAsync(() -> wc.sync().method(name, responseType), ex);
+        return doInvokeAsync(name, null, responseType, responseType);
     }
 
     @Override
     public <T> CompletionStage<T> method(String name, GenericType<T> responseType) {
+        return doInvokeAsync(name, null, responseType.getRawType(), responseType.getType());
+    }
+
+    /**
+     * Runs the invocation over the asynchronous client path, the returned stage is completed
+     * from the transport callback instead of blocking a thread for the whole exchange.
+     * If an executor is available the stage is completed on it, so that the dependent stages
+     * do not run on the transport thread. Either way a failure completes the stage with the
+     * exception reported by the client, not wrapped into a CompletionException.
+     */
+    private <T> CompletionStage<T> doInvokeAsync(String name, Entity<?> entity, Class<?> respClass, Type outType) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        InvocationCallback<T> callback = new InvocationCallback<T>() {
+            @Override
+            public void completed(T response) {
+                complete(() -> future.complete(response));
+            }
+
+            @Override
+            public void failed(Throwable throwable) {
+                complete(() -> future.completeExceptionally(throwable));
+            }
+        };
+        try {
+            wc.doInvokeAsync(name, entity, null, null, respClass, outType, callback);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    private void complete(Runnable completion) {
         if (ex == null) {
-            return CompletableFuture.supplyAsync(() -> wc.sync().method(name, responseType));
+            completion.run();
+            return;
+        }
+        try {
+            ex.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
         }
-        return CompletableFuture.supplyAsync(() -> wc.sync().method(name, responseType), ex);
     }
 
 }
@@ -20,6 +20,8 @@ package org.apache.cxf.jaxrs.client.spec;
 
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import jakarta.annotation.Priority;
@@ -248,4 +250,57 @@ public class ClientResponseFilterTest {
             assertEquals("true", response.getHeaderString("X-Done"));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRxClientResponseFilter() throws Exception {
+        try (Response response = ClientBuilder.newClient()
+             .register(AddHeaderClientResponseFilter.class)
+             .target(ADDRESS)
+             .request()
+             .rx()
+             .get()
+             .toCompletableFuture()
+             .get(10, TimeUnit.SECONDS)) {
+            assertEquals(200, response.getStatus());
+            assertEquals("true", response.getHeaderString("X-Done"));
+        }
+    }
+
+    @Test
+    public void testExceptionInRxClientResponseFilter() throws Exception {
+        try (Response response = ClientBuilder.newClient()
+             .register(FaultyClientResponseFilter.class)
+             .target(ADDRESS)
+             .request()
+             .rx()
+             .get()
+             .toCompletableFuture()
+             .get(10, TimeUnit.SECONDS)) {
+            fail("Should raise ResponseProcessingException");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause(), is(instanceOf(ResponseProcessingException.class)));
+        }
+    }
+
+    @Test
+    public void testExceptionInRxClientResponseFilterWithExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Throwable failure = ClientBuilder.newBuilder()
+                .executorService(executor)
+                .build()
+                .register(FaultyClientResponseFilter.class)
+                .target(ADDRESS)
+                .request()
+                .rx()
+                .get()
+                .handle((response, t) -> t)
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+            // the same exception as without an executor, not a CompletionException
+            assertThat(failure, is(instanceOf(ResponseProcessingException.class)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
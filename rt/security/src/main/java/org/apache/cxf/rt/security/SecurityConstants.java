@@ -356,6 +356,16 @@ public class SecurityConstants {
     public static final String STS_TOKEN_IMMINENT_EXPIRY_VALUE =
         "security.sts.token.imminent-expiry-value";
 
+    /**
+     * Whether a cached token that is about to expire (see STS_TOKEN_IMMINENT_EXPIRY_VALUE), but has not
+     * expired yet, is still used while a replacement is obtained from the STS in the background, instead
+     * of renewing it on the request path. Only one renewal per token is in flight at any time.
+     *
+     * The default value is "false".
+     */
+    public static final String STS_TOKEN_RENEW_IN_BACKGROUND =
+        "security.sts.token.renew-in-background";
+
     /**
      * An implementation of the STSTokenCacher interface, if you want to plug in custom caching behaviour for
      * STS clients. The default value is the DefaultSTSTokenCacher.
@@ -395,8 +405,8 @@ public class SecurityConstants {
             DISABLE_STS_CLIENT_WSMEX_CALL_USING_EPR_ADDRESS, STS_TOKEN_CRYPTO,
             STS_TOKEN_PROPERTIES, STS_TOKEN_USERNAME, STS_TOKEN_ACT_AS, STS_TOKEN_ON_BEHALF_OF,
             STS_CLIENT, STS_APPLIES_TO, CACHE_ISSUED_TOKEN_IN_ENDPOINT, PREFER_WSMEX_OVER_STS_CLIENT_CONFIG,
-            STS_TOKEN_IMMINENT_EXPIRY_VALUE, STS_TOKEN_CACHER_IMPL, AUDIENCE_RESTRICTIONS,
-            STS_CHECK_FOR_RECURSIVE_CALL
+            STS_TOKEN_IMMINENT_EXPIRY_VALUE, STS_TOKEN_RENEW_IN_BACKGROUND, STS_TOKEN_CACHER_IMPL,
+            AUDIENCE_RESTRICTIONS, STS_CHECK_FOR_RECURSIVE_CALL
         }));
         COMMON_PROPERTIES = Collections.unmodifiableSet(s);
     }
@@ -60,6 +60,7 @@ import org.apache.cxf.helpers.JavaUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.HttpUriMapper;
 import org.apache.cxf.transport.http.HttpServerEngineSupport;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueue;
 import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.ee10.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee10.servlet.ServletHandler;
@@ -1008,6 +1009,19 @@ public class JettyHTTPServerEngine implements ServerEngine, HttpServerEngineSupp
             if (getThreadingParameters().isSetMaxThreads()) {
                 ((QueuedThreadPool) pl).setMaxThreads(getThreadingParameters().getMaxThreads());
             }
+            if (getThreadingParameters().isVirtualThreads()) {
+                if (VirtualThreadWorkQueue.isSupported()) {
+                    String name = getThreadingParameters().isThreadNamePrefixSet()
+                        ? getThreadingParameters().getThreadNamePrefix() : "jetty-" + port;
+                    int maxConcurrency = getThreadingParameters().isSetVirtualThreadsMaxConcurrency()
+                        ? getThreadingParameters().getVirtualThreadsMaxConcurrency()
+                        : VirtualThreadWorkQueue.DEFAULT_MAX_CONCURRENCY;
+                    ((QueuedThreadPool) pl).setVirtualThreadsExecutor(
+                        new VirtualThreadWorkQueue(name, maxConcurrency, -1));
+                } else {
+                    LOG.warning("VIRTUAL_THREADS_NOT_SUPPORTED");
+                }
+            }
         }
     }
 
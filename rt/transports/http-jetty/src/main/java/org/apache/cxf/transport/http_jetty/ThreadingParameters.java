@@ -30,6 +30,9 @@ public class ThreadingParameters {
     private boolean minThreadsSet;
     private boolean maxThreadsSet;
     private boolean threadNamePrefixSet;
+    private boolean virtualThreads;
+    private int virtualThreadsMaxConcurrency;
+    private boolean virtualThreadsMaxConcurrencySet;
 
     public void setMinThreads(int number) {
         minThreadsSet = true;
@@ -70,4 +73,35 @@ public class ThreadingParameters {
         return threadNamePrefixSet;
     }
 
+    /**
+     * Run the requests on virtual threads (Java 21 or later) instead of pool threads.
+     * The thread pool, sized by the minimum and maximum number of threads, then only runs
+     * the acceptors and selectors. How many requests are processed at the same time is
+     * limited by {@link #setVirtualThreadsMaxConcurrency(int)}.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * The maximum number of requests processed on virtual threads at the same time,
+     * 1024 if not set.
+     */
+    public void setVirtualThreadsMaxConcurrency(int number) {
+        virtualThreadsMaxConcurrencySet = true;
+        virtualThreadsMaxConcurrency = number;
+    }
+
+    public int getVirtualThreadsMaxConcurrency() {
+        return virtualThreadsMaxConcurrency;
+    }
+
+    public boolean isSetVirtualThreadsMaxConcurrency() {
+        return virtualThreadsMaxConcurrencySet;
+    }
+
 }
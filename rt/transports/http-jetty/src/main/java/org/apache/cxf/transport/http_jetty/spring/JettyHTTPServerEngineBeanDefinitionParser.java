@@ -237,6 +237,12 @@ public class JettyHTTPServerEngineBeanDefinitionParser extends AbstractBeanDefin
         if (paramtype.getThreadNamePrefix() != null) {
             params.setThreadNamePrefix(paramtype.getThreadNamePrefix());
         }
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
+        if (paramtype.getVirtualThreadsMaxConcurrency() != null) {
+            params.setVirtualThreadsMaxConcurrency(paramtype.getVirtualThreadsMaxConcurrency());
+        }
         return params;
     }
 
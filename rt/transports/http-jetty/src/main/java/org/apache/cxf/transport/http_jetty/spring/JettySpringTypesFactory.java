@@ -63,6 +63,12 @@ public final class JettySpringTypesFactory {
         params.setMaxThreads(paramtype.getMaxThreads());
         params.setMinThreads(paramtype.getMinThreads());
         params.setThreadNamePrefix(paramtype.getThreadNamePrefix());
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
+        if (paramtype.getVirtualThreadsMaxConcurrency() != null) {
+            params.setVirtualThreadsMaxConcurrency(paramtype.getVirtualThreadsMaxConcurrency());
+        }
         return params;
     }
 
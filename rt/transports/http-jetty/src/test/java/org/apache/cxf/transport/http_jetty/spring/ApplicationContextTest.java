@@ -140,6 +140,7 @@ public class ApplicationContextTest {
         assertEquals(99, engine.getThreadingParameters().getMinThreads());
         assertEquals(777, engine.getThreadingParameters().getMaxThreads());
         assertEquals("AnotherPrefix", engine.getThreadingParameters().getThreadNamePrefix());
+        assertEquals(5000, engine.getThreadingParameters().getVirtualThreadsMaxConcurrency());
 
         assertEquals("session timeout should be 600 secs", 600, engine.getSessionTimeout());
         assertTrue("The engine should support session manager", engine.isSessionSupport());
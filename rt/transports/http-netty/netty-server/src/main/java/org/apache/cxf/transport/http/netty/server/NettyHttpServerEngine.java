@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 import jakarta.annotation.PostConstruct;
@@ -34,7 +35,9 @@ import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.HttpUriMapper;
+import org.apache.cxf.transport.http.Http2Parameters;
 import org.apache.cxf.transport.http.HttpServerEngineSupport;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueue;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.Channel;
@@ -81,6 +84,8 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
 
     private ThreadingParameters threadingParameters = new ThreadingParameters();
 
+    private Http2Parameters http2Parameters;
+
     private List<String> registedPaths = new CopyOnWriteArrayList<>();
 
     // TODO need to setup configuration about them
@@ -96,6 +101,8 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
     private EventLoopGroup bossGroup;
     private EventLoopGroup workerGroup;
     private EventExecutorGroup applicationExecutor;
+    // one virtual thread per request, instead of the applicationExecutor
+    private VirtualThreadWorkQueue requestWorkQueue;
     
     private Bus bus;
 
@@ -158,6 +165,19 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         return threadingParameters;
     }
 
+    /**
+     * Sets the HTTP/2 settings announced to clients, once HTTP/2 has been enabled with
+     * {@link HttpServerEngineSupport#ENABLE_HTTP2}. They apply to h2 as well as to h2c
+     * connections, whether the client upgrades or starts with prior knowledge.
+     */
+    public void setHttp2Parameters(Http2Parameters params) {
+        http2Parameters = params;
+    }
+
+    public Http2Parameters getHttp2Parameters() {
+        return http2Parameters;
+    }
+
     protected Channel startServer() {
         if (bossGroup == null) {
             bossGroup = new NioEventLoopGroup();
@@ -165,7 +185,16 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         if (workerGroup == null) {
             workerGroup = new NioEventLoopGroup();
         }
-        if (applicationExecutor == null) {
+        if (applicationExecutor == null && requestWorkQueue == null && threadingParameters.isVirtualThreads()) {
+            if (VirtualThreadWorkQueue.isSupported()) {
+                requestWorkQueue = new VirtualThreadWorkQueue("netty-application-" + port,
+                                                              threadingParameters.getThreadPoolSize());
+            } else {
+                LOG.warning("VIRTUAL_THREADS_NOT_SUPPORTED");
+            }
+        }
+        if (applicationExecutor == null && requestWorkQueue == null
+            && !threadingParameters.isDispatchOnEventLoop()) {
             applicationExecutor = new DefaultEventExecutorGroup(threadingParameters.getThreadPoolSize());
         }
 
@@ -270,6 +299,10 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         if (serverChannel != null) {
             serverChannel.close();
         }
+        if (requestWorkQueue != null) {
+            requestWorkQueue.shutdown(false);
+            requestWorkQueue = null;
+        }
 
         // shutdown executors
         if (bossGroup != null) {
@@ -364,6 +397,14 @@ public class NettyHttpServerEngine implements ServerEngine, HttpServerEngineSupp
         return applicationExecutor;
     }
 
+    /**
+     * @return the executor which runs every request on its own virtual thread, or null if the
+     *         requests are processed by the application executor or on the event loop
+     */
+    Executor getRequestExecutor() {
+        return requestWorkQueue;
+    }
+
     public void setApplicationExecutor(EventExecutorGroup applicationExecutor) {
         if (this.applicationExecutor == null) {
             this.applicationExecutor = applicationExecutor;
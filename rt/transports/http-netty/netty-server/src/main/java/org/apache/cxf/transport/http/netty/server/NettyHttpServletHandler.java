@@ -21,6 +21,9 @@ package org.apache.cxf.transport.http.netty.server;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -52,11 +55,16 @@ import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.AttributeKey;
 import io.netty.util.CharsetUtil;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 
 public class NettyHttpServletHandler extends ChannelInboundHandlerAdapter {
     private static final Logger LOG =
             LogUtils.getL7dLogger(NettyHttpServletHandler.class);
+    private static final AttributeKey<CompletableFuture<Void>> LAST_REQUEST =
+            AttributeKey.valueOf(NettyHttpServletHandler.class.getName() + ".lastRequest");
 
     private final ChannelGroup allChannels;
 
@@ -106,6 +114,15 @@ public class NettyHttpServletHandler extends ChannelInboundHandlerAdapter {
             ctx.write(new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.CONTINUE));
         }
 
+        Executor executor = pipelineFactory.getRequestExecutor();
+        if (executor != null) {
+            dispatch(ctx, request, executor);
+        } else {
+            handleRequest(ctx, request);
+        }
+    }
+
+    private void handleRequest(ChannelHandlerContext ctx, HttpRequest request) throws Exception {
         // find the nettyHttpContextHandler by lookup the request url
         NettyHttpContextHandler nettyHttpContextHandler = pipelineFactory.getNettyHttpHandler(request.uri());
         if (nettyHttpContextHandler != null) {
@@ -117,6 +134,46 @@ public class NettyHttpServletHandler extends ChannelInboundHandlerAdapter {
     }
 
 
+    /**
+     * Processes the request on its own thread of the executor. The next request of the same
+     * connection is only submitted once this one is done, so that the responses keep their order.
+     * Called on the event loop of the channel only.
+     */
+    private void dispatch(ChannelHandlerContext ctx, HttpRequest request, Executor executor) {
+        CompletableFuture<Void> previous = ctx.channel().attr(LAST_REQUEST).get();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        ctx.channel().attr(LAST_REQUEST).set(done);
+        Runnable task = () -> {
+            try {
+                handleRequest(ctx, request);
+            } catch (Throwable ex) {
+                try {
+                    exceptionCaught(ctx, ex);
+                } catch (Exception e) {
+                    ctx.close();
+                }
+            } finally {
+                ctx.flush();
+                done.complete(null);
+            }
+        };
+        Runnable submit = () -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException ex) {
+                ReferenceCountUtil.release(request);
+                sendError(ctx, HttpResponseStatus.SERVICE_UNAVAILABLE);
+                ctx.flush();
+                done.complete(null);
+            }
+        };
+        if (previous == null || previous.isDone()) {
+            submit.run();
+        } else {
+            previous.thenRun(submit);
+        }
+    }
+
     @Override
     public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
         ctx.flush();
@@ -128,18 +185,30 @@ public class NettyHttpServletHandler extends ChannelInboundHandlerAdapter {
 
         interceptOnRequestReceived(ctx, request);
 
-        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
-
-        NettyServletResponse nettyServletResponse = buildHttpServletResponse(response);
-        NettyHttpServletRequest nettyServletRequest =
-            buildHttpServletRequest(request, nettyHttpContextHandler.getContextPath(), ctx);
-
-        nettyHttpContextHandler.handle(nettyServletRequest.getRequestURI(), nettyServletRequest, nettyServletResponse);
-        interceptOnRequestSuccessed(ctx, response);
-
-        nettyServletResponse.getWriter().flush();
-
+        // the response body goes straight into a buffer of the channel's (pooled) allocator,
+        // which is released by the encoder once it has been written
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                                                                ctx.alloc().buffer());
         boolean keepAlive = HttpUtil.isKeepAlive(request);
+        try {
+            NettyServletResponse nettyServletResponse = buildHttpServletResponse(response);
+            NettyHttpServletRequest nettyServletRequest =
+                buildHttpServletRequest(request, nettyHttpContextHandler.getContextPath(), ctx);
+
+            nettyHttpContextHandler.handle(nettyServletRequest.getRequestURI(), nettyServletRequest,
+                                           nettyServletResponse);
+            interceptOnRequestSuccessed(ctx, response);
+
+            nettyServletResponse.flushBuffer();
+        } catch (Exception | Error ex) {
+            response.release();
+            throw ex;
+        } finally {
+            // the request body is not needed anymore, unless the input stream has released it already
+            if (request instanceof ReferenceCounted && ((ReferenceCounted)request).refCnt() > 0) {
+                ReferenceCountUtil.release(request);
+            }
+        }
 
         if (keepAlive) {
             // Add 'Content-Length' header only for a keep-alive connection.
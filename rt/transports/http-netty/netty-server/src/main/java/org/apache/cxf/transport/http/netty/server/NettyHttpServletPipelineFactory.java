@@ -21,6 +21,7 @@ package org.apache.cxf.transport.http.netty.server;
 
 import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +33,7 @@ import javax.net.ssl.TrustManager;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.configuration.security.ClientAuthentication;
+import org.apache.cxf.transport.http.Http2Parameters;
 import org.apache.cxf.transport.http.netty.server.interceptor.ChannelInterceptor;
 import org.apache.cxf.transport.http.netty.server.interceptor.HttpSessionInterceptor;
 import org.apache.cxf.transport.http.netty.server.session.DefaultHttpSessionStore;
@@ -57,10 +59,12 @@ import io.netty.handler.codec.http.HttpServerUpgradeHandler.UpgradeCodec;
 import io.netty.handler.codec.http.HttpServerUpgradeHandler.UpgradeCodecFactory;
 import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
 import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
 import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
 import io.netty.handler.codec.http2.Http2MultiplexHandler;
 import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
 import io.netty.handler.ssl.ApplicationProtocolConfig.Protocol;
@@ -98,6 +102,7 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
 
     private final int maxChunkContentSize;
 
+    // null if the requests are processed on the event loop
     private final EventExecutorGroup applicationExecutor;
 
     private final NettyHttpServerEngine nettyHttpServerEngine;
@@ -158,6 +163,10 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
         return null;
     }
 
+    Executor getRequestExecutor() {
+        return nettyHttpServerEngine == null ? null : nettyHttpServerEngine.getRequestExecutor();
+    }
+
     public void start() {
         if (supportSession) {
             new Thread(watchdog).start();
@@ -167,7 +176,9 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
     public void shutdown() {
         allChannels.close().awaitUninterruptibly();
         watchdog.stopWatching();
-        applicationExecutor.shutdownGracefully();
+        if (applicationExecutor != null) {
+            applicationExecutor.shutdownGracefully();
+        }
     }
 
     protected HttpSessionStore getHttpSessionStore() {
@@ -204,7 +215,7 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
     
     protected void configureDefaultHttp2Pipeline(ChannelPipeline pipeline) {
         pipeline
-            .addLast(Http2FrameCodecBuilder.forServer().build())
+            .addLast(createHttp2FrameCodec())
             .addLast(new Http2MultiplexHandler(createHttp2ChannelInitializer()));
     }
 
@@ -368,7 +379,7 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
             public UpgradeCodec newUpgradeCodec(CharSequence protocol) {
                 if (AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
                     return new Http2ServerUpgradeCodec(
-                        Http2FrameCodecBuilder.forServer().build(),
+                        createHttp2FrameCodec(),
                         new Http2MultiplexHandler(createHttp2ChannelInitializer()));
                 } else {
                     return null;
@@ -406,6 +417,29 @@ public class NettyHttpServletPipelineFactory extends ChannelInitializer<Channel>
         return pipeline;
     }
 
+    protected Http2FrameCodec createHttp2FrameCodec() {
+        Http2Settings settings = Http2Settings.defaultSettings();
+        Http2Parameters parameters = nettyHttpServerEngine.getHttp2Parameters();
+        if (parameters != null) {
+            if (parameters.isMaxConcurrentStreamsSet()) {
+                settings.maxConcurrentStreams(parameters.getMaxConcurrentStreams());
+            }
+            if (parameters.isInitialWindowSizeSet()) {
+                settings.initialWindowSize(parameters.getInitialWindowSize());
+            }
+            if (parameters.isHeaderTableSizeSet()) {
+                settings.headerTableSize(parameters.getHeaderTableSize());
+            }
+            if (parameters.isMaxFrameSizeSet()) {
+                settings.maxFrameSize(parameters.getMaxFrameSize());
+            }
+            if (parameters.isMaxHeaderListSizeSet()) {
+                settings.maxHeaderListSize(parameters.getMaxHeaderListSize());
+            }
+        }
+        return Http2FrameCodecBuilder.forServer().initialSettings(settings).build();
+    }
+
     private ChannelInitializer<Channel> createHttp2ChannelInitializer() {
         return new ChannelInitializer<Channel>() {
             @Override
@@ -26,6 +26,8 @@ public class ThreadingParameters {
 
     private int threadPoolSize = 200;
     private boolean threadPoolSizeSet;
+    private boolean dispatchOnEventLoop;
+    private boolean virtualThreads;
 
 
     public void setThreadPoolSize(int number) {
@@ -41,4 +43,31 @@ public class ThreadingParameters {
         return threadPoolSizeSet;
     }
 
+    /**
+     * Process the requests on the Netty I/O thread which has read them instead of
+     * handing them over to the application thread pool. This saves a thread switch
+     * per request, but any blocking in the service stalls all connections of that
+     * I/O thread.
+     */
+    public void setDispatchOnEventLoop(boolean dispatchOnEventLoop) {
+        this.dispatchOnEventLoop = dispatchOnEventLoop;
+    }
+
+    public boolean isDispatchOnEventLoop() {
+        return dispatchOnEventLoop;
+    }
+
+    /**
+     * Process every request on its own virtual thread (Java 21 or later). The thread pool size
+     * then limits how many requests are processed at the same time and can be set much higher
+     * than with platform threads. The requests of one connection are still answered in order.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
 }
@@ -52,7 +52,6 @@ public class NettyServletResponse implements HttpServletResponse {
     public NettyServletResponse(HttpResponse response) {
         this.originalResponse = response;
         this.outputStream = new NettyServletOutputStream((HttpContent)response);
-        this.writer = new PrintWriter(this.outputStream);
     }
 
     public HttpResponse getOriginalResponse() {
@@ -118,6 +117,9 @@ public class NettyServletResponse implements HttpServletResponse {
 
     @Override
     public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            this.writer = new PrintWriter(this.outputStream);
+        }
         return this.writer;
     }
 
@@ -164,7 +166,11 @@ public class NettyServletResponse implements HttpServletResponse {
 
     @Override
     public void flushBuffer() throws IOException {
-        this.getWriter().flush();
+        if (this.writer != null) {
+            this.writer.flush();
+        } else {
+            this.outputStream.flush();
+        }
         this.responseCommited = true;
     }
 
@@ -44,9 +44,11 @@ import org.apache.cxf.configuration.security.TLSServerParametersType;
 import org.apache.cxf.configuration.security.TrustManagersType;
 import org.apache.cxf.configuration.spring.AbstractBeanDefinitionParser;
 import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.transport.http.Http2Parameters;
 import org.apache.cxf.transport.http.netty.server.NettyHttpServerEngine;
 import org.apache.cxf.transport.http.netty.server.NettyHttpServerEngineFactory;
 import org.apache.cxf.transport.http.netty.server.ThreadingParameters;
+import org.apache.cxf.transports.http_netty_server.configuration.Http2ParametersType;
 import org.apache.cxf.transports.http_netty_server.configuration.TLSServerParametersIdentifiedType;
 import org.apache.cxf.transports.http_netty_server.configuration.ThreadingParametersIdentifiedType;
 import org.apache.cxf.transports.http_netty_server.configuration.ThreadingParametersType;
@@ -120,6 +122,13 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
                                                     NettyHttpServerEngineBeanDefinitionParser.class,
                                                     "createThreadingParametersRef"
                                                     );
+                } else if ("http2Parameters".equals(name)) {
+                    mapElementToJaxbPropertyFactory(elem,
+                                                    bean,
+                                                    "http2Parameters",
+                                                    Http2ParametersType.class,
+                                                    NettyHttpServerEngineBeanDefinitionParser.class,
+                                                    "createHttp2Parameters");
                 } else if ("sessionSupport".equals(name) || "reuseAddress".equals(name)) {
                     String text = elem.getTextContent();
                     bean.addPropertyValue(name, text);
@@ -300,11 +309,37 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
         return parameterTypeRef.getId();
     }
 
+    private static Http2Parameters toHttp2Parameters(Http2ParametersType paramtype) {
+        Http2Parameters params = new Http2Parameters();
+        if (paramtype.getMaxConcurrentStreams() != null) {
+            params.setMaxConcurrentStreams(paramtype.getMaxConcurrentStreams());
+        }
+        if (paramtype.getInitialWindowSize() != null) {
+            params.setInitialWindowSize(paramtype.getInitialWindowSize());
+        }
+        if (paramtype.getHeaderTableSize() != null) {
+            params.setHeaderTableSize(paramtype.getHeaderTableSize());
+        }
+        if (paramtype.getMaxFrameSize() != null) {
+            params.setMaxFrameSize(paramtype.getMaxFrameSize());
+        }
+        if (paramtype.getMaxHeaderListSize() != null) {
+            params.setMaxHeaderListSize(paramtype.getMaxHeaderListSize());
+        }
+        return params;
+    }
+
     private static ThreadingParameters toThreadingParameters(ThreadingParametersType paramtype) {
         ThreadingParameters params = new ThreadingParameters();
         if (paramtype.getThreadPoolSize() != null) {
             params.setThreadPoolSize(paramtype.getThreadPoolSize());
         }
+        if (paramtype.isDispatchOnEventLoop() != null) {
+            params.setDispatchOnEventLoop(paramtype.isDispatchOnEventLoop());
+        }
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
 
         return params;
     }
@@ -321,4 +356,8 @@ public class NettyHttpServerEngineBeanDefinitionParser extends AbstractBeanDefin
         return parametersType.getId();
     }
 
+    public static Http2Parameters createHttp2Parameters(String s, JAXBContext context) {
+        Http2ParametersType parametersType = unmarshalFactoryString(s, context, Http2ParametersType.class);
+        return toHttp2Parameters(parametersType);
+    }
 }
@@ -64,6 +64,12 @@ public final class NettySpringTypesFactory {
     private static ThreadingParameters toThreadingParameters(ThreadingParametersType paramtype) {
         ThreadingParameters params = new ThreadingParameters();
         params.setThreadPoolSize(paramtype.getThreadPoolSize());
+        if (paramtype.isDispatchOnEventLoop() != null) {
+            params.setDispatchOnEventLoop(paramtype.isDispatchOnEventLoop());
+        }
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
         return params;
     }
 
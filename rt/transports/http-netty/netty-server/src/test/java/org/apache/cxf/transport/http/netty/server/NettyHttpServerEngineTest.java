@@ -21,25 +21,36 @@ package org.apache.cxf.transport.http.netty.server;
 
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.apache.cxf.Bus;
 import org.apache.cxf.configuration.Configurer;
 import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.testutil.common.TestUtil;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueue;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -50,6 +61,10 @@ public class NettyHttpServerEngineTest {
         = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 2));
     private static final int PORT3
         = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 3));
+    private static final int PORT4
+        = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 4));
+    private static final int PORT5
+        = Integer.valueOf(TestUtil.getPortNumber(NettyHttpServerEngineTest.class, 5));
 
 
     private Bus bus;
@@ -143,6 +158,61 @@ public class NettyHttpServerEngineTest {
         NettyHttpServerEngineFactory.destroyForPort(PORT3);
     }
 
+    @Test
+    public void testDispatchOnEventLoop() throws Exception {
+        String urlStr = "http://localhost:" + PORT4 + "/hello/test";
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT4, "http");
+        ThreadingParameters threadingParameters = new ThreadingParameters();
+        threadingParameters.setDispatchOnEventLoop(true);
+        engine.setThreadingParameters(threadingParameters);
+
+        engine.addServant(new URL(urlStr), new NettyHttpTestHandler("test", false));
+        assertNull(engine.getApplicationExecutor());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("the netty http handler did not take effect", "test", getResponse(urlStr));
+        }
+
+        NettyHttpServerEngineFactory.destroyForPort(PORT4);
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        assumeTrue(VirtualThreadWorkQueue.isSupported());
+        String urlStr = "http://localhost:" + PORT5 + "/hello/test";
+        NettyHttpServerEngine engine =
+            factory.createNettyHttpServerEngine(PORT5, "http");
+        ThreadingParameters threadingParameters = new ThreadingParameters();
+        threadingParameters.setVirtualThreads(true);
+        threadingParameters.setThreadPoolSize(4);
+        engine.setThreadingParameters(threadingParameters);
+
+        Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        engine.addServant(new URL(urlStr), new NettyHttpTestHandler("test", false) {
+            @Override
+            public void handle(String target, HttpServletRequest request, HttpServletResponse resp)
+                throws IOException, ServletException {
+                threadNames.add(Thread.currentThread().getName());
+                super.handle(target, request, resp);
+            }
+        });
+        assertNull(engine.getApplicationExecutor());
+        assertNotNull(engine.getRequestExecutor());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("the netty http handler did not take effect", "test", getResponse(urlStr));
+        }
+        // every request gets a new virtual thread
+        assertEquals(3, threadNames.size());
+        for (String name : threadNames) {
+            assertTrue(name, name.startsWith("netty-application-" + PORT5 + "-virtual-"));
+        }
+
+        NettyHttpServerEngineFactory.destroyForPort(PORT5);
+        assertNull(engine.getRequestExecutor());
+    }
+
     @Test
     public void testHttps() throws Exception {
         Map<String, TLSServerParameters> tlsParamsMap = new HashMap<>();
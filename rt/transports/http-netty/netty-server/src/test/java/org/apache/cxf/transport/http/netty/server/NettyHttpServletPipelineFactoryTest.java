@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http.netty.server;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.cxf.transport.http.Http2Parameters;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameTypes;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class NettyHttpServletPipelineFactoryTest {
+
+    @Test
+    public void testHttp2Settings() throws Exception {
+        Http2Parameters parameters = new Http2Parameters();
+        parameters.setMaxConcurrentStreams(500);
+        parameters.setInitialWindowSize(1024 * 1024);
+        parameters.setHeaderTableSize(8192);
+
+        NettyHttpServerEngine engine = new NettyHttpServerEngine();
+        engine.setHttp2Parameters(parameters);
+        NettyHttpServletPipelineFactory factory = new NettyHttpServletPipelineFactory(null, false, 1024,
+            new HashMap<>(), engine, ImmediateEventExecutor.INSTANCE, true);
+
+        // the server sends its SETTINGS frame as soon as the connection is active
+        EmbeddedChannel channel = new EmbeddedChannel(factory.createHttp2FrameCodec());
+        ByteBuf frame = channel.readOutbound();
+        try {
+            Map<Integer, Long> settings = readSettings(frame);
+            assertEquals(Long.valueOf(500), settings.get((int)Http2CodecUtil.SETTINGS_MAX_CONCURRENT_STREAMS));
+            assertEquals(Long.valueOf(1024 * 1024), settings.get((int)Http2CodecUtil.SETTINGS_INITIAL_WINDOW_SIZE));
+            assertEquals(Long.valueOf(8192), settings.get((int)Http2CodecUtil.SETTINGS_HEADER_TABLE_SIZE));
+        } finally {
+            frame.release();
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static Map<Integer, Long> readSettings(ByteBuf frame) {
+        int length = frame.readUnsignedMedium();
+        assertEquals(Http2FrameTypes.SETTINGS, frame.readByte());
+        frame.skipBytes(5); // flags and stream id
+        Map<Integer, Long> settings = new HashMap<>();
+        for (int i = 0; i < length; i += 6) {
+            settings.put(frame.readUnsignedShort(), frame.readUnsignedInt());
+        }
+        return settings;
+    }
+}
@@ -137,6 +137,9 @@ public class ApplicationContextTest {
         assertEquals(40000, engine.getReadIdleTime());
         assertEquals(10000, engine.getMaxChunkContentSize());
         assertTrue("The engine should support session manager", engine.isSessionSupport());
+        assertEquals(50, engine.getHttp2Parameters().getMaxConcurrentStreams());
+        assertEquals(131072, engine.getHttp2Parameters().getInitialWindowSize());
+        assertFalse(engine.getHttp2Parameters().isMaxFrameSizeSet());
 
         NettyHttpDestination jd3 =
             (NettyHttpDestination)factory.getDestination(
@@ -42,6 +42,7 @@ public class ThreadingParameters {
     private boolean minThreadsSet;
     private boolean maxThreadsSet;
     private String workerIOName;
+    private boolean virtualThreads;
 
     public void setWorkerIOThreads(int number) {
         workerIOThreadsSet = true;
@@ -96,4 +97,17 @@ public class ThreadingParameters {
         return !StringUtils.isEmpty(this.workerIOName);
     }
 
+    /**
+     * Run the requests on virtual threads (Java 21 or later) instead of the worker task
+     * thread pool. The maximum number of threads then limits how many requests are processed
+     * at the same time.
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
 }
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,8 +45,10 @@ import org.apache.cxf.configuration.jsse.SSLUtils;
 import org.apache.cxf.configuration.jsse.TLSServerParameters;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.transport.HttpUriMapper;
+import org.apache.cxf.transport.http.Http2Parameters;
 import org.apache.cxf.transport.http.HttpServerEngineSupport;
 import org.apache.cxf.transport.https.AliasedX509ExtendedKeyManager;
+import org.apache.cxf.workqueue.VirtualThreadWorkQueue;
 import org.xnio.Options;
 import org.xnio.Sequence;
 import org.xnio.SslClientAuthMode;
@@ -129,6 +132,8 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
 
     private org.apache.cxf.transport.http_undertow.ThreadingParameters threadingParameters;
 
+    private Http2Parameters http2Parameters;
+
     private List<CXFUndertowHttpHandler> handlers;
     
     private String[] includedCipherSuites;
@@ -229,6 +234,7 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         result.setServerOption(UndertowOptions.IDLE_TIMEOUT, getMaxIdleTime());
         if (this.isHttp2Enabled(undertowHTTPHandler.getBus())) {
             result.setServerOption(UndertowOptions.ENABLE_HTTP2, Boolean.TRUE);
+            result = configureHttp2(result);
         }
         if (this.shouldEnableRecordRequestStartTime(undertowHTTPHandler.getBus())) {
             result.setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, Boolean.TRUE);
@@ -243,8 +249,9 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         }
         path = Handlers.path(new NotFoundHandler());
 
+        HttpHandler handler;
         if (url.getPath().length() == 0) {
-            result = result.setHandler(Handlers.trace(undertowHTTPHandler));
+            handler = Handlers.trace(undertowHTTPHandler);
         } else {
             if (undertowHTTPHandler.isContextMatchExact()) {
                 path.addExactPath(url.getPath(), undertowHTTPHandler);
@@ -252,8 +259,9 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
                 path.addPrefixPath(url.getPath(), undertowHTTPHandler);
             }
 
-            result = result.setHandler(wrapHandler(new HttpContinueReadHandler(path)));
+            handler = wrapHandler(new HttpContinueReadHandler(path));
         }
+        result = result.setHandler(dispatchToVirtualThreads(handler));
 
         result = decorateUndertowSocketConnection(result);
         result = disableSSLv3(result);
@@ -261,6 +269,33 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         return result.build();
     }
 
+    private Builder configureHttp2(Builder builder) {
+        if (this.http2Parameters != null) {
+            if (this.http2Parameters.isMaxConcurrentStreamsSet()) {
+                builder = builder.setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS,
+                              this.http2Parameters.getMaxConcurrentStreams());
+            }
+            if (this.http2Parameters.isInitialWindowSizeSet()) {
+                builder = builder.setServerOption(UndertowOptions.HTTP2_SETTINGS_INITIAL_WINDOW_SIZE,
+                              this.http2Parameters.getInitialWindowSize());
+            }
+            if (this.http2Parameters.isHeaderTableSizeSet()) {
+                builder = builder.setServerOption(UndertowOptions.HTTP2_SETTINGS_HEADER_TABLE_SIZE,
+                              this.http2Parameters.getHeaderTableSize());
+            }
+            if (this.http2Parameters.isMaxFrameSizeSet()) {
+                builder = builder.setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_FRAME_SIZE,
+                              this.http2Parameters.getMaxFrameSize());
+            }
+            if (this.http2Parameters.isMaxHeaderListSizeSet()) {
+                builder = builder.setServerOption(UndertowOptions.HTTP2_SETTINGS_MAX_HEADER_LIST_SIZE,
+                              this.http2Parameters.getMaxHeaderListSize());
+            }
+        }
+
+        return builder;
+    }
+
     private Builder configureThreads(Builder builder) {
         if (this.threadingParameters != null) {
             if (this.threadingParameters.isWorkerIOThreadsSet()) {
@@ -284,6 +319,29 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         return builder;
     }
 
+    private HttpHandler dispatchToVirtualThreads(final HttpHandler handler) {
+        if (this.threadingParameters == null || !this.threadingParameters.isVirtualThreads()) {
+            return handler;
+        }
+        if (!VirtualThreadWorkQueue.isSupported()) {
+            LOG.warning("VIRTUAL_THREADS_NOT_SUPPORTED");
+            return handler;
+        }
+        final String name = this.threadingParameters.isWorkerIONameSet()
+            ? this.threadingParameters.getWorkerIOName() : "undertow-" + getPort();
+        final int maxConcurrency = this.threadingParameters.isMaxThreadsSet()
+            ? this.threadingParameters.getMaxThreads() : VirtualThreadWorkQueue.DEFAULT_MAX_CONCURRENCY;
+        final Executor executor = new VirtualThreadWorkQueue(name, maxConcurrency, -1);
+        // leave the I/O thread right away, the handlers then run on the virtual thread
+        return exchange -> {
+            if (exchange.isInIoThread()) {
+                exchange.dispatch(executor, handler);
+            } else {
+                handler.handleRequest(exchange);
+            }
+        };
+    }
+
     private HttpHandler wrapHandler(HttpHandler handler) {
         HttpHandler nextHandler = handler;
         for (CXFUndertowHttpHandler h : getHandlers()) {
@@ -579,6 +637,21 @@ public class UndertowHTTPServerEngine implements ServerEngine, HttpServerEngineS
         return threadingParameters;
     }
 
+    /**
+     * This method sets the HTTP/2 settings announced to clients when HTTP/2
+     * is enabled for this particular server engine.
+     */
+    public void setHttp2Parameters(Http2Parameters params) {
+        http2Parameters = params;
+    }
+
+    /**
+     * This method returns the HTTP/2 settings that have been set, or null.
+     */
+    public Http2Parameters getHttp2Parameters() {
+        return http2Parameters;
+    }
+
     public void setContinuationsEnabled(boolean enabled) {
         continuationsEnabled = enabled;
     }
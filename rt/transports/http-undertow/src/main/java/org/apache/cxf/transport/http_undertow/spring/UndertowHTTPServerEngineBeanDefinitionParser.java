@@ -47,9 +47,11 @@ import org.apache.cxf.configuration.security.TLSServerParametersType;
 import org.apache.cxf.configuration.security.TrustManagersType;
 import org.apache.cxf.configuration.spring.AbstractBeanDefinitionParser;
 import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.transport.http.Http2Parameters;
 import org.apache.cxf.transport.http_undertow.ThreadingParameters;
 import org.apache.cxf.transport.http_undertow.UndertowHTTPServerEngine;
 import org.apache.cxf.transport.http_undertow.UndertowHTTPServerEngineFactory;
+import org.apache.cxf.transports.http_undertow.configuration.Http2ParametersType;
 import org.apache.cxf.transports.http_undertow.configuration.TLSServerParametersIdentifiedType;
 import org.apache.cxf.transports.http_undertow.configuration.ThreadingParametersIdentifiedType;
 import org.apache.cxf.transports.http_undertow.configuration.ThreadingParametersType;
@@ -121,6 +123,13 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
                                                     UndertowHTTPServerEngineBeanDefinitionParser.class,
                                                     "createThreadingParametersRef"
                                                     );
+                } else if ("http2Parameters".equals(name)) {
+                    mapElementToJaxbPropertyFactory(elem,
+                                                    bean,
+                                                    "http2Parameters",
+                                                    Http2ParametersType.class,
+                                                    UndertowHTTPServerEngineBeanDefinitionParser.class,
+                                                    "createHttp2Parameters");
                 } else if ("handlers".equals(name)) {
                     List<?> handlers =
                         ctx.getDelegate().parseListElement(elem, bean.getBeanDefinition());
@@ -211,6 +220,26 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
         bean.addPropertyValue("tlsServerParameters", jaxbbean.getBeanDefinition());
     }
 
+    private static Http2Parameters toHttp2Parameters(Http2ParametersType paramtype) {
+        Http2Parameters params = new Http2Parameters();
+        if (paramtype.getMaxConcurrentStreams() != null) {
+            params.setMaxConcurrentStreams(paramtype.getMaxConcurrentStreams());
+        }
+        if (paramtype.getInitialWindowSize() != null) {
+            params.setInitialWindowSize(paramtype.getInitialWindowSize());
+        }
+        if (paramtype.getHeaderTableSize() != null) {
+            params.setHeaderTableSize(paramtype.getHeaderTableSize());
+        }
+        if (paramtype.getMaxFrameSize() != null) {
+            params.setMaxFrameSize(paramtype.getMaxFrameSize());
+        }
+        if (paramtype.getMaxHeaderListSize() != null) {
+            params.setMaxHeaderListSize(paramtype.getMaxHeaderListSize());
+        }
+        return params;
+    }
+
     private static ThreadingParameters toThreadingParameters(
                                     ThreadingParametersType paramtype) {
         ThreadingParameters params = new ThreadingParameters();
@@ -226,6 +255,9 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
         if (paramtype.getWorkerIOName() != null) {
             params.setWorkerIOName(paramtype.getWorkerIOName());
         }
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
 
         return params;
     }
@@ -343,4 +375,9 @@ public class UndertowHTTPServerEngineBeanDefinitionParser extends AbstractBeanDe
             = unmarshalFactoryString(s, context, ThreadingParametersIdentifiedType.class);
         return parametersType.getId();
     }
+
+    public static Http2Parameters createHttp2Parameters(String s, JAXBContext context) {
+        Http2ParametersType parametersType = unmarshalFactoryString(s, context, Http2ParametersType.class);
+        return toHttp2Parameters(parametersType);
+    }
 }
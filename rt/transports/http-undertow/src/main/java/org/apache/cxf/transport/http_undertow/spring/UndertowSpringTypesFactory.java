@@ -64,6 +64,9 @@ public final class UndertowSpringTypesFactory {
         params.setMinThreads(paramtype.getMinThreads());
         params.setWorkerIOName(paramtype.getWorkerIOName());
         params.setWorkerIOThreads(paramtype.getWorkerIOThreads());
+        if (paramtype.isVirtualThreads() != null) {
+            params.setVirtualThreads(paramtype.isVirtualThreads());
+        }
         return params;
     }
 
@@ -138,6 +138,9 @@ public class ApplicationContextTest {
         assertEquals(40000, engine.getMaxIdleTime());
         assertEquals(99, engine.getThreadingParameters().getMinThreads());
         assertEquals(777, engine.getThreadingParameters().getMaxThreads());
+        assertEquals(50, engine.getHttp2Parameters().getMaxConcurrentStreams());
+        assertEquals(131072, engine.getHttp2Parameters().getInitialWindowSize());
+        assertFalse(engine.getHttp2Parameters().isMaxFrameSizeSet());
 
         assertNotNull("The handlers should not be null", engine.getHandlers());
         assertEquals(1, engine.getHandlers().size());
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.http;
+
+/**
+ * HTTP/2 settings announced by an HTTP server engine to its clients. Only the values which
+ * have been set are passed on, all others keep the defaults of the engine. HTTP/2 itself is
+ * enabled through {@link HttpServerEngineSupport#ENABLE_HTTP2}.
+ */
+public class Http2Parameters {
+    private int maxConcurrentStreams;
+    private int initialWindowSize;
+    private int headerTableSize;
+    private int maxFrameSize;
+    private int maxHeaderListSize;
+    private boolean maxConcurrentStreamsSet;
+    private boolean initialWindowSizeSet;
+    private boolean headerTableSizeSet;
+    private boolean maxFrameSizeSet;
+    private boolean maxHeaderListSizeSet;
+
+    /**
+     * Maximum number of requests a client may have in flight on one connection
+     * (SETTINGS_MAX_CONCURRENT_STREAMS).
+     */
+    public void setMaxConcurrentStreams(int number) {
+        maxConcurrentStreamsSet = true;
+        maxConcurrentStreams = number;
+    }
+
+    /**
+     * Flow control window in bytes of each stream, that is how much of a request body the
+     * client may send before the server has read it (SETTINGS_INITIAL_WINDOW_SIZE).
+     */
+    public void setInitialWindowSize(int size) {
+        initialWindowSizeSet = true;
+        initialWindowSize = size;
+    }
+
+    /**
+     * Size in bytes of the HPACK table used to decode request headers
+     * (SETTINGS_HEADER_TABLE_SIZE).
+     */
+    public void setHeaderTableSize(int size) {
+        headerTableSizeSet = true;
+        headerTableSize = size;
+    }
+
+    /**
+     * Largest frame payload in bytes the server accepts (SETTINGS_MAX_FRAME_SIZE).
+     */
+    public void setMaxFrameSize(int size) {
+        maxFrameSizeSet = true;
+        maxFrameSize = size;
+    }
+
+    /**
+     * Largest uncompressed size in bytes of the request headers (SETTINGS_MAX_HEADER_LIST_SIZE).
+     */
+    public void setMaxHeaderListSize(int size) {
+        maxHeaderListSizeSet = true;
+        maxHeaderListSize = size;
+    }
+
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public int getInitialWindowSize() {
+        return initialWindowSize;
+    }
+
+    public int getHeaderTableSize() {
+        return headerTableSize;
+    }
+
+    public int getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    public int getMaxHeaderListSize() {
+        return maxHeaderListSize;
+    }
+
+    public boolean isMaxConcurrentStreamsSet() {
+        return maxConcurrentStreamsSet;
+    }
+
+    public boolean isInitialWindowSizeSet() {
+        return initialWindowSizeSet;
+    }
+
+    public boolean isHeaderTableSizeSet() {
+        return headerTableSizeSet;
+    }
+
+    public boolean isMaxFrameSizeSet() {
+        return maxFrameSizeSet;
+    }
+
+    public boolean isMaxHeaderListSizeSet() {
+        return maxHeaderListSizeSet;
+    }
+}
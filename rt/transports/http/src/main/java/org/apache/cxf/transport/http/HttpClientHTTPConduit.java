@@ -21,9 +21,8 @@ package org.apache.cxf.transport.http;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.io.PushbackInputStream;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
@@ -56,8 +55,10 @@ import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.security.cert.Certificate;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -66,12 +67,14 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Flow;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
@@ -504,45 +507,6 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
         }
     }
 
-    static class HttpClientPipedOutputStream extends PipedOutputStream {
-        HttpClientWrappedOutputStream stream;
-        HTTPClientPolicy csPolicy;
-        HttpClientBodyPublisher publisher;
-        HttpClientPipedOutputStream(HttpClientWrappedOutputStream s, 
-                                    PipedInputStream pin,
-                                    HTTPClientPolicy cp,
-                                    HttpClientBodyPublisher bp) throws IOException {
-            super(pin);
-            stream = s;
-            csPolicy = cp;
-            publisher = bp;
-        }
-        public void close() throws IOException {
-            super.close();
-            csPolicy = null;
-            stream = null;  
-            if (publisher != null) {
-                publisher.close();
-                publisher = null;
-            }
-        }
-        synchronized boolean canWrite() throws IOException {
-            return stream.isConnectionAttemptCompleted(csPolicy, this);
-        }
-        @Override
-        public void write(int b) throws IOException {
-            if (stream != null && (stream.connectionComplete || canWrite())) {
-                super.write(b);
-            }
-        }
-        @Override
-        public void write(byte[] b, int off, int len) throws IOException {
-            if (stream != null && (stream.connectionComplete || canWrite())) {
-                super.write(b, off, len);
-            }
-        }
-
-    };
     private static final class HttpClientFilteredInputStream extends FilterInputStream {
         boolean closed;
 
@@ -582,59 +546,244 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             }
         }
     }
-    private static final class InputStreamSupplier implements Supplier<InputStream> {
-        final InputStream in;
-        InputStreamSupplier(InputStream i) {
-            in = i;
-        }
-        
-        public InputStream get() {
-            return in;
-        }
-    }
-    private static final class HttpClientBodyPublisher implements BodyPublisher {
-        PipedInputStream pin;
-        HttpClientWrappedOutputStream  stream;
-        long contentLen;
+    /**
+     * The request body of an HttpClient request. CXF writes the body into this stream and the
+     * HttpClient subscribes to it as the {@link BodyPublisher}; filled buffers are handed over
+     * as the client signals demand, without a piped stream and a thread hand-off in between.
+     * A body of unknown length (chunked) is bounded to a few buffers, the writer waits for
+     * demand once they are all queued. A body of known length is already held in memory by
+     * the conduit (or by the retransmission cache), so its buffers are queued without waiting
+     * for the connection or for demand. A writer waits for demand at most for the receive
+     * timeout, or the connection timeout if no receive timeout is set.
+     */
+    static final class HttpClientBodyPublisher extends OutputStream implements BodyPublisher {
+        private static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+        private static final int MAX_QUEUED_BYTES = 64 * 1024;
+        private static final int MAX_BUFFERED_BYTES = 1024 * 1024;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notFull = lock.newCondition();
+        private final Deque<ByteBuffer> queue = new ArrayDeque<>();
+        private final int bufferSize;
+        private final int maxQueued;
+        private final long writeTimeout;
+        private long contentLen;
+        private HttpClientWrappedOutputStream stream;
+        private ByteBuffer current;
+        private Subscriber<? super ByteBuffer> subscriber;
+        private long demand;
+        private boolean draining;
+        private boolean closed;
+        private boolean done;
+        private Throwable failure;
 
-        private HttpClientBodyPublisher(HttpClientWrappedOutputStream s, PipedInputStream pin) {
+        HttpClientBodyPublisher(HttpClientWrappedOutputStream s, long contentLen, int chunkLength,
+                                long writeTimeout) {
             this.stream = s;
-            this.pin = pin;
+            this.contentLen = contentLen;
+            this.bufferSize = chunkLength <= 0 ? DEFAULT_BUFFER_SIZE : chunkLength;
+            this.maxQueued = contentLen >= 0 && contentLen <= MAX_BUFFERED_BYTES
+                ? Integer.MAX_VALUE : Math.max(2, MAX_QUEUED_BYTES / bufferSize);
+            this.writeTimeout = writeTimeout;
+        }
+
+        @Override
+        public long contentLength() {
+            lock.lock();
+            try {
+                return currentContentLength();
+            } finally {
+                lock.unlock();
+            }
         }
-        synchronized void close() {
+
+        // the conduit may still change the length (no output), must be called with the lock held
+        private long currentContentLength() {
             if (stream != null) {
                 contentLen = stream.contentLen;
-                stream = null;
             }
+            return contentLen;
         }
-        
+
         @Override
-        public synchronized void subscribe(Subscriber<? super ByteBuffer> subscriber) {
-            if (stream != null) {
-                stream.connectionComplete = true;
-                contentLen = stream.contentLen;
-                if (stream.pout != null) {
-                    synchronized (stream.pout) {
-                        stream.pout.notifyAll();                       
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            lock.lock();
+            try {
+                if (stream != null) {
+                    stream.connectionComplete = true;
+                }
+                if (subscriber != null || currentContentLength() == 0) {
+                    // the body can only be streamed once
+                    BodyPublishers.noBody().subscribe(s);
+                    return;
+                }
+                subscriber = s;
+                s.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        HttpClientBodyPublisher.this.request(n);
                     }
-                    if (stream != null) {
-                        contentLen = stream.contentLen;
+
+                    @Override
+                    public void cancel() {
+                        HttpClientBodyPublisher.this.cancel(null);
                     }
-                    BodyPublishers.ofInputStream(new InputStreamSupplier(pin)).subscribe(subscriber);
-                    stream = null;
-                    pin = null;
+                });
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void request(long n) {
+            lock.lock();
+            try {
+                if (done) {
+                    return;
+                }
+                if (n <= 0) {
+                    done = true;
+                    queue.clear();
+                    notFull.signalAll();
+                    subscriber.onError(new IllegalArgumentException("non-positive subscription request"));
                     return;
                 }
+                demand += n;
+                if (demand < 0) {
+                    demand = Long.MAX_VALUE;
+                }
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Stops publishing, the remaining writes are dropped. Called when the subscriber cancels
+         * or when the exchange failed, the failure is then reported by the conduit from the response.
+         */
+        void cancel(Throwable t) {
+            lock.lock();
+            try {
+                if (failure == null) {
+                    failure = t;
+                }
+                done = true;
+                queue.clear();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
             }
-            BodyPublishers.noBody().subscribe(subscriber);
         }
 
         @Override
-        public long contentLength() {
-            if (stream != null) {
-                contentLen = stream.contentLen;
+        public void write(int b) throws IOException {
+            if (current == null) {
+                current = ByteBuffer.allocate(bufferSize);
+            }
+            current.put((byte)b);
+            if (!current.hasRemaining()) {
+                publishCurrent();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (current == null) {
+                    // large writes go out as a single buffer
+                    current = ByteBuffer.allocate(Math.max(bufferSize, maxQueued == Integer.MAX_VALUE ? len : 0));
+                }
+                int n = Math.min(len, current.remaining());
+                current.put(b, off, n);
+                off += n;
+                len -= n;
+                if (!current.hasRemaining()) {
+                    publishCurrent();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            publishCurrent();
+        }
+
+        @Override
+        public void close() throws IOException {
+            publishCurrent();
+            lock.lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    currentContentLength();
+                    stream = null;
+                    drain();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void publishCurrent() throws IOException {
+            if (current == null || current.position() == 0) {
+                return;
+            }
+            ByteBuffer buffer = current.flip();
+            current = null;
+            lock.lock();
+            try {
+                long nanos = TimeUnit.MILLISECONDS.toNanos(writeTimeout);
+                while (!done && queue.size() >= maxQueued) {
+                    if (writeTimeout <= 0) {
+                        notFull.await();
+                    } else if (nanos <= 0) {
+                        cancel(new HttpTimeoutException("Timed out waiting for the request body to be read"));
+                    } else {
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                }
+                if (done) {
+                    checkFailure();
+                    return;
+                }
+                queue.add(buffer);
+                drain();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel(e);
+                throw new InterruptedIOException();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void checkFailure() {
+            if (failure instanceof IOException) {
+                throw new Fault("Could not send Message.", LOG, (IOException)failure);
+            }
+        }
+
+        // must be called with the lock held, onNext may call back into request on the same thread
+        private void drain() {
+            if (draining || subscriber == null) {
+                return;
+            }
+            draining = true;
+            try {
+                while (!done && demand > 0 && !queue.isEmpty()) {
+                    demand--;
+                    ByteBuffer buffer = queue.poll();
+                    notFull.signalAll();
+                    subscriber.onNext(buffer);
+                }
+                if (!done && closed && queue.isEmpty()) {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            } finally {
+                draining = false;
             }
-            return contentLen;
         }
     }
     class HttpClientWrappedOutputStream extends WrappedOutputStream {  
@@ -645,7 +794,6 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
         int rtimeout;
         volatile Throwable exception;
         volatile boolean connectionComplete;
-        PipedOutputStream pout;
         HttpClientBodyPublisher publisher;
         HttpRequest request;
         
@@ -660,10 +808,6 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
         @Override
         public void close() throws IOException {
             super.close();
-            if (pout != null) {
-                pout.close();
-                pout = null;
-            }
             if (publisher != null) {
                 publisher.close();
                 publisher = null;
@@ -683,8 +827,8 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
         @Override
         protected void handleNoOutput() throws IOException {
             contentLen = 0;
-            if (pout != null) {
-                pout.close();
+            if (publisher != null) {
+                publisher.close();
             }
             if (exception != null) {
                 if (exception instanceof IOException) {
@@ -741,42 +885,6 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             }            
         }
         
-        private boolean isConnectionAttemptCompleted(HTTPClientPolicy csPolicy, PipedOutputStream out)
-            throws IOException {
-            if (!connectionComplete) {
-                // if we haven't connected yet, we'll see if an exception is the reason
-                // why we haven't connected.  Otherwise, wait for the connection
-                // to complete.
-                if (future.isDone()) {
-                    try {
-                        future.get();
-                    } catch (InterruptedException | ExecutionException e) {
-                        if (e.getCause() instanceof IOException) {
-                            throw new Fault("Could not send Message.", LOG, (IOException)e.getCause());
-                        }
-                    }
-                    return false;
-                }
-                try {
-                    out.wait(csPolicy.getConnectionTimeout());
-                } catch (InterruptedException e) {
-                    //ignore
-                }
-                if (future.isDone()) {
-                    try {
-                        future.get();
-                    } catch (InterruptedException | ExecutionException e) {
-                        if (e.getCause() instanceof IOException) {
-                            throw new Fault("Could not send Message.", LOG, (IOException)e.getCause());
-                        }
-                    }
-                    return false;
-                }
-            }
-            return true;
-        }
-        
-        
         @Override
         protected void setProtocolHeaders() throws IOException {
             HttpClient cl = outMessage.get(HttpClient.class);
@@ -791,13 +899,9 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
                 contentLen = 0;
             }
 
-            final PipedInputStream pin = new PipedInputStream(csPolicy.getChunkLength() <= 0
-                ? 4096 : csPolicy.getChunkLength());
-            
-            this.publisher = new HttpClientBodyPublisher(this, pin);
-            if (contentLen != 0) {
-                pout = new HttpClientPipedOutputStream(this, pin, csPolicy, publisher);
-            }
+            rtimeout = determineReceiveTimeout(outMessage, csPolicy);
+            this.publisher = new HttpClientBodyPublisher(this, contentLen, csPolicy.getChunkLength(),
+                rtimeout > 0 ? rtimeout : csPolicy.getConnectionTimeout());
 
             HttpRequest.Builder rb = HttpRequest.newBuilder()
                 .method(httpRequestMethod, publisher);  
@@ -816,7 +920,6 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
                 throw mex;
             }
             
-            rtimeout = determineReceiveTimeout(outMessage, csPolicy);
             if (rtimeout > 0) {
                 rb.timeout(Duration.ofMillis(rtimeout));
             }
@@ -842,12 +945,11 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
             } else {
                 future = cl.sendAsync(request, handler);
             }
+            final HttpClientBodyPublisher bp = publisher;
             future.exceptionally(ex -> {
-                if (pout != null) {
-                    synchronized (pout) {
-                        pout.notifyAll();
-                    }
-                }
+                // release a writer waiting for demand that will never come
+                bp.cancel(ex instanceof ExecutionException || ex instanceof CompletionException
+                    ? ex.getCause() : ex);
                 return null;
             });
         }
@@ -855,10 +957,10 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
         protected void setupWrappedStream() throws IOException {
             if (cachingForRetransmission) {
                 cachedStream =
-                    new CacheAndWriteOutputStream(pout);
+                    new CacheAndWriteOutputStream(publisher);
                 wrappedStream = cachedStream;
             } else {
-                wrappedStream = pout;
+                wrappedStream = publisher;
             }
             if (exception != null) {
                 if (exception instanceof IOException) {
@@ -1096,10 +1198,8 @@ public class HttpClientHTTPConduit extends URLConnectionHTTPConduit {
 
         @Override
         protected void retransmitStream() throws IOException {
-            cachedStream.writeCacheTo(pout);
-            if (pout != null) {
-                pout.close();
-            }
+            cachedStream.writeCacheTo(publisher);
+            publisher.close();
         }
 
         @Override
@@ -0,0 +1,163 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.transport.http;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.transport.http.HttpClientHTTPConduit.HttpClientBodyPublisher;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HttpClientBodyPublisherTest {
+
+    @Test
+    public void testKnownLengthBodyWrittenBeforeSubscription() throws Exception {
+        byte[] body = "<soap:Envelope/>".getBytes(StandardCharsets.UTF_8);
+        HttpClientBodyPublisher publisher = new HttpClientBodyPublisher(null, body.length, 0, 0);
+        publisher.write(body, 0, body.length);
+        publisher.close();
+
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(body.length, publisher.contentLength());
+        assertArrayEquals(body, subscriber.out.toByteArray());
+    }
+
+    @Test
+    public void testChunkedBodyWaitsForDemand() throws Exception {
+        final byte[] body = new byte[1024 * 1024];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte)i;
+        }
+        final HttpClientBodyPublisher publisher = new HttpClientBodyPublisher(null, -1, 4096, 0);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+
+        Thread writer = new Thread(() -> {
+            try {
+                publisher.write(body, 0, body.length);
+                publisher.close();
+            } catch (Exception ex) {
+                // fails the assertions below
+            }
+        });
+        writer.start();
+        writer.join(500);
+        // the writer is held back until the client asks for more
+        assertTrue(writer.isAlive());
+
+        while (subscriber.completed.getCount() > 0) {
+            subscriber.subscription.request(1);
+        }
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        assertArrayEquals(body, subscriber.out.toByteArray());
+    }
+
+    @Test
+    public void testCancelReleasesWriter() throws Exception {
+        final HttpClientBodyPublisher publisher = new HttpClientBodyPublisher(null, -1, 4096, 0);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+
+        Thread writer = new Thread(() -> {
+            try {
+                publisher.write(new byte[1024 * 1024], 0, 1024 * 1024);
+                publisher.close();
+            } catch (Exception ex) {
+                // ignore
+            }
+        });
+        writer.start();
+        writer.join(500);
+        assertTrue(writer.isAlive());
+
+        subscriber.subscription.cancel();
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        assertEquals(1, subscriber.completed.getCount());
+    }
+
+    @Test
+    public void testWriterTimesOutWithoutDemand() throws Exception {
+        final HttpClientBodyPublisher publisher = new HttpClientBodyPublisher(null, -1, 4096, 200);
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        publisher.subscribe(subscriber);
+
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                publisher.write(new byte[1024 * 1024], 0, 1024 * 1024);
+                publisher.close();
+            } catch (Exception ex) {
+                failure.set(ex);
+            }
+        });
+        writer.start();
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        assertTrue(failure.get() instanceof Fault);
+        assertTrue(failure.get().getCause() instanceof HttpTimeoutException);
+    }
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<ByteBuffer> {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            byte[] bytes = new byte[item.remaining()];
+            item.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -35,7 +35,9 @@ import jakarta.jms.Destination;
 import jakarta.jms.ExceptionListener;
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageListener;
+import jakarta.jms.MessageProducer;
 import jakarta.jms.Session;
+import jakarta.jms.TemporaryQueue;
 import org.apache.cxf.Bus;
 import org.apache.cxf.buslifecycle.BusLifeCycleListener;
 import org.apache.cxf.buslifecycle.BusLifeCycleManager;
@@ -53,6 +55,8 @@ import org.apache.cxf.transport.jms.util.JMSUtil;
 import org.apache.cxf.transport.jms.util.MessageListenerContainer;
 import org.apache.cxf.transport.jms.util.PollingMessageListenerContainer;
 import org.apache.cxf.transport.jms.util.ResourceCloser;
+import org.apache.cxf.transport.jms.util.SessionPool;
+import org.apache.cxf.transport.jms.util.SessionPool.PooledSession;
 import org.apache.cxf.ws.addressing.EndpointReferenceType;
 
 /**
@@ -76,7 +80,13 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
     private JMSBusLifeCycleListener listener;
     private Bus bus;
     private volatile Connection connection;
+    private volatile SessionPool sessionPool;
     private volatile Destination staticReplyDestination;
+    /**
+     * True if the reply listener consumes every message on the static reply destination.
+     * Replies are then correlated in onMessage even if no conduit selector is used.
+     */
+    private volatile boolean exclusiveReplyListener;
 
     public JMSConduit(EndpointReferenceType target,
                       JMSConfiguration jmsConfig,
@@ -118,6 +128,27 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
         return result;
     }
 
+    private SessionPool getSessionPool() throws JMSException {
+        SessionPool result = sessionPool;
+        if (result == null) {
+            synchronized (this) {
+                result = sessionPool;
+                if (result == null) {
+                    result = new SessionPool(getConnection(), jmsConfig.getSessionPoolSize());
+                    sessionPool = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private synchronized void closeSessionPool() {
+        if (sessionPool != null) {
+            sessionPool.close();
+            sessionPool = null;
+        }
+    }
+
     /**
      * Register exception listener to react faster when a connection is reset.  
      * 
@@ -157,24 +188,32 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
         jmsConfig.ensureProperlyConfigured();
         assertIsNotTextMessageAndMtom(outMessage);
 
+        SessionPool pool = null;
+        PooledSession pooled = null;
+        boolean reusable = false;
         try (ResourceCloser closer = new ResourceCloser()) {
-            Connection c;
+            Session session;
+            MessageProducer producer = null;
 
             if (jmsConfig.isOneSessionPerConnection()) {
-                c = closer.register(JMSFactory.createConnection(jmsConfig));
+                Connection c = closer.register(JMSFactory.createConnection(jmsConfig));
                 c.start();
+                session = closer.register(c.createSession(false, Session.AUTO_ACKNOWLEDGE));
+            } else if (jmsConfig.getSessionPoolSize() > 0) {
+                pool = getSessionPool();
+                pooled = pool.acquire();
+                session = pooled.getSession();
+                producer = pooled.getProducer();
             } else {
-                c = getConnection();
+                session = closer.register(getConnection().createSession(false, Session.AUTO_ACKNOWLEDGE));
             }
 
-            Session session = closer.register(c.createSession(false, 
-                                                              Session.AUTO_ACKNOWLEDGE));
-
             if (exchange.isOneWay()) {
-                sendMessage(request, outMessage, null, null, closer, session);
+                sendMessage(request, outMessage, null, null, session, producer);
             } else {
-                sendAndReceiveMessage(exchange, request, outMessage, closer, session);
+                sendAndReceiveMessage(exchange, request, outMessage, session, producer);
             }
+            reusable = true;
         } catch (JMSException e) {
             if (this.jmsListener != null) {
                 this.jmsListener.shutdown();
@@ -186,6 +225,7 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
                     ResourceCloser.close(exchange.get(JMSUtil.JMS_MESSAGE_CONSUMER));
                 }
                 jmsConfig.resetCachedReplyDestination();
+                closeSessionPool();
                 ResourceCloser.close(connection);
                 this.connection = null;
             }
@@ -196,6 +236,14 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
                 // Ignore
             }
             throw JMSUtil.convertJmsException(e);
+        } finally {
+            if (pooled != null) {
+                if (reusable) {
+                    pool.release(pooled);
+                } else {
+                    pooled.close();
+                }
+            }
         }
     }
 
@@ -210,7 +258,8 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
                         messageSelector += (messageSelector != null && !messageSelector.isEmpty() ? " AND " : "")
                                 + jmsConfig.getMessageSelector();
                     }
-                    if (messageSelector == null && !jmsConfig.isPubSubDomain()) {
+                    boolean exclusive = messageSelector == null && !jmsConfig.isPubSubDomain();
+                    if (exclusive && !isExclusiveReplyDestination(staticReplyDestinationTmp)) {
                         // Do not open listener without selector on a queue as we then can not share the queue.
                         // An option for this might be a good idea for people who do not plan to share queues.
                         return;
@@ -235,15 +284,27 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
                     container.start();
                     jmsListener = container;
                     addBusListener();
+                    exclusiveReplyListener = exclusive;
                     staticReplyDestination = staticReplyDestinationTmp;
                 }
             }
         }
     }
 
+    /**
+     * A temporary queue can only be consumed from the connection that created it. If it was created on
+     * the shared connection of this conduit nobody else reads from it, so a single listener without
+     * selector can take all replies instead of opening a consumer per request.
+     */
+    private boolean isExclusiveReplyDestination(Destination replyDestination) {
+        return jmsConfig.isShareReplyConsumer()
+            && replyDestination instanceof TemporaryQueue
+            && !jmsConfig.isOneSessionPerConnection()
+            && jmsConfig.getReplyToDestination() == null;
+    }
+
     private void sendAndReceiveMessage(final Exchange exchange, final Object request, final Message outMessage,
-                                ResourceCloser closer,
-                                Session session) throws JMSException {
+                                Session session, MessageProducer producer) throws JMSException {
 
         setupReplyDestination(session);
 
@@ -260,10 +321,12 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
             String replyTo = headers.getJMSReplyTo();
             String jmsMessageID = sendMessage(request, outMessage,
                                               jmsConfig.getReplyToDestination(session, replyTo),
-                                              correlationId, closer, session);
+                                              correlationId, session, producer);
             Destination replyDestination = jmsConfig.getReplyDestination(session, replyTo);
-            boolean useSyncReceive = ((correlationId == null || userCID != null) && !jmsConfig.isPubSubDomain())
-                || !replyDestination.equals(staticReplyDestination);
+            boolean sharedListener = replyDestination.equals(staticReplyDestination);
+            boolean exclusive = sharedListener && exclusiveReplyListener;
+            boolean useSyncReceive = !sharedListener
+                || (correlationId == null || userCID != null) && !jmsConfig.isPubSubDomain() && !exclusive;
             if (correlationId == null) {
                 correlationId = jmsMessageID;
                 correlationMap.put(correlationId, exchange);
@@ -289,7 +352,9 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
                         throw new JMSException("Interrupted while correlating " +  e.getMessage());
                     }
                     if (!Boolean.TRUE.equals(exchange.get(CORRELATED))) {
-                        if (this.jmsConfig.isIgnoreTimeoutException()) {
+                        if (this.jmsConfig.isIgnoreTimeoutException() || exclusive) {
+                            // like a per request receive a timeout on the exclusive listener
+                            // does not mean that the connection is broken
                             throw new RuntimeException("Timeout receiving message with correlationId "
                                 + correlationId);
                         } else {
@@ -307,7 +372,7 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
 
     private String sendMessage(final Object request, final Message outMessage,
                                Destination replyToDestination, String correlationId,
-                               ResourceCloser closer, Session session) throws JMSException {
+                               Session session, MessageProducer producer) throws JMSException {
         JMSMessageHeadersType headers = getOrCreateJmsHeaders(outMessage);
         jakarta.jms.Message message = JMSMessageUtils.asJMSMessage(jmsConfig,
                                                                  outMessage,
@@ -327,7 +392,11 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
         JMSSender sender = JMSFactory.createJmsSender(jmsConfig, headers);
 
         Destination targetDest = jmsConfig.getTargetDestination(session);
-        sender.sendMessage(session, targetDest, message);
+        if (producer != null) {
+            sender.sendMessage(producer, targetDest, message);
+        } else {
+            sender.sendMessage(session, targetDest, message);
+        }
         String jmsMessageID = message.getJMSMessageID();
         LOG.log(Level.FINE, "client sending request message "
             + jmsMessageID + " to " + targetDest);
@@ -506,11 +575,13 @@ public class JMSConduit extends AbstractConduit implements JMSExchangeSender, Me
             jmsListener.shutdown();
             jmsListener = null;
             staticReplyDestination = null;
+            exclusiveReplyListener = false;
         }
     }
     public synchronized void close() {
         shutdownListeners();
         jmsConfig.resetCachedReplyDestination();
+        closeSessionPool();
         ResourceCloser.close(connection);
         connection = null;
         LOG.log(Level.FINE, "JMSConduit closed ");
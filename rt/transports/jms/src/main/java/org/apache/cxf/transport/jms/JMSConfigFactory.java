@@ -82,6 +82,10 @@ public final class JMSConfigFactory {
         jmsConfig.setPassword(endpoint.getPassword());
         jmsConfig.setConcurrentConsumers(endpoint.getConcurrentConsumers());
         jmsConfig.setOneSessionPerConnection(endpoint.isOneSessionPerConnection());
+        jmsConfig.setSessionPoolSize(endpoint.getSessionPoolSize());
+        jmsConfig.setShareReplyConsumer(endpoint.isShareReplyConsumer());
+        jmsConfig.setBatchSize(endpoint.getBatchSize());
+        jmsConfig.setBatchTimeout(endpoint.getBatchTimeout());
         jmsConfig.setMessageSelector(endpoint.getMessageSelector());
 
         TransactionManager tm = getTransactionManager(bus, endpoint);
@@ -43,6 +43,7 @@ public class JMSConfiguration {
      * Default value to mark as unset
      */
     public static final int DEFAULT_VALUE = -1;
+    public static final int DEFAULT_SESSION_POOL_SIZE = 10;
 
     private static final Logger LOG = LogUtils.getL7dLogger(JMSConfiguration.class);
 
@@ -99,6 +100,10 @@ public class JMSConfiguration {
     private String conduitSelectorPrefix;
     private boolean jmsProviderTibcoEms;
     private boolean oneSessionPerConnection;
+    private int sessionPoolSize = DEFAULT_SESSION_POOL_SIZE;
+    private boolean shareReplyConsumer = true;
+    private int batchSize = 1;
+    private long batchTimeout = 100;
 
     private TransactionManager transactionManager;
 
@@ -446,6 +451,59 @@ public class JMSConfiguration {
         this.oneSessionPerConnection = oneSessionPerConnection;
     }
 
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    /**
+     * Maximum number of idle sessions (and their producers) a conduit keeps for
+     * reuse. 0 creates a new session for every request. Not used when
+     * oneSessionPerConnection is set.
+     * @param sessionPoolSize
+     */
+    public void setSessionPoolSize(int sessionPoolSize) {
+        this.sessionPoolSize = sessionPoolSize;
+    }
+
+    public boolean isShareReplyConsumer() {
+        return shareReplyConsumer;
+    }
+
+    /**
+     * If replies go to a temporary queue and no conduit selector is used, receive them with one
+     * listener per conduit instead of a consumer per request.
+     * @param shareReplyConsumer
+     */
+    public void setShareReplyConsumer(boolean shareReplyConsumer) {
+        this.shareReplyConsumer = shareReplyConsumer;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Maximum number of messages a destination receives and commits in one transaction.
+     * The messages of a batch are processed in order by the consumer that received them.
+     * Use concurrentConsumers to process several batches in parallel. 1 disables batching.
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Maximum time in ms a destination waits for further messages to fill a batch.
+     * @param batchTimeout
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
     public static Destination resolveOrCreateDestination(final Session session,
                                                          final DestinationResolver resolver,
                                                          final String replyToDestinationName,
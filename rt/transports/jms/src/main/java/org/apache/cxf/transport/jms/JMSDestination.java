@@ -149,6 +149,8 @@ public class JMSDestination extends AbstractMultiplexDestination implements Mess
             container.setTransacted(jmsConfig.isSessionTransacted());
             container.setDurableSubscriptionName(jmsConfig.getDurableSubscriptionName());
             container.setPubSubNoLocal(jmsConfig.isPubSubNoLocal());
+            container.setBatchSize(jmsConfig.getBatchSize());
+            container.setBatchTimeout(jmsConfig.getBatchTimeout());
 
             Object executor = bus.getProperty(JMSFactory.JMS_DESTINATION_EXECUTOR);
             if (executor instanceof Executor) {
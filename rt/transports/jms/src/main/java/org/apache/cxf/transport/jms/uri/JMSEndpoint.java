@@ -88,6 +88,10 @@ public class JMSEndpoint {
     private String messageSelector;
     private int retryInterval = 5000;
     private boolean oneSessionPerConnection;
+    private int sessionPoolSize = 10;
+    private boolean shareReplyConsumer = true;
+    private int batchSize = 1;
+    private long batchTimeout = 100;
     private boolean ignoreTimeoutException;
 
     /**
@@ -509,6 +513,54 @@ public class JMSEndpoint {
         this.oneSessionPerConnection = oneSessionPerConnection;
     }
 
+    public int getSessionPoolSize() {
+        return sessionPoolSize;
+    }
+
+    public void setSessionPoolSize(int sessionPoolSize) {
+        this.sessionPoolSize = sessionPoolSize;
+    }
+
+    public void setSessionPoolSize(String sessionPoolSize) {
+        this.sessionPoolSize = Integer.parseInt(sessionPoolSize);
+    }
+
+    public boolean isShareReplyConsumer() {
+        return shareReplyConsumer;
+    }
+
+    public void setShareReplyConsumer(String shareReplyConsumer) {
+        this.shareReplyConsumer = Boolean.parseBoolean(shareReplyConsumer);
+    }
+
+    public void setShareReplyConsumer(boolean shareReplyConsumer) {
+        this.shareReplyConsumer = shareReplyConsumer;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setBatchSize(String batchSize) {
+        this.batchSize = Integer.parseInt(batchSize);
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    public void setBatchTimeout(String batchTimeout) {
+        this.batchTimeout = Long.parseLong(batchTimeout);
+    }
+
     public boolean isIgnoreTimeoutException() {
         return ignoreTimeoutException;
     }
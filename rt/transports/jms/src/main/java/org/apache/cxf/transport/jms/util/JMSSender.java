@@ -60,4 +60,16 @@ public class JMSSender {
         }
 
     }
+
+    /**
+     * Send using an existing producer that was created without a default destination
+     */
+    public void sendMessage(MessageProducer producer, Destination targetDest,
+                            jakarta.jms.Message message) throws JMSException {
+        if (explicitQosEnabled) {
+            producer.send(targetDest, message, deliveryMode, priority, timeToLive);
+        } else {
+            producer.send(targetDest, message);
+        }
+    }
 }
@@ -18,6 +18,10 @@
  */
 package org.apache.cxf.transport.jms.util;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,6 +47,12 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
     private JMSConfiguration jmsConfig;
     private boolean reply;
 
+    private int batchSize = 1;
+    private long batchTimeout = 100;
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong batchMessageCount = new AtomicLong();
+    private final AtomicLong batchNanos = new AtomicLong();
+
     public PollingMessageListenerContainer(JMSConfiguration jmsConfig, boolean isReply,
                                            MessageListener listenerHandler) {
         this(jmsConfig, isReply, listenerHandler, null);
@@ -65,6 +75,10 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
     }
 
     private final class Poller implements Runnable {
+        /**
+         * Messages to process one per transaction after a batch was rolled back
+         */
+        private int singleMessages;
 
         @Override
         public void run() {
@@ -82,6 +96,10 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
                     MessageConsumer consumer = closer.register(createConsumer(connection, session));
 
                     while (running) {
+                        if (batchSize > 1) {
+                            processBatch(session, consumer);
+                            continue;
+                        }
                         Message message = consumer.receive(1000);
                         try {
                             if (message != null) {
@@ -107,6 +125,36 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
             }
         }
 
+        /**
+         * Process up to batchSize messages and commit them together. A session must only be used by
+         * one thread, so the messages are processed one after the other by the poller. Concurrency
+         * comes from the concurrent consumers, each with its own session.
+         */
+        private void processBatch(Session session, MessageConsumer consumer) throws JMSException {
+            List<Message> batch = receiveBatch(consumer, singleMessages > 0 ? 1 : batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (singleMessages > 0) {
+                singleMessages--;
+            }
+            long start = System.nanoTime();
+            try {
+                for (Message message : batch) {
+                    listenerHandler.onMessage(message);
+                }
+                if (session.getTransacted()) {
+                    session.commit();
+                }
+            } catch (Throwable e) {
+                LOG.log(Level.WARNING, "Exception while processing jms message batch in cxf. Rolling back", e);
+                safeRollBack(session);
+                // Only the failing message should be rolled back again when the batch is redelivered
+                singleMessages = batch.size();
+            }
+            recordBatch(batch.size(), System.nanoTime() - start);
+        }
+
         protected void safeRollBack(Session session) {
             try {
                 if (session != null && session.getTransacted()) {
@@ -120,6 +168,10 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
     }
 
     private final class XAPoller implements Runnable {
+        /**
+         * Messages to process one per transaction after a batch was rolled back
+         */
+        private int singleMessages;
 
         @Override
         public void run() {
@@ -146,15 +198,24 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
                      */
                     Session session = closer.register(connection.createSession(transacted, acknowledgeMode));
                     MessageConsumer consumer = closer.register(createConsumer(connection, session));
-                    Message message = consumer.receive(1000);
+                    List<Message> batch = receiveBatch(consumer, singleMessages > 0 ? 1 : batchSize);
+                    if (singleMessages > 0 && !batch.isEmpty()) {
+                        singleMessages--;
+                    }
+                    long start = System.nanoTime();
                     try {
-                        if (message != null) {
+                        // Resources used by the handlers can only enlist in the transaction of this thread
+                        for (Message message : batch) {
                             listenerHandler.onMessage(message);
                         }
                         transactionManager.commit();
+                        if (batchSize > 1 && !batch.isEmpty()) {
+                            recordBatch(batch.size(), System.nanoTime() - start);
+                        }
                     } catch (Throwable e) {
                         LOG.log(Level.WARNING, "Exception while processing jms message in cxf. Rolling back", e);
                         safeRollBack();
+                        singleMessages = batch.size();
                     }
                 } catch (Throwable e) {
                     safeRollBack();
@@ -174,6 +235,82 @@ public class PollingMessageListenerContainer extends AbstractMessageListenerCont
 
     }
 
+    /**
+     * Wait up to a second for the first message. Then receive more messages until the batch is full
+     * or the batch timeout has elapsed.
+     */
+    private List<Message> receiveBatch(MessageConsumer consumer, int maxMessages) throws JMSException {
+        Message message = consumer.receive(1000);
+        if (message == null) {
+            return new ArrayList<>(0);
+        }
+        List<Message> batch = new ArrayList<>(maxMessages);
+        batch.add(message);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+        while (batch.size() < maxMessages && running) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            message = remaining > 0 ? consumer.receive(remaining) : consumer.receiveNoWait();
+            if (message == null) {
+                break;
+            }
+            batch.add(message);
+        }
+        return batch;
+    }
+
+    private void recordBatch(int size, long nanos) {
+        batchCount.incrementAndGet();
+        batchMessageCount.addAndGet(size);
+        batchNanos.addAndGet(nanos);
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine("Processed jms message batch of " + size + " messages in "
+                + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+        }
+    }
+
+    /**
+     * Receive up to batchSize messages per transaction. The messages of a batch are processed
+     * in order by the poller that received them, as its session must not be shared between threads.
+     * If a batch is rolled back, its messages are processed one per transaction when they are
+     * redelivered. 1 disables batching.
+     *
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchTimeout maximum time in ms to wait for further messages after the first one of a batch
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getBatchMessageCount() {
+        return batchMessageCount.get();
+    }
+
+    /**
+     * @return the average time to process and commit a batch
+     */
+    public long getAverageBatchTime(TimeUnit unit) {
+        long count = batchCount.get();
+        return count == 0 ? 0 : unit.convert(batchNanos.get() / count, TimeUnit.NANOSECONDS);
+    }
+
     private MessageConsumer createConsumer(final Connection connection, final Session session)
             throws JMSException {
         final MessageConsumer consumer;
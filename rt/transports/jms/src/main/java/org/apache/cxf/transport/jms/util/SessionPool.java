@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.jms.util;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+/**
+ * Keeps idle non transacted sessions of one connection, each together with an
+ * anonymous producer, so that clients do not have to create both for every message.
+ *
+ * A session taken from the pool is owned by the caller until it is given back
+ * with {@link #release(PooledSession)}. Sessions that may be broken should be
+ * closed instead of released.
+ */
+public class SessionPool implements Closeable, AutoCloseable {
+    private final Connection connection;
+    private final int maxIdle;
+    private final Queue<PooledSession> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private volatile boolean closed;
+
+    public SessionPool(Connection connection, int maxIdle) {
+        this.connection = connection;
+        this.maxIdle = maxIdle;
+    }
+
+    public PooledSession acquire() throws JMSException {
+        PooledSession pooled = idle.poll();
+        if (pooled != null) {
+            idleCount.decrementAndGet();
+            return pooled;
+        }
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            return new PooledSession(session, session.createProducer(null));
+        } catch (JMSException e) {
+            ResourceCloser.close(session);
+            throw e;
+        }
+    }
+
+    public void release(PooledSession pooled) {
+        if (closed || idleCount.incrementAndGet() > maxIdle) {
+            if (!closed) {
+                idleCount.decrementAndGet();
+            }
+            pooled.close();
+            return;
+        }
+        idle.offer(pooled);
+        if (closed) {
+            // close() may have drained the queue before the session was added
+            closeIdle();
+        }
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    private void closeIdle() {
+        PooledSession pooled = idle.poll();
+        while (pooled != null) {
+            idleCount.decrementAndGet();
+            pooled.close();
+            pooled = idle.poll();
+        }
+    }
+
+    public static final class PooledSession {
+        private final Session session;
+        private final MessageProducer producer;
+
+        PooledSession(Session session, MessageProducer producer) {
+            this.session = session;
+            this.producer = producer;
+        }
+
+        public Session getSession() {
+            return session;
+        }
+
+        /**
+         * @return a producer without default destination
+         */
+        public MessageProducer getProducer() {
+            return producer;
+        }
+
+        public void close() {
+            ResourceCloser.close(producer);
+            ResourceCloser.close(session);
+        }
+    }
+}
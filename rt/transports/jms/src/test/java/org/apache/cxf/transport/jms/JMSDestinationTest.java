@@ -477,6 +477,8 @@ public class JMSDestinationTest extends AbstractJMSTester {
             }
         });
         assertNull(conduit.getJmsConfig().getReplyDestination());
+        // a shared reply listener would keep the temporary queue in use
+        conduit.getJmsConfig().setShareReplyConsumer(false);
 
         final Message outMessage = createMessage();
         
@@ -56,6 +56,35 @@ public class MessageIdAsCorrelationIdJMSConduitTest {
         sendAndReceive(true, "testreply");
     }
 
+    @Test
+    public void testSendReceiveTwiceWithSharedReplyConsumer() throws Exception {
+        EndpointReferenceType target = new EndpointReferenceType();
+        JMSConfiguration jmsConfig = new JMSConfiguration();
+        jmsConfig.setTargetDestination(SERVICE_QUEUE);
+        jmsConfig.setConnectionFactory(connectionFactory);
+        jmsConfig.setUseConduitIdSelector(false);
+
+        JMSConduit conduit = new JMSConduit(target, jmsConfig, BusFactory.getDefaultBus());
+        try {
+            for (int i = 0; i < 2; i++) {
+                TestReceiver receiver = new TestReceiver(connectionFactory, SERVICE_QUEUE, true);
+                receiver.runAsync();
+                Exchange exchange = new ExchangeImpl();
+                exchange.setSynchronous(true);
+                Message message = new MessageImpl();
+                exchange.setOutMessage(message);
+                conduit.sendExchange(exchange, "Request");
+                receiver.close();
+                assertNotNull("No reply received", exchange.getInMessage());
+                JMSMessageHeadersType inHeaders = (JMSMessageHeadersType)exchange.getInMessage()
+                    .get(JMSConstants.JMS_CLIENT_RESPONSE_HEADERS);
+                assertEquals(receiver.getRequestMessageId(), inHeaders.getJMSCorrelationID());
+            }
+        } finally {
+            conduit.close();
+        }
+    }
+
     private void sendAndReceive(boolean synchronous, String replyDestination) throws InterruptedException {
         EndpointReferenceType target = new EndpointReferenceType();
 
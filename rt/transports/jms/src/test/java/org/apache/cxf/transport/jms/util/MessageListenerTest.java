@@ -180,6 +180,35 @@ public class MessageListenerTest {
         connection.close();
     }
 
+    @Test
+    public void testLocalTransactionBatch() throws JMSException, XAException, InterruptedException {
+        Connection connection = createConnection("brokerLocalTransactionBatch");
+        Queue dest = JMSUtil.createQueue(connection, "test");
+        MessageListener listenerHandler = new TestMessageListener();
+        PollingMessageListenerContainer container = new PollingMessageListenerContainer(connection, dest,
+                listenerHandler, new TestExceptionListener());
+        container.setTransacted(true);
+        container.setAcknowledgeMode(Session.SESSION_TRANSACTED);
+        container.setBatchSize(5);
+        container.setBatchTimeout(500L);
+
+        for (int i = 0; i < 5; i++) {
+            sendMessage(connection, dest, TestMessage.OK);
+        }
+        container.start();
+        assertNumMessagesInQueue("The batch should be committed", connection, dest, 0, 3500L);
+        Awaitility.await().until(() -> container.getBatchMessageCount() == 5);
+
+        Queue dlq = JMSUtil.createQueue(connection, "ActiveMQ.DLQ");
+        sendMessage(connection, dest, TestMessage.OK);
+        sendMessage(connection, dest, TestMessage.FAIL);
+        sendMessage(connection, dest, TestMessage.OK);
+        assertNumMessagesInQueue("Only the failing message should be rolled back", connection, dlq, 1, 5000L);
+        assertNumMessagesInQueue("The other messages should be committed", connection, dest, 0, 3500L);
+        container.stop();
+        connection.close();
+    }
+
     private void testTransactionalBehaviour(Connection connection, Queue dest) throws JMSException,
             InterruptedException {
         Queue dlq = JMSUtil.createQueue(connection, "ActiveMQ.DLQ");
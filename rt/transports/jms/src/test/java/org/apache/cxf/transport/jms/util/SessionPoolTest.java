@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.transport.jms.util;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.junit.EmbeddedActiveMQResource;
+import org.apache.cxf.transport.jms.util.SessionPool.PooledSession;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class SessionPoolTest {
+    @Rule public EmbeddedActiveMQResource server = new EmbeddedActiveMQResource(0);
+    private ConnectionFactory connectionFactory = new ActiveMQConnectionFactory("vm://0");
+
+    @Test
+    public void testReuseSession() throws JMSException {
+        try (Connection connection = connectionFactory.createConnection();
+            SessionPool pool = new SessionPool(connection, 1)) {
+            PooledSession first = pool.acquire();
+            pool.release(first);
+            assertEquals(1, pool.getIdleCount());
+
+            PooledSession second = pool.acquire();
+            assertSame(first, second);
+            assertEquals(0, pool.getIdleCount());
+            pool.release(second);
+        }
+    }
+
+    @Test
+    public void testMaxIdle() throws JMSException {
+        try (Connection connection = connectionFactory.createConnection();
+            SessionPool pool = new SessionPool(connection, 1)) {
+            PooledSession first = pool.acquire();
+            PooledSession second = pool.acquire();
+            assertNotSame(first, second);
+            pool.release(first);
+            pool.release(second);
+            assertEquals(1, pool.getIdleCount());
+            assertSame(first, pool.acquire());
+        }
+    }
+
+    @Test
+    public void testSendWithPooledProducer() throws JMSException {
+        try (Connection connection = connectionFactory.createConnection();
+            SessionPool pool = new SessionPool(connection, 1)) {
+            connection.start();
+            PooledSession pooled = pool.acquire();
+            Session session = pooled.getSession();
+            Queue queue = session.createQueue("pooled");
+            MessageConsumer consumer = session.createConsumer(queue);
+
+            JMSSender sender = new JMSSender();
+            sender.sendMessage(pooled.getProducer(), queue, session.createTextMessage("first"));
+            sender.sendMessage(pooled.getProducer(), queue, session.createTextMessage("second"));
+
+            Message message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals("first", ((TextMessage)message).getText());
+            message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals("second", ((TextMessage)message).getText());
+            consumer.close();
+            pool.release(pooled);
+        }
+    }
+
+    @Test
+    public void testReleaseAfterClose() throws JMSException {
+        try (Connection connection = connectionFactory.createConnection()) {
+            SessionPool pool = new SessionPool(connection, 1);
+            PooledSession pooled = pool.acquire();
+            pool.close();
+            pool.release(pooled);
+            assertEquals(0, pool.getIdleCount());
+        }
+    }
+}
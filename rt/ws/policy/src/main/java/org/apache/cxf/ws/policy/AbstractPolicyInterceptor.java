@@ -19,6 +19,8 @@
 
 package org.apache.cxf.ws.policy;
 
+import java.util.Collection;
+
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
@@ -27,6 +29,7 @@ import org.apache.cxf.service.model.BindingFaultInfo;
 import org.apache.cxf.service.model.BindingOperationInfo;
 import org.apache.cxf.transport.Conduit;
 import org.apache.cxf.transport.Destination;
+import org.apache.neethi.Assertion;
 
 /**
  *
@@ -86,6 +89,31 @@ public abstract class AbstractPolicyInterceptor extends AbstractPhaseInterceptor
         return bfi;
     }
 
+    /**
+     * Creates the AssertionInfoMap for a message, copying the given template when the policy
+     * engine has precomputed one for these assertions.
+     */
+    static AssertionInfoMap createAssertionInfoMap(AssertionInfoMap template,
+                                                   Collection<? extends Assertion> assertions) {
+        return template == null ? new AssertionInfoMap(assertions) : new AssertionInfoMap(template);
+    }
+
+    static AssertionInfoMap getAlternativeAssertionInfo(EffectivePolicy ep) {
+        return ep instanceof EffectivePolicyImpl ? ((EffectivePolicyImpl)ep).getAlternativeAssertionInfo() : null;
+    }
+
+    static AssertionInfoMap getPolicyAssertionInfo(EffectivePolicy ep) {
+        return ep instanceof EffectivePolicyImpl ? ((EffectivePolicyImpl)ep).getPolicyAssertionInfo() : null;
+    }
+
+    static AssertionInfoMap getVocabularyAssertionInfo(EndpointPolicy ep, boolean fault) {
+        if (!(ep instanceof EndpointPolicyImpl)) {
+            return null;
+        }
+        return fault ? ((EndpointPolicyImpl)ep).getFaultVocabularyAssertionInfo()
+            : ((EndpointPolicyImpl)ep).getVocabularyAssertionInfo();
+    }
+
     protected abstract void handle(Message message) throws PolicyException;
 
 }
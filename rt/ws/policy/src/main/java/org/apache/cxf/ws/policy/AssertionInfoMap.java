@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 
@@ -56,6 +57,21 @@ public class AssertionInfoMap extends HashMap<QName, Collection<AssertionInfo>>
         }
     }
 
+    /**
+     * Creates a map with the same assertions as the given one, each with a new AssertionInfo that
+     * has not been asserted yet. This is cheaper than collecting the assertions again.
+     */
+    public AssertionInfoMap(AssertionInfoMap template) {
+        super(template.size() < 6 ? 6 : template.size());
+        for (Map.Entry<QName, Collection<AssertionInfo>> entry : template.entrySet()) {
+            Collection<AssertionInfo> ail = new ArrayList<>(entry.getValue().size());
+            for (AssertionInfo ai : entry.getValue()) {
+                ail.add(new AssertionInfo(ai.getAssertion()));
+            }
+            put(entry.getKey(), ail);
+        }
+    }
+
     private void putAssertionInfo(Assertion a) {
         if (a instanceof PolicyContainingAssertion) {
             Policy p = ((PolicyContainingAssertion)a).getPolicy();
@@ -77,6 +77,7 @@ public class ClientPolicyInFaultInterceptor extends AbstractPolicyInterceptor {
 
         List<Interceptor<? extends Message>> faultInterceptors = new ArrayList<>();
         Collection<Assertion> assertions = new ArrayList<>();
+        AssertionInfoMap template = null;
 
         // 1. Check overridden policy
         Policy p = (Policy)msg.getContextualProperty(PolicyConstants.POLICY_OVERRIDE);
@@ -99,6 +100,7 @@ public class ClientPolicyInFaultInterceptor extends AbstractPolicyInterceptor {
             if (ep != null) {
                 faultInterceptors.addAll(ep.getFaultInterceptors(msg));
                 assertions.addAll(ep.getFaultVocabulary(msg));
+                template = getVocabularyAssertionInfo(ep, true);
             }
         }
 
@@ -111,7 +113,7 @@ public class ClientPolicyInFaultInterceptor extends AbstractPolicyInterceptor {
 
         // insert assertions of endpoint's fault vocabulary into message
         if (!assertions.isEmpty()) {
-            msg.put(AssertionInfoMap.class, new AssertionInfoMap(assertions));
+            msg.put(AssertionInfoMap.class, createAssertionInfoMap(template, assertions));
         }
     }
 }
@@ -57,6 +57,10 @@ public class EffectivePolicyImpl implements EffectivePolicy {
     protected Collection<Assertion> chosenAlternative;
     protected List<Interceptor<? extends org.apache.cxf.message.Message>> interceptors;
 
+    // precomputed once the policy engine caches this effective policy, copied for each message
+    private AssertionInfoMap alternativeAssertionInfo;
+    private AssertionInfoMap policyAssertionInfo;
+
     public EffectivePolicyImpl() {
     }
 
@@ -135,6 +139,29 @@ public class EffectivePolicyImpl implements EffectivePolicy {
         initialiseInterceptors(engine, false, m);
     }
 
+    void initialiseAssertionInfo() {
+        if (chosenAlternative != null) {
+            alternativeAssertionInfo = new AssertionInfoMap(chosenAlternative);
+        }
+        if (policy != null) {
+            policyAssertionInfo = new AssertionInfoMap(policy);
+        }
+    }
+
+    /**
+     * @return the AssertionInfoMap template for the chosen alternative, or null if there is none
+     */
+    AssertionInfoMap getAlternativeAssertionInfo() {
+        return alternativeAssertionInfo;
+    }
+
+    /**
+     * @return the AssertionInfoMap template for all assertions of the policy, or null if there is none
+     */
+    AssertionInfoMap getPolicyAssertionInfo() {
+        return policyAssertionInfo;
+    }
+
     private <T> T getAssertorAs(Assertor as, Class<T> t) {
         if (t.isInstance(as)) {
             return t.cast(as);
@@ -53,6 +53,9 @@ public class EndpointPolicyImpl implements EndpointPolicy {
 
     private volatile Collection<Assertion> vocabulary;
     private Collection<Assertion> faultVocabulary;
+    // precomputed together with the vocabulary, copied for each message
+    private AssertionInfoMap vocabularyAssertionInfo;
+    private AssertionInfoMap faultVocabularyAssertionInfo;
     private volatile List<Interceptor<? extends Message>> interceptors;
     private List<Interceptor<? extends Message>> faultInterceptors;
 
@@ -122,6 +125,20 @@ public class EndpointPolicyImpl implements EndpointPolicy {
         return faultVocabulary;
     }
 
+    /**
+     * @return the AssertionInfoMap template for the vocabulary, or null if it has not been initialized
+     */
+    AssertionInfoMap getVocabularyAssertionInfo() {
+        return vocabulary == null ? null : vocabularyAssertionInfo;
+    }
+
+    /**
+     * @return the AssertionInfoMap template for the fault vocabulary, or null if it has not been initialized
+     */
+    AssertionInfoMap getFaultVocabularyAssertionInfo() {
+        return vocabulary == null ? null : faultVocabularyAssertionInfo;
+    }
+
     public List<Interceptor<? extends Message>> getInterceptors(Message m) {
         if (interceptors == null) {
             initializeInterceptors(m);
@@ -250,7 +267,9 @@ public class EndpointPolicyImpl implements EndpointPolicy {
         }
         if (requestor) {
             faultVocabulary = fv;
+            faultVocabularyAssertionInfo = new AssertionInfoMap(fv);
         }
+        vocabularyAssertionInfo = new AssertionInfoMap(v);
         vocabulary = v;
     }
 
@@ -342,10 +361,12 @@ public class EndpointPolicyImpl implements EndpointPolicy {
     }
 
     void setVocabulary(Collection<Assertion> v) {
+        vocabularyAssertionInfo = null;
         vocabulary = v;
     }
 
     void setFaultVocabulary(Collection<Assertion> v) {
+        faultVocabularyAssertionInfo = null;
         faultVocabulary = v;
     }
 
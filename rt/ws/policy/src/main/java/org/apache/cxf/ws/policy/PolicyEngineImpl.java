@@ -36,6 +36,7 @@ import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.service.factory.FactoryBeanListener;
 import org.apache.cxf.service.factory.FactoryBeanListenerManager;
+import org.apache.cxf.service.model.AbstractPropertiesHolder;
 import org.apache.cxf.service.model.BindingFaultInfo;
 import org.apache.cxf.service.model.BindingMessageInfo;
 import org.apache.cxf.service.model.BindingOperationInfo;
@@ -64,11 +65,13 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
     private static final String POLICY_INFO_FAULT_SERVER = "policy-engine-info-serve-fault";
     private static final String POLICY_INFO_RESPONSE_SERVER = "policy-engine-info-serve-response";
     private static final String POLICY_INFO_ENDPOINT_SERVER = "policy-engine-info-serve-rendpoint";
+    private static final String POLICY_INFO_UNDECLARED_FAULT_SERVER = "policy-engine-info-serve-undeclared-fault";
 
     private static final String POLICY_INFO_REQUEST_CLIENT = "policy-engine-info-client-request";
     private static final String POLICY_INFO_FAULT_CLIENT = "policy-engine-info-client-fault";
     private static final String POLICY_INFO_RESPONSE_CLIENT = "policy-engine-info-client-response";
     private static final String POLICY_INFO_ENDPOINT_CLIENT = "policy-engine-info-client-endpoint";
+    private static final String POLICY_INFO_UNDECLARED_FAULT_CLIENT = "policy-engine-info-client-undeclared-fault";
 
     private Bus bus;
     private PolicyRegistry registry;
@@ -206,18 +209,13 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
                                                            Conduit c, Message m) {
         EffectivePolicy effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_REQUEST_CLIENT);
         if (effectivePolicy == null) {
-            synchronized (ei) {
-                effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_REQUEST_CLIENT);
-                if (null == effectivePolicy) {
-                    EffectivePolicyImpl epi = createOutPolicyInfo();
-                    Assertor assertor = PolicyUtils.createAsserter(c);
-                    epi.initialise(ei, boi, this, assertor, true, true, m);
-                    if (m != null) {
-                        boi.setProperty(POLICY_INFO_REQUEST_CLIENT, epi);
-                    }
-                    effectivePolicy = epi;
-                }
+            EffectivePolicyImpl epi = createOutPolicyInfo();
+            Assertor assertor = PolicyUtils.createAsserter(c);
+            epi.initialise(ei, boi, this, assertor, true, true, m);
+            if (m != null) {
+                cacheEffectivePolicy(boi, POLICY_INFO_REQUEST_CLIENT, epi);
             }
+            effectivePolicy = epi;
         }
         return effectivePolicy;
     }
@@ -235,18 +233,13 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
         if (incoming == null) {
             EffectivePolicy effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_RESPONSE_SERVER);
             if (effectivePolicy == null) {
-                synchronized (ei) {
-                    effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_RESPONSE_SERVER);
-                    if (null == effectivePolicy) {
-                        EffectivePolicyImpl epi = createOutPolicyInfo();
-                        Assertor assertor = PolicyUtils.createAsserter(d);
-                        epi.initialise(ei, boi, this, assertor, false, false, null);
-                        if (m != null) {
-                            boi.setProperty(POLICY_INFO_RESPONSE_SERVER, epi);
-                        }
-                        effectivePolicy = epi;
-                    }
+                EffectivePolicyImpl epi = createOutPolicyInfo();
+                Assertor assertor = PolicyUtils.createAsserter(d);
+                epi.initialise(ei, boi, this, assertor, false, false, null);
+                if (m != null) {
+                    cacheEffectivePolicy(boi, POLICY_INFO_RESPONSE_SERVER, epi);
                 }
+                effectivePolicy = epi;
             }
             return effectivePolicy;
         }
@@ -267,27 +260,23 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
                                                          Destination d,
                                                          Message m) {
 
-        if (bfi == null) {
-            EffectivePolicyImpl epi = createOutPolicyInfo();
-            Assertor assertor = PolicyUtils.createAsserter(d);
-            epi.initialise(ei, boi, null, this, assertor, m);
-            return epi;
+        // undeclared faults share the policy of the operation
+        AbstractPropertiesHolder holder = boi;
+        String key = POLICY_INFO_UNDECLARED_FAULT_SERVER;
+        if (bfi != null) {
+            bfi = mapToWrappedBindingFaultInfo(bfi);
+            holder = bfi;
+            key = POLICY_INFO_FAULT_SERVER;
         }
-        bfi = mapToWrappedBindingFaultInfo(bfi);
-        EffectivePolicy effectivePolicy = (EffectivePolicy)bfi.getProperty(POLICY_INFO_FAULT_SERVER);
+        EffectivePolicy effectivePolicy = holder == null ? null : (EffectivePolicy)holder.getProperty(key);
         if (effectivePolicy == null) {
-            synchronized (ei) {
-                effectivePolicy = (EffectivePolicy)bfi.getProperty(POLICY_INFO_FAULT_SERVER);
-                if (null == effectivePolicy) {
-                    EffectivePolicyImpl epi = createOutPolicyInfo();
-                    Assertor assertor = PolicyUtils.createAsserter(d);
-                    epi.initialise(ei, boi, bfi, this, assertor, m);
-                    if (m != null) {
-                        bfi.setProperty(POLICY_INFO_FAULT_SERVER, epi);
-                    }
-                    effectivePolicy = epi;
-                }
+            EffectivePolicyImpl epi = createOutPolicyInfo();
+            Assertor assertor = PolicyUtils.createAsserter(d);
+            epi.initialise(ei, boi, bfi, this, assertor, m);
+            if (m != null && holder != null) {
+                cacheEffectivePolicy(holder, key, epi);
             }
+            effectivePolicy = epi;
         }
         return effectivePolicy;
     }
@@ -339,17 +328,12 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
                                                            Message m) {
         EffectivePolicy effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_REQUEST_SERVER);
         if (effectivePolicy == null) {
-            synchronized (ei) {
-                effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_REQUEST_SERVER);
-                if (null == effectivePolicy) {
-                    EffectivePolicyImpl epi = createOutPolicyInfo();
-                    epi.initialise(ei, boi, this, false, true, m);
-                    if (m != null) {
-                        boi.setProperty(POLICY_INFO_REQUEST_SERVER, epi);
-                    }
-                    effectivePolicy = epi;
-                }
+            EffectivePolicyImpl epi = createOutPolicyInfo();
+            epi.initialise(ei, boi, this, false, true, m);
+            if (m != null) {
+                cacheEffectivePolicy(boi, POLICY_INFO_REQUEST_SERVER, epi);
             }
+            effectivePolicy = epi;
         }
         return effectivePolicy;
     }
@@ -364,17 +348,12 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
                                                             Message m) {
         EffectivePolicy effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_RESPONSE_CLIENT);
         if (effectivePolicy == null) {
-            synchronized (ei) {
-                effectivePolicy = (EffectivePolicy)boi.getProperty(POLICY_INFO_RESPONSE_CLIENT);
-                if (null == effectivePolicy) {
-                    EffectivePolicyImpl epi = createOutPolicyInfo();
-                    epi.initialise(ei, boi, this, true, false, m);
-                    if (m != null) {
-                        boi.setProperty(POLICY_INFO_RESPONSE_CLIENT, epi);
-                    }
-                    effectivePolicy = epi;
-                }
+            EffectivePolicyImpl epi = createOutPolicyInfo();
+            epi.initialise(ei, boi, this, true, false, m);
+            if (m != null) {
+                cacheEffectivePolicy(boi, POLICY_INFO_RESPONSE_CLIENT, epi);
             }
+            effectivePolicy = epi;
         }
         return effectivePolicy;
     }
@@ -388,24 +367,21 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
                                                          BindingOperationInfo boi,
                                                          BindingFaultInfo bfi,
                                                          Message m) {
-        EffectivePolicy effectivePolicy = null;
-        if (bfi != null) {
-            effectivePolicy = (EffectivePolicy)bfi.getProperty(POLICY_INFO_FAULT_CLIENT);
+        // undeclared faults share the policy of the operation
+        AbstractPropertiesHolder holder = bfi;
+        String key = POLICY_INFO_FAULT_CLIENT;
+        if (bfi == null) {
+            holder = boi;
+            key = POLICY_INFO_UNDECLARED_FAULT_CLIENT;
         }
+        EffectivePolicy effectivePolicy = holder == null ? null : (EffectivePolicy)holder.getProperty(key);
         if (effectivePolicy == null) {
-            synchronized (ei) {
-                if (bfi != null) {
-                    effectivePolicy = (EffectivePolicy)bfi.getProperty(POLICY_INFO_FAULT_CLIENT);
-                }
-                if (null == effectivePolicy) {
-                    EffectivePolicyImpl epi = createOutPolicyInfo();
-                    epi.initialisePolicy(ei, boi, bfi, this, m);
-                    if (bfi != null) {
-                        bfi.setProperty(POLICY_INFO_FAULT_CLIENT, epi);
-                    }
-                    effectivePolicy = epi;
-                }
+            EffectivePolicyImpl epi = createOutPolicyInfo();
+            epi.initialisePolicy(ei, boi, bfi, this, m);
+            if (holder != null) {
+                cacheEffectivePolicy(holder, key, epi);
             }
+            effectivePolicy = epi;
         }
         return effectivePolicy;
     }
@@ -414,6 +390,17 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
         bfi.setProperty(POLICY_INFO_FAULT_CLIENT, ep);
     }
 
+    /**
+     * Publishes an effective policy on the service model. The properties of the service model
+     * are read without locking, so two threads that miss at the same time may both compute the
+     * policy; both results are equivalent and the last one stored is kept.
+     */
+    private static void cacheEffectivePolicy(AbstractPropertiesHolder holder, String key,
+                                             EffectivePolicyImpl epi) {
+        epi.initialiseAssertionInfo();
+        holder.setProperty(key, epi);
+    }
+
     // implementation
 
     protected final void init() {
@@ -603,21 +590,15 @@ public class PolicyEngineImpl implements PolicyEngine, BusExtension {
                                                 boolean isRequestor,
                                                 Assertor assertor,
                                                 Message m) {
-        EndpointPolicy ep = (EndpointPolicy)ei.getProperty(isRequestor
-                                                           ? POLICY_INFO_ENDPOINT_CLIENT : POLICY_INFO_ENDPOINT_SERVER);
+        String key = isRequestor ? POLICY_INFO_ENDPOINT_CLIENT : POLICY_INFO_ENDPOINT_SERVER;
+        EndpointPolicy ep = (EndpointPolicy)ei.getProperty(key);
         if (ep == null) {
-            synchronized (ei) {
-                ep = (EndpointPolicy)ei.getProperty(isRequestor
-                    ? POLICY_INFO_ENDPOINT_CLIENT : POLICY_INFO_ENDPOINT_SERVER);
-                if (ep == null) {
-                    EndpointPolicyImpl epi = new EndpointPolicyImpl(ei, this, isRequestor, assertor);
-                    epi.initialize(m);
-                    if (m != null) {
-                        ei.setProperty(isRequestor ? POLICY_INFO_ENDPOINT_CLIENT : POLICY_INFO_ENDPOINT_SERVER, epi);
-                    }
-                    ep = epi;
-                }
+            EndpointPolicyImpl epi = new EndpointPolicyImpl(ei, this, isRequestor, assertor);
+            epi.initialize(m);
+            if (m != null) {
+                ei.setProperty(key, epi);
             }
+            ep = epi;
         }
         return ep;
     }
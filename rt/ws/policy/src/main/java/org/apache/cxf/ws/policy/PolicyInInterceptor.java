@@ -69,6 +69,7 @@ public class PolicyInInterceptor extends AbstractPolicyInterceptor {
 
         List<Interceptor<? extends Message>> interceptors = new ArrayList<>();
         Collection<Assertion> assertions = new ArrayList<>();
+        AssertionInfoMap template = null;
 
         // 1. Check overridden policy
         Policy p = (Policy)msg.getContextualProperty(PolicyConstants.POLICY_OVERRIDE);
@@ -91,6 +92,7 @@ public class PolicyInInterceptor extends AbstractPolicyInterceptor {
                 if (ep != null) {
                     interceptors.addAll(ep.getInterceptors(msg));
                     assertions.addAll(ep.getVocabulary(msg));
+                    template = getVocabularyAssertionInfo(ep, false);
                 }
             } else {
                 // We do not know the underlying message type yet - so we pre-emptively add interceptors
@@ -101,7 +103,9 @@ public class PolicyInInterceptor extends AbstractPolicyInterceptor {
                     interceptors.addAll(ep.getInterceptors());
                     // insert assertions of endpoint's vocabulary into message
                     if (ep.getPolicy() != null) {
-                        msg.put(AssertionInfoMap.class, new AssertionInfoMap(ep.getPolicy()));
+                        AssertionInfoMap policyTemplate = getPolicyAssertionInfo(ep);
+                        msg.put(AssertionInfoMap.class, policyTemplate == null
+                            ? new AssertionInfoMap(ep.getPolicy()) : new AssertionInfoMap(policyTemplate));
                         msg.getInterceptorChain().add(PolicyVerificationInInterceptor.INSTANCE);
                     }
                 }
@@ -117,6 +121,7 @@ public class PolicyInInterceptor extends AbstractPolicyInterceptor {
             if (ep != null) {
                 interceptors.addAll(ep.getInterceptors(msg));
                 assertions.addAll(ep.getVocabulary(msg));
+                template = getVocabularyAssertionInfo(ep, false);
             }
         }
 
@@ -127,7 +132,7 @@ public class PolicyInInterceptor extends AbstractPolicyInterceptor {
 
         // Insert assertions of endpoint's vocabulary into message
         if (!assertions.isEmpty()) {
-            msg.put(AssertionInfoMap.class, new AssertionInfoMap(assertions));
+            msg.put(AssertionInfoMap.class, createAssertionInfoMap(template, assertions));
             msg.getInterceptorChain().add(PolicyVerificationInInterceptor.INSTANCE);
         }
 
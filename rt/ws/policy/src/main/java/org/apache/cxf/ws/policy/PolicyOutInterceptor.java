@@ -133,7 +133,8 @@ public class PolicyOutInterceptor extends AbstractPolicyInterceptor {
                 }
                 LOG.finest(buf.toString());
             }
-            msg.put(AssertionInfoMap.class, new AssertionInfoMap(assertions));
+            AssertionInfoMap template = getAlternativeAssertionInfo(msg.get(EffectivePolicy.class));
+            msg.put(AssertionInfoMap.class, createAssertionInfoMap(template, assertions));
             msg.getInterceptorChain().add(PolicyVerificationOutInterceptor.INSTANCE);
         }
     }
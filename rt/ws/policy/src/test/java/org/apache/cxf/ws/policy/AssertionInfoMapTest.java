@@ -20,6 +20,7 @@
 package org.apache.cxf.ws.policy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +39,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -48,6 +50,24 @@ import static org.mockito.Mockito.when;
  *
  */
 public class AssertionInfoMapTest {
+    @Test
+    public void testCopy() {
+        QName aqn = new QName("http://x.y.z", "a");
+        QName bqn = new QName("http://x.y.z", "b");
+        Assertion a = new PrimitiveAssertion(aqn);
+        Assertion b = new PrimitiveAssertion(bqn);
+        AssertionInfoMap template = new AssertionInfoMap(Arrays.asList(a, b));
+        template.getAssertionInfo(aqn).iterator().next().setAsserted(true);
+
+        AssertionInfoMap aim = new AssertionInfoMap(template);
+        assertEquals(template.keySet(), aim.keySet());
+        AssertionInfo ai = aim.getAssertionInfo(aqn).iterator().next();
+        assertSame(a, ai.getAssertion());
+        assertNotSame(template.getAssertionInfo(aqn).iterator().next(), ai);
+        assertFalse(ai.isAsserted());
+        assertSame(b, aim.getAssertionInfo(bqn).iterator().next().getAssertion());
+    }
+
     @Test
     public void testAlternativeSupported() {
         PolicyAssertion a1 = mock(PolicyAssertion.class);
@@ -62,6 +62,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -255,6 +256,25 @@ public class PolicyEngineTest {
         assertSame(epi, engine.getEffectiveClientFaultPolicy(ei, null, bfi, msg));
     }
 
+    @Test
+    public void testGetEffectiveUndeclaredFaultPolicy() throws Exception {
+        engine = spy(new PolicyEngineImpl());
+        engine.init();
+        EndpointInfo ei = createMockEndpointInfo();
+        BindingOperationInfo boi = createMockBindingOperationInfo();
+        AssertingDestination destination = mock(AssertingDestination.class);
+        EffectivePolicyImpl epi = mock(EffectivePolicyImpl.class);
+        when(engine.createOutPolicyInfo()).thenReturn(epi);
+
+        assertSame(epi, engine.getEffectiveClientFaultPolicy(ei, boi, null, msg));
+        assertSame(epi, engine.getEffectiveClientFaultPolicy(ei, boi, null, msg));
+        assertSame(epi, engine.getEffectiveServerFaultPolicy(ei, boi, null, destination, msg));
+        assertSame(epi, engine.getEffectiveServerFaultPolicy(ei, boi, null, destination, msg));
+        // computed once for each side and cached on the operation afterwards
+        verify(engine, times(2)).createOutPolicyInfo();
+        verify(epi, times(2)).initialiseAssertionInfo();
+    }
+
     @Test
     public void testSetEffectiveClientFaultPolicy() throws Exception {
         engine = new PolicyEngineImpl();
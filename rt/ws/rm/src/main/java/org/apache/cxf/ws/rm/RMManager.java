@@ -26,6 +26,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -119,6 +122,8 @@ public class RMManager {
     private RedeliveryQueue redeliveryQueue;
     private Map<Endpoint, RMEndpoint> reliableEndpoints = new ConcurrentHashMap<>();
     private AtomicReference<Timer> timer = new AtomicReference<>();
+    private AtomicReference<ScheduledExecutorService> scheduler = new AtomicReference<>();
+    private int schedulerThreads = 1;
     private RMConfiguration configuration;
     private SourcePolicyType sourcePolicy;
     private DestinationPolicyType destinationPolicy;
@@ -220,6 +225,50 @@ public class RMManager {
         return getTimer(true);
     }
 
+    private ScheduledExecutorService getScheduler(boolean create) {
+        ScheduledExecutorService ret = scheduler.get();
+        if (ret == null && create) {
+            final String prefix = "RMManager-Scheduler-" + System.identityHashCode(this) + "-";
+            final AtomicInteger count = new AtomicInteger();
+            ScheduledThreadPoolExecutor news = new ScheduledThreadPoolExecutor(schedulerThreads, r -> {
+                Thread t = new Thread(r, prefix + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            // cancelled resends (acknowledged messages) must not linger in the queue
+            news.setRemoveOnCancelPolicy(true);
+            if (!scheduler.compareAndSet(null, news)) {
+                news.shutdownNow();
+            }
+        }
+        return scheduler.get();
+    }
+
+    /**
+     * Returns the scheduler used to time message retransmissions. Unlike the
+     * {@link #getTimer() timer}, cancelled tasks are removed immediately and the
+     * scheduler may be backed by more than one thread.
+     *
+     * @return the retransmission scheduler
+     */
+    public ScheduledExecutorService getScheduler() {
+        return getScheduler(true);
+    }
+
+    public int getSchedulerThreads() {
+        return schedulerThreads;
+    }
+
+    /**
+     * Sets the number of threads of the retransmission scheduler, must be set
+     * before the first message is sent.
+     *
+     * @param threads the number of scheduler threads
+     */
+    public void setSchedulerThreads(int threads) {
+        schedulerThreads = threads;
+    }
+
     public BindingFaultFactory getBindingFaultFactory(Binding binding) {
         return new SoapFaultFactory(binding);
     }
@@ -528,6 +577,10 @@ public class RMManager {
             t.purge();
             t.cancel();
         }
+        ScheduledExecutorService s = getScheduler(false);
+        if (s != null) {
+            s.shutdownNow();
+        }
 
         // unregistring of this managed bean from the server is done by the bus itself
     }
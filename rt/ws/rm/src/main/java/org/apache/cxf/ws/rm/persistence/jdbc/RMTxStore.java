@@ -19,6 +19,7 @@
 
 package org.apache.cxf.ws.rm.persistence.jdbc;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -36,6 +37,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -706,6 +708,109 @@ public class RMTxStore implements RMStore {
         }
     }
 
+    /**
+     * Applies the changes collected by a {@link WriteBehindRMStore} as JDBC batches in a single
+     * transaction: the sequence updates first, then the new messages and finally the removals.
+     */
+    void persistBatch(WriteBehindRMStore.Batch batch) {
+        Connection con = verifyConnection();
+        Map<String, PreparedStatement> stmts = new LinkedHashMap<>();
+        List<InputStream> streams = new ArrayList<>();
+        SQLException conex = null;
+        try {
+            beginTransaction();
+
+            for (WriteBehindRMStore.SourceState state : batch.sources.values()) {
+                PreparedStatement stmt = getBatchStatement(con, UPDATE_SRC_SEQUENCE_STMT_STR, stmts);
+                stmt.setLong(1, state.currentMessageNr);
+                stmt.setString(2, state.lastMessage ? "1" : "0");
+                stmt.setString(3, state.id);
+                stmt.addBatch();
+            }
+            for (WriteBehindRMStore.DestinationState state : batch.destinations.values()) {
+                PreparedStatement stmt = getBatchStatement(con, UPDATE_DEST_SEQUENCE_STMT_STR, stmts);
+                stmt.setLong(1, state.lastMessageNr);
+                stmt.setString(2, state.terminated ? "1" : "0");
+                stmt.setBytes(3, state.acknowledged);
+                stmt.setString(4, state.id);
+                stmt.addBatch();
+            }
+            for (WriteBehindRMStore.MessageWrite write : batch.messages.values()) {
+                PreparedStatement stmt = getBatchStatement(con, write.outbound
+                    ? CREATE_OUTBOUND_MESSAGE_STMT_STR : CREATE_INBOUND_MESSAGE_STMT_STR, stmts);
+                RMMessage msg = write.message;
+                InputStream msgin = msg.getContent().getInputStream();
+                streams.add(msgin);
+                stmt.setString(1, write.id);
+                stmt.setLong(2, write.number);
+                stmt.setString(3, msg.getTo());
+                stmt.setLong(4, msg.getCreatedTime());
+                stmt.setBinaryStream(5, msgin, msg.getContent().size());
+                stmt.setString(6, msg.getContentType());
+                stmt.addBatch();
+            }
+            for (WriteBehindRMStore.MessageWrite removal : batch.removals) {
+                PreparedStatement stmt = getBatchStatement(con, removal.outbound
+                    ? DELETE_OUTBOUND_MESSAGE_STMT_STR : DELETE_INBOUND_MESSAGE_STMT_STR, stmts);
+                stmt.setString(1, removal.id);
+                stmt.setLong(2, removal.number);
+                stmt.addBatch();
+            }
+            for (PreparedStatement stmt : stmts.values()) {
+                stmt.executeBatch();
+            }
+
+            commit(con);
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.log(Level.FINE, "Stored a batch of {0} messages and {1} removals",
+                        new Object[] {batch.messages.size(), batch.removals.size()});
+            }
+
+        } catch (SQLException ex) {
+            conex = ex;
+            abort(con);
+            throw new RMStoreException(ex);
+        } catch (IOException ex) {
+            abort(con);
+            throw new RMStoreException(ex);
+        } finally {
+            for (InputStream is : streams) {
+                close(is);
+            }
+            for (WriteBehindRMStore.MessageWrite write : batch.messages.values()) {
+                close(write.message.getContent());
+            }
+            for (PreparedStatement stmt : stmts.values()) {
+                try {
+                    // a cached statement must not keep the entries of a failed batch
+                    stmt.clearBatch();
+                } catch (SQLException e) {
+                    // ignore
+                }
+                releaseResources(stmt, null);
+            }
+            updateConnectionState(con, conex);
+        }
+    }
+
+    private static void close(Closeable c) {
+        try {
+            c.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    private PreparedStatement getBatchStatement(Connection con, String sql, Map<String, PreparedStatement> stmts)
+        throws SQLException {
+        PreparedStatement stmt = stmts.get(sql);
+        if (stmt == null) {
+            stmt = getStatement(con, sql);
+            stmts.put(sql, stmt);
+        }
+        return stmt;
+    }
+
     // transaction demarcation
     //
 
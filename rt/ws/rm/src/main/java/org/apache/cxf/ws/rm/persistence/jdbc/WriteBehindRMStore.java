@@ -0,0 +1,524 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.ws.rm.persistence.jdbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.injection.NoJSR250Annotations;
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.io.CachedOutputStream;
+import org.apache.cxf.ws.rm.DestinationSequence;
+import org.apache.cxf.ws.rm.SourceSequence;
+import org.apache.cxf.ws.rm.persistence.PersistenceUtils;
+import org.apache.cxf.ws.rm.persistence.RMMessage;
+import org.apache.cxf.ws.rm.persistence.RMStore;
+import org.apache.cxf.ws.rm.persistence.RMStoreException;
+import org.apache.cxf.ws.rm.v200702.Identifier;
+
+/**
+ * An {@link RMStore} that queues the writes for an {@link RMTxStore} and applies them as JDBC
+ * batches, each committed in one transaction once {@link #setBatchSize(int) batchSize} writes are
+ * pending or {@link #setFlushInterval(long) flushInterval} milliseconds have passed since the first
+ * of them was queued.
+ * <p>
+ * When {@link #setWaitForFlush(boolean) waitForFlush} is set (the default), a persist call returns
+ * once the batch holding it is committed: concurrent callers share a commit, but no message is
+ * acknowledged before it is durable. Otherwise persist calls return immediately, and messages still
+ * queued at a crash are lost as with an in-memory store. Removals are never waited for, a lost
+ * removal only causes a redundant retransmission after recovery.
+ * <p>
+ * Sequence creation and removal as well as all reads flush the queue and then go to the underlying
+ * store. To draw the connections of the batches from a pool, configure the underlying store with a
+ * pooled {@link javax.sql.DataSource} and <code>keepConnection</code> set to false.
+ */
+@NoJSR250Annotations
+public class WriteBehindRMStore implements RMStore {
+
+    private static final Logger LOG = LogUtils.getL7dLogger(WriteBehindRMStore.class);
+
+    private RMTxStore store;
+    private int batchSize = 100;
+    private long flushInterval = 10L;
+    private boolean waitForFlush = true;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Lock writeLock = new ReentrantLock();
+    private Batch pending = new Batch();
+    private Thread writer;
+    private boolean running;
+
+    public WriteBehindRMStore() {
+    }
+
+    public WriteBehindRMStore(RMTxStore s) {
+        store = s;
+    }
+
+    // configuration
+
+    public RMTxStore getStore() {
+        return store;
+    }
+
+    public void setStore(RMTxStore s) {
+        store = s;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isWaitForFlush() {
+        return waitForFlush;
+    }
+
+    public void setWaitForFlush(boolean waitForFlush) {
+        this.waitForFlush = waitForFlush;
+    }
+
+    // lifecycle
+
+    public void init() {
+        lock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+            writer = new Thread(this::runWriter, "RMStore-WriteBehind-" + System.identityHashCode(this));
+            writer.setDaemon(true);
+            writer.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops the writer after writing the pending changes. Writes arriving meanwhile go to the
+     * underlying store, but only once the pending changes are written, so they never get
+     * overwritten by an older sequence state.
+     */
+    public void destroy() {
+        Thread t;
+        writeLock.lock();
+        try {
+            lock.lock();
+            try {
+                running = false;
+                t = writer;
+                writer = null;
+                batchReady.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            flush();
+        } finally {
+            writeLock.unlock();
+        }
+        if (t != null) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes all pending changes to the underlying store.
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            Batch batch;
+            lock.lock();
+            try {
+                batch = pending;
+                pending = new Batch();
+            } finally {
+                lock.unlock();
+            }
+            if (batch.isEmpty()) {
+                batch.done.complete(null);
+            } else {
+                write(batch);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // RMStore interface
+
+    public void createSourceSequence(SourceSequence seq) {
+        flush();
+        store.createSourceSequence(seq);
+    }
+
+    public void createDestinationSequence(DestinationSequence seq) {
+        flush();
+        store.createDestinationSequence(seq);
+    }
+
+    public SourceSequence getSourceSequence(Identifier seq) {
+        flush();
+        return store.getSourceSequence(seq);
+    }
+
+    public DestinationSequence getDestinationSequence(Identifier seq) {
+        flush();
+        return store.getDestinationSequence(seq);
+    }
+
+    public void removeSourceSequence(Identifier seq) {
+        flush();
+        store.removeSourceSequence(seq);
+    }
+
+    public void removeDestinationSequence(Identifier seq) {
+        flush();
+        store.removeDestinationSequence(seq);
+    }
+
+    public Collection<SourceSequence> getSourceSequences(String endpointIdentifier) {
+        flush();
+        return store.getSourceSequences(endpointIdentifier);
+    }
+
+    public Collection<DestinationSequence> getDestinationSequences(String endpointIdentifier) {
+        flush();
+        return store.getDestinationSequences(endpointIdentifier);
+    }
+
+    public Collection<RMMessage> getMessages(Identifier sid, boolean outbound) {
+        flush();
+        return store.getMessages(sid, outbound);
+    }
+
+    public void persistOutgoing(SourceSequence seq, RMMessage msg) {
+        if (!isRunning()) {
+            writeDirectly(() -> store.persistOutgoing(seq, msg));
+            return;
+        }
+        // the sequence state is taken now, not when the batch is written, so that
+        // it never runs ahead of the messages stored with it
+        final String id = seq.getIdentifier().getValue();
+        final SourceState state = new SourceState(id, seq.getCurrentMessageNr(), seq.isLastMessage());
+        final MessageWrite write = null != msg && null != msg.getContent()
+            ? new MessageWrite(id, msg.getMessageNumber(), true, detach(msg)) : null;
+        Batch queued = enqueue(batch -> {
+            batch.sources.put(id, state);
+            if (null != write) {
+                batch.addMessage(write);
+            }
+        });
+        if (null == queued) {
+            writeDirectly(() -> store.persistOutgoing(seq, msg));
+        } else {
+            await(queued);
+        }
+    }
+
+    public void persistIncoming(DestinationSequence seq, RMMessage msg) {
+        if (!isRunning()) {
+            writeDirectly(() -> store.persistIncoming(seq, msg));
+            return;
+        }
+        final String id = seq.getIdentifier().getValue();
+        final DestinationState state;
+        try (InputStream is = PersistenceUtils.getInstance().serialiseAcknowledgment(seq.getAcknowledgment())) {
+            state = new DestinationState(id, seq.getLastMessageNumber(), seq.isTerminated(),
+                                         IOUtils.readBytesFromStream(is));
+        } catch (IOException ex) {
+            throw new RMStoreException(ex);
+        }
+        final MessageWrite write = null != msg && null != msg.getContent()
+            ? new MessageWrite(id, msg.getMessageNumber(), false, detach(msg)) : null;
+        Batch queued = enqueue(batch -> {
+            batch.destinations.put(id, state);
+            if (null != write) {
+                batch.addMessage(write);
+            }
+        });
+        if (null == queued) {
+            writeDirectly(() -> store.persistIncoming(seq, msg));
+        } else {
+            await(queued);
+        }
+    }
+
+    public void removeMessages(Identifier sid, Collection<Long> messageNrs, boolean outbound) {
+        if (!isRunning()) {
+            writeDirectly(() -> store.removeMessages(sid, messageNrs, outbound));
+            return;
+        }
+        final String id = sid.getValue();
+        final List<Long> nrs = new ArrayList<>(messageNrs);
+        Batch queued = enqueue(batch -> {
+            for (Long nr : nrs) {
+                batch.removeMessage(new MessageWrite(id, nr, outbound, null));
+            }
+        });
+        if (null == queued) {
+            writeDirectly(() -> store.removeMessages(sid, messageNrs, outbound));
+        }
+    }
+
+    // helpers
+
+    private boolean isRunning() {
+        lock.lock();
+        try {
+            return running;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the batch the update was added to, or null if the store was stopped meanwhile
+     */
+    private Batch enqueue(Consumer<Batch> update) {
+        lock.lock();
+        try {
+            if (!running) {
+                return null;
+            }
+            Batch batch = pending;
+            boolean empty = batch.isEmpty();
+            update.accept(batch);
+            if (empty && !batch.isEmpty()) {
+                // the flush interval counts from the first change, not from the last flush
+                batch.started = System.currentTimeMillis();
+                batchReady.signalAll();
+            } else if (batch.size() >= batchSize) {
+                batchReady.signalAll();
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes to the underlying store, after any pending changes a concurrent {@link #destroy()} is
+     * still writing.
+     */
+    private void writeDirectly(Runnable write) {
+        writeLock.lock();
+        try {
+            write.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void await(Batch batch) {
+        if (!waitForFlush) {
+            return;
+        }
+        try {
+            batch.done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RMStoreException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RMStoreException) {
+                throw (RMStoreException)ex.getCause();
+            }
+            throw new RMStoreException(ex.getCause());
+        }
+    }
+
+    /**
+     * Unless the caller waits for the write, the content may be released before the batch is
+     * written, so it is copied.
+     */
+    private RMMessage detach(RMMessage msg) {
+        if (waitForFlush) {
+            return msg;
+        }
+        RMMessage copy = new RMMessage();
+        copy.setMessageNumber(msg.getMessageNumber());
+        copy.setTo(msg.getTo());
+        copy.setCreatedTime(msg.getCreatedTime());
+        copy.setContentType(msg.getContentType());
+        CachedOutputStream cos = new CachedOutputStream();
+        try (InputStream is = msg.getContent().getInputStream()) {
+            IOUtils.copy(is, cos);
+            cos.flush();
+        } catch (IOException ex) {
+            throw new RMStoreException(ex);
+        }
+        copy.setContent(cos);
+        return copy;
+    }
+
+    private void runWriter() {
+        while (true) {
+            lock.lock();
+            try {
+                while (running && pending.size() < batchSize) {
+                    if (pending.isEmpty()) {
+                        batchReady.await();
+                    } else {
+                        long remaining = pending.started + flushInterval - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        batchReady.await(remaining, TimeUnit.MILLISECONDS);
+                    }
+                }
+                if (!running) {
+                    // destroy writes what is left
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            flush();
+        }
+    }
+
+    private void write(Batch batch) {
+        try {
+            store.persistBatch(batch);
+            batch.done.complete(null);
+        } catch (RuntimeException ex) {
+            LogUtils.log(LOG, Level.SEVERE, "WRITE_BEHIND_FAILED_MSG", ex);
+            batch.done.completeExceptionally(ex);
+        }
+    }
+
+    static final class SourceState {
+        final String id;
+        final long currentMessageNr;
+        final boolean lastMessage;
+
+        SourceState(String id, long currentMessageNr, boolean lastMessage) {
+            this.id = id;
+            this.currentMessageNr = currentMessageNr;
+            this.lastMessage = lastMessage;
+        }
+    }
+
+    static final class DestinationState {
+        final String id;
+        final long lastMessageNr;
+        final boolean terminated;
+        final byte[] acknowledged;
+
+        DestinationState(String id, long lastMessageNr, boolean terminated, byte[] acknowledged) {
+            this.id = id;
+            this.lastMessageNr = lastMessageNr;
+            this.terminated = terminated;
+            this.acknowledged = acknowledged;
+        }
+    }
+
+    static final class MessageWrite {
+        final String id;
+        final long number;
+        final boolean outbound;
+        final RMMessage message;
+
+        MessageWrite(String id, long number, boolean outbound, RMMessage message) {
+            this.id = id;
+            this.number = number;
+            this.outbound = outbound;
+            this.message = message;
+        }
+
+        String key() {
+            return (outbound ? "o:" : "i:") + number + ':' + id;
+        }
+    }
+
+    /**
+     * The changes collected between two flushes. Only the latest state of each sequence is kept,
+     * and a message removed before it was written is dropped from the batch altogether.
+     */
+    static final class Batch {
+        // when the first change was queued, guarded by the lock of the store
+        long started;
+        final Map<String, SourceState> sources = new LinkedHashMap<>();
+        final Map<String, DestinationState> destinations = new LinkedHashMap<>();
+        final Map<String, MessageWrite> messages = new LinkedHashMap<>();
+        final List<MessageWrite> removals = new ArrayList<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        void addMessage(MessageWrite write) {
+            messages.put(write.key(), write);
+        }
+
+        void removeMessage(MessageWrite removal) {
+            MessageWrite write = messages.remove(removal.key());
+            if (null != write) {
+                try {
+                    write.message.getContent().close();
+                } catch (IOException ex) {
+                    // ignore
+                }
+            } else {
+                removals.add(removal);
+            }
+        }
+
+        int size() {
+            return sources.size() + destinations.size() + messages.size() + removals.size();
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+    }
+}
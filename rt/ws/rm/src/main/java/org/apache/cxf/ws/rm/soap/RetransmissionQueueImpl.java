@@ -31,10 +31,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -101,7 +108,6 @@ import org.apache.cxf.ws.rm.persistence.RMStore;
 import org.apache.cxf.ws.rm.v200702.Identifier;
 import org.apache.cxf.ws.rm.v200702.SequenceType;
 import org.apache.cxf.ws.rmp.v200502.RMAssertion;
-
 /**
  *
  */
@@ -109,12 +115,14 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
 
     private static final Logger LOG = LogUtils.getL7dLogger(RetransmissionQueueImpl.class);
 
-    private final Map<String, List<ResendCandidate>> candidates = new HashMap<>();
-    private final Map<String, List<ResendCandidate>> suspendedCandidates = new HashMap<>();
+    // the candidate lists are guarded by their own monitor, not by the queue
+    private final Map<String, List<ResendCandidate>> candidates = new ConcurrentHashMap<>();
+    private final Map<String, List<ResendCandidate>> suspendedCandidates = new ConcurrentHashMap<>();
+    private final Map<String, ResendBatch> batches = new ConcurrentHashMap<>();
     private Resender resender;
     private RMManager manager;
 
-    private int unacknowledgedCount;
+    private final AtomicInteger unacknowledgedCount = new AtomicInteger();
 
     public RetransmissionQueueImpl(RMManager m) {
         manager = m;
@@ -136,13 +144,18 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
      * @param seq the sequence under consideration
      * @return the number of unacknowledged messages for that sequence
      */
-    public synchronized int countUnacknowledged(SourceSequence seq) {
+    public int countUnacknowledged(SourceSequence seq) {
         List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
-        return sequenceCandidates == null ? 0 : sequenceCandidates.size();
+        if (null == sequenceCandidates) {
+            return 0;
+        }
+        synchronized (sequenceCandidates) {
+            return sequenceCandidates.size();
+        }
     }
 
     public int countUnacknowledged() {
-        return unacknowledgedCount;
+        return unacknowledgedCount.get();
     }
 
     /**
@@ -176,27 +189,36 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
         Collection<Long> purged = new ArrayList<>();
         Collection<ResendCandidate> resends = new ArrayList<>();
         Identifier sid = seq.getIdentifier();
-        synchronized (this) {
-            LOG.fine("Start purging resend candidates.");
-            List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
-            if (null != sequenceCandidates) {
-                for (int i = sequenceCandidates.size() - 1; i >= 0; i--) {
+        String key = sid.getValue();
+        LOG.fine("Start purging resend candidates.");
+        List<ResendCandidate> sequenceCandidates = getSequenceCandidates(key);
+        if (null != sequenceCandidates) {
+            synchronized (sequenceCandidates) {
+                // compact the list in one pass, so purging an acknowledgement range
+                // costs O(1) per candidate instead of shifting the tail on each removal
+                int size = sequenceCandidates.size();
+                int kept = 0;
+                for (int i = 0; i < size; i++) {
                     ResendCandidate candidate = sequenceCandidates.get(i);
                     long m = candidate.getNumber();
                     if (any || seq.isAcknowledged(m)) {
-                        sequenceCandidates.remove(i);
                         candidate.resolved();
-                        unacknowledgedCount--;
                         purged.add(m);
                         resends.add(candidate);
+                    } else {
+                        sequenceCandidates.set(kept++, candidate);
                     }
                 }
+                if (kept < size) {
+                    sequenceCandidates.subList(kept, size).clear();
+                    unacknowledgedCount.addAndGet(kept - size);
+                }
                 if (sequenceCandidates.isEmpty()) {
-                    candidates.remove(sid.getValue());
+                    candidates.remove(key, sequenceCandidates);
                 }
             }
-            LOG.fine("Completed purging resend candidates.");
         }
+        LOG.fine("Completed purging resend candidates.");
         if (!purged.isEmpty()) {
             RMStore store = manager.getStore();
             if (null != store) {
@@ -204,7 +226,7 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
             }
             RMEndpoint rmEndpoint = seq.getSource().getReliableEndpoint();
             for (ResendCandidate resend: resends) {
-                rmEndpoint.handleAcknowledgment(sid.getValue(), resend.getNumber(), resend.getMessage());
+                rmEndpoint.handleAcknowledgment(key, resend.getNumber(), resend.getMessage());
             }
         }
     }
@@ -213,9 +235,11 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
         List<Long> unacknowledged = new ArrayList<>();
         List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
         if (null != sequenceCandidates) {
-            for (int i = 0; i < sequenceCandidates.size(); i++) {
-                ResendCandidate candidate = sequenceCandidates.get(i);
-                unacknowledged.add(candidate.getNumber());
+            synchronized (sequenceCandidates) {
+                for (int i = 0; i < sequenceCandidates.size(); i++) {
+                    ResendCandidate candidate = sequenceCandidates.get(i);
+                    unacknowledged.add(candidate.getNumber());
+                }
             }
         }
         return unacknowledged;
@@ -224,10 +248,12 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
     public RetryStatus getRetransmissionStatus(SourceSequence seq, long num) {
         List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
         if (null != sequenceCandidates) {
-            for (int i = 0; i < sequenceCandidates.size(); i++) {
-                ResendCandidate candidate = sequenceCandidates.get(i);
-                if (num == candidate.getNumber()) {
-                    return candidate;
+            synchronized (sequenceCandidates) {
+                for (int i = 0; i < sequenceCandidates.size(); i++) {
+                    ResendCandidate candidate = sequenceCandidates.get(i);
+                    if (num == candidate.getNumber()) {
+                        return candidate;
+                    }
                 }
             }
         }
@@ -238,9 +264,11 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
         Map<Long, RetryStatus> cp = new HashMap<>();
         List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
         if (null != sequenceCandidates) {
-            for (int i = 0; i < sequenceCandidates.size(); i++) {
-                ResendCandidate candidate = sequenceCandidates.get(i);
-                cp.put(candidate.getNumber(), candidate);
+            synchronized (sequenceCandidates) {
+                for (int i = 0; i < sequenceCandidates.size(); i++) {
+                    ResendCandidate candidate = sequenceCandidates.get(i);
+                    cp.put(candidate.getNumber(), candidate);
+                }
             }
         }
         return cp;
@@ -264,15 +292,15 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
      * Stops resending messages for the specified source sequence.
      */
     public void stop(SourceSequence seq) {
-        synchronized (this) {
-            List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
-            if (null != sequenceCandidates) {
+        List<ResendCandidate> sequenceCandidates = getSequenceCandidates(seq);
+        if (null != sequenceCandidates) {
+            synchronized (sequenceCandidates) {
                 for (int i = sequenceCandidates.size() - 1; i >= 0; i--) {
                     ResendCandidate candidate = sequenceCandidates.get(i);
                     candidate.cancel();
                 }
-                LOG.log(Level.FINE, "Cancelled resends for sequence {0}.", seq.getIdentifier().getValue());
             }
+            LOG.log(Level.FINE, "Cancelled resends for sequence {0}.", seq.getIdentifier().getValue());
         }
     }
 
@@ -281,31 +309,39 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
     }
 
     public void suspend(SourceSequence seq) {
-        synchronized (this) {
-            String key = seq.getIdentifier().getValue();
-            List<ResendCandidate> sequenceCandidates = candidates.remove(key);
-            if (null != sequenceCandidates) {
-                for (int i = sequenceCandidates.size() - 1; i >= 0; i--) {
-                    ResendCandidate candidate = sequenceCandidates.get(i);
-                    candidate.suspend();
-                }
+        String key = seq.getIdentifier().getValue();
+        List<ResendCandidate> sequenceCandidates = candidates.get(key);
+        if (null != sequenceCandidates) {
+            synchronized (sequenceCandidates) {
+                // publish the suspended list before removing the active one, so
+                // getSequenceCandidates always finds it
                 suspendedCandidates.put(key, sequenceCandidates);
-                LOG.log(Level.FINE, "Suspended resends for sequence {0}.", key);
+                if (candidates.remove(key, sequenceCandidates)) {
+                    for (int i = sequenceCandidates.size() - 1; i >= 0; i--) {
+                        ResendCandidate candidate = sequenceCandidates.get(i);
+                        candidate.suspend();
+                    }
+                    LOG.log(Level.FINE, "Suspended resends for sequence {0}.", key);
+                } else {
+                    suspendedCandidates.remove(key, sequenceCandidates);
+                }
             }
         }
     }
 
     public void resume(SourceSequence seq) {
-        synchronized (this) {
-            String key = seq.getIdentifier().getValue();
-            List<ResendCandidate> sequenceCandidates = suspendedCandidates.remove(key);
-            if (null != sequenceCandidates) {
-                for (int i = 0; i < sequenceCandidates.size(); i++) {
-                    ResendCandidate candidate = sequenceCandidates.get(i);
-                    candidate.resume();
-                }
+        String key = seq.getIdentifier().getValue();
+        List<ResendCandidate> sequenceCandidates = suspendedCandidates.get(key);
+        if (null != sequenceCandidates) {
+            synchronized (sequenceCandidates) {
                 candidates.put(key, sequenceCandidates);
-                LOG.log(Level.FINE, "Resumed resends for sequence {0}.", key);
+                if (suspendedCandidates.remove(key, sequenceCandidates)) {
+                    for (int i = 0; i < sequenceCandidates.size(); i++) {
+                        ResendCandidate candidate = sequenceCandidates.get(i);
+                        candidate.resume();
+                    }
+                    LOG.log(Level.FINE, "Resumed resends for sequence {0}.", key);
+                }
             }
         }
     }
@@ -337,20 +373,23 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
         Identifier sid = st.getIdentifier();
         String key = sid.getValue();
 
-        final ResendCandidate candidate;
-
-        synchronized (this) {
+        ResendCandidate candidate = null;
+        while (null == candidate) {
             List<ResendCandidate> sequenceCandidates = getSequenceCandidates(key);
             if (null == sequenceCandidates) {
-                sequenceCandidates = new ArrayList<>();
-                candidates.put(key, sequenceCandidates);
+                sequenceCandidates = candidates.computeIfAbsent(key, k -> new ArrayList<>());
             }
-            candidate = createResendCandidate(message);
-            if (isSequenceSuspended(key)) {
-                candidate.suspend();
+            synchronized (sequenceCandidates) {
+                // retry if the list was purged while we were waiting for it
+                if (sequenceCandidates == getSequenceCandidates(key)) {
+                    candidate = createResendCandidate(message);
+                    if (isSequenceSuspended(key)) {
+                        candidate.suspend();
+                    }
+                    sequenceCandidates.add(candidate);
+                    unacknowledgedCount.incrementAndGet();
+                }
             }
-            sequenceCandidates.add(candidate);
-            unacknowledgedCount++;
         }
         LOG.fine("Cached unacknowledged message.");
         try {
@@ -373,7 +412,7 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
     /**
      * @param seq the sequence under consideration
      * @return the list of resend candidates for that sequence
-     * @pre called with mutex held
+     * @pre the returned list is accessed with its monitor held
      */
     protected List<ResendCandidate> getSequenceCandidates(SourceSequence seq) {
         return getSequenceCandidates(seq.getIdentifier().getValue());
@@ -382,7 +421,7 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
     /**
      * @param key the sequence identifier under consideration
      * @return the list of resend candidates for that sequence
-     * @pre called with mutex held
+     * @pre the returned list is accessed with its monitor held
      */
     protected List<ResendCandidate> getSequenceCandidates(String key) {
         List<ResendCandidate> sc = candidates.get(key);
@@ -395,20 +434,89 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
     /**
      * @param key the sequence identifier under consideration
      * @return true if the sequence is currently suspended; false otherwise
-     * @pre called with mutex held
+     * @pre called with the monitor of the sequence candidates held
      */
     protected boolean isSequenceSuspended(String key) {
         return suspendedCandidates.containsKey(key);
     }
 
+    private static Executor getExecutor(Message message) {
+        Endpoint ep = message.getExchange().getEndpoint();
+        Executor executor = ep.getExecutor();
+        if (null == executor) {
+            executor = ep.getService().getExecutor();
+            if (executor == null) {
+                executor = SynchronousExecutor.getInstance();
+            } else {
+                LOG.log(Level.FINE, "Using service executor {0}", executor.getClass().getName());
+            }
+        } else {
+            LOG.log(Level.FINE, "Using endpoint executor {0}", executor.getClass().getName());
+        }
+        return executor;
+    }
+
+    /**
+     * Resends the due candidates of one sequence in order. Candidates falling due
+     * while a batch is running are picked up by that batch, so a sequence never
+     * occupies more than one executor thread. Candidates are only queued while the
+     * batch is mapped, and the batch unmaps itself once it is idle and empty.
+     */
+    private final class ResendBatch implements Runnable {
+        private final String sequenceId;
+        private final Queue<ResendCandidate> due = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        ResendBatch(String sequenceId) {
+            this.sequenceId = sequenceId;
+        }
+
+        void start(Executor executor) {
+            if (running.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    LOG.log(Level.SEVERE, "RESEND_INITIATION_FAILED_MSG", ex);
+                    // count the attempt, so that the candidates are rescheduled
+                    for (ResendCandidate c = due.poll(); c != null; c = due.poll()) {
+                        c.attempted();
+                    }
+                    running.set(false);
+                    retire();
+                }
+            }
+        }
+
+        public void run() {
+            do {
+                for (ResendCandidate c = due.poll(); c != null; c = due.poll()) {
+                    try {
+                        c.run();
+                    } catch (RuntimeException ex) {
+                        LOG.log(Level.SEVERE, "RESEND_FAILED_MSG", ex);
+                    }
+                }
+                running.set(false);
+            } while (!due.isEmpty() && running.compareAndSet(false, true));
+            retire();
+        }
+
+        private void retire() {
+            // atomic with the queueing in initiate, so no candidate is queued on an unmapped batch
+            batches.computeIfPresent(sequenceId,
+                (k, b) -> b == this && !running.get() && due.isEmpty() ? null : b);
+        }
+    }
+
     /**
      * Represents a candidate for resend, i.e. an unacked outgoing message.
      */
     protected class ResendCandidate implements Runnable, RetryStatus {
         private Message message;
         private long number;
+        private String sequenceId;
         private Date next;
-        private TimerTask nextTask;
+        private ScheduledFuture<?> nextTask;
         private int retries;
         private int maxRetries;
         private long nextInterval;
@@ -446,8 +554,10 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
             RMProperties rmprops = RMContextUtils.retrieveRMProperties(message, true);
             if (null != rmprops) {
                 number = rmprops.getSequence().getMessageNumber();
+                Identifier sid = rmprops.getSequence().getIdentifier();
+                sequenceId = null != sid ? sid.getValue() : null;
             }
-            if (null != manager.getTimer() && maxRetries != 0) {
+            if (null != manager.getScheduler() && maxRetries != 0) {
                 schedule();
             }
         }
@@ -461,21 +571,17 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
         protected void initiate(boolean requestAcknowledge) {
             includeAckRequested = requestAcknowledge;
             pending = true;
-            Endpoint ep = message.getExchange().getEndpoint();
-            Executor executor = ep.getExecutor();
-            if (null == executor) {
-                executor = ep.getService().getExecutor();
-                if (executor == null) {
-                    executor = SynchronousExecutor.getInstance();
-                } else {
-                    LOG.log(Level.FINE, "Using service executor {0}", executor.getClass().getName());
-                }
-            } else {
-                LOG.log(Level.FINE, "Using endpoint executor {0}", executor.getClass().getName());
+            if (null != sequenceId) {
+                ResendBatch batch = batches.compute(sequenceId, (k, b) -> {
+                    ResendBatch current = null == b ? new ResendBatch(k) : b;
+                    current.due.add(this);
+                    return current;
+                });
+                batch.start(getExecutor(message));
+                return;
             }
-
             try {
-                executor.execute(this);
+                getExecutor(message).execute(this);
             } catch (RejectedExecutionException ex) {
                 LOG.log(Level.SEVERE, "RESEND_INITIATION_FAILED_MSG", ex);
             }
@@ -555,7 +661,7 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
             pending = false;
             next = null;
             if (null != nextTask) {
-                nextTask.cancel();
+                nextTask.cancel(false);
                 releaseSavedMessage();
             }
         }
@@ -565,7 +671,7 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
          */
         protected synchronized void cancel() {
             if (null != nextTask) {
-                nextTask.cancel();
+                nextTask.cancel(false);
                 releaseSavedMessage();
             }
         }
@@ -576,7 +682,7 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
             //TODO release the message and later reload it upon resume
             //cancel();
             if (null != nextTask) {
-                nextTask.cancel();
+                nextTask.cancel(false);
             }
         }
 
@@ -628,27 +734,18 @@ public class RetransmissionQueueImpl implements RetransmissionQueue {
         }
 
         protected final synchronized void schedule() {
-            if (null == manager.getTimer()) {
+            ScheduledExecutorService scheduler = manager.getScheduler();
+            if (null == scheduler) {
                 return;
             }
-            class ResendTask extends TimerTask {
-                ResendCandidate candidate;
-
-                ResendTask(ResendCandidate c) {
-                    candidate = c;
-                }
-
-                @Override
-                public void run() {
-                    if (!candidate.isPending()) {
-                        candidate.initiate(includeAckRequested);
-                    }
-                }
-            }
-            nextTask = new ResendTask(this);
+            long delay = Math.max(0L, next.getTime() - System.currentTimeMillis());
             try {
-                manager.getTimer().schedule(nextTask, next);
-            } catch (IllegalStateException ex) {
+                nextTask = scheduler.schedule(() -> {
+                    if (!isPending()) {
+                        initiate(includeAckRequested);
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ex) {
                 LOG.log(Level.WARNING, "SCHEDULE_RESEND_FAILED_MSG", ex);
             }
         }
@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.ws.rm.persistence.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.io.CachedOutputStream;
+import org.apache.cxf.ws.rm.ProtocolVariation;
+import org.apache.cxf.ws.rm.SourceSequence;
+import org.apache.cxf.ws.rm.persistence.RMMessage;
+import org.apache.cxf.ws.rm.v200702.Identifier;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBehindRMStoreTest {
+    private static final String DB_NAME = "rmdbwb";
+    private static final String ENDPOINT_ID = "{http://cxf.apache.org/greeter_control}GreeterService/GreeterPort";
+
+    private static RMTxStore txStore;
+
+    private WriteBehindRMStore store;
+    private Identifier sid;
+    private SourceSequence seq;
+
+    @BeforeClass
+    public static void setUpOnce() {
+        RMTxStore.deleteDatabaseFiles(DB_NAME, true);
+        txStore = new RMTxStore();
+        txStore.setUrl("jdbc:derby:" + DB_NAME + ";create=true");
+        txStore.init();
+    }
+
+    @AfterClass
+    public static void tearDownOnce() {
+        txStore.destroy();
+        RMTxStore.deleteDatabaseFiles(DB_NAME, false);
+    }
+
+    @Before
+    public void setUp() {
+        store = new WriteBehindRMStore(txStore);
+        sid = new Identifier();
+        sid.setValue("writebehind1");
+        seq = mock(SourceSequence.class);
+        when(seq.getIdentifier()).thenReturn(sid);
+        when(seq.getEndpointIdentifier()).thenReturn(ENDPOINT_ID);
+        when(seq.getProtocol()).thenReturn(ProtocolVariation.RM10WSA200408);
+        store.createSourceSequence(seq);
+    }
+
+    @After
+    public void tearDown() {
+        store.destroy();
+        txStore.removeMessages(sid, Arrays.asList(1L, 2L, 3L), true);
+        txStore.removeSourceSequence(sid);
+    }
+
+    @Test
+    public void testBatchedWrites() throws IOException {
+        store.setWaitForFlush(false);
+        store.setFlushInterval(60000L);
+        store.init();
+
+        for (long i = 1; i <= 3; i++) {
+            when(seq.getCurrentMessageNr()).thenReturn(i);
+            store.persistOutgoing(seq, createRMMessage(i));
+        }
+        // acknowledged before it was written, so it never reaches the database
+        store.removeMessages(sid, Collections.singletonList(2L), true);
+        assertEquals(0, txStore.getMessages(sid, true).size());
+
+        assertEquals(new TreeSet<>(Arrays.asList(1L, 3L)), getMessageNumbers(store.getMessages(sid, true)));
+        assertEquals(3L, txStore.getSourceSequence(sid).getCurrentMessageNr());
+
+        store.removeMessages(sid, Collections.singletonList(1L), true);
+        assertEquals(Collections.singleton(3L), getMessageNumbers(store.getMessages(sid, true)));
+    }
+
+    @Test
+    public void testWaitForFlush() throws IOException {
+        store.setFlushInterval(10L);
+        store.init();
+
+        when(seq.getCurrentMessageNr()).thenReturn(1L);
+        store.persistOutgoing(seq, createRMMessage(1L));
+        // the persist returns once the batch is committed
+        assertEquals(Collections.singleton(1L), getMessageNumbers(txStore.getMessages(sid, true)));
+    }
+
+    @Test
+    public void testBurstAfterIdle() throws Exception {
+        RMTxStore spied = spy(txStore);
+        WriteBehindRMStore batching = new WriteBehindRMStore(spied);
+        batching.setWaitForFlush(false);
+        batching.setFlushInterval(500L);
+        batching.init();
+        try {
+            // idle for longer than the flush interval
+            Thread.sleep(1000L);
+            for (long i = 1; i <= 2; i++) {
+                when(seq.getCurrentMessageNr()).thenReturn(i);
+                batching.persistOutgoing(seq, createRMMessage(i));
+            }
+
+            ArgumentCaptor<WriteBehindRMStore.Batch> batch = ArgumentCaptor.forClass(WriteBehindRMStore.Batch.class);
+            verify(spied, timeout(5000L)).persistBatch(batch.capture());
+            assertEquals(2, batch.getValue().messages.size());
+        } finally {
+            batching.destroy();
+        }
+    }
+
+    @Test
+    public void testDestroyWhilePersisting() throws Exception {
+        store.setWaitForFlush(false);
+        store.setFlushInterval(60000L);
+        store.init();
+
+        AtomicLong current = new AtomicLong();
+        when(seq.getCurrentMessageNr()).thenAnswer(invocation -> current.get());
+        Thread persister = new Thread(() -> {
+            for (long i = 1; i <= 200; i++) {
+                current.set(i);
+                store.persistOutgoing(seq, null);
+            }
+        });
+        persister.start();
+        while (current.get() < 50 && persister.isAlive()) {
+            Thread.sleep(1);
+        }
+        store.destroy();
+        persister.join(30000L);
+
+        // the writes after destroy must not be overtaken by the state queued before it
+        assertEquals(200L, txStore.getSourceSequence(sid).getCurrentMessageNr());
+    }
+
+    @Test
+    public void testNotStarted() throws IOException {
+        when(seq.getCurrentMessageNr()).thenReturn(1L);
+        store.persistOutgoing(seq, createRMMessage(1L));
+        assertEquals(Collections.singleton(1L), getMessageNumbers(txStore.getMessages(sid, true)));
+    }
+
+    private static Set<Long> getMessageNumbers(Collection<RMMessage> msgs) {
+        Set<Long> nrs = new TreeSet<>();
+        for (RMMessage msg : msgs) {
+            nrs.add(msg.getMessageNumber());
+        }
+        return nrs;
+    }
+
+    private static RMMessage createRMMessage(long mn) throws IOException {
+        RMMessage msg = new RMMessage();
+        msg.setMessageNumber(mn);
+        msg.setContentType("text/xml");
+        msg.setCreatedTime(System.currentTimeMillis());
+        CachedOutputStream cos = new CachedOutputStream();
+        IOUtils.copy(new ByteArrayInputStream(("Message " + mn).getBytes()), cos);
+        cos.flush();
+        msg.setContent(cos);
+        return msg;
+    }
+}
@@ -21,11 +21,16 @@
 package org.apache.cxf.ws.rm.soap;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.ws.rm.RMConfiguration;
 import org.apache.cxf.ws.rm.RMEndpoint;
@@ -305,6 +310,98 @@ public class RetransmissionQueueImplTest {
                      sequenceList.size());
     }
 
+    @Test
+    public void testPurgeAcknowledgedRange() {
+        Long[] messageNumbers = {ONE, TWO, Long.valueOf(3), Long.valueOf(4)};
+        SourceSequence sequence = setUpSequence("sequence1",
+                                          messageNumbers,
+                                          new boolean[] {true, true, false, true});
+        ready(false);
+        for (Long messageNumber : messageNumbers) {
+            SoapMessage message = setUpMessage("sequence1", messageNumber);
+            setupMessagePolicies(message);
+            queue.cacheUnacknowledged(message);
+        }
+        assertEquals(4, queue.countUnacknowledged());
+
+        queue.purgeAcknowledged(sequence);
+        assertEquals(1, queue.countUnacknowledged());
+        assertEquals(Collections.singletonList(Long.valueOf(3)),
+                     queue.getUnacknowledgedMessageNumbers(sequence));
+        assertEquals(1, queue.getUnacknowledged().size());
+    }
+
+    @Test
+    public void testScheduledResendsAreBatchedPerSequence() throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        when(manager.getScheduler()).thenReturn(scheduler);
+        List<Runnable> tasks = Collections.synchronizedList(new ArrayList<>());
+        Executor deferred = tasks::add;
+        List<Message> resent = Collections.synchronizedList(new ArrayList<>());
+        queue.replaceResender((m, requestAcknowledge) -> resent.add(m));
+        try {
+            SoapMessage message1 = setUpScheduledMessage("sequence1", ONE, deferred);
+            SoapMessage message2 = setUpScheduledMessage("sequence1", TWO, deferred);
+            RetransmissionQueueImpl.ResendCandidate candidate1 = queue.createResendCandidate(message1);
+            RetransmissionQueueImpl.ResendCandidate candidate2 = queue.createResendCandidate(message2);
+
+            long end = System.currentTimeMillis() + 5000;
+            while (!(candidate1.isPending() && candidate2.isPending()) && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertTrue(candidate1.isPending() && candidate2.isPending());
+            assertEquals("both resends should share one executor task", 1, tasks.size());
+
+            tasks.get(0).run();
+            assertEquals(2, resent.size());
+            assertSame(message1, resent.get(0));
+            assertSame(message2, resent.get(1));
+            assertEquals(1, candidate1.getRetries());
+            assertEquals(1, candidate2.getRetries());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResendQueuedWhilePurgingJoinsRunningBatch() {
+        Long[] messageNumbers = {ONE, TWO};
+        SourceSequence sequence = setUpSequence("sequence1",
+                                          messageNumbers,
+                                          new boolean[] {true, false});
+        List<Runnable> tasks = new ArrayList<>();
+        Executor deferred = tasks::add;
+        SoapMessage message1 = setUpScheduledMessage("sequence1", ONE, deferred);
+        SoapMessage message2 = setUpScheduledMessage("sequence1", TWO, deferred);
+        RetransmissionQueueImpl.ResendCandidate candidate1 = queue.createResendCandidate(message1);
+        RetransmissionQueueImpl.ResendCandidate candidate2 = queue.createResendCandidate(message2);
+        List<RetransmissionQueueImpl.ResendCandidate> sequenceList = new ArrayList<>();
+        sequenceList.add(candidate1);
+        queue.getUnacknowledged().put("sequence1", sequenceList);
+
+        List<Message> resent = new ArrayList<>();
+        queue.replaceResender((m, requestAcknowledge) -> {
+            resent.add(m);
+            if (m == message1) {
+                // the sequence empties while its batch is still running
+                queue.purgeAcknowledged(sequence);
+                candidate2.initiate(false);
+            }
+        });
+        candidate1.initiate(false);
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals("the running batch should resend the new candidate", 1, tasks.size());
+        assertEquals(2, resent.size());
+        assertSame(message1, resent.get(0));
+        assertSame(message2, resent.get(1));
+
+        // the idle batch is retired, so the next resend starts a new task
+        candidate2.initiate(false);
+        assertEquals(2, tasks.size());
+    }
+
     @Test
     public void testIsEmpty() {
         ready(false);
@@ -368,6 +465,19 @@ public class RetransmissionQueueImplTest {
         return message;
     }
 
+    private SoapMessage setUpScheduledMessage(String sid, Long messageNumber, Executor ex) {
+        SoapMessage message = setUpMessage(sid, messageNumber);
+        RMConfiguration cfg = new RMConfiguration();
+        cfg.setBaseRetransmissionInterval(Long.valueOf(50));
+        when(manager.getEffectiveConfiguration(message)).thenReturn(cfg);
+        Exchange exchange = createMock(Exchange.class);
+        Endpoint ep = createMock(Endpoint.class);
+        when(message.getExchange()).thenReturn(exchange);
+        when(exchange.getEndpoint()).thenReturn(ep);
+        when(ep.getExecutor()).thenReturn(ex);
+        return message;
+    }
+
     private void setupMessagePolicies(Message message) {
         RMConfiguration cfg = new RMConfiguration();
         when(manager.getEffectiveConfiguration(message)).thenReturn(cfg);
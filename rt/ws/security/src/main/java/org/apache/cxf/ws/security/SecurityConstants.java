@@ -116,6 +116,23 @@ public final class SecurityConstants extends org.apache.cxf.rt.security.Security
      */
     public static final String ENABLE_SAML_ONE_TIME_USE_CACHE = "ws-security.enable.saml.cache";
 
+    /**
+     * Whether to cache the result of successfully validating a signed SAML Assertion or an X.509
+     * certificate, so that the trust validation (and any dispatch to an STS) is skipped when the same
+     * token is received again by the same endpoint. Cached results expire when the token expires, and
+     * SAML2 Assertions with a "OneTimeUse" Condition are never cached. Until a cached result expires,
+     * revocation and CRL checks are skipped for the token as well. The default value is "false".
+     */
+    public static final String ENABLE_VALIDATED_TOKEN_CACHE = "ws-security.enable.validated.token.cache";
+
+    /**
+     * Whether the (DOM) WSS4JInInterceptor processes a received message on the plain DOM Document that
+     * holds the SOAP headers, instead of first building a SAAJ SOAPMessage. The SOAP Body is read into
+     * the same Document, and a SAAJ SOAPMessage is only created afterwards if something else (e.g. a
+     * JAX-WS SOAPHandler) needs one. The default value is "false".
+     */
+    public static final String DISABLE_INBOUND_SAAJ = "ws-security.disable.inbound.saaj";
+
     /**
      * Whether to store bytes (CipherData or BinarySecurityToken) in an attachment. The default is
      * true if MTOM is enabled. Set it to false to BASE-64 encode the bytes and "inlined" them in
@@ -217,6 +234,13 @@ public final class SecurityConstants extends org.apache.cxf.rt.security.Security
      */
     public static final String SAML_ONE_TIME_USE_CACHE_INSTANCE = "ws-security.saml.cache.instance";
 
+    /**
+     * This holds a reference to a ValidatedTokenCache instance used to cache the results of validating
+     * received tokens, when "ws-security.enable.validated.token.cache" is "true". The default instance
+     * is shared by all the messages of an endpoint.
+     */
+    public static final String VALIDATED_TOKEN_CACHE_INSTANCE = "ws-security.validated.token.cache.instance";
+
     /**
      * Set this property to point to a configuration file for the underlying caching implementation for the
      * TokenStore. The default configuration file that is used is cxf-ehcache.xml in this module.
@@ -515,7 +539,8 @@ public final class SecurityConstants extends org.apache.cxf.rt.security.Security
             BST_TOKEN_VALIDATOR, SCT_TOKEN_VALIDATOR, TOKEN, TOKEN_ID, SUBJECT_ROLE_CLASSIFIER,
             SUBJECT_ROLE_CLASSIFIER_TYPE, MUST_UNDERSTAND, ASYMMETRIC_SIGNATURE_ALGORITHM,
             PASSWORD_ENCRYPTOR_INSTANCE, ENABLE_SAML_ONE_TIME_USE_CACHE,
-            SAML_ONE_TIME_USE_CACHE_INSTANCE, ENABLE_STREAMING_SECURITY, RETURN_SECURITY_ERROR,
+            SAML_ONE_TIME_USE_CACHE_INSTANCE, ENABLE_VALIDATED_TOKEN_CACHE, VALIDATED_TOKEN_CACHE_INSTANCE,
+            DISABLE_INBOUND_SAAJ, ENABLE_STREAMING_SECURITY, RETURN_SECURITY_ERROR,
             CACHE_IDENTIFIER, DELEGATED_CREDENTIAL, KERBEROS_USE_CREDENTIAL_DELEGATION,
             KERBEROS_IS_USERNAME_IN_SERVICENAME_FORM, KERBEROS_REQUEST_CREDENTIAL_DELEGATION,
             POLICY_VALIDATOR_MAP, STORE_BYTES_IN_ATTACHMENT, USE_ATTACHMENT_ENCRYPTION_CONTENT_ONLY_TRANSFORM,
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.ws.security.cache;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A simple in-memory cache of the tokens that were successfully validated. Only the fact that a
+ * token was found valid is kept, no state derived from it, so every message still builds its
+ * principal and subject from the token it received. An entry is keyed by a digest of the token,
+ * and expires after the configured time to live (300 seconds by default), or earlier if the token
+ * itself expires before. Once the cache reaches the maximum number of items, expired entries are
+ * evicted and, if the cache is still full, it is cleared.
+ */
+public class ValidatedTokenCache {
+
+    private final Map<String, Instant> cache = new ConcurrentHashMap<>();
+
+    private long maxCacheItems = 10000L;
+    private long ttl = 300L;
+
+    public long getMaxCacheItems() {
+        return maxCacheItems;
+    }
+
+    public void setMaxCacheItems(long maxCacheItems) {
+        this.maxCacheItems = maxCacheItems;
+    }
+
+    /**
+     * Get the time to live of a cached entry in seconds
+     */
+    public long getTTL() {
+        return ttl;
+    }
+
+    /**
+     * Set the time to live of a cached entry in seconds. Revocation of a certificate (or of the key
+     * signing a SAML Assertion) is not noticed before the cached entry expires.
+     */
+    public void setTTL(long newTtl) {
+        ttl = newTtl;
+    }
+
+    /**
+     * Record that a token was successfully validated.
+     * @param key a digest of the validated token
+     * @param expires the time at which the token expires, or null if it doesn't expire
+     */
+    public void add(String key, Instant expires) {
+        Instant now = Instant.now();
+        Instant cacheExpires = now.plusSeconds(ttl);
+        if (expires != null && expires.isBefore(cacheExpires)) {
+            cacheExpires = expires;
+        }
+        if (!cacheExpires.isAfter(now)) {
+            return;
+        }
+        if (cache.size() >= maxCacheItems) {
+            cache.values().removeIf(v -> !v.isAfter(now));
+            if (cache.size() >= maxCacheItems) {
+                cache.clear();
+            }
+        }
+        cache.put(key, cacheExpires);
+    }
+
+    /**
+     * Whether a token was successfully validated, and the cached result has not expired yet.
+     * @param key a digest of the received token
+     */
+    public boolean isValidated(String key) {
+        Instant expires = cache.get(key);
+        if (expires == null) {
+            return false;
+        }
+        if (!expires.isAfter(Instant.now())) {
+            cache.remove(key, expires);
+            return false;
+        }
+        return true;
+    }
+
+    public void remove(String key) {
+        cache.remove(key);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
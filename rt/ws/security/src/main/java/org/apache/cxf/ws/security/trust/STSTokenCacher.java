@@ -22,6 +22,8 @@ package org.apache.cxf.ws.security.trust;
 import org.w3c.dom.Element;
 
 import org.apache.cxf.message.Message;
+import org.apache.cxf.rt.security.utils.SecurityUtils;
+import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.cxf.ws.security.tokenstore.SecurityToken;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreException;
 
@@ -60,5 +62,15 @@ public interface STSTokenCacher {
      */
     void removeToken(Message message, SecurityToken securityToken) throws TokenStoreException;
 
+    /**
+     * Whether a token cached in the endpoint that is about to expire, but has not expired yet, may still be
+     * used while it is renewed in the background. By default this is controlled by the
+     * SecurityConstants.STS_TOKEN_RENEW_IN_BACKGROUND property.
+     */
+    default boolean isRenewInBackground(Message message) {
+        return SecurityUtils.getSecurityPropertyBoolean(SecurityConstants.STS_TOKEN_RENEW_IN_BACKGROUND,
+                                                        message, false);
+    }
+
 }
 
@@ -20,16 +20,28 @@
 package org.apache.cxf.ws.security.trust;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.w3c.dom.Element;
 
+import org.apache.cxf.Bus;
 import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
 import org.apache.cxf.rt.security.utils.SecurityUtils;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.workqueue.AutomaticWorkQueue;
+import org.apache.cxf.workqueue.WorkQueueManager;
 import org.apache.cxf.ws.addressing.AddressingProperties;
+import org.apache.cxf.ws.addressing.JAXWSAConstants;
 import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.cxf.ws.security.tokenstore.SecurityToken;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreException;
@@ -43,6 +55,8 @@ public final class STSTokenRetriever {
     private static final Logger LOG = LogUtils.getL7dLogger(STSTokenRetriever.class);
     private static final String ASSOCIATED_TOKEN =
         STSTokenRetriever.class.getName() + "-" + "Associated_Token";
+    // ids of the tokens currently renewed in the background
+    private static final Set<String> RENEWING = ConcurrentHashMap.newKeySet();
 
     private STSTokenRetriever() {
     }
@@ -66,6 +80,14 @@ public final class STSTokenRetriever {
         }
         
         STSClient client = STSUtils.getClientWithIssuer(message, "sts", params.getIssuer());
+
+        // A valid token cached in the endpoint is returned without waiting for a
+        // thread that currently talks to the STS
+        SecurityToken cachedToken = getCachedToken(message, client, appliesTo, params, tokenCacher);
+        if (cachedToken != null) {
+            return cachedToken;
+        }
+
         synchronized (client) {
             try {
                 client.setMessage(message);
@@ -140,11 +162,41 @@ public final class STSTokenRetriever {
                                               true);
     }
 
-    private static SecurityToken renewToken(
-                                     Message message,
-                                     SecurityToken tok,
-                                     TokenRequestParams params,
-                                     STSTokenCacher tokenCacher) {
+    /**
+     * Look up a token cached for a request without delegation tokens, without holding the
+     * lock of the STS client. A token that is about to expire is only returned when it is
+     * renewed in the background. The token is not stored again, a token cached in the endpoint
+     * is only put on the current exchange.
+     */
+    private static SecurityToken getCachedToken(Message message, STSClient client, String appliesTo,
+                                                TokenRequestParams params, STSTokenCacher tokenCacher) {
+        if (client.actAs != null || client.onBehalfOf != null
+            || SecurityUtils.getSecurityPropertyValue(SecurityConstants.STS_TOKEN_ACT_AS, message) != null
+            || SecurityUtils.getSecurityPropertyValue(SecurityConstants.STS_TOKEN_ON_BEHALF_OF, message) != null) {
+            return null;
+        }
+        try {
+            boolean cacheToken = isCachedTokenFromEndpoint(message, null, null);
+            SecurityToken secToken = tokenCacher.retrieveToken(message, cacheToken);
+            if (secToken == null || secToken.isExpired()) {
+                return null;
+            }
+            if (secToken.isAboutToExpire(getImminentExpiry(message))
+                && !(cacheToken && tokenCacher.isRenewInBackground(message)
+                    && renewInBackground(message, client, secToken, appliesTo, params, tokenCacher))) {
+                return null;
+            }
+            if (cacheToken) {
+                message.getExchange().put(SecurityConstants.TOKEN, secToken);
+                message.getExchange().put(SecurityConstants.TOKEN_ID, secToken.getId());
+            }
+            return secToken;
+        } catch (TokenStoreException ex) {
+            throw new Fault(ex);
+        }
+    }
+
+    private static long getImminentExpiry(Message message) {
         String imminentExpiryValue =
             (String)SecurityUtils.getSecurityPropertyValue(SecurityConstants.STS_TOKEN_IMMINENT_EXPIRY_VALUE,
                                                            message);
@@ -152,9 +204,134 @@ public final class STSTokenRetriever {
         if (imminentExpiryValue != null) {
             imminentExpiry = Long.parseLong(imminentExpiryValue);
         }
+        return imminentExpiry;
+    }
+
+    /**
+     * Renew a token cached in the endpoint on the bus work queue, unless that is already in
+     * progress. The old token stays in the cache until its replacement is stored. The renewal
+     * does not touch the request message, which is processed further meanwhile, but a message
+     * of its own, bound to the endpoint of the request.
+     *
+     * @return false if the renewal could not be started
+     */
+    private static boolean renewInBackground(Message message, STSClient client, SecurityToken tok,
+                                             String appliesTo, TokenRequestParams params,
+                                             STSTokenCacher tokenCacher) {
+        Bus bus = message.getExchange() == null ? null : message.getExchange().getBus();
+        WorkQueueManager manager = bus == null ? null : bus.getExtension(WorkQueueManager.class);
+        AutomaticWorkQueue queue = manager == null ? null : manager.getAutomaticWorkQueue();
+        if (queue == null) {
+            return false;
+        }
+        if (!RENEWING.add(tok.getId())) {
+            return true;
+        }
+        final Message renewMessage = createRenewMessage(message);
+        try {
+            queue.execute(() -> {
+                try {
+                    doRenewInBackground(renewMessage, client, tok, appliesTo, params, tokenCacher);
+                } finally {
+                    RENEWING.remove(tok.getId());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            RENEWING.remove(tok.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Create a message for the endpoint of the request, holding the security and addressing
+     * properties set on the request itself. The cached token is not copied, so that it is
+     * looked up in the endpoint.
+     */
+    private static Message createRenewMessage(Message message) {
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Bus.class, message.getExchange().getBus());
+        exchange.put(Endpoint.class, message.getExchange().getEndpoint());
+        exchange.put(Service.class, message.getExchange().getService());
+        Message renewMessage = new MessageImpl();
+        renewMessage.setExchange(exchange);
+        exchange.setOutMessage(renewMessage);
+        for (String s : SecurityConstants.ALL_PROPERTIES) {
+            if (!SecurityConstants.TOKEN.equals(s) && !SecurityConstants.TOKEN_ID.equals(s)) {
+                copyProperty(message, renewMessage, s);
+                copyProperty(message, renewMessage, s + ".it");
+            }
+        }
+        copyProperty(message, renewMessage, JAXWSAConstants.ADDRESSING_PROPERTIES_OUTBOUND);
+        copyProperty(message, renewMessage, JAXWSAConstants.CLIENT_ADDRESSING_PROPERTIES);
+        return renewMessage;
+    }
+
+    private static void copyProperty(Message from, Message to, String key) {
+        Object value = from.getContextualProperty(key);
+        if (value != null) {
+            to.put(key, value);
+        }
+    }
 
+    private static void doRenewInBackground(Message message, STSClient client, SecurityToken tok,
+                                            String appliesTo, TokenRequestParams params,
+                                            STSTokenCacher tokenCacher) {
+        synchronized (client) {
+            try {
+                SecurityToken current = tokenCacher.retrieveToken(message, true);
+                if (current != null && !tok.getId().equals(current.getId())) {
+                    // replaced on the request path in the meantime
+                    return;
+                }
+                final SecurityToken renewed;
+                if (client.isAllowRenewing()) {
+                    prepareRenew(message, client, params);
+                    renewed = client.renewSecurityToken(tok);
+                } else {
+                    client.setMessage(message);
+                    renewed = getTokenFromSTS(message, client, appliesTo, params);
+                }
+                if (renewed != null) {
+                    tokenCacher.removeToken(message, tok);
+                    tokenCacher.storeToken(message, renewed, true);
+                }
+            } catch (Exception ex) {
+                // the token is renewed on the request path once it has expired
+                LOG.log(Level.WARNING, "Error renewing a token", ex);
+            } finally {
+                client.setTrust((Trust10)null);
+                client.setTrust((Trust13)null);
+                client.setTemplate(null);
+                client.setAddressingNamespace(null);
+            }
+        }
+    }
+
+    private static void prepareRenew(Message message, STSClient client, TokenRequestParams params) {
+        Map<String, Object> ctx = client.getRequestContext();
+        mapSecurityProps(message, ctx);
+
+        client.setMessage(message);
+
+        String addressingNamespace = getAddressingNamespaceURI(message);
+        if (addressingNamespace != null) {
+            client.setAddressingNamespace(addressingNamespace);
+        }
+
+        client.setTrust(params.getTrust10());
+        client.setTrust(params.getTrust13());
+
+        client.setTemplate(params.getTokenTemplate());
+    }
+
+    private static SecurityToken renewToken(
+                                     Message message,
+                                     SecurityToken tok,
+                                     TokenRequestParams params,
+                                     STSTokenCacher tokenCacher) {
         // If the token has not expired then we don't need to renew it
-        if (!(tok.isExpired() || tok.isAboutToExpire(imminentExpiry))) {
+        if (!(tok.isExpired() || tok.isAboutToExpire(getImminentExpiry(message)))) {
             return tok;
         }
 
@@ -174,20 +351,7 @@ public final class STSTokenRetriever {
 
         synchronized (client) {
             try {
-                Map<String, Object> ctx = client.getRequestContext();
-                mapSecurityProps(message, ctx);
-
-                client.setMessage(message);
-
-                String addressingNamespace = getAddressingNamespaceURI(message);
-                if (addressingNamespace != null) {
-                    client.setAddressingNamespace(addressingNamespace);
-                }
-
-                client.setTrust(params.getTrust10());
-                client.setTrust(params.getTrust13());
-
-                client.setTemplate(params.getTokenTemplate());
+                prepareRenew(message, client, params);
                 return client.renewSecurityToken(tok);
             } catch (RuntimeException ex) {
                 LOG.log(Level.WARNING, "Error renewing a token", ex);
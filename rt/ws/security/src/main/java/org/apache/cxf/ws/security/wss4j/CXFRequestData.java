@@ -18,14 +18,20 @@
  */
 package org.apache.cxf.ws.security.wss4j;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import javax.xml.namespace.QName;
 
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.common.classloader.ClassLoaderUtils;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.ws.security.SecurityConstants;
+import org.apache.cxf.ws.security.cache.ValidatedTokenCache;
 import org.apache.wss4j.common.ext.WSSecurityException;
 import org.apache.wss4j.dom.WSConstants;
 import org.apache.wss4j.dom.handler.RequestData;
@@ -33,6 +39,9 @@ import org.apache.wss4j.dom.validate.Validator;
 
 public class CXFRequestData extends RequestData {
 
+    private static final Set<QName> CACHEABLE_TOKENS = new HashSet<>(Arrays.asList(
+        WSConstants.SAML_TOKEN, WSConstants.SAML2_TOKEN, WSConstants.SIGNATURE, WSConstants.BINARY_TOKEN));
+
     private static Map<QName, String> validatorKeys = new HashMap<>();
 
     static {
@@ -50,6 +59,29 @@ public class CXFRequestData extends RequestData {
     }
 
     public Validator getValidator(QName qName) throws WSSecurityException {
+        Validator validator = loadValidator(qName);
+        if (validator != null && !(validator instanceof CachingValidator)
+            && CACHEABLE_TOKENS.contains(qName) && this.getMsgContext() != null) {
+            SoapMessage message = (SoapMessage)this.getMsgContext();
+            ValidatedTokenCache cache = WSS4JUtils.getValidatedTokenCache(message);
+            String endpointId = getEndpointId(message);
+            if (cache != null && endpointId != null) {
+                return new CachingValidator(qName, validator, cache, endpointId);
+            }
+        }
+        return validator;
+    }
+
+    private static String getEndpointId(SoapMessage message) {
+        Endpoint ep = message.getExchange() == null ? null : message.getExchange().getEndpoint();
+        if (ep == null || ep.getEndpointInfo() == null) {
+            return null;
+        }
+        EndpointInfo info = ep.getEndpointInfo();
+        return info.getName() + "@" + info.getAddress();
+    }
+
+    private Validator loadValidator(QName qName) throws WSSecurityException {
         String key = validatorKeys.get(qName);
         if (key != null && this.getMsgContext() != null) {
             Object o = ((SoapMessage)this.getMsgContext()).getContextualProperty(key);
@@ -0,0 +1,223 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.security.PublicKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.security.auth.Subject;
+import javax.xml.namespace.QName;
+
+import org.apache.cxf.ws.security.cache.ValidatedTokenCache;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.common.saml.SAMLKeyInfo;
+import org.apache.wss4j.common.saml.SamlAssertionWrapper;
+import org.apache.wss4j.dom.WSConstants;
+import org.apache.wss4j.dom.handler.RequestData;
+import org.apache.wss4j.dom.validate.Credential;
+import org.apache.wss4j.dom.validate.Validator;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.SubjectConfirmation;
+
+/**
+ * A Validator that caches the fact that another Validator successfully validated a received token,
+ * so that the trust validation (or the dispatch to an STS) is skipped when the same token is
+ * received again by the same endpoint. Only signed SAML Assertions without a "OneTimeUse" Condition
+ * (keyed by the signature value and the signing key), and X.509 certificates (keyed by the
+ * certificate chain) are cached. The keys also hold the endpoint and the class of the delegate, so
+ * a cache instance shared between endpoints never lets a token validated for one endpoint skip the
+ * validation of another.
+ * <p>
+ * Nothing but the verdict is cached. A validation that transforms the token, or sets a principal or
+ * subject on the Credential, is not cached, as a cache hit returns the received Credential as is.
+ * The signature of a SAML Assertion is still verified for every message before it gets validated.
+ * <p>
+ * A cached result expires at the latest when the certificate or the SAML Assertion expires, that is
+ * at the NotOnOrAfter of its Conditions or of any SubjectConfirmationData, or once its IssueInstant
+ * is older than {@link #setIssueInstantTTL(long) issueInstantTTL}. Until then, the revocation and CRL
+ * checks of the delegate are skipped as well, so a revoked certificate or signing key is only
+ * rejected after the cached result expired.
+ */
+public class CachingValidator implements Validator {
+
+    private final QName type;
+    private final Validator delegate;
+    private final ValidatedTokenCache cache;
+    private final String scope;
+    private long issueInstantTTL = 30L * 60L;
+
+    /**
+     * @param endpointId identifies the endpoint the tokens are validated for
+     */
+    public CachingValidator(QName type, Validator delegate, ValidatedTokenCache cache, String endpointId) {
+        this.type = type;
+        this.delegate = delegate;
+        this.cache = cache;
+        this.scope = endpointId + '|' + delegate.getClass().getName() + '|' + type;
+    }
+
+    public Credential validate(Credential credential, RequestData data) throws WSSecurityException {
+        String key = getKey(credential);
+        if (key != null && cache.isValidated(key)) {
+            return credential;
+        }
+
+        Principal principal = credential.getPrincipal();
+        Subject subject = credential.getSubject();
+        Credential validatedCredential = delegate.validate(credential, data);
+        if (key != null && validatedCredential == credential
+            && validatedCredential.getTransformedToken() == null
+            && validatedCredential.getPrincipal() == principal
+            && validatedCredential.getSubject() == subject) {
+            cache.add(key, getExpires(credential));
+        }
+        return validatedCredential;
+    }
+
+    public Validator getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Get the time in seconds after the IssueInstant of a SAML Assertion, after which its cached
+     * validation expires. The default is 30 minutes, the default TTL of the WSS4J SAML validator.
+     */
+    public long getIssueInstantTTL() {
+        return issueInstantTTL;
+    }
+
+    /**
+     * Set the time in seconds after the IssueInstant of a SAML Assertion, after which its cached
+     * validation expires. It should not exceed the TTL the delegate checks the IssueInstant with.
+     */
+    public void setIssueInstantTTL(long issueInstantTTL) {
+        this.issueInstantTTL = issueInstantTTL;
+    }
+
+    private String getKey(Credential credential) throws WSSecurityException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new WSSecurityException(WSSecurityException.ErrorCode.FAILURE, ex);
+        }
+        digest.update(scope.getBytes(StandardCharsets.UTF_8));
+
+        SamlAssertionWrapper assertion = credential.getSamlAssertion();
+        if (WSConstants.SAML_TOKEN.equals(type) || WSConstants.SAML2_TOKEN.equals(type)) {
+            if (assertion == null || !assertion.isSigned() || isOneTimeUse(assertion)) {
+                return null;
+            }
+            byte[] signatureValue = assertion.getSignatureValue();
+            SAMLKeyInfo keyInfo = assertion.getSignatureKeyInfo();
+            if (signatureValue == null || signatureValue.length == 0 || keyInfo == null) {
+                return null;
+            }
+            digest.update(signatureValue);
+            if (!update(digest, keyInfo.getCerts(), keyInfo.getPublicKey())) {
+                return null;
+            }
+        } else if (assertion == null) {
+            // The certificates of the BinarySecurityToken, or used to verify a Signature
+            if (!update(digest, credential.getCertificates(), null)) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        return type.getLocalPart() + ':' + Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static boolean update(MessageDigest digest, X509Certificate[] certs, PublicKey publicKey)
+        throws WSSecurityException {
+        boolean updated = false;
+        if (certs != null) {
+            try {
+                for (X509Certificate cert : certs) {
+                    digest.update(cert.getEncoded());
+                    updated = true;
+                }
+            } catch (CertificateEncodingException ex) {
+                throw new WSSecurityException(WSSecurityException.ErrorCode.FAILURE, ex);
+            }
+        }
+        if (publicKey != null && publicKey.getEncoded() != null) {
+            digest.update(publicKey.getEncoded());
+            updated = true;
+        }
+        return updated;
+    }
+
+    private static boolean isOneTimeUse(SamlAssertionWrapper assertion) {
+        return assertion.getSaml2() != null && assertion.getSaml2().getConditions() != null
+            && assertion.getSaml2().getConditions().getOneTimeUse() != null;
+    }
+
+    private Instant getExpires(Credential credential) {
+        Instant expires = null;
+        SamlAssertionWrapper assertion = credential.getSamlAssertion();
+        if (assertion != null) {
+            Instant issueInstant = null;
+            Assertion saml2 = assertion.getSaml2();
+            if (saml2 != null) {
+                if (saml2.getConditions() != null) {
+                    expires = earliest(expires, saml2.getConditions().getNotOnOrAfter());
+                }
+                if (saml2.getSubject() != null) {
+                    for (SubjectConfirmation confirmation : saml2.getSubject().getSubjectConfirmations()) {
+                        if (confirmation.getSubjectConfirmationData() != null) {
+                            expires = earliest(expires,
+                                               confirmation.getSubjectConfirmationData().getNotOnOrAfter());
+                        }
+                    }
+                }
+                issueInstant = saml2.getIssueInstant();
+            } else if (assertion.getSaml1() != null) {
+                if (assertion.getSaml1().getConditions() != null) {
+                    expires = earliest(expires, assertion.getSaml1().getConditions().getNotOnOrAfter());
+                }
+                issueInstant = assertion.getSaml1().getIssueInstant();
+            }
+            if (issueInstant != null) {
+                expires = earliest(expires, issueInstant.plusSeconds(issueInstantTTL));
+            }
+        } else if (credential.getCertificates() != null) {
+            for (X509Certificate cert : credential.getCertificates()) {
+                expires = earliest(expires, cert.getNotAfter().toInstant());
+            }
+        }
+        return expires;
+    }
+
+    private static Instant earliest(Instant expires, Instant other) {
+        if (other == null || expires != null && !other.isBefore(expires)) {
+            return expires;
+        }
+        return other;
+    }
+}
@@ -117,19 +117,29 @@ public class CryptoCoverageChecker extends AbstractSoapInterceptor {
             // return
         }
 
-        if (message.getContent(SOAPMessage.class) == null) {
-            throw new SoapFault("Error obtaining SOAP document", Fault.FAULT_CODE_CLIENT);
-        }
-
         final Element documentElement;
-        try {
-            SOAPMessage saajDoc = message.getContent(SOAPMessage.class);
-            SOAPEnvelope envelope = saajDoc.getSOAPPart().getEnvelope();
-            if (!checkFaults && envelope.getBody().hasFault()) {
+        SOAPMessage saajDoc = message.getContent(SOAPMessage.class);
+        if (saajDoc != null) {
+            try {
+                SOAPEnvelope envelope = saajDoc.getSOAPPart().getEnvelope();
+                if (!checkFaults && envelope.getBody().hasFault()) {
+                    return;
+                }
+                documentElement = (Element)DOMUtils.getDomElement(envelope);
+            } catch (SOAPException e) {
+                throw new SoapFault("Error obtaining SOAP document", Fault.FAULT_CODE_CLIENT);
+            }
+        } else if (message.getContent(Node.class) instanceof Document) {
+            // The message was processed without SAAJ
+            documentElement = ((Document)message.getContent(Node.class)).getDocumentElement();
+            Element body = DOMUtils.getFirstChildWithName(documentElement, message.getVersion().getBody());
+            Element fault = body == null ? null : DOMUtils.getFirstElement(body);
+            if (!checkFaults && fault != null
+                && message.getVersion().getFault().getNamespaceURI().equals(fault.getNamespaceURI())
+                && message.getVersion().getFault().getLocalPart().equals(fault.getLocalName())) {
                 return;
             }
-            documentElement = (Element)DOMUtils.getDomElement(envelope);
-        } catch (SOAPException e) {
+        } else {
             throw new SoapFault("Error obtaining SOAP document", Fault.FAULT_CODE_CLIENT);
         }
 
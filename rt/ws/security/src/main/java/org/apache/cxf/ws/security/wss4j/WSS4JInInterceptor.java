@@ -243,8 +243,6 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
         // Add Audience Restrictions for SAML
         reqData.setAudienceRestrictions(SAMLUtils.getAudienceRestrictions(msg, true));
 
-        SOAPMessage doc = getSOAPMessage(msg);
-
         boolean doDebug = LOG.isLoggable(Level.FINE);
 
         SoapVersion version = msg.getVersion();
@@ -311,22 +309,31 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
                                        msg));
             reqData.setEnableRevocation(enableRevocation);
 
-            Element soapBody = SAAJUtils.getBody(doc);
-            if (soapBody != null) {
-                engine.setCallbackLookup(new CXFCallbackLookup(soapBody.getOwnerDocument(), soapBody));
+            // Without SAAJ the message is processed on the DOM Document holding the SOAP headers
+            SOAPMessage doc = isSAAJDisabled(msg) ? null : getSOAPMessage(msg);
+            Element envelope = doc == null ? readSOAPBody(msg).getDocumentElement() : null;
+            Element header = doc == null
+                ? DOMUtils.getFirstChildWithName(envelope, version.getHeader()) : doc.getSOAPHeader();
+            Element body = doc == null
+                ? DOMUtils.getFirstChildWithName(envelope, version.getBody()) : SAAJUtils.getBody(doc);
+
+            if (body != null) {
+                engine.setCallbackLookup(new CXFCallbackLookup(body.getOwnerDocument(), body));
             }
 
             Element elem =
-                WSSecurityUtil.getSecurityHeader(doc.getSOAPHeader(), actor, version.getVersion() != 1.1);
+                WSSecurityUtil.getSecurityHeader(header, actor, version.getVersion() != 1.1);
             elem = (Element)DOMUtils.getDomElement(elem);
             Node originalNode = null;
-            if (elem != null) {
+            if (elem != null && doc != null) {
                 originalNode = elem.cloneNode(true);
             }
             WSHandlerResult wsResult = engine.processSecurityHeader(elem, reqData);
-            importNewDomToSAAJ(doc, elem, originalNode, wsResult);
-            Element header = SAAJUtils.getHeader(doc);
-            Element body = SAAJUtils.getBody(doc);
+            if (doc != null) {
+                importNewDomToSAAJ(doc, elem, originalNode, wsResult);
+                header = SAAJUtils.getHeader(doc);
+                body = SAAJUtils.getBody(doc);
+            }
             header = (Element)DOMUtils.getDomElement(header);
             body = (Element)DOMUtils.getDomElement(body);
             if (!(wsResult.getResults() == null || wsResult.getResults().isEmpty())) {
@@ -344,7 +351,7 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
                     wsResult, utWithCallbacks
                 );
             } else { // no security header found
-                if (doc.getSOAPPart().getEnvelope().getBody().hasFault() && isRequestor(msg)) {
+                if (hasFault(doc, body, version) && isRequestor(msg)) {
                     LOG.warning("The request is a SOAP Fault, but it is not secured");
                     // We allow lax action matching here for backwards compatibility
                     // with manually configured WSS4JInInterceptors that previously
@@ -368,10 +375,7 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
                               wsResult, utWithCallbacks);
                 }
             }
-            if (SAAJUtils.getBody(doc) != null) {
-                advanceBody(msg, body);
-            }
-            SAAJInInterceptor.replaceHeaders(doc, msg);
+            updateMessage(msg, doc, header, body);
 
             if (doDebug) {
                 LOG.fine("WSS4JInInterceptor: exit handleMessage()");
@@ -386,6 +390,56 @@ public class WSS4JInInterceptor extends AbstractWSS4JInterceptor {
             throw new SoapFault(new Message("SAAJ_EX", LOG), e, version.getSender());
         }
     }
+
+    /**
+     * Whether to process the message on the DOM Document read by the ReadHeadersInterceptor instead
+     * of building a SAAJ SOAPMessage. This is only possible if no SAAJ SOAPMessage has been set up yet.
+     */
+    private static boolean isSAAJDisabled(SoapMessage msg) {
+        return MessageUtils.getContextualBoolean(msg, SecurityConstants.DISABLE_INBOUND_SAAJ, false)
+            && msg.getContent(SOAPMessage.class) == null
+            && msg.getContent(Node.class) instanceof Document
+            && msg.getContent(XMLStreamReader.class) != null;
+    }
+
+    /**
+     * Read the rest of the SOAP Body from the XMLStreamReader into the Document which holds the
+     * SOAP Envelope and Header.
+     */
+    private static Document readSOAPBody(SoapMessage msg) throws XMLStreamException {
+        Document document = (Document)msg.getContent(Node.class);
+        Element envelope = document.getDocumentElement();
+        Element body = DOMUtils.getFirstChildWithName(envelope, msg.getVersion().getBody());
+        XMLStreamReader reader = msg.getContent(XMLStreamReader.class);
+        if (body != null && reader.hasNext()) {
+            boolean secureReader = StaxUtils.isSecureReader(reader, msg);
+            StaxUtils.readDocElements(document, body, reader,
+                                      new StaxUtils.StreamToDOMContext(true, false, !secureReader));
+        }
+        return document;
+    }
+
+    private void updateMessage(SoapMessage msg, SOAPMessage doc, Element header, Element body)
+        throws SOAPException, XMLStreamException, WSSecurityException {
+        if (body != null) {
+            advanceBody(msg, body);
+        }
+        if (doc != null) {
+            SAAJInInterceptor.replaceHeaders(doc, msg);
+        } else {
+            SAAJInInterceptor.replaceHeaders(header, msg);
+        }
+    }
+
+    private static boolean hasFault(SOAPMessage doc, Element body, SoapVersion version) throws SOAPException {
+        if (doc != null) {
+            return doc.getSOAPPart().getEnvelope().getBody().hasFault();
+        }
+        Element child = body == null ? null : DOMUtils.getFirstElement(body);
+        return child != null && version.getFault().getNamespaceURI().equals(child.getNamespaceURI())
+            && version.getFault().getLocalPart().equals(child.getLocalName());
+    }
+
     private void importNewDomToSAAJ(SOAPMessage doc, Element elem,
                                     Node originalNode, WSHandlerResult wsResult) throws SOAPException {
         if (DOMUtils.isJava9SAAJ()
@@ -47,6 +47,7 @@ import org.apache.cxf.rt.security.utils.SecurityUtils;
 import org.apache.cxf.service.model.EndpointInfo;
 import org.apache.cxf.ws.security.SecurityConstants;
 import org.apache.cxf.ws.security.cache.CXFEHCacheReplayCache;
+import org.apache.cxf.ws.security.cache.ValidatedTokenCache;
 import org.apache.cxf.ws.security.tokenstore.SecurityToken;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreException;
 import org.apache.cxf.ws.security.tokenstore.TokenStoreUtils;
@@ -157,6 +158,34 @@ public final class WSS4JUtils {
         return replayCache;
     }
 
+    /**
+     * Get the ValidatedTokenCache instance to use, or null if caching the results of validating
+     * received tokens is not enabled via the "ws-security.enable.validated.token.cache" property.
+     * It tries to get an instance via the "ws-security.validated.token.cache.instance" contextual
+     * property, and failing that creates one which is stored on the endpoint.
+     */
+    public static ValidatedTokenCache getValidatedTokenCache(SoapMessage message) {
+        Object o = message.getContextualProperty(SecurityConstants.ENABLE_VALIDATED_TOKEN_CACHE);
+        if (!PropertyUtils.isTrue(o)) {
+            return null;
+        }
+
+        String instanceKey = SecurityConstants.VALIDATED_TOKEN_CACHE_INSTANCE;
+        ValidatedTokenCache cache = (ValidatedTokenCache)message.getContextualProperty(instanceKey);
+        Endpoint ep = message.getExchange().getEndpoint();
+        if (cache == null && ep != null && ep.getEndpointInfo() != null) {
+            EndpointInfo info = ep.getEndpointInfo();
+            synchronized (info) {
+                cache = (ValidatedTokenCache)info.getProperty(instanceKey);
+                if (cache == null) {
+                    cache = new ValidatedTokenCache();
+                    info.setProperty(instanceKey, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
     public static String parseAndStoreStreamingSecurityToken(
         org.apache.xml.security.stax.securityToken.SecurityToken securityToken,
         Message message
@@ -36,7 +36,9 @@ import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
+import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import jakarta.xml.soap.SOAPException;
@@ -646,10 +648,9 @@ public abstract class AbstractSupportingTokenPolicyValidator extends AbstractSec
         }
 
         if (parts.isBody()) {
-            SOAPMessage soapMessage = message.getContent(SOAPMessage.class);
             final Element soapBody;
             try {
-                soapBody = soapMessage.getSOAPBody();
+                soapBody = getSOAPBody(message);
             } catch (SOAPException ex) {
                 LOG.log(Level.FINE, ex.getMessage(), ex);
                 return false;
@@ -661,10 +662,9 @@ public abstract class AbstractSupportingTokenPolicyValidator extends AbstractSec
         }
 
         for (Header h : parts.getHeaders()) {
-            SOAPMessage soapMessage = message.getContent(SOAPMessage.class);
             final Element soapHeader;
             try {
-                soapHeader = soapMessage.getSOAPHeader();
+                soapHeader = getSOAPHeader(message);
             } catch (SOAPException ex) {
                 LOG.log(Level.FINE, ex.getMessage(), ex);
                 return false;
@@ -688,6 +688,43 @@ public abstract class AbstractSupportingTokenPolicyValidator extends AbstractSec
         return true;
     }
 
+    /**
+     * Get the SOAP Envelope from the SAAJ SOAPMessage, or from the DOM Document if the message was
+     * processed without SAAJ
+     */
+    private static Element getSOAPEnvelope(Message message) {
+        SOAPMessage soapMessage = message.getContent(SOAPMessage.class);
+        if (soapMessage != null) {
+            return soapMessage.getSOAPPart().getDocumentElement();
+        }
+        Node node = message.getContent(Node.class);
+        return node instanceof Document ? ((Document)node).getDocumentElement() : null;
+    }
+
+    private static Element getSOAPBody(Message message) throws SOAPException {
+        SOAPMessage soapMessage = message.getContent(SOAPMessage.class);
+        if (soapMessage != null) {
+            return soapMessage.getSOAPBody();
+        }
+        return getSOAPEnvelopeChild(message, "Body");
+    }
+
+    private static Element getSOAPHeader(Message message) throws SOAPException {
+        SOAPMessage soapMessage = message.getContent(SOAPMessage.class);
+        if (soapMessage != null) {
+            return soapMessage.getSOAPHeader();
+        }
+        return getSOAPEnvelopeChild(message, "Header");
+    }
+
+    private static Element getSOAPEnvelopeChild(Message message, String localName) {
+        Element soapEnvelope = getSOAPEnvelope(message);
+        if (soapEnvelope == null) {
+            return null;
+        }
+        return DOMUtils.getFirstChildWithName(soapEnvelope, soapEnvelope.getNamespaceURI(), localName);
+    }
+
     /**
      * Check that an Element is signed or encrypted by one of the token results
      */
@@ -733,8 +770,7 @@ public abstract class AbstractSupportingTokenPolicyValidator extends AbstractSec
         //List<String> xpaths = elements.getXPathExpressions();
 
         if (xpaths != null && !xpaths.isEmpty()) {
-            SOAPMessage soapMessage = message.getContent(SOAPMessage.class);
-            Element soapEnvelope = soapMessage.getSOAPPart().getDocumentElement();
+            Element soapEnvelope = getSOAPEnvelope(message);
 
             // XPathFactory and XPath are not thread-safe so we must recreate them
             // each request.
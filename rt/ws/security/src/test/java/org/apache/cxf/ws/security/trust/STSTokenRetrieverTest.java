@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.trust;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.w3c.dom.Element;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.workqueue.AutomaticWorkQueue;
+import org.apache.cxf.workqueue.WorkQueueManager;
+import org.apache.cxf.ws.security.SecurityConstants;
+import org.apache.cxf.ws.security.tokenstore.SecurityToken;
+import org.apache.cxf.ws.security.trust.STSTokenRetriever.TokenRequestParams;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class STSTokenRetrieverTest {
+
+    private Endpoint endpoint;
+    private Message message;
+    private TestSTSClient client;
+    private TestTokenCacher tokenCacher;
+    private List<Runnable> tasks;
+
+    @Before
+    public void setUp() {
+        tasks = new ArrayList<>();
+        AutomaticWorkQueue queue = mock(AutomaticWorkQueue.class);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(queue).execute(any(Runnable.class));
+        WorkQueueManager manager = mock(WorkQueueManager.class);
+        when(manager.getAutomaticWorkQueue()).thenReturn(queue);
+        Bus bus = mock(Bus.class);
+        when(bus.getExtension(WorkQueueManager.class)).thenReturn(manager);
+
+        endpoint = mock(Endpoint.class);
+        client = new TestSTSClient(bus);
+        tokenCacher = new TestTokenCacher();
+
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Bus.class, bus);
+        exchange.put(Endpoint.class, endpoint);
+        message = new MessageImpl();
+        message.setExchange(exchange);
+        message.put(SecurityConstants.STS_CLIENT, client);
+        message.put(SecurityConstants.STS_APPLIES_TO, "http://localhost/service");
+        message.put(SecurityConstants.STS_CHECK_FOR_RECURSIVE_CALL, "false");
+        message.put(SecurityConstants.STS_TOKEN_RENEW_IN_BACKGROUND, "true");
+        message.put(SecurityConstants.USERNAME, "alice");
+    }
+
+    @Test
+    public void testConcurrentCacheHit() throws Exception {
+        SecurityToken token = new SecurityToken("token1", Instant.now(), Instant.now().plusSeconds(300));
+        tokenCacher.cached = token;
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SecurityToken>> results = new ArrayList<>();
+            // the cached token is served while another thread talks to the STS
+            synchronized (client) {
+                for (int i = 0; i < 20; i++) {
+                    results.add(executor.submit(() -> STSTokenRetriever.getToken(message, new TokenRequestParams(),
+                                                                                 tokenCacher)));
+                }
+                for (Future<SecurityToken> result : results) {
+                    assertSame(token, result.get(10, TimeUnit.SECONDS));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, tokenCacher.stored.get());
+        assertEquals(0, client.renewed.get());
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void testCacheHitSetsExchangeToken() throws Exception {
+        SecurityToken token = new SecurityToken("token1", Instant.now(), Instant.now().plusSeconds(300));
+        tokenCacher.cached = token;
+
+        assertSame(token, STSTokenRetriever.getToken(message, new TokenRequestParams(), tokenCacher));
+        // the token is made available on the exchange, e.g. for WS-RM to propagate it
+        Exchange exchange = message.getExchange();
+        assertSame(token, exchange.get(SecurityConstants.TOKEN));
+        assertEquals("token1", exchange.get(SecurityConstants.TOKEN_ID));
+        assertEquals(0, tokenCacher.stored.get());
+    }
+
+    @Test
+    public void testRenewInBackground() throws Exception {
+        // about to expire within the default imminent expiry of ten seconds
+        SecurityToken token = new SecurityToken("token1", Instant.now(), Instant.now().plusSeconds(5));
+        tokenCacher.cached = token;
+
+        assertSame(token, STSTokenRetriever.getToken(message, new TokenRequestParams(), tokenCacher));
+        assertSame(token, STSTokenRetriever.getToken(message, new TokenRequestParams(), tokenCacher));
+        assertEquals("only one renewal per token", 1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals(1, client.renewed.get());
+        SecurityToken renewed = tokenCacher.cached;
+        assertEquals("renewed-token1", renewed.getId());
+
+        // the renewal runs against the endpoint, not against the request
+        Message renewMessage = tokenCacher.storedWith;
+        assertNotSame(message, renewMessage);
+        assertSame(renewMessage, client.renewedWith);
+        assertSame(endpoint, renewMessage.getExchange().getEndpoint());
+        assertEquals("alice", renewMessage.get(SecurityConstants.USERNAME));
+
+        assertSame(renewed, STSTokenRetriever.getToken(message, new TokenRequestParams(), tokenCacher));
+        assertEquals(1, tasks.size());
+    }
+
+    static class TestSTSClient extends STSClient {
+        final AtomicInteger renewed = new AtomicInteger();
+        Message renewedWith;
+
+        TestSTSClient(Bus b) {
+            super(b);
+        }
+
+        @Override
+        public SecurityToken renewSecurityToken(SecurityToken tok) {
+            renewed.incrementAndGet();
+            renewedWith = message;
+            return new SecurityToken("renewed-" + tok.getId(), Instant.now(), Instant.now().plusSeconds(300));
+        }
+    }
+
+    static class TestTokenCacher implements STSTokenCacher {
+        final AtomicInteger stored = new AtomicInteger();
+        volatile SecurityToken cached;
+        Message storedWith;
+
+        public SecurityToken retrieveToken(Message msg, boolean retrieveTokenFromEndpoint) {
+            return cached;
+        }
+
+        public SecurityToken retrieveToken(Message msg, Element delegationToken, String cacheKey) {
+            return null;
+        }
+
+        public void storeToken(Message msg, SecurityToken securityToken, boolean storeTokenInEndpoint) {
+            stored.incrementAndGet();
+            storedWith = msg;
+            cached = securityToken;
+        }
+
+        public void storeToken(Message msg, Element delegationToken, String secTokenId, String cacheKey) {
+        }
+
+        public void removeToken(Message msg, SecurityToken securityToken) {
+            cached = null;
+        }
+    }
+}
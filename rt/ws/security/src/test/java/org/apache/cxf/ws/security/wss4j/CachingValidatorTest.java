@@ -0,0 +1,262 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.ws.security.cache.ValidatedTokenCache;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.common.principal.CustomTokenPrincipal;
+import org.apache.wss4j.common.saml.SAMLKeyInfo;
+import org.apache.wss4j.common.saml.SamlAssertionWrapper;
+import org.apache.wss4j.dom.WSConstants;
+import org.apache.wss4j.dom.handler.RequestData;
+import org.apache.wss4j.dom.validate.Credential;
+import org.apache.wss4j.dom.validate.Validator;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.Subject;
+import org.opensaml.saml.saml2.core.SubjectConfirmation;
+import org.opensaml.saml.saml2.core.SubjectConfirmationData;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CachingValidatorTest {
+
+    private static final String ENDPOINT = "{http://cxf.apache.org}Port@http://localhost:8080/service";
+
+    @Test
+    public void testCertificateValidatedOnce() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        Validator validator = new CachingValidator(WSConstants.BINARY_TOKEN, delegate, cache, ENDPOINT);
+        X509Certificate cert = mockCertificate(new byte[] {1, 2, 3}, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        validator.validate(createCredential(cert), new RequestData());
+        Credential credential = createCredential(cert);
+        assertSame(credential, validator.validate(credential, new RequestData()));
+        assertEquals(1, delegate.getCalls());
+        assertEquals(1, cache.size());
+
+        // A different certificate is validated again
+        X509Certificate otherCert =
+            mockCertificate(new byte[] {4, 5, 6}, Instant.now().plus(1, ChronoUnit.DAYS));
+        validator.validate(createCredential(otherCert), new RequestData());
+        assertEquals(2, delegate.getCalls());
+    }
+
+    @Test
+    public void testFailedValidationNotCached() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        delegate.setFail(true);
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        Validator validator = new CachingValidator(WSConstants.BINARY_TOKEN, delegate, cache, ENDPOINT);
+        X509Certificate cert = mockCertificate(new byte[] {1, 2, 3}, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                validator.validate(createCredential(cert), new RequestData());
+                fail("Failure expected on an invalid certificate");
+            } catch (WSSecurityException ex) {
+                // expected
+            }
+        }
+        assertEquals(2, delegate.getCalls());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExpiredCertificateNotCached() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        Validator validator = new CachingValidator(WSConstants.BINARY_TOKEN, delegate, cache, ENDPOINT);
+        X509Certificate cert = mockCertificate(new byte[] {1, 2, 3}, Instant.now().minus(1, ChronoUnit.DAYS));
+
+        validator.validate(createCredential(cert), new RequestData());
+        validator.validate(createCredential(cert), new RequestData());
+        assertEquals(2, delegate.getCalls());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testPrincipalNotCached() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        delegate.setPrincipal(true);
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        Validator validator = new CachingValidator(WSConstants.BINARY_TOKEN, delegate, cache, ENDPOINT);
+        X509Certificate cert = mockCertificate(new byte[] {1, 2, 3}, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        for (int i = 0; i < 2; i++) {
+            Credential credential = validator.validate(createCredential(cert), new RequestData());
+            assertEquals("alice", credential.getPrincipal().getName());
+        }
+        assertEquals(2, delegate.getCalls());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSamlAssertionValidatedOnce() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        Validator validator = new CachingValidator(WSConstants.SAML2_TOKEN, delegate, cache, ENDPOINT);
+        Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        validator.validate(createCredential(mockAssertion(new byte[] {1, 2, 3}, Instant.now(), later)),
+                           new RequestData());
+        Credential credential = createCredential(mockAssertion(new byte[] {1, 2, 3}, Instant.now(), later));
+        Credential validated = validator.validate(credential, new RequestData());
+        assertSame(credential, validated);
+        assertNull(validated.getPrincipal());
+        assertNull(validated.getTransformedToken());
+        assertEquals(1, delegate.getCalls());
+
+        // Another signature value is another assertion
+        validator.validate(createCredential(mockAssertion(new byte[] {4, 5, 6}, Instant.now(), later)),
+                           new RequestData());
+        assertEquals(2, delegate.getCalls());
+    }
+
+    @Test
+    public void testSamlAssertionExpiry() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        CachingValidator validator = new CachingValidator(WSConstants.SAML2_TOKEN, delegate, cache, ENDPOINT);
+        Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        // The SubjectConfirmationData has expired
+        Credential credential =
+            createCredential(mockAssertion(new byte[] {1}, Instant.now(), Instant.now().minusSeconds(1)));
+        validator.validate(credential, new RequestData());
+        assertEquals(0, cache.size());
+
+        // The IssueInstant is older than the TTL
+        credential = createCredential(mockAssertion(new byte[] {2}, Instant.now().minusSeconds(3600), later));
+        validator.validate(credential, new RequestData());
+        assertEquals(0, cache.size());
+
+        // The cached validation expires with the IssueInstant TTL
+        validator.setIssueInstantTTL(1L);
+        validator.validate(createCredential(mockAssertion(new byte[] {3}, Instant.now(), later)),
+                           new RequestData());
+        assertEquals(1, cache.size());
+        Thread.sleep(1100L);
+        validator.validate(createCredential(mockAssertion(new byte[] {3}, Instant.now(), later)),
+                           new RequestData());
+        assertEquals(4, delegate.getCalls());
+    }
+
+    @Test
+    public void testSharedCacheIsolatesEndpoints() throws Exception {
+        CountingValidator delegate = new CountingValidator();
+        ValidatedTokenCache cache = new ValidatedTokenCache();
+        Validator validator = new CachingValidator(WSConstants.SAML2_TOKEN, delegate, cache, ENDPOINT);
+        String otherEndpoint = "{http://cxf.apache.org}OtherPort@http://localhost:8080/other";
+        Validator otherValidator = new CachingValidator(WSConstants.SAML2_TOKEN, delegate, cache, otherEndpoint);
+        Instant later = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        validator.validate(createCredential(mockAssertion(new byte[] {1, 2, 3}, Instant.now(), later)),
+                           new RequestData());
+        otherValidator.validate(createCredential(mockAssertion(new byte[] {1, 2, 3}, Instant.now(), later)),
+                                new RequestData());
+        assertEquals("the other endpoint must validate the assertion itself", 2, delegate.getCalls());
+        assertEquals(2, cache.size());
+    }
+
+    private static X509Certificate mockCertificate(byte[] encoded, Instant notAfter) throws Exception {
+        X509Certificate cert = mock(X509Certificate.class);
+        when(cert.getEncoded()).thenReturn(encoded);
+        when(cert.getNotAfter()).thenReturn(Date.from(notAfter));
+        return cert;
+    }
+
+    private static SamlAssertionWrapper mockAssertion(byte[] signatureValue, Instant issueInstant,
+                                                      Instant confirmationNotOnOrAfter) throws Exception {
+        SubjectConfirmationData confirmationData = mock(SubjectConfirmationData.class);
+        when(confirmationData.getNotOnOrAfter()).thenReturn(confirmationNotOnOrAfter);
+        SubjectConfirmation confirmation = mock(SubjectConfirmation.class);
+        when(confirmation.getSubjectConfirmationData()).thenReturn(confirmationData);
+        Subject subject = mock(Subject.class);
+        when(subject.getSubjectConfirmations()).thenReturn(Collections.singletonList(confirmation));
+        Assertion saml2 = mock(Assertion.class);
+        when(saml2.getIssueInstant()).thenReturn(issueInstant);
+        when(saml2.getSubject()).thenReturn(subject);
+
+        SamlAssertionWrapper assertion = mock(SamlAssertionWrapper.class);
+        when(assertion.getSaml2()).thenReturn(saml2);
+        when(assertion.isSigned()).thenReturn(true);
+        when(assertion.getSignatureValue()).thenReturn(signatureValue);
+        X509Certificate signer = mockCertificate(new byte[] {9, 9}, Instant.now().plus(1, ChronoUnit.DAYS));
+        when(assertion.getSignatureKeyInfo()).thenReturn(new SAMLKeyInfo(new X509Certificate[] {signer}));
+        return assertion;
+    }
+
+    private static Credential createCredential(X509Certificate cert) {
+        Credential credential = new Credential();
+        credential.setCertificates(new X509Certificate[] {cert});
+        return credential;
+    }
+
+    private static Credential createCredential(SamlAssertionWrapper assertion) {
+        Credential credential = new Credential();
+        credential.setSamlAssertion(assertion);
+        return credential;
+    }
+
+    private static final class CountingValidator implements Validator {
+        private final AtomicInteger calls = new AtomicInteger();
+        private boolean fail;
+        private boolean principal;
+
+        public Credential validate(Credential credential, RequestData data) throws WSSecurityException {
+            calls.incrementAndGet();
+            if (fail) {
+                throw new WSSecurityException(WSSecurityException.ErrorCode.FAILED_AUTHENTICATION);
+            }
+            if (principal) {
+                credential.setPrincipal(new CustomTokenPrincipal("alice"));
+            }
+            return credential;
+        }
+
+        void setFail(boolean fail) {
+            this.fail = fail;
+        }
+
+        void setPrincipal(boolean principal) {
+            this.principal = principal;
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+    }
+}
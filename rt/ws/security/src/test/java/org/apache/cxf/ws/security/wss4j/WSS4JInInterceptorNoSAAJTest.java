@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.ws.security.wss4j;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import jakarta.xml.soap.SOAPException;
+import jakarta.xml.soap.SOAPMessage;
+import org.apache.cxf.binding.soap.SoapMessage;
+import org.apache.cxf.binding.soap.interceptor.ReadHeadersInterceptor;
+import org.apache.cxf.binding.soap.interceptor.StartBodyInterceptor;
+import org.apache.cxf.headers.Header;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptor;
+import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.ws.security.SecurityConstants;
+import org.apache.wss4j.common.ConfigurationConstants;
+import org.apache.wss4j.common.WSS4JConstants;
+import org.apache.wss4j.common.ext.WSSecurityException;
+import org.apache.wss4j.dom.WSConstants;
+import org.apache.wss4j.dom.handler.WSHandlerConstants;
+import org.apache.wss4j.dom.handler.WSHandlerResult;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Processes inbound messages with ws-security.disable.inbound.saaj set, so that the
+ * WSS4JInInterceptor works on the DOM read by the ReadHeadersInterceptor.
+ */
+public class WSS4JInInterceptorNoSAAJTest extends AbstractSecurityTest {
+
+    private static final QName SECURITY = new QName(WSS4JConstants.WSSE_NS, "Security");
+    private static final String FAULT =
+        "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+        + "<soap:Header><Header xmlns=\"http://www.sdj.pl\">1234</Header></soap:Header>"
+        + "<soap:Body><soap:Fault><faultcode>soap:Server</faultcode>"
+        + "<faultstring>Unable to process the request</faultstring></soap:Fault></soap:Body>"
+        + "</soap:Envelope>";
+
+    @Test
+    public void testSignature() throws Exception {
+        Map<String, Object> outProperties = new HashMap<>();
+        outProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.SIGNATURE);
+        outProperties.put(ConfigurationConstants.SIG_PROP_FILE, "outsecurity.properties");
+        outProperties.put(ConfigurationConstants.USER, "myalias");
+        outProperties.put("password", "myAliasPassword");
+
+        Map<String, Object> inProperties = new HashMap<>();
+        inProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.SIGNATURE);
+        inProperties.put(ConfigurationConstants.SIG_VER_PROP_FILE, "insecurity.properties");
+
+        SoapMessage inmsg = readHeaders(secure(outProperties));
+        Header securityHeader = inmsg.getHeader(SECURITY);
+        assertNotNull(securityHeader);
+
+        BodyRecordingInterceptor inHandler = new BodyRecordingInterceptor(inProperties);
+        inHandler.handleMessage(inmsg);
+
+        assertNull(inmsg.getContent(SOAPMessage.class));
+        assertNotNull(getResults(inmsg).get(0).getActionResults().get(WSConstants.SIGN));
+        Document doc = (Document)inmsg.getContent(Node.class);
+        assertSame(doc, inHandler.body.getOwnerDocument());
+        assertEquals("echo", DOMUtils.getFirstElement(inHandler.body).getLocalName());
+        assertBodyReader(inmsg);
+        assertHeaderReplaced(inmsg, securityHeader, doc);
+    }
+
+    @Test
+    public void testEncryption() throws Exception {
+        Map<String, Object> outProperties = new HashMap<>();
+        outProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.ENCRYPTION);
+        outProperties.put(ConfigurationConstants.ENC_PROP_FILE, "outsecurity.properties");
+        outProperties.put(ConfigurationConstants.USER, "myalias");
+        outProperties.put("password", "myAliasPassword");
+
+        Map<String, Object> inProperties = new HashMap<>();
+        inProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.ENCRYPTION);
+        inProperties.put(ConfigurationConstants.DEC_PROP_FILE, "insecurity.properties");
+        inProperties.put(ConfigurationConstants.PW_CALLBACK_REF, new TestPwdCallback());
+
+        SoapMessage inmsg = readHeaders(secure(outProperties));
+        Header securityHeader = inmsg.getHeader(SECURITY);
+        assertNotNull(securityHeader);
+
+        BodyRecordingInterceptor inHandler = new BodyRecordingInterceptor(inProperties);
+        inHandler.handleMessage(inmsg);
+
+        assertNull(inmsg.getContent(SOAPMessage.class));
+        assertNotNull(getResults(inmsg).get(0).getActionResults().get(WSConstants.ENCR));
+        // the decrypted content, not the EncryptedData, is handed on as the body
+        Element child = DOMUtils.getFirstElement(inHandler.body);
+        assertEquals("http://www.sdj.pl", child.getNamespaceURI());
+        assertEquals("echo", child.getLocalName());
+        Document doc = (Document)inmsg.getContent(Node.class);
+        assertSame(doc, inHandler.body.getOwnerDocument());
+        assertBodyReader(inmsg);
+        assertHeaderReplaced(inmsg, securityHeader, doc);
+    }
+
+    @Test
+    public void testUnsecuredFault() throws Exception {
+        Map<String, Object> inProperties = new HashMap<>();
+        inProperties.put(ConfigurationConstants.ACTION, ConfigurationConstants.SIGNATURE);
+        inProperties.put(ConfigurationConstants.SIG_VER_PROP_FILE, "insecurity.properties");
+
+        SoapMessage inmsg = readHeaders(FAULT.getBytes(StandardCharsets.UTF_8));
+        inmsg.put(Message.REQUESTOR_ROLE, Boolean.TRUE);
+
+        // a fault without a security header is let through on the client side
+        BodyRecordingInterceptor inHandler = new BodyRecordingInterceptor(inProperties);
+        inHandler.handleMessage(inmsg);
+
+        assertNull(inmsg.getContent(SOAPMessage.class));
+        Element child = DOMUtils.getFirstElement(inHandler.body);
+        assertEquals("Fault", child.getLocalName());
+        Document doc = (Document)inmsg.getContent(Node.class);
+        Header header = inmsg.getHeader(new QName("http://www.sdj.pl", "Header"));
+        assertSame(doc, ((Element)header.getObject()).getOwnerDocument());
+    }
+
+    private byte[] secure(Map<String, Object> outProperties) throws Exception {
+        Document doc = readDocument("wsse-request-clean.xml");
+
+        WSS4JOutInterceptor ohandler = new WSS4JOutInterceptor();
+        PhaseInterceptor<SoapMessage> handler = ohandler.createEndingInterceptor();
+
+        SoapMessage msg = getSoapMessageForDom(doc);
+        msg.putAll(outProperties);
+        handler.handleMessage(msg);
+
+        return getMessageBytes(msg.getContent(SOAPMessage.class).getSOAPPart());
+    }
+
+    /**
+     * Reads the envelope and headers as the READ phase would, leaving the reader at the body content.
+     */
+    private SoapMessage readHeaders(byte[] bytes) throws Exception {
+        SoapMessage inmsg = new SoapMessage(new MessageImpl());
+        Exchange ex = new ExchangeImpl();
+        ex.setInMessage(inmsg);
+        inmsg.setContent(XMLStreamReader.class, StaxUtils.createXMLStreamReader(new ByteArrayInputStream(bytes)));
+        inmsg.put(SecurityConstants.DISABLE_INBOUND_SAAJ, "true");
+
+        new ReadHeadersInterceptor(null).handleMessage(inmsg);
+        new StartBodyInterceptor().handleMessage(inmsg);
+        assertTrue(inmsg.getContent(Node.class) instanceof Document);
+        return inmsg;
+    }
+
+    private static void assertBodyReader(SoapMessage inmsg) throws Exception {
+        XMLStreamReader reader = inmsg.getContent(XMLStreamReader.class);
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            reader.nextTag();
+        }
+        assertEquals("echo", reader.getLocalName());
+    }
+
+    private static void assertHeaderReplaced(SoapMessage inmsg, Header original, Document doc) {
+        Header processed = inmsg.getHeader(SECURITY);
+        assertNotNull(processed);
+        assertNotSame(original, processed);
+        assertSame(doc, ((Element)processed.getObject()).getOwnerDocument());
+    }
+
+    private static List<WSHandlerResult> getResults(SoapMessage inmsg) {
+        return CastUtils.cast((List<?>)inmsg.get(WSHandlerConstants.RECV_RESULTS));
+    }
+
+    static class BodyRecordingInterceptor extends WSS4JInInterceptor {
+        Element body;
+
+        BodyRecordingInterceptor(Map<String, Object> properties) {
+            super(properties);
+        }
+
+        @Override
+        protected void advanceBody(SoapMessage msg, Node b)
+            throws SOAPException, XMLStreamException, WSSecurityException {
+            body = (Element)b;
+            super.advanceBody(msg, b);
+        }
+    }
+}
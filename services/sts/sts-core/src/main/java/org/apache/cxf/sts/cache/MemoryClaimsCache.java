@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.sts.cache;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.cxf.rt.security.claims.Claim;
+import org.apache.cxf.rt.security.claims.ClaimCollection;
+import org.apache.cxf.sts.claims.ProcessedClaim;
+import org.apache.cxf.sts.claims.ProcessedClaimCollection;
+
+/**
+ * A simple in-memory ConcurrentHashMap based ClaimsCache. Entries expire after a configurable
+ * time to live (60 seconds by default). Once the cache reaches the maximum number of items,
+ * expired entries are evicted and, if the cache is still full, it is cleared.
+ */
+public class MemoryClaimsCache implements ClaimsCache {
+
+    private final Map<Key, Entry> cache = new ConcurrentHashMap<>();
+
+    private long maxCacheItems = 10000L;
+    private long ttl = 60L;
+
+    public long getMaxCacheItems() {
+        return maxCacheItems;
+    }
+
+    public void setMaxCacheItems(long maxCacheItems) {
+        this.maxCacheItems = maxCacheItems;
+    }
+
+    /**
+     * Get the time to live of a cached entry in seconds
+     */
+    public long getTTL() {
+        return ttl;
+    }
+
+    /**
+     * Set the time to live of a cached entry in seconds
+     */
+    public void setTTL(long newTtl) {
+        ttl = newTtl;
+    }
+
+    @Override
+    public void add(String user, String realm, String appliesTo, ClaimCollection claims,
+                    ProcessedClaimCollection claimValues) {
+        if (cache.size() >= maxCacheItems) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(e -> e.isExpired(now));
+            if (cache.size() >= maxCacheItems) {
+                cache.clear();
+            }
+        }
+        cache.put(new Key(user, realm, appliesTo, claims),
+                  new Entry(copy(claimValues), System.currentTimeMillis() + ttl * 1000L));
+    }
+
+    @Override
+    public ProcessedClaimCollection get(String user, String realm, String appliesTo, ClaimCollection claims) {
+        Key key = new Key(user, realm, appliesTo, claims);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            cache.remove(key, entry);
+            return null;
+        }
+        return copy(entry.claimValues);
+    }
+
+    @Override
+    public void remove(String user, String realm, String appliesTo, ClaimCollection claims) {
+        cache.remove(new Key(user, realm, appliesTo, claims));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private static ProcessedClaimCollection copy(ProcessedClaimCollection claimValues) {
+        ProcessedClaimCollection result = new ProcessedClaimCollection();
+        for (ProcessedClaim claim : claimValues) {
+            result.add(claim.clone());
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        private final ProcessedClaimCollection claimValues;
+        private final long expires;
+
+        Entry(ProcessedClaimCollection claimValues, long expires) {
+            this.claimValues = claimValues;
+            this.expires = expires;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expires;
+        }
+    }
+
+    private static final class Key {
+        private final String user;
+        private final String realm;
+        private final String appliesTo;
+        private final URI dialect;
+        private final List<Claim> claims;
+        private final int hash;
+
+        Key(String user, String realm, String appliesTo, ClaimCollection claims) {
+            this.user = user;
+            this.realm = realm;
+            this.appliesTo = appliesTo;
+            this.dialect = claims.getDialect();
+            this.claims = new ArrayList<>(claims.size());
+            for (Claim claim : claims) {
+                this.claims.add(claim.clone());
+            }
+            this.hash = Objects.hash(user, realm, appliesTo, dialect, this.claims);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key)obj;
+            return hash == other.hash
+                && Objects.equals(user, other.user)
+                && Objects.equals(realm, other.realm)
+                && Objects.equals(appliesTo, other.appliesTo)
+                && Objects.equals(dialect, other.dialect)
+                && claims.equals(other.claims);
+        }
+    }
+}
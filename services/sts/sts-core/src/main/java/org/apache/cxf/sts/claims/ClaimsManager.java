@@ -25,6 +25,14 @@ import java.security.Principal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,6 +42,7 @@ import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.rt.security.claims.Claim;
 import org.apache.cxf.rt.security.claims.ClaimCollection;
 import org.apache.cxf.sts.IdentityMapper;
+import org.apache.cxf.sts.cache.ClaimsCache;
 import org.apache.cxf.sts.token.realm.RealmSupport;
 import org.apache.cxf.sts.token.realm.Relationship;
 import org.apache.cxf.ws.security.sts.provider.STSException;
@@ -54,6 +63,9 @@ public class ClaimsManager {
     private List<String> supportedClaimTypes = new ArrayList<>();
     private boolean stopProcessingOnException = true;
     private IdentityMapper identityMapper;
+    private Executor executor;
+    private long timeout;
+    private ClaimsCache claimsCache;
 
 
     public IdentityMapper getIdentityMapper() {
@@ -72,6 +84,45 @@ public class ClaimsManager {
         this.stopProcessingOnException = stopProcessingOnException;
     }
 
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Set the Executor used to call the ClaimsHandlers. If an Executor is configured, every
+     * ClaimsHandler that supports some of the requested claims is called concurrently, and the
+     * results are merged in the order in which the ClaimsHandlers are configured. Otherwise the
+     * ClaimsHandlers are called one after the other on the calling thread.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the time in milliseconds to wait for all of the ClaimsHandlers to return, when they are
+     * called with an Executor. A ClaimsHandler which doesn't return in time is treated as if it had
+     * thrown an exception. The default of 0 waits without a deadline.
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    public ClaimsCache getClaimsCache() {
+        return claimsCache;
+    }
+
+    /**
+     * Set a cache for the claim values retrieved from the ClaimsHandlers. Claim values are cached
+     * per principal, realm, AppliesTo address and set of requested claims.
+     */
+    public void setClaimsCache(ClaimsCache claimsCache) {
+        this.claimsCache = claimsCache;
+    }
+
     public List<String> getSupportedClaimTypes() {
         return supportedClaimTypes;
     }
@@ -146,7 +197,16 @@ public class ClaimsManager {
         if (relationship == null || relationship.getType().equals(Relationship.FED_TYPE_IDENTITY)) {
             // Federate identity. Identity already mapped.
             // Call all configured claims handlers to retrieve the required claims
-            ProcessedClaimCollection returnCollection = handleClaims(claims, parameters);
+            ProcessedClaimCollection returnCollection = getCachedClaims(claims, parameters);
+            if (returnCollection == null) {
+                returnCollection = new ProcessedClaimCollection();
+                boolean complete = executor == null
+                    ? handleClaims(claims, parameters, returnCollection)
+                    : handleClaimsConcurrently(claims, parameters, returnCollection);
+                if (complete) {
+                    cacheClaims(claims, parameters, returnCollection);
+                }
+            }
             validateClaimValues(claims, returnCollection);
             return returnCollection;
 
@@ -178,12 +238,14 @@ public class ClaimsManager {
         return targetClaims;
     }
 
-    private ProcessedClaimCollection handleClaims(ClaimCollection claims, ClaimsParameters parameters) {
-        ProcessedClaimCollection returnCollection = new ProcessedClaimCollection();
+    private boolean handleClaims(ClaimCollection claims, ClaimsParameters parameters,
+                                 ProcessedClaimCollection returnCollection) {
         if (claimHandlers == null) {
-            return returnCollection;
+            return true;
         }
 
+        boolean complete = true;
+
         Principal originalPrincipal = parameters.getPrincipal();
         for (ClaimsHandler handler : claimHandlers) {
 
@@ -203,6 +265,7 @@ public class ClaimsManager {
                     if (this.isStopProcessingOnException()) {
                         throw ex;
                     }
+                    complete = false;
                 } finally {
                     // set original principal again, otherwise wrong principal passed to next claim handler in the list
                     // if no mapping required or wrong source principal used for next identity mapping
@@ -215,7 +278,125 @@ public class ClaimsManager {
             }
         }
 
-        return returnCollection;
+        return complete;
+    }
+
+    private boolean handleClaimsConcurrently(ClaimCollection claims, ClaimsParameters parameters,
+                                             ProcessedClaimCollection returnCollection) {
+        if (claimHandlers == null) {
+            return true;
+        }
+
+        List<ClaimsHandler> handlers = new ArrayList<>(claimHandlers.size());
+        List<Future<ProcessedClaimCollection>> results = new ArrayList<>(claimHandlers.size());
+        try {
+            for (ClaimsHandler handler : claimHandlers) {
+                ClaimCollection supportedClaims =
+                    filterHandlerClaims(claims, handler.getSupportedClaimTypes());
+                if (supportedClaims.isEmpty()) {
+                    continue;
+                }
+
+                // Each handler gets its own parameters, as the principal may be mapped to the handler realm
+                ClaimsParameters handlerParameters = copyParameters(parameters);
+                if (isCurrentRealmSupported(handler, handlerParameters)) {
+                    FutureTask<ProcessedClaimCollection> task = new FutureTask<>(
+                        () -> handler.retrieveClaimValues(supportedClaims, handlerParameters));
+                    try {
+                        executor.execute(task);
+                    } catch (RejectedExecutionException ex) {
+                        task.run();
+                    }
+                    handlers.add(handler);
+                    results.add(task);
+                }
+            }
+        } catch (RuntimeException ex) {
+            cancel(results, 0);
+            throw ex;
+        }
+
+        boolean complete = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        for (int i = 0; i < results.size(); i++) {
+            ClaimsHandler handler = handlers.get(i);
+            Future<ProcessedClaimCollection> result = results.get(i);
+            ProcessedClaimCollection claimCollection = null;
+            try {
+                if (timeout > 0) {
+                    claimCollection = result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } else {
+                    claimCollection = result.get();
+                }
+            } catch (ExecutionException | TimeoutException | CancellationException ex) {
+                Throwable cause = ex instanceof ExecutionException ? ex.getCause() : ex;
+                if (cause instanceof Error) {
+                    cancel(results, i + 1);
+                    throw (Error)cause;
+                }
+                LOG.log(Level.INFO, "Failed retrieving claims from ClaimsHandler "
+                        + handler.getClass().getName(), cause);
+                result.cancel(true);
+                if (this.isStopProcessingOnException()) {
+                    cancel(results, i + 1);
+                    if (cause instanceof RuntimeException && !(cause instanceof CancellationException)) {
+                        throw (RuntimeException)cause;
+                    }
+                    throw new STSException("Failed retrieving claims from ClaimsHandler "
+                            + handler.getClass().getName(), cause, STSException.REQUEST_FAILED);
+                }
+                complete = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cancel(results, i);
+                throw new STSException("Interrupted while retrieving claims", ex,
+                                       STSException.REQUEST_FAILED);
+            }
+
+            if (claimCollection != null && !claimCollection.isEmpty()) {
+                returnCollection.addAll(claimCollection);
+            }
+        }
+
+        return complete;
+    }
+
+    private static void cancel(List<Future<ProcessedClaimCollection>> results, int fromIndex) {
+        for (int i = fromIndex; i < results.size(); i++) {
+            results.get(i).cancel(true);
+        }
+    }
+
+    private static ClaimsParameters copyParameters(ClaimsParameters parameters) {
+        ClaimsParameters copy = new ClaimsParameters();
+        copy.setStsProperties(parameters.getStsProperties());
+        copy.setEncryptionProperties(parameters.getEncryptionProperties());
+        copy.setPrincipal(parameters.getPrincipal());
+        copy.setRoles(parameters.getRoles());
+        copy.setMessageContext(parameters.getMessageContext());
+        copy.setKeyRequirements(parameters.getKeyRequirements());
+        copy.setTokenRequirements(parameters.getTokenRequirements());
+        copy.setAppliesToAddress(parameters.getAppliesToAddress());
+        copy.setAdditionalProperties(parameters.getAdditionalProperties());
+        copy.setTokenStore(parameters.getTokenStore());
+        copy.setRealm(parameters.getRealm());
+        return copy;
+    }
+
+    private ProcessedClaimCollection getCachedClaims(ClaimCollection claims, ClaimsParameters parameters) {
+        if (claimsCache == null || parameters.getPrincipal() == null) {
+            return null;
+        }
+        return claimsCache.get(parameters.getPrincipal().getName(), parameters.getRealm(),
+                               parameters.getAppliesToAddress(), claims);
+    }
+
+    private void cacheClaims(ClaimCollection claims, ClaimsParameters parameters,
+                             ProcessedClaimCollection claimValues) {
+        if (claimsCache != null && parameters.getPrincipal() != null) {
+            claimsCache.add(parameters.getPrincipal().getName(), parameters.getRealm(),
+                            parameters.getAppliesToAddress(), claims, claimValues);
+        }
     }
 
     private boolean isCurrentRealmSupported(ClaimsHandler handler, ClaimsParameters parameters) {
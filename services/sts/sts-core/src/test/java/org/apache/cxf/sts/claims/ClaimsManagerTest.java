@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.cxf.sts.claims;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.rt.security.claims.Claim;
+import org.apache.cxf.rt.security.claims.ClaimCollection;
+import org.apache.cxf.sts.cache.MemoryClaimsCache;
+import org.apache.cxf.ws.security.sts.provider.STSException;
+import org.apache.wss4j.common.principal.CustomTokenPrincipal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ClaimsManagerTest {
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentHandlersMergedInConfiguredOrder() throws Exception {
+        // Both handlers must be running at the same time for either of them to return
+        CountDownLatch latch = new CountDownLatch(2);
+        TestClaimsHandler firstName = new TestClaimsHandler(ClaimTypes.FIRSTNAME.toString(), "alice", latch, 0);
+        TestClaimsHandler lastName = new TestClaimsHandler(ClaimTypes.LASTNAME.toString(), "doe", latch, 0);
+
+        ClaimsManager claimsManager = new ClaimsManager();
+        claimsManager.setClaimHandlers(Arrays.asList(firstName, lastName));
+        claimsManager.setExecutor(executorService);
+        claimsManager.setTimeout(10000L);
+
+        ProcessedClaimCollection claims =
+            claimsManager.retrieveClaimValues(createClaims(), createParameters());
+        assertEquals(2, claims.size());
+        assertEquals(ClaimTypes.FIRSTNAME.toString(), claims.get(0).getClaimType());
+        assertEquals("alice", claims.get(0).getValues().get(0));
+        assertEquals(ClaimTypes.LASTNAME.toString(), claims.get(1).getClaimType());
+        assertEquals("doe", claims.get(1).getValues().get(0));
+    }
+
+    @Test
+    public void testSlowHandlerIsSkipped() throws Exception {
+        TestClaimsHandler firstName = new TestClaimsHandler(ClaimTypes.FIRSTNAME.toString(), "alice", null, 0);
+        TestClaimsHandler lastName = new TestClaimsHandler(ClaimTypes.LASTNAME.toString(), "doe", null, 5000L);
+
+        ClaimsManager claimsManager = new ClaimsManager();
+        claimsManager.setClaimHandlers(Arrays.asList(firstName, lastName));
+        claimsManager.setExecutor(executorService);
+        claimsManager.setTimeout(100L);
+        claimsManager.setStopProcessingOnException(false);
+
+        ClaimCollection requestedClaims = createClaims();
+        requestedClaims.get(1).setOptional(true);
+        ProcessedClaimCollection claims =
+            claimsManager.retrieveClaimValues(requestedClaims, createParameters());
+        assertEquals(1, claims.size());
+        assertEquals(ClaimTypes.FIRSTNAME.toString(), claims.get(0).getClaimType());
+
+        claimsManager.setStopProcessingOnException(true);
+        try {
+            claimsManager.retrieveClaimValues(requestedClaims, createParameters());
+            fail("Failure expected on a slow ClaimsHandler");
+        } catch (STSException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCachedClaims() throws Exception {
+        TestClaimsHandler firstName = new TestClaimsHandler(ClaimTypes.FIRSTNAME.toString(), "alice", null, 0);
+        TestClaimsHandler lastName = new TestClaimsHandler(ClaimTypes.LASTNAME.toString(), "doe", null, 0);
+
+        ClaimsManager claimsManager = new ClaimsManager();
+        claimsManager.setClaimHandlers(Arrays.asList(firstName, lastName));
+        claimsManager.setClaimsCache(new MemoryClaimsCache());
+
+        ProcessedClaimCollection claims =
+            claimsManager.retrieveClaimValues(createClaims(), createParameters());
+        assertEquals(2, claims.size());
+        claims.clear();
+
+        claims = claimsManager.retrieveClaimValues(createClaims(), createParameters());
+        assertEquals(2, claims.size());
+        assertEquals(1, firstName.getCalls());
+        assertEquals(1, lastName.getCalls());
+
+        // A different principal is not served from the cache
+        ClaimsParameters parameters = createParameters();
+        parameters.setPrincipal(new CustomTokenPrincipal("bob"));
+        claimsManager.retrieveClaimValues(createClaims(), parameters);
+        assertEquals(2, firstName.getCalls());
+        assertEquals(2, lastName.getCalls());
+    }
+
+    private static ClaimCollection createClaims() {
+        ClaimCollection claims = new ClaimCollection();
+        Claim claim = new Claim();
+        claim.setClaimType(ClaimTypes.FIRSTNAME);
+        claims.add(claim);
+        claim = new Claim();
+        claim.setClaimType(ClaimTypes.LASTNAME);
+        claims.add(claim);
+        return claims;
+    }
+
+    private static ClaimsParameters createParameters() {
+        ClaimsParameters parameters = new ClaimsParameters();
+        parameters.setPrincipal(new CustomTokenPrincipal("alice"));
+        parameters.setAppliesToAddress("http://dummy-service.com/dummy");
+        return parameters;
+    }
+
+    private static final class TestClaimsHandler implements ClaimsHandler {
+
+        private final String claimType;
+        private final String value;
+        private final CountDownLatch latch;
+        private final long delay;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        TestClaimsHandler(String claimType, String value, CountDownLatch latch, long delay) {
+            this.claimType = claimType;
+            this.value = value;
+            this.latch = latch;
+            this.delay = delay;
+        }
+
+        public List<String> getSupportedClaimTypes() {
+            return Collections.singletonList(claimType);
+        }
+
+        public ProcessedClaimCollection retrieveClaimValues(ClaimCollection claims, ClaimsParameters parameters) {
+            calls.incrementAndGet();
+            try {
+                if (latch != null) {
+                    latch.countDown();
+                    assertTrue(latch.await(10, TimeUnit.SECONDS));
+                }
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            ProcessedClaim claim = new ProcessedClaim();
+            claim.setClaimType(claimType);
+            claim.addValue(value);
+            ProcessedClaimCollection result = new ProcessedClaimCollection();
+            result.add(claim);
+            return result;
+        }
+
+        int getCalls() {
+            return calls.get();
+        }
+    }
+}